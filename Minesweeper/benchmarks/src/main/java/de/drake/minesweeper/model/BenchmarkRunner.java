@@ -0,0 +1,57 @@
+package de.drake.minesweeper.model;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Startet die Benchmarks. Alle JMH-Kommandozeilenoptionen werden untersttzt;
+ * ohne Angabe von -rf/-rff werden die Ergebnisse maschinenlesbar als JSON in
+ * jmh-result.json geschrieben, damit Regressionen verfolgt werden knnen.
+ * Mit "ratevergleich" als erstem Argument werden stattdessen Partien gespielt,
+ * um die Vorausschau mit der bisherigen Wahl beim Raten zu vergleichen, siehe
+ * Ratevergleich.
+ */
+public final class BenchmarkRunner {
+	
+	/**
+	 * Nicht instanziierbar.
+	 */
+	private BenchmarkRunner() {
+	}
+	
+	/**
+	 * Startet die Benchmarks.
+	 * 
+	 * @param args
+	 * 		JMH-Kommandozeilenoptionen, z.B. ein regulrer Ausdruck zur Auswahl
+	 * 		der Benchmarks, oder "ratevergleich" gefolgt von den Argumenten des
+	 * 		Ratevergleichs
+	 * @throws CommandLineOptionException
+	 * 		wird geworfen, wenn die Optionen ungltig sind
+	 * @throws RunnerException
+	 * 		wird geworfen, wenn die Benchmarks nicht ausgefhrt werden konnten
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da der Ratevergleich nicht unterbrochen wird
+	 */
+	public static void main(String[] args) throws CommandLineOptionException,
+			RunnerException, InterruptedException {
+		if (args.length > 0 && args[0].equals("ratevergleich")) {
+			Ratevergleich.fuehreAus(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		final CommandLineOptions kommandozeile = new CommandLineOptions(args);
+		final ChainedOptionsBuilder optionen = new OptionsBuilder().parent(kommandozeile);
+		if (!kommandozeile.getResultFormat().hasValue())
+			optionen.resultFormat(ResultFormatType.JSON);
+		if (!kommandozeile.getResult().hasValue())
+			optionen.result("jmh-result.json");
+		new Runner(optionen.build()).run();
+	}
+}
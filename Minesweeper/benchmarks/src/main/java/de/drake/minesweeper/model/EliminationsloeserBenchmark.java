@@ -0,0 +1,58 @@
+package de.drake.minesweeper.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Misst, wie lange der Eliminationsloeser fr die sicheren Felder und Minen
+ * einer Stellung aus dem Benchmark-Korpus braucht. Zum Vergleich dient die
+ * vollstndige Berechnung im ProbabilityCalculatorBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EliminationsloeserBenchmark {
+	
+	/**
+	 * Der Name der Stellung aus dem Korpus
+	 */
+	@Param({"frueh", "mitte", "ende", "breiteFront"})
+	public String stellung;
+	
+	/**
+	 * Das Spielfeld in der gewnschten Stellung
+	 */
+	private Spielfeld spielfeld;
+	
+	/**
+	 * Erzeugt die Stellung einmalig vor den Messungen.
+	 */
+	@Setup
+	public void erzeugeStellung() {
+		this.spielfeld = Stellungen.erzeuge(this.stellung);
+	}
+	
+	/**
+	 * Bestimmt die sicheren Felder und Minen der Stellung.
+	 * 
+	 * @return der Eliminationsloeser mit seinem Ergebnis
+	 */
+	@Benchmark
+	public Eliminationsloeser loese() {
+		return new Eliminationsloeser(this.spielfeld);
+	}
+}
@@ -0,0 +1,174 @@
+package de.drake.minesweeper.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Misst die vollstndige Berechnung aller Minenwahrscheinlichkeiten durch den
+ * ProbabilityCalculator auf den Stellungen des Benchmark-Korpus, fr jedes
+ * Zhlverfahren einzeln, und zum Vergleich die Abfrage eines einzelnen
+ * Randfeldes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProbabilityCalculatorBenchmark {
+	
+	/**
+	 * Der Name der Stellung aus dem Korpus
+	 */
+	@Param({"frueh", "mitte", "ende", "breiteFront"})
+	public String stellung;
+	
+	/**
+	 * Das Zhlverfahren des ProbabilityCalculators
+	 */
+	@Param({ProbabilityCalculator.AUTOMATISCH, ProbabilityCalculator.BACKTRACKING,
+			ProbabilityCalculator.TRANSFERMATRIX, ProbabilityCalculator.BAUMZERLEGUNG,
+			ProbabilityCalculator.MODELLZAEHLUNG})
+	public String verfahren;
+	
+	/**
+	 * Das Spielfeld in der gewnschten Stellung
+	 */
+	private Spielfeld spielfeld;
+	
+	/**
+	 * Die Klauseln, die der Modellzaehler bei einer ersten Berechnung der Stellung
+	 * gelernt hat
+	 */
+	private Klauselspeicher klauselspeicher;
+	
+	/**
+	 * Die Komponenten, die bei einer ersten Berechnung der Stellung gezhlt
+	 * wurden
+	 */
+	private Komponentenspeicher komponentenspeicher;
+	
+	/**
+	 * Die Zeile des Randfeldes, das einzeln abgefragt wird
+	 */
+	private int hinweiszeile;
+	
+	/**
+	 * Die Spalte des Randfeldes, das einzeln abgefragt wird
+	 */
+	private int hinweisspalte;
+	
+	/**
+	 * Erzeugt die Stellung einmalig vor den Messungen und berechnet sie einmal, um
+	 * den Klauselspeicher und den Komponentenspeicher zu fllen. Als einzeln
+	 * abgefragtes Feld dient das letzte verdeckte Randfeld.
+	 * 
+	 * @throws InterruptedException
+	 * 		kann nicht auftreten, da die Berechnung nie unterbrochen wird
+	 */
+	@Setup
+	public void erzeugeStellung() throws InterruptedException {
+		this.spielfeld = Stellungen.erzeuge(this.stellung);
+		final ProbabilityCalculator probabilityCalculator =
+				this.berechneMinenwahrscheinlichkeiten();
+		this.klauselspeicher = probabilityCalculator.getKlauselspeicher();
+		this.komponentenspeicher = probabilityCalculator.getKomponentenspeicher();
+		for (int zeile = 0; zeile < this.spielfeld.getHoehe(); zeile++)
+			for (int spalte = 0; spalte < this.spielfeld.getBreite(); spalte++)
+				if (!this.spielfeld.isUncovered(zeile, spalte)
+						&& !this.spielfeld.isMarkedAsMine(zeile, spalte)
+						&& this.spielfeld.hasUncoveredNeighbor(zeile, spalte)) {
+					this.hinweiszeile = zeile;
+					this.hinweisspalte = spalte;
+				}
+	}
+	
+	/**
+	 * Berechnet alle Minenwahrscheinlichkeiten mit einem frischen
+	 * ProbabilityCalculator, so dass keine Zwischenergebnisse wiederverwendet werden.
+	 * 
+	 * @return der ProbabilityCalculator mit den berechneten Wahrscheinlichkeiten
+	 * @throws InterruptedException
+	 * 		kann nicht auftreten, da die Berechnung nie unterbrochen wird
+	 */
+	@Benchmark
+	public ProbabilityCalculator berechneMinenwahrscheinlichkeiten()
+			throws InterruptedException {
+		final ProbabilityCalculator probabilityCalculator = new ProbabilityCalculator(
+				this.spielfeld, this.spielfeld.getHoehe(), this.spielfeld.getBreite());
+		probabilityCalculator.setZaehlverfahren(this.verfahren);
+		probabilityCalculator.berechneMinenwahrscheinlichkeiten();
+		return probabilityCalculator;
+	}
+	
+	/**
+	 * Berechnet alle Minenwahrscheinlichkeiten mit einem frischen
+	 * ProbabilityCalculator, der die bereits gelernten Klauseln bernimmt, wie die
+	 * Rechner der Schnappschsse im Spiel. Nur fr den Modellzaehler verschieden
+	 * von berechneMinenwahrscheinlichkeiten().
+	 * 
+	 * @return der ProbabilityCalculator mit den berechneten Wahrscheinlichkeiten
+	 * @throws InterruptedException
+	 * 		kann nicht auftreten, da die Berechnung nie unterbrochen wird
+	 */
+	@Benchmark
+	public ProbabilityCalculator berechneMitGelerntenKlauseln()
+			throws InterruptedException {
+		final ProbabilityCalculator probabilityCalculator = new ProbabilityCalculator(
+				this.spielfeld, this.spielfeld.getHoehe(), this.spielfeld.getBreite());
+		probabilityCalculator.setZaehlverfahren(this.verfahren);
+		probabilityCalculator.setKlauselspeicher(this.klauselspeicher);
+		probabilityCalculator.berechneMinenwahrscheinlichkeiten();
+		return probabilityCalculator;
+	}
+	
+	/**
+	 * Fragt die Minenwahrscheinlichkeit eines einzelnen Randfeldes mit einem
+	 * frischen ProbabilityCalculator ab, so dass alle Komponenten gezhlt werden
+	 * mssen, aber nur die des Feldes ausgewertet wird.
+	 * 
+	 * @return die Minenwahrscheinlichkeit des Feldes
+	 * @throws InterruptedException
+	 * 		kann nicht auftreten, da die Berechnung nie unterbrochen wird
+	 */
+	@Benchmark
+	public double berechneEinzelnesFeld() throws InterruptedException {
+		final ProbabilityCalculator probabilityCalculator = new ProbabilityCalculator(
+				this.spielfeld, this.spielfeld.getHoehe(), this.spielfeld.getBreite());
+		probabilityCalculator.setZaehlverfahren(this.verfahren);
+		return probabilityCalculator.getMinenwahrscheinlichkeitEinzeln(
+				this.hinweiszeile, this.hinweisspalte);
+	}
+	
+	/**
+	 * Fragt die Minenwahrscheinlichkeit eines einzelnen Randfeldes mit einem
+	 * frischen ProbabilityCalculator ab, der die bereits gezhlten Komponenten
+	 * bernimmt, wie bei einem Hinweis im Spiel, nachdem sich nur ein Teil des
+	 * Randes gendert hat.
+	 * 
+	 * @return die Minenwahrscheinlichkeit des Feldes
+	 * @throws InterruptedException
+	 * 		kann nicht auftreten, da die Berechnung nie unterbrochen wird
+	 */
+	@Benchmark
+	public double berechneEinzelnesFeldMitGezaehltenKomponenten()
+			throws InterruptedException {
+		final ProbabilityCalculator probabilityCalculator = new ProbabilityCalculator(
+				this.spielfeld, this.spielfeld.getHoehe(), this.spielfeld.getBreite());
+		probabilityCalculator.setZaehlverfahren(this.verfahren);
+		probabilityCalculator.setKomponentenspeicher(this.komponentenspeicher);
+		return probabilityCalculator.getMinenwahrscheinlichkeitEinzeln(
+				this.hinweiszeile, this.hinweisspalte);
+	}
+}
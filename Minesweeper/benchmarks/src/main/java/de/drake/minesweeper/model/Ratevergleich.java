@@ -0,0 +1,209 @@
+package de.drake.minesweeper.model;
+
+import java.util.Random;
+
+/**
+ * Vergleicht die Vorausschau mit der bisherigen Wahl des Feldes mit der
+ * geringsten Minenwahrscheinlichkeit. Beide spielen dieselben Partien: gleiche
+ * Minenverteilungen, gleicher erster Zug in der Mitte, und alles, was sich
+ * ohne Raten lsen lsst, lsen beide wie die KI des Gamecontrollers. Nur
+ * geraten wird verschieden. Berichtet werden die Gewinnquoten, ihr Unterschied
+ * samt Standardfehler ber die Partienpaare und der Gewinn, den die Vorausschau
+ * je Ratezug selbst erwartet hat.
+ *
+ * Die Vorausschau wird ber die Systemeigenschaften eingestellt, siehe
+ * Vorausschau.ausSystemeigenschaften().
+ */
+final class Ratevergleich {
+	
+	/**
+	 * Die Anzahl der Ratezge der Vorausschau
+	 */
+	private int ratezuege = 0;
+	
+	/**
+	 * Die Anzahl der Ratezge, in denen die Vorausschau ein anderes Feld gewhlt
+	 * hat als die bisherige Wahl
+	 */
+	private int abweichungen = 0;
+	
+	/**
+	 * Die Summe der erwarteten Gewinne aller Ratezge
+	 */
+	private double erwarteterGewinn = 0;
+	
+	/**
+	 * Die Summe der erreichten Tiefen aller Ratezge
+	 */
+	private long tiefen = 0;
+	
+	/**
+	 * Die Summe der Rechenzeiten aller Ratezge in Nanosekunden
+	 */
+	private long rechenzeit = 0;
+	
+	/**
+	 * Gibt an, ob in der laufenden Partie eine Mine aufgedeckt wurde
+	 */
+	private boolean mineGetroffen;
+	
+	/**
+	 * Nicht von auen instanziierbar.
+	 */
+	private Ratevergleich() {
+	}
+	
+	/**
+	 * Spielt die Partien und gibt den Bericht aus.
+	 * 
+	 * @param args
+	 * 		[partien [hoehe breite minen [startwert]]], ohne Angabe 100 Partien
+	 * 		16x16 mit 40 Minen ab Startwert 4711
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	static void fuehreAus(final String[] args) throws InterruptedException {
+		final int partien = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		final int hoehe = args.length > 3 ? Integer.parseInt(args[1]) : 16;
+		final int breite = args.length > 3 ? Integer.parseInt(args[2]) : 16;
+		final int minen = args.length > 3 ? Integer.parseInt(args[3]) : 40;
+		final long startwert = args.length > 4 ? Long.parseLong(args[4]) : 4711;
+		final Vorausschau vorausschau = Vorausschau.ausSystemeigenschaften();
+		final Ratevergleich vergleich = new Ratevergleich();
+		int siegeHeuristik = 0;
+		int siegeVorausschau = 0;
+		double quadratsumme = 0;
+		for (int partie = 0; partie < partien; partie++) {
+			final boolean[][] minenverteilung = Stellungen.erzeugeMinen(hoehe, breite,
+					minen, new Random(startwert + partie));
+			final int heuristik =
+					vergleich.spiele(new Spielfeld(minenverteilung), null) ? 1 : 0;
+			final int vorausgeschaut =
+					vergleich.spiele(new Spielfeld(minenverteilung), vorausschau) ? 1 : 0;
+			siegeHeuristik += heuristik;
+			siegeVorausschau += vorausgeschaut;
+			quadratsumme += (vorausgeschaut - heuristik) * (vorausgeschaut - heuristik);
+		}
+		vorausschau.beende();
+		final double unterschied = (double) (siegeVorausschau - siegeHeuristik) / partien;
+		final double standardfehler = Math.sqrt(Math.max(0,
+				quadratsumme / partien - unterschied * unterschied) / Math.max(1, partien - 1));
+		System.out.println(String.format("Ratevergleich: %d Partien %dx%d mit %d Minen",
+				partien, hoehe, breite, minen));
+		System.out.println(String.format("Geringste Minenwahrscheinlichkeit: %d Siege (%.1f %%)",
+				siegeHeuristik, 100.0 * siegeHeuristik / partien));
+		System.out.println(String.format("Vorausschau: %d Siege (%.1f %%)",
+				siegeVorausschau, 100.0 * siegeVorausschau / partien));
+		System.out.println(String.format("Gewinn: %+.1f Prozentpunkte (Standardfehler %.1f)",
+				100 * unterschied, 100 * standardfehler));
+		if (vergleich.ratezuege > 0)
+			System.out.println(String.format("Ratezge der Vorausschau: %d, davon %d "
+					+ "abweichend; erwarteter Gewinn je Ratezug %.2f Prozentpunkte, "
+					+ "mittlere Tiefe %.2f, mittlere Rechenzeit %.1f ms",
+					vergleich.ratezuege, vergleich.abweichungen,
+					100 * vergleich.erwarteterGewinn / vergleich.ratezuege,
+					(double) vergleich.tiefen / vergleich.ratezuege,
+					vergleich.rechenzeit / 1e6 / vergleich.ratezuege));
+	}
+	
+	/**
+	 * Spielt eine Partie wie die KI des Gamecontrollers: erst die Mitte
+	 * aufdecken, dann abwechselnd ohne Raten lsen und raten.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld der Partie
+	 * @param vorausschau
+	 * 		die Vorausschau, die rt, oder null fr das Feld mit der geringsten
+	 * 		Minenwahrscheinlichkeit
+	 * @return true, wenn die Partie gewonnen wurde
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	private boolean spiele(final Spielfeld spielfeld, final Vorausschau vorausschau)
+			throws InterruptedException {
+		this.mineGetroffen = false;
+		this.deckeAuf(spielfeld, spielfeld.getHoehe()/2, spielfeld.getBreite()/2);
+		while (!this.mineGetroffen && spielfeld.getVerbleibendeFelder() > 0) {
+			if (this.loese(spielfeld))
+				continue;
+			final Koordinate heuristik =
+					Vorausschau.waehleGeringsteWahrscheinlichkeit(spielfeld);
+			Koordinate feld = heuristik;
+			if (vorausschau != null) {
+				final long start = System.nanoTime();
+				feld = vorausschau.waehleFeld(spielfeld);
+				this.rechenzeit += System.nanoTime() - start;
+				this.ratezuege++;
+				this.erwarteterGewinn += vorausschau.getErwarteterGewinn();
+				this.tiefen += vorausschau.getErreichteTiefe();
+				if (!feld.equals(heuristik))
+					this.abweichungen++;
+			}
+			this.deckeAuf(spielfeld, feld.getZeile(), feld.getSpalte());
+		}
+		return !this.mineGetroffen;
+	}
+	
+	/**
+	 * Deckt ein Feld auf, bei einem Nullfeld samt Umgebung. Liegt dort eine
+	 * Mine, ist die Partie verloren.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 */
+	private void deckeAuf(final Spielfeld spielfeld, final int zeile, final int spalte) {
+		if (spielfeld.isMine(zeile, spalte))
+			this.mineGetroffen = true;
+		else
+			Stellungen.deckeAuf(spielfeld, zeile, spalte);
+	}
+	
+	/**
+	 * Deckt alle Felder auf und markiert alle Minen, die ohne Raten feststehen,
+	 * wie Gamecontroller.executeLoeseDeterministisch() fr einen Durchlauf:
+	 * zuerst mit dem Eliminationsloeser, dann ber die Minenwahrscheinlichkeiten.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @return true, wenn ein Feld aufgedeckt wurde
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	private boolean loese(final Spielfeld spielfeld) throws InterruptedException {
+		final Eliminationsloeser eliminationsloeser = new Eliminationsloeser(spielfeld);
+		boolean aufgedeckt = false;
+		for (final Koordinate koordinate : eliminationsloeser.getSichereFelder())
+			if (!spielfeld.isUncovered(koordinate.getZeile(), koordinate.getSpalte())) {
+				this.deckeAuf(spielfeld, koordinate.getZeile(), koordinate.getSpalte());
+				aufgedeckt = true;
+			}
+		for (final Koordinate koordinate : eliminationsloeser.getMinen())
+			if (!spielfeld.isMarkedAsMine(koordinate.getZeile(), koordinate.getSpalte()))
+				spielfeld.setMarkedAsMine(koordinate.getZeile(), koordinate.getSpalte(), true);
+		if (aufgedeckt)
+			return true;
+		final int hoehe = spielfeld.getHoehe();
+		final int breite = spielfeld.getBreite();
+		final double[][] wahrscheinlichkeiten = new double[hoehe][breite];
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++)
+				wahrscheinlichkeiten[zeile][spalte] =
+						spielfeld.getMinenwahrscheinlichkeit(zeile, spalte);
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++) {
+				if (!spielfeld.isUncovered(zeile, spalte)
+						&& wahrscheinlichkeiten[zeile][spalte] < 0.0001) {
+					this.deckeAuf(spielfeld, zeile, spalte);
+					aufgedeckt = true;
+				}
+				if (!spielfeld.isMarkedAsMine(zeile, spalte)
+						&& wahrscheinlichkeiten[zeile][spalte] > 0.9999)
+					spielfeld.setMarkedAsMine(zeile, spalte, true);
+			}
+		return aufgedeckt;
+	}
+}
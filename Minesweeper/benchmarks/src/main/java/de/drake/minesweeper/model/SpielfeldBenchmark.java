@@ -0,0 +1,94 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Misst den Aufbau eines Spielfeldes samt Minenplatzierung bei verschiedenen
+ * Minendichten sowie das Aufdecken eines minenfreien Gebietes (Flood Fill).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpielfeldBenchmark {
+	
+	/**
+	 * Die Kantenlnge des quadratischen Spielfeldes
+	 */
+	@Param({"100", "500"})
+	public int kantenlaenge;
+	
+	/**
+	 * Der Anteil der Felder, auf denen eine Mine liegt
+	 */
+	@Param({"0.05", "0.15", "0.30"})
+	public double minendichte;
+	
+	/**
+	 * Die Minenverteilung fr den Flood-Fill-Benchmark
+	 */
+	private boolean[][] minen;
+	
+	/**
+	 * Das Spielfeld, auf dem der nchste Flood Fill ausgefhrt wird
+	 */
+	private Spielfeld spielfeld;
+	
+	/**
+	 * Erzeugt einmalig eine feste Minenverteilung.
+	 */
+	@Setup
+	public void erzeugeMinen() {
+		this.minen = Stellungen.erzeugeMinen(this.kantenlaenge, this.kantenlaenge,
+				(int) (this.minendichte * this.kantenlaenge * this.kantenlaenge),
+				new Random(4711));
+	}
+	
+	/**
+	 * Baut vor jedem Flood Fill ein frisches, vollstndig verdecktes Spielfeld auf.
+	 */
+	@Setup(Level.Invocation)
+	public void erzeugeSpielfeld() {
+		this.spielfeld = new Spielfeld(this.minen);
+	}
+	
+	/**
+	 * Baut ein Spielfeld auf und platziert die Minen zufllig.
+	 * 
+	 * @return das erzeugte Spielfeld
+	 */
+	@Benchmark
+	public Spielfeld placeMines() {
+		return new Spielfeld(this.kantenlaenge, this.kantenlaenge,
+				(int) (this.minendichte * this.kantenlaenge * this.kantenlaenge));
+	}
+	
+	/**
+	 * Deckt das minenfreie Gebiet um die Spielfeldmitte auf.
+	 * 
+	 * @return die neu aufgedeckten Felder
+	 */
+	@Benchmark
+	public ArrayList<Koordinate> floodFill() {
+		final int mitte = this.kantenlaenge / 2;
+		this.spielfeld.setUncovered(mitte, mitte);
+		return this.spielfeld.uncoverMinelessArea(mitte, mitte);
+	}
+}
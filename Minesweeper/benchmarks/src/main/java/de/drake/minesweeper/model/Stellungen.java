@@ -0,0 +1,141 @@
+package de.drake.minesweeper.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Erzeugt den festen Satz an Stellungen, auf dem die Benchmarks laufen. Die
+ * Stellungen werden aus einem festen Zufallsstartwert erzeugt und sind daher bei
+ * jedem Lauf identisch. Aufgedeckt werden nur minenfreie Felder am Rand des
+ * bereits geffneten Gebietes, so dass realistische Fronten entstehen.
+ */
+final class Stellungen {
+	
+	/**
+	 * Die Namen aller verfgbaren Stellungen
+	 */
+	static final String[] NAMEN = {"frueh", "mitte", "ende", "breiteFront"};
+	
+	/**
+	 * Nicht instanziierbar.
+	 */
+	private Stellungen() {
+	}
+	
+	/**
+	 * Erzeugt eine Stellung aus dem Benchmark-Korpus.
+	 * 
+	 * @param name
+	 * 		der Name der Stellung (siehe NAMEN) oder "datei:" gefolgt vom Pfad
+	 * 		einer Datei im Stellungsformat, aus der die erste Stellung geladen wird
+	 * @return das Spielfeld in der gewnschten Stellung
+	 */
+	static Spielfeld erzeuge(final String name) {
+		if (name.startsWith("datei:")) {
+			try {
+				return Stellungsformat.lade(new File(name.substring(6)));
+			} catch (IOException e) {
+				throw new RuntimeException("Stellung " + name
+						+ " konnte nicht geladen werden.", e);
+			}
+		}
+		if (name.equals("frueh"))
+			return Stellungen.erzeuge(16, 16, 40, 0.15, 4711);
+		if (name.equals("mitte"))
+			return Stellungen.erzeuge(16, 16, 40, 0.5, 4711);
+		if (name.equals("ende"))
+			return Stellungen.erzeuge(16, 16, 40, 0.85, 4711);
+		if (name.equals("breiteFront"))
+			return Stellungen.erzeuge(16, 30, 99, 0.35, 42);
+		throw new RuntimeException("Unbekannte Stellung: " + name);
+	}
+	
+	/**
+	 * Erzeugt eine Minenverteilung, bei der das Feld in der Mitte samt seiner
+	 * Nachbarn minenfrei ist.
+	 * 
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 * @param minenzahl
+	 * 		die Anzahl der Minen
+	 * @param zufall
+	 * 		der Zufallsgenerator
+	 * @return die Minenverteilung
+	 */
+	static boolean[][] erzeugeMinen(final int hoehe, final int breite,
+			final int minenzahl, final Random zufall) {
+		final boolean[][] minen = new boolean[hoehe][breite];
+		int zuPlazierendeMinen = minenzahl;
+		while (zuPlazierendeMinen > 0) {
+			final int zeile = zufall.nextInt(hoehe);
+			final int spalte = zufall.nextInt(breite);
+			if (minen[zeile][spalte] || (Math.abs(zeile - hoehe/2) <= 1
+					&& Math.abs(spalte - breite/2) <= 1))
+				continue;
+			minen[zeile][spalte] = true;
+			zuPlazierendeMinen--;
+		}
+		return minen;
+	}
+	
+	/**
+	 * Erzeugt eine Stellung, indem ausgehend von der Mitte so lange minenfreie
+	 * Randfelder aufgedeckt werden, bis der gewnschte Anteil der minenfreien
+	 * Felder aufgedeckt ist.
+	 * 
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 * @param minenzahl
+	 * 		die Anzahl der Minen
+	 * @param anteil
+	 * 		der Anteil der minenfreien Felder, der aufgedeckt sein soll
+	 * @param startwert
+	 * 		der Startwert des Zufallsgenerators
+	 * @return das Spielfeld in der gewnschten Stellung
+	 */
+	static Spielfeld erzeuge(final int hoehe, final int breite, final int minenzahl,
+			final double anteil, final long startwert) {
+		final Random zufall = new Random(startwert);
+		final Spielfeld spielfeld = new Spielfeld(
+				Stellungen.erzeugeMinen(hoehe, breite, minenzahl, zufall));
+		final int minenfreieFelder = hoehe * breite - minenzahl;
+		Stellungen.deckeAuf(spielfeld, hoehe/2, breite/2);
+		while (minenfreieFelder - spielfeld.getVerbleibendeFelder()
+				< anteil * minenfreieFelder) {
+			final ArrayList<Koordinate> kandidaten = new ArrayList<Koordinate>();
+			for (int zeile = 0; zeile < hoehe; zeile++)
+				for (int spalte = 0; spalte < breite; spalte++)
+					if (!spielfeld.isUncovered(zeile, spalte)
+							&& !spielfeld.isMine(zeile, spalte)
+							&& spielfeld.hasUncoveredNeighbor(zeile, spalte))
+						kandidaten.add(new Koordinate(zeile, spalte));
+			if (kandidaten.isEmpty())
+				break;
+			final Koordinate feld = kandidaten.get(zufall.nextInt(kandidaten.size()));
+			Stellungen.deckeAuf(spielfeld, feld.getZeile(), feld.getSpalte());
+		}
+		return spielfeld;
+	}
+	
+	/**
+	 * Deckt ein minenfreies Feld auf, bei einem Nullfeld samt Umgebung.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 */
+	static void deckeAuf(final Spielfeld spielfeld, final int zeile, final int spalte) {
+		spielfeld.setUncovered(zeile, spalte);
+		if (spielfeld.getBenachbarteMinen(zeile, spalte) == 0)
+			spielfeld.uncoverMinelessArea(zeile, spalte);
+	}
+}
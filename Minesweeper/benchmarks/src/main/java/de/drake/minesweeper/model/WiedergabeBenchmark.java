@@ -0,0 +1,116 @@
+package de.drake.minesweeper.model;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Misst das Abspielen einer Aufzeichnung ohne Oberflche in Zgen pro Sekunde
+ * sowie das Springen zu einem beliebigen Zug ber die Kontrollpunkte.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WiedergabeBenchmark {
+	
+	/**
+	 * Die Anzahl der Zge der Aufzeichnung
+	 */
+	static final int ZUEGE = 1000000;
+	
+	/**
+	 * Die Kantenlnge des quadratischen Spielfeldes
+	 */
+	@Param({"100", "1000"})
+	public int kantenlaenge;
+	
+	/**
+	 * Die Aufzeichnung, die abgespielt wird
+	 */
+	private Aufzeichnung aufzeichnung;
+	
+	/**
+	 * Die Wiedergabe fr den Sprung-Benchmark; ihre Kontrollpunkte sind angelegt
+	 */
+	private Wiedergabe wiedergabe;
+	
+	/**
+	 * Die Quelle der Sprungziele
+	 */
+	private Random zufall;
+	
+	/**
+	 * Zeichnet einmalig ZUEGE zufllige Zge auf einem Spielfeld mit 15%
+	 * Minendichte auf: vor allem Markierungen und Entmarkierungen, dazu
+	 * Aufdecken minenfreier Felder und Akkorde.
+	 */
+	@Setup
+	public void zeichneAuf() {
+		final Random zufall = new Random(4711);
+		final int minenzahl = this.kantenlaenge * this.kantenlaenge * 15 / 100;
+		final Spielfeld start = new Spielfeld(Stellungen.erzeugeMinen(
+				this.kantenlaenge, this.kantenlaenge, minenzahl, zufall));
+		this.aufzeichnung = new Aufzeichnung(start);
+		final Wiedergabe mitschrift = new Wiedergabe(this.aufzeichnung);
+		final Spielfeld spielfeld = mitschrift.getSpielfeld();
+		while (this.aufzeichnung.getZugzahl() < ZUEGE) {
+			final int zeile = zufall.nextInt(this.kantenlaenge);
+			final int spalte = zufall.nextInt(this.kantenlaenge);
+			final int zugart;
+			if (spielfeld.isUncovered(zeile, spalte)) {
+				zugart = Aufzeichnung.AKKORD;
+			} else if (spielfeld.isMarkedAsMine(zeile, spalte)) {
+				zugart = Aufzeichnung.ENTMARKIEREN;
+			} else if (spielfeld.isMine(zeile, spalte)) {
+				zugart = Aufzeichnung.MARKIEREN;
+			} else {
+				zugart = Aufzeichnung.AUFDECKEN;
+			}
+			this.aufzeichnung.notiere(zugart, zeile, spalte);
+			mitschrift.naechsterZug();
+		}
+		this.wiedergabe = new Wiedergabe(this.aufzeichnung);
+		this.wiedergabe.spieleZuEnde();
+		this.zufall = new Random(42);
+	}
+	
+	/**
+	 * Spielt die ganze Aufzeichnung von der Startstellung an ab.
+	 * 
+	 * @return das Spielfeld nach dem letzten Zug
+	 */
+	@Benchmark
+	@OperationsPerInvocation(ZUEGE)
+	public Spielfeld spieleAb() {
+		final Wiedergabe wiedergabe = new Wiedergabe(this.aufzeichnung);
+		while (wiedergabe.naechsterZug()) {
+		}
+		return wiedergabe.getSpielfeld();
+	}
+	
+	/**
+	 * Springt zu einem zuflligen Zug der Aufzeichnung.
+	 * 
+	 * @return das Spielfeld nach dem Sprung
+	 */
+	@Benchmark
+	public Spielfeld springeZu() {
+		this.wiedergabe.springeZu(this.zufall.nextInt(ZUEGE + 1));
+		return this.wiedergabe.getSpielfeld();
+	}
+}
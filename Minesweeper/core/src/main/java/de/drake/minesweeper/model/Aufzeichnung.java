@@ -0,0 +1,333 @@
+package de.drake.minesweeper.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Die Aufzeichnung eines Spiels: die Startstellung und die Folge der Zge samt
+ * Zeitpunkten. Abgespielt wird sie mit einer Wiedergabe.
+ * 
+ * Jeder Zug wird als int abgelegt: die zeilenweise Nummer des Feldes, um zwei Bit
+ * nach links geschoben, und darunter die Zugart (AUFDECKEN, MARKIEREN,
+ * ENTMARKIEREN, AKKORD). Die Zeitpunkte sind Millisekunden seit dem Beginn der
+ * Aufzeichnung.
+ * 
+ * Aufbau der Datei: KENNUNG, VERSION und die Zahl der Zge als int-Werten, dann
+ * je Zug der Abstand zum vorigen Zeitpunkt und der Zug als variabel lange Zahl
+ * (7 Bit je Byte, das oberste Bit kennzeichnet ein weiteres Byte) und zum
+ * Schluss die Startstellung im Binrformat von Stellungsformat.
+ */
+public class Aufzeichnung {
+	
+	/**
+	 * Die Kennung am Anfang jeder Aufzeichnung ("MSRC")
+	 */
+	public static final int KENNUNG = 0x4D535243;
+	
+	/**
+	 * Die Version des Dateiformats
+	 */
+	public static final int VERSION = 1;
+	
+	/**
+	 * Die Dateiendung fr Aufzeichnungen
+	 */
+	public static final String ENDUNG = ".msr";
+	
+	/**
+	 * Zugart: ein Feld aufdecken, bei einem Nullfeld samt minenfreiem Gebiet
+	 */
+	public static final int AUFDECKEN = 0;
+	
+	/**
+	 * Zugart: ein Feld als Mine markieren
+	 */
+	public static final int MARKIEREN = 1;
+	
+	/**
+	 * Zugart: eine Minenmarkierung entfernen
+	 */
+	public static final int ENTMARKIEREN = 2;
+	
+	/**
+	 * Zugart: alle Nachbarn einer aufgedeckten Zahl aufdecken, deren Minen
+	 * markiert sind
+	 */
+	public static final int AKKORD = 3;
+	
+	/**
+	 * Die Hhe des Spielfeldes
+	 */
+	private final int hoehe;
+	
+	/**
+	 * Die Breite des Spielfeldes
+	 */
+	private final int breite;
+	
+	/**
+	 * Die Felder der Startstellung (siehe Minefield)
+	 */
+	private final byte[] startfelder;
+	
+	/**
+	 * Die Gesamtzahl der Minen
+	 */
+	private final int minenzahl;
+	
+	/**
+	 * Die verbleibenden Minen in der Startstellung
+	 */
+	private final int verbleibendeMinen;
+	
+	/**
+	 * Die verbleibenden Felder in der Startstellung
+	 */
+	private final int verbleibendeFelder;
+	
+	/**
+	 * Die Zge
+	 */
+	private int[] zuege = new int[64];
+	
+	/**
+	 * Die Zeitpunkte der Zge in Millisekunden seit dem Beginn
+	 */
+	private int[] zeitpunkte = new int[64];
+	
+	/**
+	 * Die Anzahl der Zge
+	 */
+	private int zugzahl = 0;
+	
+	/**
+	 * Der Beginn der Aufzeichnung in Millisekunden seit 1970
+	 */
+	private final long beginn;
+	
+	/**
+	 * Beginnt eine Aufzeichnung in der aktuellen Stellung eines Spielfeldes.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld; seine Felder werden kopiert
+	 */
+	public Aufzeichnung(final Spielfeld spielfeld) {
+		this.hoehe = spielfeld.getHoehe();
+		this.breite = spielfeld.getBreite();
+		this.startfelder = spielfeld.getFelder().clone();
+		this.minenzahl = spielfeld.getMinenzahl();
+		this.verbleibendeMinen = spielfeld.getVerbleibendeMinen();
+		this.verbleibendeFelder = spielfeld.getVerbleibendeFelder();
+		this.beginn = System.currentTimeMillis();
+	}
+	
+	/**
+	 * Zeichnet einen Zug zum aktuellen Zeitpunkt auf.
+	 * 
+	 * @param zugart
+	 * 		AUFDECKEN, MARKIEREN, ENTMARKIEREN oder AKKORD
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 */
+	public void notiere(final int zugart, final int zeile, final int spalte) {
+		this.haengeAn((zeile * this.breite + spalte) << 2 | zugart,
+				(int) (System.currentTimeMillis() - this.beginn));
+	}
+	
+	/**
+	 * Hngt einen kodierten Zug an.
+	 * 
+	 * @param zug
+	 * 		der kodierte Zug
+	 * @param zeitpunkt
+	 * 		der Zeitpunkt in Millisekunden seit dem Beginn
+	 */
+	private void haengeAn(final int zug, final int zeitpunkt) {
+		if (this.zugzahl == this.zuege.length) {
+			this.zuege = Arrays.copyOf(this.zuege, 2 * this.zugzahl);
+			this.zeitpunkte = Arrays.copyOf(this.zeitpunkte, 2 * this.zugzahl);
+		}
+		this.zuege[this.zugzahl] = zug;
+		this.zeitpunkte[this.zugzahl] = zeitpunkt;
+		this.zugzahl++;
+	}
+	
+	/**
+	 * Gibt die Anzahl der aufgezeichneten Zge zurck.
+	 * 
+	 * @return die Anzahl der Zge
+	 */
+	public int getZugzahl() {
+		return this.zugzahl;
+	}
+	
+	/**
+	 * Gibt einen kodierten Zug zurck.
+	 * 
+	 * @param index
+	 * 		die Nummer des Zuges, beginnend bei 0
+	 * @return die Nummer des Feldes, um zwei Bit nach links geschoben, und
+	 * 		darunter die Zugart
+	 */
+	public int getZug(final int index) {
+		return this.zuege[index];
+	}
+	
+	/**
+	 * Gibt den Zeitpunkt eines Zuges zurck.
+	 * 
+	 * @param index
+	 * 		die Nummer des Zuges, beginnend bei 0
+	 * @return die Millisekunden seit dem Beginn der Aufzeichnung
+	 */
+	public int getZeitpunkt(final int index) {
+		return this.zeitpunkte[index];
+	}
+	
+	/**
+	 * Gibt die Breite des Spielfeldes zurck, mit der die Feldnummern der Zge
+	 * in Zeile und Spalte zerlegt werden.
+	 * 
+	 * @return die Anzahl der Spalten
+	 */
+	public int getBreite() {
+		return this.breite;
+	}
+	
+	/**
+	 * Erzeugt ein neues Spielfeld in der Startstellung.
+	 * 
+	 * @return das Spielfeld
+	 */
+	public Spielfeld erzeugeStartstellung() {
+		return new Spielfeld(this.hoehe, this.breite, this.startfelder.clone(),
+				this.minenzahl, this.verbleibendeMinen, this.verbleibendeFelder);
+	}
+	
+	/**
+	 * Speichert die Aufzeichnung in einer Datei.
+	 * 
+	 * @param datei
+	 * 		die Datei, die berschrieben wird
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Datei nicht geschrieben werden konnte
+	 */
+	public void speichere(final File datei) throws IOException {
+		final DataOutputStream ausgabe = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(datei), 1 << 16));
+		try {
+			ausgabe.writeInt(KENNUNG);
+			ausgabe.writeInt(VERSION);
+			ausgabe.writeInt(this.zugzahl);
+			int letzterZeitpunkt = 0;
+			for (int index = 0; index < this.zugzahl; index++) {
+				Aufzeichnung.schreibeZahl(ausgabe,
+						this.zeitpunkte[index] - letzterZeitpunkt);
+				Aufzeichnung.schreibeZahl(ausgabe, this.zuege[index]);
+				letzterZeitpunkt = this.zeitpunkte[index];
+			}
+			Stellungsformat.schreibeBinaer(this.erzeugeStartstellung(), ausgabe);
+		} finally {
+			ausgabe.close();
+		}
+	}
+	
+	/**
+	 * Ldt eine Aufzeichnung aus einer Datei.
+	 * 
+	 * @param datei
+	 * 		die Datei
+	 * @return die Aufzeichnung
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Datei nicht gelesen werden konnte oder keine
+	 * 		gltige Aufzeichnung enthlt
+	 */
+	public static Aufzeichnung lade(final File datei) throws IOException {
+		final DataInputStream eingabe = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(datei), 1 << 16));
+		try {
+			if (eingabe.readInt() != KENNUNG)
+				throw new IOException(datei + " ist keine Aufzeichnung.");
+			final int version = eingabe.readInt();
+			if (version != VERSION)
+				throw new IOException(datei + " hat die unbekannte Version " + version + ".");
+			final int zugzahl = eingabe.readInt();
+			if (zugzahl < 0)
+				throw new IOException(datei + " ist beschdigt.");
+			final int[] zuege = new int[Math.max(zugzahl, 1)];
+			final int[] zeitpunkte = new int[zuege.length];
+			int zeitpunkt = 0;
+			for (int index = 0; index < zugzahl; index++) {
+				zeitpunkt += Aufzeichnung.leseZahl(eingabe);
+				zeitpunkte[index] = zeitpunkt;
+				zuege[index] = Aufzeichnung.leseZahl(eingabe);
+			}
+			final Spielfeld startstellung = new Stellungsleser(eingabe).naechsteStellung();
+			if (startstellung == null)
+				throw new IOException(datei + " enthlt keine Startstellung.");
+			final Aufzeichnung aufzeichnung = new Aufzeichnung(startstellung);
+			final int felderzahl = startstellung.getHoehe() * startstellung.getBreite();
+			for (int index = 0; index < zugzahl; index++)
+				if ((zuege[index] >>> 2) >= felderzahl)
+					throw new IOException(datei + " enthlt einen Zug auerhalb des Spielfeldes.");
+			aufzeichnung.zuege = zuege;
+			aufzeichnung.zeitpunkte = zeitpunkte;
+			aufzeichnung.zugzahl = zugzahl;
+			return aufzeichnung;
+		} catch (EOFException e) {
+			throw new IOException(datei + " ist unvollstndig.");
+		} finally {
+			eingabe.close();
+		}
+	}
+	
+	/**
+	 * Schreibt eine nicht negative Zahl mit 7 Bit je Byte.
+	 * 
+	 * @param ausgabe
+	 * 		der Stream
+	 * @param zahl
+	 * 		die Zahl
+	 * @throws IOException
+	 * 		wird geworfen, wenn nicht geschrieben werden konnte
+	 */
+	private static void schreibeZahl(final DataOutputStream ausgabe, final int zahl)
+			throws IOException {
+		int rest = zahl;
+		while ((rest & ~0x7F) != 0) {
+			ausgabe.write((rest & 0x7F) | 0x80);
+			rest >>>= 7;
+		}
+		ausgabe.write(rest);
+	}
+	
+	/**
+	 * Liest eine mit schreibeZahl() geschriebene Zahl.
+	 * 
+	 * @param eingabe
+	 * 		der Stream
+	 * @return die Zahl
+	 * @throws IOException
+	 * 		wird geworfen, wenn nicht gelesen werden konnte
+	 */
+	private static int leseZahl(final DataInputStream eingabe) throws IOException {
+		int zahl = 0;
+		for (int verschiebung = 0; verschiebung < 35; verschiebung += 7) {
+			final int wert = eingabe.readUnsignedByte();
+			zahl |= (wert & 0x7F) << verschiebung;
+			if ((wert & 0x80) == 0)
+				return zahl;
+		}
+		throw new IOException("Ungltige Zahl in der Aufzeichnung.");
+	}
+}
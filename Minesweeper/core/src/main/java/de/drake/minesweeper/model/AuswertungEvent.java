@@ -0,0 +1,41 @@
+package de.drake.minesweeper.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR-Ereignis fr einen Stapel aufeinanderfolgender Aufrufe von
+ * werteBesetzungAus(). Ein Ereignis je Besetzung wre zu teuer, daher fasst ein
+ * Ereignis bis zu STAPELGROESSE Besetzungen zusammen. Die Dauer des Ereignisses
+ * umfasst auch das Backtracking zwischen den Auswertungen; die reine
+ * Auswertungszeit steht in auswertungszeit.
+ */
+@Name("de.drake.minesweeper.Auswertung")
+@Label("Auswertung von Besetzungen")
+@Category({"Minesweeper", "Lser"})
+@Description("Ein Stapel ausgewerteter Besetzungen des Backtrackings")
+class AuswertungEvent extends Event {
+	
+	/**
+	 * Die Anzahl der Besetzungen, die hchstens in einem Ereignis zusammengefasst
+	 * werden
+	 */
+	static final int STAPELGROESSE = 1024;
+	
+	/**
+	 * Die Anzahl der ausgewerteten Besetzungen
+	 */
+	@Label("Ausgewertete Bltter")
+	int blaetter;
+	
+	/**
+	 * Die Zeit, die in werteBesetzungAus() verbracht wurde
+	 */
+	@Label("Auswertungszeit")
+	@Timespan(Timespan.NANOSECONDS)
+	long auswertungszeit;
+}
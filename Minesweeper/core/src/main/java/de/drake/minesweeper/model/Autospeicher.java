@@ -0,0 +1,445 @@
+package de.drake.minesweeper.model;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sichert das laufende Spiel regelmig, damit es nach einem Absturz fortgesetzt
+ * werden kann.
+ * 
+ * Nach jedem Zug wird geprft, ob seit dem letzten Schnappschuss genug Zeit
+ * vergangen ist oder genug Zge gemacht wurden. Ist das der Fall, werden die seit
+ * dem letzten Schnappschuss genderten Blcke des Spielfeldes (siehe
+ * Spielfeld.BLOCKGROESSE) in ein Abbild der Spielstanddatei im Speicher gepackt.
+ * Das geschieht zwischen zwei Zgen auf dem Thread, der den Zug gemacht hat, so
+ * dass der Schnappschuss immer einen gltigen Zustand zeigt; der Aufwand hngt
+ * nur von der Zahl der genderten Blcke ab. Geschrieben wird auf einem eigenen
+ * Thread.
+ * 
+ * Es gibt zwei Spielstanddateien (SLOTS), die abwechselnd beschrieben werden.
+ * In eine Datei werden nur die Blcke geschrieben, die sich seit ihrem letzten
+ * Schreiben gendert haben. Erst wenn sie vollstndig auf der Platte ist, wird
+ * die Zeigerdatei ZEIGER ber eine temporre Datei und atomares Umbenennen auf
+ * sie umgestellt. Bei einem Absturz whrend des Schreibens zeigt der Zeiger
+ * also weiterhin auf die andere, vollstndige Datei. Beide Dateien haben das
+ * Format von Spielstand.
+ */
+public class Autospeicher {
+	
+	/**
+	 * Der Name der Zeigerdatei, die den Namen der aktuellen Spielstanddatei enthlt
+	 */
+	public static final String ZEIGER = "autosave.zeiger";
+	
+	/**
+	 * Die Namen der beiden abwechselnd beschriebenen Spielstanddateien
+	 */
+	static final String[] SLOTS = {"autosave-a" + Spielstand.ENDUNG,
+			"autosave-b" + Spielstand.ENDUNG};
+	
+	/**
+	 * Der Abstand zwischen zwei Schnappschssen in Millisekunden, wenn nichts
+	 * anderes eingestellt ist
+	 */
+	public static final long STANDARDINTERVALL = 10000;
+	
+	/**
+	 * Die Anzahl der Zge zwischen zwei Schnappschssen, wenn nichts anderes
+	 * eingestellt ist
+	 */
+	public static final int STANDARDZUEGE = 25;
+	
+	/**
+	 * Das Verzeichnis der Dateien
+	 */
+	private final File verzeichnis;
+	
+	/**
+	 * Der Abstand zwischen zwei Schnappschssen in Millisekunden
+	 */
+	private final long intervall;
+	
+	/**
+	 * Die Anzahl der Zge zwischen zwei Schnappschssen
+	 */
+	private final int zugintervall;
+	
+	/**
+	 * Der Thread, auf dem geschrieben wird
+	 */
+	private final ExecutorService schreiber;
+	
+	/**
+	 * Die Sperre fr alle Attribute, die Schnappschuss und Schreiber gemeinsam
+	 * verwenden
+	 */
+	private final Object sperre = new Object();
+	
+	/**
+	 * Das Spielfeld des letzten Schnappschusses, null wenn keines gesichert wird
+	 */
+	private Spielfeld spielfeld;
+	
+	/**
+	 * Das zuletzt gelschte, weil beendete Spielfeld, das nicht mehr gesichert wird
+	 */
+	private Spielfeld beendetesSpielfeld;
+	
+	/**
+	 * Das Abbild der Spielstanddatei zum letzten Schnappschuss
+	 */
+	private ByteBuffer abbild;
+	
+	/**
+	 * Die Lnge einer Bitebene im Abbild
+	 */
+	private int ebenenlaenge;
+	
+	/**
+	 * Je Spielstanddatei die Blcke, die dort noch geschrieben werden mssen
+	 */
+	private final long[][] ausstehend = new long[2][];
+	
+	/**
+	 * Der Index der Spielstanddatei, auf die der Zeiger zeigt, -1 wenn keine
+	 */
+	private int aktuellerSlot;
+	
+	/**
+	 * Gibt an, ob die Dateien gelscht werden sollen
+	 */
+	private boolean loeschen = false;
+	
+	/**
+	 * Gibt an, ob auf dem Schreibthread bereits ein Auftrag wartet
+	 */
+	private boolean auftragGeplant = false;
+	
+	/**
+	 * Die Anzahl der Zge seit dem letzten Schnappschuss
+	 */
+	private int zuegeSeitSchnappschuss = 0;
+	
+	/**
+	 * Der Zeitpunkt des letzten Schnappschusses
+	 */
+	private long letzterSchnappschuss = 0;
+	
+	/**
+	 * Erzeugt einen Autospeicher.
+	 * 
+	 * @param verzeichnis
+	 * 		das Verzeichnis, in dem die Dateien liegen
+	 * @param intervall
+	 * 		der Abstand zwischen zwei Schnappschssen in Millisekunden
+	 * @param zugintervall
+	 * 		die Anzahl der Zge, nach der sptestens ein Schnappschuss gemacht wird
+	 */
+	public Autospeicher(final File verzeichnis, final long intervall,
+			final int zugintervall) {
+		this.verzeichnis = verzeichnis;
+		this.intervall = intervall;
+		this.zugintervall = zugintervall;
+		this.aktuellerSlot = this.leseZeiger();
+		this.schreiber = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			public Thread newThread(final Runnable auftrag) {
+				final Thread thread = new Thread(auftrag, "Autospeicher");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	
+	/**
+	 * Erzeugt einen Autospeicher mit den Einstellungen aus den Systemeigenschaften
+	 * minesweeper.autosave.verzeichnis, minesweeper.autosave.intervall (in
+	 * Sekunden) und minesweeper.autosave.zuege.
+	 * 
+	 * @return der Autospeicher
+	 */
+	public static Autospeicher ausSystemeigenschaften() {
+		return new Autospeicher(new File(System.getProperty(
+				"minesweeper.autosave.verzeichnis", System.getProperty("user.home")
+				+ File.separator + ".minesweeper")),
+				Long.getLong("minesweeper.autosave.intervall",
+				STANDARDINTERVALL / 1000) * 1000,
+				Integer.getInteger("minesweeper.autosave.zuege", STANDARDZUEGE));
+	}
+	
+	/**
+	 * Ldt das zuletzt vollstndig gesicherte Spielfeld. Kann die Datei, auf die
+	 * der Zeiger zeigt, nicht gelesen werden, wird der vorherige Schnappschuss
+	 * aus der anderen Datei geladen.
+	 * 
+	 * @return das Spielfeld oder null, wenn keines gesichert ist oder keine
+	 * 		Sicherung gelesen werden kann
+	 */
+	public Spielfeld ladeNeuestes() {
+		final int slot = this.leseZeiger();
+		if (slot < 0)
+			return null;
+		for (int versuch = 0; versuch < SLOTS.length; versuch++)
+			try {
+				return Spielstand.lade(new File(this.verzeichnis,
+						SLOTS[(slot + versuch) % SLOTS.length]));
+			} catch (IOException e) {
+			}
+		return null;
+	}
+	
+	/**
+	 * Liest die Zeigerdatei.
+	 * 
+	 * @return der Index der Spielstanddatei, auf die sie zeigt, -1 wenn keine
+	 */
+	private int leseZeiger() {
+		try {
+			final String name = new String(Files.readAllBytes(
+					new File(this.verzeichnis, ZEIGER).toPath()), "ISO-8859-1").trim();
+			for (int slot = 0; slot < SLOTS.length; slot++)
+				if (SLOTS[slot].equals(name))
+					return slot;
+		} catch (IOException e) {
+		}
+		return -1;
+	}
+	
+	/**
+	 * Wird nach jedem Zug aufgerufen und macht einen Schnappschuss, wenn seit dem
+	 * letzten genug Zeit vergangen ist, genug Zge gemacht wurden oder ein neues
+	 * Spielfeld begonnen wurde. Darf nur zwischen zwei Zgen aufgerufen werden.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld, auf dem der Zug gemacht wurde
+	 */
+	public void zugBeendet(final Spielfeld spielfeld) {
+		this.zuegeSeitSchnappschuss++;
+		if (spielfeld == this.spielfeld
+				&& this.zuegeSeitSchnappschuss < this.zugintervall
+				&& System.currentTimeMillis() - this.letzterSchnappschuss < this.intervall)
+			return;
+		this.schnappschuss(spielfeld);
+	}
+	
+	/**
+	 * Macht sofort einen Schnappschuss und bergibt ihn dem Schreibthread.
+	 * Darf nur zwischen zwei Zgen aufgerufen werden.
+	 * 
+	 * @param spielfeld
+	 * 		das zu sichernde Spielfeld
+	 */
+	public void schnappschuss(final Spielfeld spielfeld) {
+		this.zuegeSeitSchnappschuss = 0;
+		this.letzterSchnappschuss = System.currentTimeMillis();
+		final long[] geaenderteBloecke = spielfeld.entnehmeGeaenderteBloecke();
+		synchronized (this.sperre) {
+			if (spielfeld == this.beendetesSpielfeld)
+				return;
+			final byte[] felder = spielfeld.getFelder();
+			if (spielfeld != this.spielfeld) {
+				this.spielfeld = spielfeld;
+				this.ebenenlaenge = (int) Spielstand.getEbenenlaenge(felder.length);
+				this.abbild = ByteBuffer.allocate(
+						Spielstand.KOPFLAENGE + 3 * this.ebenenlaenge);
+				final int bloecke = (felder.length + Spielfeld.BLOCKGROESSE - 1)
+						/ Spielfeld.BLOCKGROESSE;
+				for (int slot = 0; slot < SLOTS.length; slot++) {
+					this.ausstehend[slot] = new long[(bloecke + 63) / 64];
+					for (int block = 0; block < bloecke; block++)
+						this.ausstehend[slot][block >>> 6] |= 1L << block;
+				}
+				Spielstand.schreibeEbenen(felder, this.abbild.order(ByteOrder.LITTLE_ENDIAN),
+						Spielstand.KOPFLAENGE, this.ebenenlaenge, 0, this.ebenenlaenge / 8);
+			} else {
+				final int woerterJeBlock = Spielfeld.BLOCKGROESSE / 64;
+				this.abbild.order(ByteOrder.LITTLE_ENDIAN);
+				for (int index = 0; index < geaenderteBloecke.length; index++) {
+					if (geaenderteBloecke[index] == 0)
+						continue;
+					for (int slot = 0; slot < SLOTS.length; slot++)
+						this.ausstehend[slot][index] |= geaenderteBloecke[index];
+					for (int bit = 0; bit < 64; bit++)
+						if ((geaenderteBloecke[index] & (1L << bit)) != 0) {
+							final int block = index * 64 + bit;
+							Spielstand.schreibeEbenen(felder, this.abbild,
+									Spielstand.KOPFLAENGE, this.ebenenlaenge,
+									block * woerterJeBlock, Math.min(this.ebenenlaenge / 8,
+									(block + 1) * woerterJeBlock));
+						}
+				}
+			}
+			Spielstand.schreibeKopf(spielfeld, this.abbild);
+			this.planeAuftrag();
+		}
+	}
+	
+	/**
+	 * Lscht die Sicherung, z.B. weil das Spiel beendet ist. Weitere
+	 * Schnappschsse dieses Spielfeldes werden ignoriert.
+	 * 
+	 * @param spielfeld
+	 * 		das beendete Spielfeld
+	 */
+	public void loesche(final Spielfeld spielfeld) {
+		synchronized (this.sperre) {
+			this.beendetesSpielfeld = spielfeld;
+			this.spielfeld = null;
+			this.abbild = null;
+			this.loeschen = true;
+			this.planeAuftrag();
+		}
+	}
+	
+	/**
+	 * Nimmt die Sicherung eines zuvor gelschten Spielfeldes wieder auf, z.B.
+	 * nachdem der letzte Zug eines beendeten Spiels rckgngig gemacht wurde.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld, das wieder gesichert werden soll
+	 */
+	public void setzeFort(final Spielfeld spielfeld) {
+		synchronized (this.sperre) {
+			if (spielfeld == this.beendetesSpielfeld)
+				this.beendetesSpielfeld = null;
+		}
+		this.schnappschuss(spielfeld);
+	}
+	
+	/**
+	 * Sichert das Spielfeld ein letztes Mal und wartet, bis alles geschrieben ist.
+	 * Wird beim Beenden des Programms aufgerufen.
+	 * 
+	 * @param spielfeld
+	 * 		das zu sichernde Spielfeld
+	 */
+	public void beende(final Spielfeld spielfeld) {
+		this.schnappschuss(spielfeld);
+		this.schreiber.shutdown();
+		try {
+			this.schreiber.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+		}
+	}
+	
+	/**
+	 * Plant einen Auftrag auf dem Schreibthread ein, falls noch keiner wartet.
+	 * Muss mit der Sperre aufgerufen werden.
+	 */
+	private void planeAuftrag() {
+		if (this.auftragGeplant || this.schreiber.isShutdown())
+			return;
+		this.auftragGeplant = true;
+		this.schreiber.execute(new Runnable() {
+			public void run() {
+				Autospeicher.this.schreibe();
+			}
+		});
+	}
+	
+	/**
+	 * Fhrt auf dem Schreibthread die ausstehenden Aufgaben aus: zuerst das
+	 * Lschen, dann das Schreiben der genderten Blcke in die Spielstanddatei,
+	 * auf die der Zeiger gerade nicht zeigt, und schlielich das Umstellen des
+	 * Zeigers.
+	 */
+	private void schreibe() {
+		final boolean loeschen;
+		final int slot;
+		final long dateilaenge;
+		final byte[] kopf = new byte[Spielstand.KOPFLAENGE];
+		final ArrayList<Long> positionen = new ArrayList<Long>();
+		final ArrayList<byte[]> daten = new ArrayList<byte[]>();
+		final long[] bloecke;
+		synchronized (this.sperre) {
+			this.auftragGeplant = false;
+			loeschen = this.loeschen;
+			this.loeschen = false;
+			if (loeschen)
+				this.aktuellerSlot = -1;
+			slot = this.aktuellerSlot == 0 ? 1 : 0;
+			bloecke = this.ausstehend[slot];
+			if (this.spielfeld != null) {
+				this.ausstehend[slot] = new long[bloecke.length];
+				dateilaenge = this.abbild.capacity();
+				this.abbild.position(0);
+				this.abbild.get(kopf);
+				// Die Blcke liegen in allen drei Ebenen an derselben relativen Stelle
+				final int bytesJeBlock = Spielfeld.BLOCKGROESSE / 8;
+				for (int index = 0; index < bloecke.length; index++)
+					for (int bit = 0; bit < 64; bit++) {
+						if ((bloecke[index] & (1L << bit)) == 0)
+							continue;
+						final int anfang = (index * 64 + bit) * bytesJeBlock;
+						final int laenge = Math.min(bytesJeBlock, this.ebenenlaenge - anfang);
+						for (int ebene = 0; ebene < 3; ebene++) {
+							final byte[] block = new byte[laenge];
+							this.abbild.position(Spielstand.KOPFLAENGE
+									+ ebene * this.ebenenlaenge + anfang);
+							this.abbild.get(block);
+							positionen.add(Long.valueOf(Spielstand.KOPFLAENGE
+									+ (long) ebene * this.ebenenlaenge + anfang));
+							daten.add(block);
+						}
+					}
+			} else {
+				dateilaenge = -1;
+			}
+		}
+		try {
+			if (loeschen) {
+				Files.deleteIfExists(new File(this.verzeichnis, ZEIGER).toPath());
+				for (int index = 0; index < SLOTS.length; index++)
+					Files.deleteIfExists(new File(this.verzeichnis, SLOTS[index]).toPath());
+			}
+			if (dateilaenge < 0)
+				return;
+			this.verzeichnis.mkdirs();
+			final FileChannel kanal = FileChannel.open(
+					new File(this.verzeichnis, SLOTS[slot]).toPath(),
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			try {
+				if (kanal.size() > dateilaenge)
+					kanal.truncate(dateilaenge);
+				for (int index = 0; index < daten.size(); index++)
+					kanal.write(ByteBuffer.wrap(daten.get(index)), positionen.get(index).longValue());
+				kanal.write(ByteBuffer.wrap(kopf), 0);
+				kanal.force(true);
+			} finally {
+				kanal.close();
+			}
+			final File temporaer = new File(this.verzeichnis, ZEIGER + ".tmp");
+			final FileOutputStream ausgabe = new FileOutputStream(temporaer);
+			try {
+				ausgabe.write(SLOTS[slot].getBytes("ISO-8859-1"));
+				ausgabe.getFD().sync();
+			} finally {
+				ausgabe.close();
+			}
+			Files.move(temporaer.toPath(), new File(this.verzeichnis, ZEIGER).toPath(),
+					StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			synchronized (this.sperre) {
+				this.aktuellerSlot = slot;
+			}
+		} catch (IOException e) {
+			// Die Blcke beim nchsten Mal erneut schreiben
+			synchronized (this.sperre) {
+				if (dateilaenge >= 0 && this.ausstehend[slot] != null
+						&& this.ausstehend[slot].length == bloecke.length)
+					for (int index = 0; index < bloecke.length; index++)
+						this.ausstehend[slot][index] |= bloecke[index];
+			}
+		}
+	}
+}
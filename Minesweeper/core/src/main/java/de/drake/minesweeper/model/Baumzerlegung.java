@@ -0,0 +1,633 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Zhlt die Besetzungen einer Komponente von Randklassen exakt ber eine
+ * Baumzerlegung ihres Bedingungsgraphen. Wird vom ProbabilityCalculator fr
+ * Komponenten verwendet, die fr die Transfermatrix zu breit sind, etwa wenn
+ * mehrere aufgedeckte Bereiche zusammenwachsen.
+ *
+ * Im Bedingungsgraphen sind zwei Klassen benachbart, wenn sie zu einer
+ * gemeinsamen Bedingung gehren. Die Klassen werden nacheinander eliminiert,
+ * jeweils die mit den wenigsten Nachbarn und bei Gleichstand die, deren Nachbarn
+ * die wenigsten neuen Kanten brauchen, um eine Clique zu bilden. Jede Klasse
+ * bildet mit ihren Nachbarn zum Zeitpunkt der Elimination einen Eimer; der Eimer
+ * hngt am Eimer des zuerst eliminierten Nachbarn. Die Weite der Zerlegung ist
+ * die Gre des grten Eimers weniger eins.
+ *
+ * Aufwrts schickt jeder Eimer seinem Elterneimer eine Nachricht, die fr jede
+ * Besetzung der gemeinsamen Klassen die Besetzungen seines Teilbaums nach ihrer
+ * Minenzahl gewichtet (Bucket Elimination). Abwrts schickt jeder Eimer seinen
+ * Kindern die Gewichte aller brigen Besetzungen samt der Gewichtung der anderen
+ * Komponenten, so dass sich in jedem Eimer die Minenwahrscheinlichkeit seiner
+ * Klasse ergibt.
+ */
+final class Baumzerlegung implements Komponentenzaehler {
+	
+	/**
+	 * Die grte Anzahl an Besetzungen eines Eimers, bis zu der die Baumzerlegung
+	 * verwendet wird.
+	 */
+	static final int MAXIMALE_EIMERGROESSE = 1 << 16;
+	
+	/**
+	 * Die grte Anzahl an Werten einer Nachricht, bis zu der die Baumzerlegung
+	 * verwendet wird.
+	 */
+	static final int MAXIMALE_NACHRICHT = 1 << 22;
+	
+	/**
+	 * Der ProbabilityCalculator, dessen Berechnung unterbrochen werden kann.
+	 */
+	private final ProbabilityCalculator rechner;
+	
+	/**
+	 * Die Randklassen, zu denen die Komponente gehrt.
+	 */
+	private final Randklassen randklassen;
+	
+	/**
+	 * Die Klassen der Komponente in der Reihenfolge ihrer Elimination.
+	 */
+	private int[] reihenfolge;
+	
+	/**
+	 * Die Klassen jedes Eimers als Positionen in der Reihenfolge, zuerst die
+	 * eliminierte Klasse, dann die brigen aufsteigend.
+	 */
+	private int[][] eimer;
+	
+	/**
+	 * Der Elterneimer jedes Eimers, -1 fr die Wurzel.
+	 */
+	private int[] elter;
+	
+	/**
+	 * Die Kindeimer jedes Eimers.
+	 */
+	private int[][] kinder;
+	
+	/**
+	 * Die Anzahl der Randfelder im Teilbaum jedes Eimers.
+	 */
+	private int[] felderImTeilbaum;
+	
+	/**
+	 * Der Stellenwert jeder Klasse eines Eimers in der Nummer einer Besetzung
+	 * seiner Nachricht, 0 fr die eliminierte Klasse.
+	 */
+	private int[][] stellenwertNachricht;
+	
+	/**
+	 * Die Anzahl der Besetzungen der Nachricht jedes Eimers.
+	 */
+	private int[] nachrichtengroesse;
+	
+	/**
+	 * Fr jeden Eimer und jedes Kind der Stellenwert jeder Klasse des Eimers in
+	 * der Nummer einer Besetzung der Nachricht des Kindes.
+	 */
+	private int[][][] stellenwertKind;
+	
+	/**
+	 * Fr jeden Eimer die Stellen der Klassen jeder Bedingung, die im Eimer
+	 * geprft wird.
+	 */
+	private int[][][] bedingungsstellen;
+	
+	/**
+	 * Fr jeden Eimer die Werte der Bedingungen, die im Eimer geprft werden.
+	 */
+	private int[][] bedingungswerte;
+	
+	/**
+	 * Die Weite der Zerlegung.
+	 */
+	private int baumweite;
+	
+	/**
+	 * Ob die Zerlegung schmal genug ist.
+	 */
+	private boolean geeignet;
+	
+	/**
+	 * Die Nachrichten jedes Eimers an seinen Elterneimer.
+	 */
+	private double[][][] nachrichten;
+	
+	/**
+	 * Zhlt die besuchten Besetzungen der Eimer.
+	 */
+	private long besuchteZustaende;
+	
+	/**
+	 * Zhlt die Besetzungen der Eimer, die eine Bedingung verletzen.
+	 */
+	private long verworfeneUebergaenge;
+	
+	/**
+	 * Berechnet eine Baumzerlegung des Bedingungsgraphen einer Komponente und
+	 * prft, ob ihre Eimer und Nachrichten klein genug sind.
+	 * 
+	 * @param rechner
+	 * 		der ProbabilityCalculator, dessen Berechnung unterbrochen werden kann
+	 * @param randklassen
+	 * 		die Randklassen
+	 * @param komponente
+	 * 		die Komponente
+	 */
+	Baumzerlegung(final ProbabilityCalculator rechner, final Randklassen randklassen,
+			final int komponente) {
+		this.rechner = rechner;
+		this.randklassen = randklassen;
+		final int[] klassen = randklassen.getKomponente(komponente);
+		final int anzahl = klassen.length;
+		final int[] lokal = new int[randklassen.getKlassenzahl()];
+		for (int index = 0; index < anzahl; index++)
+			lokal[klassen[index]] = index;
+		final BitSet[] nachbarn = new BitSet[anzahl];
+		for (int index = 0; index < anzahl; index++) {
+			nachbarn[index] = new BitSet(anzahl);
+			for (final int bedingung : randklassen.getBedingungen(klassen[index]))
+				for (final int nachbar : randklassen.getKlassen(bedingung))
+					nachbarn[index].set(lokal[nachbar]);
+			nachbarn[index].clear(index);
+		}
+	
+		// Eliminationsreihenfolge nach kleinstem Grad, bei Gleichstand nach den
+		// wenigsten Auffllkanten
+		this.reihenfolge = new int[anzahl];
+		final int[] position = new int[anzahl];
+		final int[][] eimerLokal = new int[anzahl][];
+		final boolean[] eliminiert = new boolean[anzahl];
+		for (int schritt = 0; schritt < anzahl; schritt++) {
+			int beste = -1;
+			int besterGrad = Integer.MAX_VALUE;
+			int besteAuffuellung = Integer.MAX_VALUE;
+			for (int index = 0; index < anzahl; index++) {
+				if (eliminiert[index])
+					continue;
+				final int grad = nachbarn[index].cardinality();
+				if (grad > besterGrad)
+					continue;
+				final int auffuellung = Baumzerlegung.zaehleAuffuellung(nachbarn, index);
+				if (grad < besterGrad || auffuellung < besteAuffuellung) {
+					beste = index;
+					besterGrad = grad;
+					besteAuffuellung = auffuellung;
+				}
+			}
+			final BitSet umgebung = nachbarn[beste];
+			eimerLokal[schritt] = new int[umgebung.cardinality() + 1];
+			eimerLokal[schritt][0] = beste;
+			long eimergroesse = randklassen.getGroesse(klassen[beste]) + 1;
+			int stelle = 1;
+			for (int nachbar = umgebung.nextSetBit(0); nachbar >= 0;
+					nachbar = umgebung.nextSetBit(nachbar + 1)) {
+				eimerLokal[schritt][stelle++] = nachbar;
+				eimergroesse *= randklassen.getGroesse(klassen[nachbar]) + 1;
+				nachbarn[nachbar].or(umgebung);
+				nachbarn[nachbar].clear(nachbar);
+				nachbarn[nachbar].clear(beste);
+			}
+			this.baumweite = Math.max(this.baumweite, umgebung.cardinality());
+			if (eimergroesse > Baumzerlegung.MAXIMALE_EIMERGROESSE)
+				return;
+			eliminiert[beste] = true;
+			position[beste] = schritt;
+			this.reihenfolge[schritt] = klassen[beste];
+		}
+	
+		// Eimer, Eltern und Teilbume in Positionen der Reihenfolge
+		this.eimer = new int[anzahl][];
+		this.elter = new int[anzahl];
+		this.felderImTeilbaum = new int[anzahl];
+		final ArrayList<ArrayList<Integer>> kinderlisten = new ArrayList<ArrayList<Integer>>();
+		for (int schritt = 0; schritt < anzahl; schritt++) {
+			kinderlisten.add(new ArrayList<Integer>());
+			final int[] klassenDesEimers = eimerLokal[schritt];
+			this.eimer[schritt] = new int[klassenDesEimers.length];
+			for (int stelle = 0; stelle < klassenDesEimers.length; stelle++)
+				this.eimer[schritt][stelle] = position[klassenDesEimers[stelle]];
+			Arrays.sort(this.eimer[schritt], 1, this.eimer[schritt].length);
+			this.elter[schritt] = this.eimer[schritt].length > 1 ? this.eimer[schritt][1] : -1;
+		}
+		this.kinder = new int[anzahl][];
+		for (int schritt = 0; schritt < anzahl; schritt++) {
+			this.felderImTeilbaum[schritt] += randklassen.getGroesse(this.reihenfolge[schritt]);
+			if (this.elter[schritt] >= 0) {
+				this.felderImTeilbaum[this.elter[schritt]] += this.felderImTeilbaum[schritt];
+				kinderlisten.get(this.elter[schritt]).add(schritt);
+			}
+		}
+		this.nachrichtengroesse = new int[anzahl];
+		this.stellenwertNachricht = new int[anzahl][];
+		for (int schritt = 0; schritt < anzahl; schritt++) {
+			final int[] klassenDesEimers = this.eimer[schritt];
+			this.stellenwertNachricht[schritt] = new int[klassenDesEimers.length];
+			long groesse = 1;
+			for (int stelle = 1; stelle < klassenDesEimers.length; stelle++) {
+				this.stellenwertNachricht[schritt][stelle] = (int) groesse;
+				groesse *= this.getDomaene(klassenDesEimers[stelle]);
+			}
+			if (groesse * (this.felderImTeilbaum[schritt] + 1) > Baumzerlegung.MAXIMALE_NACHRICHT)
+				return;
+			this.nachrichtengroesse[schritt] = (int) groesse;
+			final ArrayList<Integer> liste = kinderlisten.get(schritt);
+			this.kinder[schritt] = new int[liste.size()];
+			for (int index = 0; index < liste.size(); index++)
+				this.kinder[schritt][index] = liste.get(index);
+		}
+		this.stellenwertKind = new int[anzahl][][];
+		for (int schritt = 0; schritt < anzahl; schritt++) {
+			final int[] klassenDesEimers = this.eimer[schritt];
+			this.stellenwertKind[schritt] = new int[this.kinder[schritt].length][];
+			for (int index = 0; index < this.kinder[schritt].length; index++) {
+				final int kind = this.kinder[schritt][index];
+				final int[] stellenwert = new int[klassenDesEimers.length];
+				for (int stelle = 1; stelle < this.eimer[kind].length; stelle++)
+					for (int eigene = 0; eigene < klassenDesEimers.length; eigene++)
+						if (klassenDesEimers[eigene] == this.eimer[kind][stelle])
+							stellenwert[eigene] = this.stellenwertNachricht[kind][stelle];
+				this.stellenwertKind[schritt][index] = stellenwert;
+			}
+		}
+	
+		// Jede Bedingung wird im Eimer ihrer zuerst eliminierten Klasse geprft
+		final ArrayList<ArrayList<int[]>> stellenlisten = new ArrayList<ArrayList<int[]>>();
+		final ArrayList<ArrayList<Integer>> wertelisten = new ArrayList<ArrayList<Integer>>();
+		for (int schritt = 0; schritt < anzahl; schritt++) {
+			stellenlisten.add(new ArrayList<int[]>());
+			wertelisten.add(new ArrayList<Integer>());
+		}
+		for (int schritt = 0; schritt < anzahl; schritt++)
+			for (final int bedingung : randklassen.getBedingungen(this.reihenfolge[schritt])) {
+				final int[] beteiligte = randklassen.getKlassen(bedingung);
+				int erste = Integer.MAX_VALUE;
+				for (final int klasse : beteiligte)
+					erste = Math.min(erste, position[lokal[klasse]]);
+				if (erste != schritt)
+					continue;
+				final int[] stellen = new int[beteiligte.length];
+				for (int index = 0; index < beteiligte.length; index++)
+					for (int stelle = 0; stelle < this.eimer[schritt].length; stelle++)
+						if (this.eimer[schritt][stelle] == position[lokal[beteiligte[index]]])
+							stellen[index] = stelle;
+				stellenlisten.get(schritt).add(stellen);
+				wertelisten.get(schritt).add(randklassen.getWert(bedingung));
+			}
+		this.bedingungsstellen = new int[anzahl][][];
+		this.bedingungswerte = new int[anzahl][];
+		for (int schritt = 0; schritt < anzahl; schritt++) {
+			this.bedingungsstellen[schritt] = stellenlisten.get(schritt).toArray(
+					new int[stellenlisten.get(schritt).size()][]);
+			this.bedingungswerte[schritt] = new int[wertelisten.get(schritt).size()];
+			for (int index = 0; index < this.bedingungswerte[schritt].length; index++)
+				this.bedingungswerte[schritt][index] = wertelisten.get(schritt).get(index);
+		}
+		this.geeignet = true;
+	}
+	
+	/**
+	 * Zhlt die Kanten, die fehlen, damit die Nachbarn einer Klasse eine Clique
+	 * bilden.
+	 * 
+	 * @param nachbarn
+	 * 		die Nachbarn jeder Klasse
+	 * @param klasse
+	 * 		die Klasse
+	 * @return die Anzahl der fehlenden Kanten
+	 */
+	private static int zaehleAuffuellung(final BitSet[] nachbarn, final int klasse) {
+		final BitSet umgebung = nachbarn[klasse];
+		int auffuellung = 0;
+		for (int erster = umgebung.nextSetBit(0); erster >= 0;
+				erster = umgebung.nextSetBit(erster + 1))
+			for (int zweiter = umgebung.nextSetBit(erster + 1); zweiter >= 0;
+					zweiter = umgebung.nextSetBit(zweiter + 1))
+				if (!nachbarn[erster].get(zweiter))
+					auffuellung++;
+		return auffuellung;
+	}
+	
+	/**
+	 * Gibt die Anzahl der mglichen Minenzahlen einer Klasse zurck.
+	 * 
+	 * @param position
+	 * 		die Position der Klasse in der Reihenfolge
+	 * @return die Gre der Klasse plus eins
+	 */
+	private int getDomaene(final int position) {
+		return this.randklassen.getGroesse(this.reihenfolge[position]) + 1;
+	}
+	
+	/**
+	 * Gibt zurck, ob die Komponente schmal genug fr die Baumzerlegung ist.
+	 * 
+	 * @return true, wenn kein Eimer mehr als MAXIMALE_EIMERGROESSE Besetzungen und
+	 * 		keine Nachricht mehr als MAXIMALE_NACHRICHT Werte hat
+	 */
+	boolean istGeeignet() {
+		return this.geeignet;
+	}
+	
+	/**
+	 * Gibt die Weite der Zerlegung zurck. Ist die Zerlegung nicht geeignet, so
+	 * ist es die Weite bis zu dem Eimer, an dem die Berechnung abgebrochen wurde.
+	 * 
+	 * @return die Gre des grten Eimers weniger eins
+	 */
+	int getBaumweite() {
+		return this.baumweite;
+	}
+	
+	@Override
+	public long getBesuchteZustaende() {
+		return this.besuchteZustaende;
+	}
+	
+	@Override
+	public long getVerworfeneUebergaenge() {
+		return this.verworfeneUebergaenge;
+	}
+	
+	@Override
+	public double[] berechneVerteilung() throws InterruptedException {
+		final int anzahl = this.reihenfolge.length;
+		this.nachrichten = new double[anzahl][][];
+		for (int schritt = 0; schritt < anzahl; schritt++)
+			this.nachrichten[schritt] = this.rechneAufwaerts(schritt);
+		// Die Komponente ist zusammenhngend, der zuletzt eliminierte Eimer ist
+		// also die einzige Wurzel.
+		final double[] wurzel = this.nachrichten[anzahl - 1][0];
+		final double[] verteilung = wurzel == null
+				? new double[this.felderImTeilbaum[anzahl - 1] + 1] : wurzel.clone();
+		Baumzerlegung.normiere(new double[][] {verteilung});
+		return verteilung;
+	}
+	
+	@Override
+	public void berechneKlassenminen(final double[] gewichtung,
+			final double[] klassenwahrscheinlichkeit) throws InterruptedException {
+		final int anzahl = this.reihenfolge.length;
+		final double[][][] abwaerts = new double[anzahl][][];
+		abwaerts[anzahl - 1] = new double[][] {gewichtung.clone()};
+		for (int schritt = anzahl - 1; schritt >= 0; schritt--) {
+			this.rechneAbwaerts(schritt, abwaerts, klassenwahrscheinlichkeit);
+			abwaerts[schritt] = null;
+		}
+	}
+	
+	/**
+	 * Prft die Bedingungen eines Eimers fr eine Besetzung seiner Klassen.
+	 * 
+	 * @param schritt
+	 * 		der Eimer
+	 * @param werte
+	 * 		die Minenzahlen der Klassen des Eimers
+	 * @return true, wenn alle im Eimer geprften Bedingungen erfllt sind
+	 */
+	private boolean istErfuellt(final int schritt, final int[] werte) {
+		for (int bedingung = 0; bedingung < this.bedingungswerte[schritt].length; bedingung++) {
+			int summe = 0;
+			for (final int stelle : this.bedingungsstellen[schritt][bedingung])
+				summe += werte[stelle];
+			if (summe != this.bedingungswerte[schritt][bedingung])
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Zhlt eine Besetzung der Klassen eines Eimers weiter, die letzte Stelle
+	 * zuerst.
+	 * 
+	 * @param schritt
+	 * 		der Eimer
+	 * @param werte
+	 * 		die Minenzahlen der Klassen des Eimers
+	 */
+	private void zaehleWeiter(final int schritt, final int[] werte) {
+		int stelle = 0;
+		while (stelle < werte.length) {
+			werte[stelle]++;
+			if (werte[stelle] < this.getDomaene(this.eimer[schritt][stelle]))
+				return;
+			werte[stelle] = 0;
+			stelle++;
+		}
+	}
+	
+	/**
+	 * Berechnet die Nachricht eines Eimers an seinen Elterneimer.
+	 * 
+	 * @param schritt
+	 * 		der Eimer
+	 * @return fr jede Besetzung der brigen Klassen des Eimers die normierte
+	 * 		Verteilung der Besetzungen des Teilbaums nach der Minenzahl, null fr
+	 * 		Besetzungen ohne gltige Fortsetzung
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	private double[][] rechneAufwaerts(final int schritt) throws InterruptedException {
+		this.rechner.pruefeUnterbrechung();
+		final int[] klassenDesEimers = this.eimer[schritt];
+		final int[] kinder = this.kinder[schritt];
+		final int groesse = this.randklassen.getGroesse(this.reihenfolge[schritt]);
+		final double[][] ergebnis = new double[this.nachrichtengroesse[schritt]][];
+		final int[] werte = new int[klassenDesEimers.length];
+		final int besetzungen = this.nachrichtengroesse[schritt] * (groesse + 1);
+		for (int besetzung = 0; besetzung < besetzungen; besetzung++) {
+			if (besetzung > 0)
+				this.zaehleWeiter(schritt, werte);
+			if ((besetzung & 0xFFF) == 0)
+				this.rechner.pruefeUnterbrechung();
+			this.besuchteZustaende++;
+			if (!this.istErfuellt(schritt, werte)) {
+				this.verworfeneUebergaenge++;
+				continue;
+			}
+			double[] produkt = this.eigeneVerteilung(groesse, werte[0]);
+			for (int index = 0; index < kinder.length && produkt != null; index++) {
+				final double[] nachricht = this.nachrichten[kinder[index]][
+						Baumzerlegung.nummer(werte, this.stellenwertKind[schritt][index])];
+				produkt = nachricht == null ? null : Baumzerlegung.falte(produkt, nachricht);
+			}
+			if (produkt == null)
+				continue;
+			final int nummer = Baumzerlegung.nummer(werte, this.stellenwertNachricht[schritt]);
+			if (ergebnis[nummer] == null)
+				ergebnis[nummer] = new double[this.felderImTeilbaum[schritt] + 1];
+			for (int minen = 0; minen < produkt.length; minen++)
+				ergebnis[nummer][minen] += produkt[minen];
+		}
+		Baumzerlegung.normiere(ergebnis);
+		return ergebnis;
+	}
+	
+	/**
+	 * Berechnet die erwartete Minenzahl der Klasse eines Eimers und die
+	 * Nachrichten des Eimers an seine Kinder. Die Nachricht an einen Eimer gibt
+	 * fr jede Besetzung der brigen Klassen des Eimers und jede Minenzahl j
+	 * seines Teilbaums das Gewicht aller Besetzungen auerhalb des Teilbaums an,
+	 * wobei jede Besetzung mit m Minen zustzlich mit gewichtung[j + m] zhlt.
+	 * 
+	 * @param schritt
+	 * 		der Eimer
+	 * @param abwaerts
+	 * 		die Nachrichten von oben, bereits gefllt fr diesen Eimer; nimmt die
+	 * 		Nachrichten an seine Kinder auf
+	 * @param klassenwahrscheinlichkeit
+	 * 		nimmt die erwartete Minenzahl der Klasse auf
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	private void rechneAbwaerts(final int schritt, final double[][][] abwaerts,
+			final double[] klassenwahrscheinlichkeit) throws InterruptedException {
+		this.rechner.pruefeUnterbrechung();
+		final int[] klassenDesEimers = this.eimer[schritt];
+		final int[] kinder = this.kinder[schritt];
+		final int groesse = this.randklassen.getGroesse(this.reihenfolge[schritt]);
+		for (final int kind : kinder)
+			abwaerts[kind] = new double[this.nachrichtengroesse[kind]][];
+		final int[] werte = new int[klassenDesEimers.length];
+		final double[][] anfaenge = new double[kinder.length + 1][];
+		final double[][] enden = new double[kinder.length + 1][];
+		final int[] nummern = new int[kinder.length];
+		double summe = 0;
+		double erwartung = 0;
+		final int besetzungen = this.nachrichtengroesse[schritt] * (groesse + 1);
+		for (int besetzung = 0; besetzung < besetzungen; besetzung++) {
+			if (besetzung > 0)
+				this.zaehleWeiter(schritt, werte);
+			if ((besetzung & 0xFFF) == 0)
+				this.rechner.pruefeUnterbrechung();
+			if (!this.istErfuellt(schritt, werte))
+				continue;
+			final double[] vonOben = abwaerts[schritt][
+					Baumzerlegung.nummer(werte, this.stellenwertNachricht[schritt])];
+			if (vonOben == null)
+				continue;
+			this.besuchteZustaende++;
+			// Produkte der eigenen Verteilung mit den Nachrichten der Kinder davor
+			// und der Kinder danach
+			anfaenge[0] = this.eigeneVerteilung(groesse, werte[0]);
+			enden[kinder.length] = new double[] {1};
+			boolean gueltig = true;
+			for (int index = 0; index < kinder.length && gueltig; index++) {
+				nummern[index] = Baumzerlegung.nummer(werte, this.stellenwertKind[schritt][index]);
+				gueltig = this.nachrichten[kinder[index]][nummern[index]] != null;
+			}
+			if (!gueltig)
+				continue;
+			for (int index = 0; index < kinder.length; index++)
+				anfaenge[index + 1] = Baumzerlegung.falte(anfaenge[index],
+						this.nachrichten[kinder[index]][nummern[index]]);
+			for (int index = kinder.length - 1; index >= 0; index--)
+				enden[index] = Baumzerlegung.falte(
+						this.nachrichten[kinder[index]][nummern[index]], enden[index + 1]);
+			final double[] gesamt = anfaenge[kinder.length];
+			double produkt = 0;
+			for (int minen = 0; minen < gesamt.length; minen++)
+				produkt += gesamt[minen] * vonOben[minen];
+			summe += produkt;
+			erwartung += werte[0] * produkt;
+			for (int index = 0; index < kinder.length; index++) {
+				final double[] uebrige = Baumzerlegung.falte(anfaenge[index], enden[index + 1]);
+				final double[][] tabelle = abwaerts[kinder[index]];
+				if (tabelle[nummern[index]] == null)
+					tabelle[nummern[index]] = new double[this.felderImTeilbaum[kinder[index]] + 1];
+				final double[] ziel = tabelle[nummern[index]];
+				for (int innen = 0; innen < ziel.length; innen++) {
+					double wert = 0;
+					for (int aussen = 0; aussen < uebrige.length; aussen++)
+						wert += uebrige[aussen] * vonOben[innen + aussen];
+					ziel[innen] += wert;
+				}
+			}
+		}
+		klassenwahrscheinlichkeit[this.reihenfolge[schritt]] = erwartung / summe;
+		for (final int kind : kinder)
+			Baumzerlegung.normiere(abwaerts[kind]);
+	}
+	
+	/**
+	 * Gibt die Verteilung einer einzelnen Klasse mit fester Minenzahl zurck.
+	 * 
+	 * @param groesse
+	 * 		die Gre der Klasse
+	 * @param minen
+	 * 		die Minenzahl der Klasse
+	 * @return ein Vektor, der an der Stelle minen binom(groesse, minen) mal dem
+	 * 		Minengewicht hoch minen enthlt
+	 */
+	private double[] eigeneVerteilung(final int groesse, final int minen) {
+		final double minengewicht = this.rechner.getMinengewicht();
+		final double[] verteilung = new double[minen + 1];
+		double binomialkoeffizient = 1;
+		for (int index = 1; index <= minen; index++)
+			binomialkoeffizient = binomialkoeffizient * (groesse - index + 1) / index
+					* minengewicht;
+		verteilung[minen] = binomialkoeffizient;
+		return verteilung;
+	}
+	
+	/**
+	 * Berechnet die Nummer einer Besetzung in einer Nachricht.
+	 * 
+	 * @param werte
+	 * 		die Minenzahlen der Klassen des Eimers
+	 * @param stellenwert
+	 * 		der Stellenwert jeder Klasse in der Nachricht
+	 * @return die Nummer
+	 */
+	private static int nummer(final int[] werte, final int[] stellenwert) {
+		int nummer = 0;
+		for (int stelle = 0; stelle < werte.length; stelle++)
+			nummer += werte[stelle] * stellenwert[stelle];
+		return nummer;
+	}
+	
+	/**
+	 * Faltet zwei Minenverteilungen.
+	 * 
+	 * @param erste
+	 * 		die erste Verteilung
+	 * @param zweite
+	 * 		die zweite Verteilung
+	 * @return die Verteilung der Summe der Minenzahlen
+	 */
+	private static double[] falte(final double[] erste, final double[] zweite) {
+		final double[] ergebnis = new double[erste.length + zweite.length - 1];
+		for (int i = 0; i < erste.length; i++) {
+			if (erste[i] == 0)
+				continue;
+			for (int j = 0; j < zweite.length; j++)
+				ergebnis[i + j] += erste[i] * zweite[j];
+		}
+		return ergebnis;
+	}
+	
+	/**
+	 * Teilt alle Vektoren durch ihr gemeinsames Maximum, sofern dieses nicht 0 ist.
+	 * 
+	 * @param vektoren
+	 * 		die zu normierenden Vektoren, null fr unerreichbare Besetzungen
+	 */
+	private static void normiere(final double[][] vektoren) {
+		double maximum = 0;
+		for (final double[] vektor : vektoren)
+			if (vektor != null)
+				for (final double wert : vektor)
+					maximum = Math.max(maximum, wert);
+		if (maximum == 0)
+			return;
+		for (final double[] vektor : vektoren)
+			if (vektor != null)
+				for (int index = 0; index < vektor.length; index++)
+					vektor[index] /= maximum;
+	}
+}
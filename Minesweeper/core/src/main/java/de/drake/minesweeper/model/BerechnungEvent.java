@@ -0,0 +1,72 @@
+package de.drake.minesweeper.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR-Ereignis fr eine vollstndige Wahrscheinlichkeitsberechnung des
+ * ProbabilityCalculators.
+ */
+@Name("de.drake.minesweeper.Berechnung")
+@Label("Wahrscheinlichkeitsberechnung")
+@Category({"Minesweeper", "Lser"})
+@Description("Eine vollstndige Berechnung aller Minenwahrscheinlichkeiten")
+class BerechnungEvent extends Event {
+	
+	/**
+	 * Die Hhe des Minesweepers
+	 */
+	@Label("Hhe")
+	int hoehe;
+	
+	/**
+	 * Die Breite des Minesweepers
+	 */
+	@Label("Breite")
+	int breite;
+	
+	/**
+	 * Die Anzahl der Randfelder
+	 */
+	@Label("Frontgre")
+	int frontgroesse;
+	
+	/**
+	 * Die Anzahl der unabhngigen Teilfronten
+	 */
+	@Label("Teilfronten")
+	int komponenten;
+	
+	/**
+	 * Die grte Weite der verwendeten Baumzerlegungen
+	 */
+	@Label("Baumweite")
+	int baumweite;
+	
+	/**
+	 * Die Anzahl der besuchten Knoten
+	 */
+	@Label("Besuchte Knoten")
+	long knoten;
+	
+	/**
+	 * Die Anzahl der ausgewerteten Besetzungen
+	 */
+	@Label("Ausgewertete Bltter")
+	long blaetter;
+	
+	/**
+	 * Die Anzahl der verworfenen Teilbesetzungen
+	 */
+	@Label("Verworfene Besetzungen")
+	long verworfen;
+	
+	/**
+	 * Gibt an, ob die Berechnung unterbrochen wurde
+	 */
+	@Label("Abgebrochen")
+	boolean abgebrochen;
+}
@@ -0,0 +1,276 @@
+package de.drake.minesweeper.model;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Protokoll der langsamen Wahrscheinlichkeitsberechnungen, vergleichbar mit dem
+ * Slow-Query-Log einer Datenbank. Dauert eine Berechnung mindestens so lange wie
+ * die eingestellte Schwelle, wird die vollstndige Stellung samt Modus, Rechenzeit,
+ * Knotenzahl und Frontgre an die Protokolldatei angehngt.
+ * 
+ * Geschrieben wird von einem eigenen Thread, so dass der Rechenthread nur die
+ * Stellung in Text umwandeln muss. Ist die Warteschlange voll, wird der Eintrag
+ * verworfen und gezhlt. berschreitet die Datei MAXIMALE_DATEIGROESSE, wird sie
+ * umbenannt (.1, .2, ...) und eine neue begonnen; es werden hchstens
+ * ALTE_DATEIEN alte Dateien aufbewahrt.
+ * 
+ * Jeder Eintrag besteht aus einer Kommentarzeile und der Stellung im Textformat,
+ * so dass die Protokolldatei direkt vom Stellungsleser gelesen werden kann.
+ * 
+ * Einstellbar ber Systemeigenschaften:
+ * minesweeper.protokoll.schwelle (Schwelle in Millisekunden, negativ zum
+ * Abschalten) und minesweeper.protokoll.verzeichnis (Verzeichnis der Datei).
+ */
+public final class Berechnungsprotokoll {
+	
+	/**
+	 * Der Name der Protokolldatei
+	 */
+	public static final String DATEINAME = "langsame-berechnungen.log";
+	
+	/**
+	 * Die Schwelle, ab der eine Berechnung protokolliert wird, in Millisekunden
+	 */
+	public static final long STANDARDSCHWELLE = 1000;
+	
+	/**
+	 * Die Gre, ab der die Protokolldatei gewechselt wird, in Bytes
+	 */
+	static final long MAXIMALE_DATEIGROESSE = 10L << 20;
+	
+	/**
+	 * Die Anzahl der aufbewahrten alten Protokolldateien
+	 */
+	static final int ALTE_DATEIEN = 5;
+	
+	/**
+	 * Die Anzahl der Eintrge, die hchstens auf das Schreiben warten
+	 */
+	private static final int WARTESCHLANGE = 64;
+	
+	/**
+	 * Der Modus der Berechnungen im aktuellen Thread
+	 */
+	private static final ThreadLocal<String> MODUS = new ThreadLocal<String>();
+	
+	/**
+	 * Die Schwelle in Millisekunden
+	 */
+	private static volatile long schwelle =
+			Long.getLong("minesweeper.protokoll.schwelle", STANDARDSCHWELLE);
+	
+	/**
+	 * Die Protokolldatei
+	 */
+	private static final File DATEI = new File(System.getProperty(
+			"minesweeper.protokoll.verzeichnis", System.getProperty("user.home")
+			+ File.separator + ".minesweeper"), DATEINAME);
+	
+	/**
+	 * Die Eintrge, die noch geschrieben werden mssen
+	 */
+	private static final BlockingQueue<String> EINTRAEGE =
+			new ArrayBlockingQueue<String>(WARTESCHLANGE);
+	
+	/**
+	 * Die Anzahl der protokollierten Berechnungen
+	 */
+	private static final AtomicLong PROTOKOLLIERT = new AtomicLong();
+	
+	/**
+	 * Die Anzahl der verworfenen Eintrge
+	 */
+	private static final AtomicLong VERWORFEN = new AtomicLong();
+	
+	/**
+	 * Der Thread, der die Eintrge schreibt; wird beim ersten Eintrag gestartet
+	 */
+	private static Thread schreiber;
+	
+	/**
+	 * Nicht instanziierbar.
+	 */
+	private Berechnungsprotokoll() {
+	}
+	
+	/**
+	 * Legt den Modus fest, unter dem die folgenden Berechnungen des aktuellen
+	 * Threads protokolliert werden (z.B. "show" oder "startKI").
+	 * 
+	 * @param modus
+	 * 		der Modus oder null, wenn kein Modus bekannt ist
+	 */
+	public static void setModus(final String modus) {
+		MODUS.set(modus);
+	}
+	
+	/**
+	 * Gibt die Schwelle zurck, ab der eine Berechnung protokolliert wird.
+	 * 
+	 * @return die Schwelle in Millisekunden, negativ wenn nicht protokolliert wird
+	 */
+	public static long getSchwelle() {
+		return schwelle;
+	}
+	
+	/**
+	 * Legt die Schwelle fest, ab der eine Berechnung protokolliert wird.
+	 * 
+	 * @param millis
+	 * 		die Schwelle in Millisekunden, negativ zum Abschalten
+	 */
+	public static void setSchwelle(final long millis) {
+		schwelle = millis;
+	}
+	
+	/**
+	 * Gibt die Anzahl der protokollierten Berechnungen zurck.
+	 * 
+	 * @return die Anzahl der protokollierten Berechnungen
+	 */
+	public static long getProtokolliert() {
+		return PROTOKOLLIERT.get();
+	}
+	
+	/**
+	 * Gibt die Anzahl der Eintrge zurck, die wegen einer vollen Warteschlange
+	 * oder eines Schreibfehlers verloren gingen.
+	 * 
+	 * @return die Anzahl der verworfenen Eintrge
+	 */
+	public static long getVerworfen() {
+		return VERWORFEN.get();
+	}
+	
+	/**
+	 * Gibt die Protokolldatei zurck.
+	 * 
+	 * @return die Protokolldatei
+	 */
+	public static File getDatei() {
+		return DATEI;
+	}
+	
+	/**
+	 * Prft, ob eine Berechnung der angegebenen Dauer protokolliert werden muss.
+	 * 
+	 * @param nanos
+	 * 		die Rechenzeit in Nanosekunden
+	 * @return true, wenn die Berechnung protokolliert werden muss
+	 */
+	static boolean istLangsam(final long nanos) {
+		final long aktuelleSchwelle = schwelle;
+		return aktuelleSchwelle >= 0 && nanos >= aktuelleSchwelle * 1000000;
+	}
+	
+	/**
+	 * bergibt eine langsame Berechnung an den Schreibthread.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld in der Stellung, in der gerechnet wurde
+	 * @param nanos
+	 * 		die Rechenzeit in Nanosekunden
+	 * @param knoten
+	 * 		die Anzahl der besuchten Knoten
+	 * @param blaetter
+	 * 		die Anzahl der ausgewerteten Besetzungen
+	 * @param frontgroesse
+	 * 		die Anzahl der Randfelder
+	 * @param komponenten
+	 * 		die Anzahl der unabhngigen Teilfronten
+	 * @param baumweite
+	 * 		die grte Weite der verwendeten Baumzerlegungen
+	 * @param abgebrochen
+	 * 		true, wenn die Berechnung unterbrochen wurde
+	 */
+	static void protokolliere(final Spielfeld spielfeld, final long nanos,
+			final long knoten, final long blaetter, final int frontgroesse,
+			final int komponenten, final int baumweite, final boolean abgebrochen) {
+		final String modus = MODUS.get();
+		final String eintrag = "# " + new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss")
+				.format(new Date())
+				+ " modus=" + (modus == null ? "direkt" : modus)
+				+ " dauer=" + String.format(Locale.ROOT, "%.1f", nanos / 1e6) + "ms"
+				+ " knoten=" + knoten
+				+ " blaetter=" + blaetter
+				+ " front=" + frontgroesse
+				+ " teilfronten=" + komponenten
+				+ " baumweite=" + baumweite
+				+ " abgebrochen=" + abgebrochen + "\n"
+				+ Stellungsformat.toText(spielfeld) + "\n";
+		Berechnungsprotokoll.starteSchreiber();
+		if (EINTRAEGE.offer(eintrag)) {
+			PROTOKOLLIERT.incrementAndGet();
+		} else {
+			VERWORFEN.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Startet den Schreibthread, falls er noch nicht luft.
+	 */
+	private static synchronized void starteSchreiber() {
+		if (schreiber != null)
+			return;
+		schreiber = new Thread("Berechnungsprotokoll") {
+			public void run() {
+				while (true) {
+					try {
+						Berechnungsprotokoll.schreibe(EINTRAEGE.take());
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}
+		};
+		schreiber.setDaemon(true);
+		schreiber.setPriority(Thread.MIN_PRIORITY);
+		schreiber.start();
+	}
+	
+	/**
+	 * Hngt einen Eintrag an die Protokolldatei an und wechselt sie vorher,
+	 * wenn sie zu gro geworden ist.
+	 * 
+	 * @param eintrag
+	 * 		der Eintrag
+	 */
+	private static void schreibe(final String eintrag) {
+		try {
+			DATEI.getParentFile().mkdirs();
+			if (DATEI.length() + eintrag.length() > MAXIMALE_DATEIGROESSE)
+				Berechnungsprotokoll.wechsleDatei();
+			final Writer ausgabe = new OutputStreamWriter(
+					new FileOutputStream(DATEI, true), "ISO-8859-1");
+			try {
+				ausgabe.write(eintrag);
+			} finally {
+				ausgabe.close();
+			}
+		} catch (IOException e) {
+			VERWORFEN.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Benennt die Protokolldatei und ihre Vorgnger um, wobei die lteste
+	 * gelscht wird.
+	 */
+	private static void wechsleDatei() {
+		new File(DATEI.getPath() + "." + ALTE_DATEIEN).delete();
+		for (int nummer = ALTE_DATEIEN - 1; nummer >= 1; nummer--)
+			new File(DATEI.getPath() + "." + nummer).renameTo(
+					new File(DATEI.getPath() + "." + (nummer + 1)));
+		DATEI.renameTo(new File(DATEI.getPath() + ".1"));
+	}
+}
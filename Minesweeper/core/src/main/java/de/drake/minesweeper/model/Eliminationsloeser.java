@@ -0,0 +1,614 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Bestimmt die Felder einer Stellung, deren Zustand allein aus den aufgedeckten
+ * Zahlen und der Minenzahl folgt, ohne Besetzungen aufzuzhlen. Wird vor der
+ * Berechnung der Minenwahrscheinlichkeiten verwendet, z.B. beim Lsen ohne zu
+ * raten.
+ *
+ * Jede Bedingung der Randklassen ist eine lineare Gleichung ber die
+ * Minenzahlen der Klassen, die Minenzahl des Spielfeldes eine weitere ber alle
+ * Klassen und die Felder auerhalb des Randes. Die Gleichungen werden mit
+ * ganzzahliger Gau-Jordan-Elimination reduziert; auf den reduzierten und den
+ * ursprnglichen Gleichungen werden dann die Schranken der Minenzahlen
+ * propagiert, bis sich keine mehr verschrfen lsst. Eine Klasse, deren
+ * Minenzahl auf 0 oder ihre Gre festgelegt ist, besteht aus sicheren Feldern
+ * bzw. Minen. Festgelegte Minenzahlen werden eingesetzt und die Elimination
+ * wiederholt, solange dabei weitere festgelegt werden.
+ *
+ * Das Verfahren ist unvollstndig: Es findet nicht jedes Feld, dessen
+ * Minenwahrscheinlichkeit 0 oder 1 ist, jedes gefundene aber sicher.
+ */
+public final class Eliminationsloeser {
+	
+	/**
+	 * Die Anzahl der Auswertungen je Gleichung, nach der die Propagation der
+	 * Schranken sptestens endet
+	 */
+	private static final int MAXIMALE_AUSWERTUNGEN = 64;
+	
+	/**
+	 * Die Anzahl der Variablen, ab der eine Gleichung bei der Propagation als lang
+	 * gilt
+	 */
+	private static final int LANGE_GLEICHUNG = 16;
+	
+	/**
+	 * Eine lineare Gleichung sum_i werte[i] * x_spalten[i] = rechteSeite ber die
+	 * Minenzahlen der Klassen.
+	 */
+	private static final class Gleichung {
+	
+		/**
+		 * Die Variablen der Gleichung, aufsteigend
+		 */
+		final int[] spalten;
+	
+		/**
+		 * Die Koeffizienten der Variablen, keiner 0
+		 */
+		final long[] werte;
+	
+		/**
+		 * Die rechte Seite
+		 */
+		final long rechteSeite;
+	
+		/**
+		 * Erzeugt eine Gleichung.
+		 * 
+		 * @param spalten
+		 * 		die Variablen der Gleichung, aufsteigend
+		 * @param werte
+		 * 		die Koeffizienten der Variablen
+		 * @param rechteSeite
+		 * 		die rechte Seite
+		 */
+		Gleichung(final int[] spalten, final long[] werte, final long rechteSeite) {
+			this.spalten = spalten;
+			this.werte = werte;
+			this.rechteSeite = rechteSeite;
+		}
+	
+		/**
+		 * Gibt den Koeffizienten einer Variablen zurck.
+		 * 
+		 * @param spalte
+		 * 		die Variable
+		 * @return der Koeffizient, 0 wenn die Variable nicht vorkommt
+		 */
+		long getWert(final int spalte) {
+			final int index = Arrays.binarySearch(this.spalten, spalte);
+			return index >= 0 ? this.werte[index] : 0;
+		}
+	}
+	
+	/**
+	 * Die Felder, auf denen sicher keine Mine liegt
+	 */
+	private final ArrayList<Koordinate> sichereFelder = new ArrayList<Koordinate>();
+	
+	/**
+	 * Die nicht markierten Felder, auf denen sicher eine Mine liegt
+	 */
+	private final ArrayList<Koordinate> minen = new ArrayList<Koordinate>();
+	
+	/**
+	 * Gibt an, ob die Bedingungen der Stellung keine Lsung haben, z.B. wegen
+	 * falsch markierter Minen
+	 */
+	private boolean widerspruechlich = false;
+	
+	/**
+	 * Die kleinste mgliche Minenzahl jeder Variablen. Die Variablen sind die
+	 * Klassen der Randklassen, gefolgt von den Feldern auerhalb des Randes.
+	 */
+	private final long[] untergrenze;
+	
+	/**
+	 * Die grte mgliche Minenzahl jeder Variablen
+	 */
+	private final long[] obergrenze;
+	
+	/**
+	 * Die Anzahl der Felder jeder Variablen
+	 */
+	private final long[] groesse;
+	
+	/**
+	 * Bestimmt die sicheren Felder und Minen einer Stellung.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld in der Stellung
+	 */
+	public Eliminationsloeser(final Spielfeld spielfeld) {
+		final int hoehe = spielfeld.getHoehe();
+		final int breite = spielfeld.getBreite();
+		final Randklassen randklassen = new Randklassen(spielfeld, hoehe, breite);
+		final int klassenzahl = randklassen.getKlassenzahl();
+		final int aussen = klassenzahl;
+		this.untergrenze = new long[klassenzahl + 1];
+		this.groesse = new long[klassenzahl + 1];
+		for (int klasse = 0; klasse < klassenzahl; klasse++)
+			this.groesse[klasse] = randklassen.getGroesse(klasse);
+		final int verbleibendeMinen = spielfeld.getVerbleibendeMinen();
+		this.groesse[aussen] = spielfeld.getVerbleibendeFelder() + verbleibendeMinen
+				- randklassen.getRandfelder();
+		this.obergrenze = this.groesse.clone();
+	
+		// Eine Gleichung je Bedingung und eine fr die Minenzahl
+		final ArrayList<Gleichung> gleichungen = new ArrayList<Gleichung>();
+		for (int bedingung = 0; bedingung < randklassen.getBedingungszahl(); bedingung++) {
+			final int[] spalten = randklassen.getKlassen(bedingung).clone();
+			Arrays.sort(spalten);
+			final long[] werte = new long[spalten.length];
+			Arrays.fill(werte, 1);
+			gleichungen.add(new Gleichung(spalten, werte, randklassen.getWert(bedingung)));
+		}
+		final int[] alle = new int[klassenzahl + 1];
+		for (int spalte = 0; spalte <= klassenzahl; spalte++)
+			alle[spalte] = spalte;
+		final long[] einsen = new long[klassenzahl + 1];
+		Arrays.fill(einsen, 1);
+		final Gleichung minengleichung = new Gleichung(alle, einsen, verbleibendeMinen);
+	
+		int festgelegt = this.zaehleFestgelegte();
+		while (!this.widerspruechlich) {
+			final ArrayList<Gleichung> eingesetzt = new ArrayList<Gleichung>();
+			for (final Gleichung gleichung : gleichungen) {
+				final Gleichung rest = this.setzeEin(gleichung);
+				if (rest != null)
+					eingesetzt.add(rest);
+			}
+			final int[] pivotspalte = new int[eingesetzt.size()];
+			final ArrayList<Gleichung> reduziert = this.eliminiere(eingesetzt, pivotspalte);
+			// Die Minengleichung enthlt alle Variablen und wrde als Pivotzeile
+			// jede andere Zeile auffllen, sie wird daher nur selbst reduziert.
+			final Gleichung minenrest = this.setzeEin(minengleichung);
+			if (minenrest != null) {
+				eingesetzt.add(minenrest);
+				final Gleichung minenreduziert =
+						this.reduziere(minenrest, reduziert, pivotspalte);
+				if (minenreduziert != null)
+					eingesetzt.add(minenreduziert);
+			}
+			if (this.widerspruechlich)
+				break;
+			eingesetzt.addAll(reduziert);
+			this.propagiere(eingesetzt);
+			final int neuFestgelegt = this.zaehleFestgelegte();
+			if (neuFestgelegt == festgelegt)
+				break;
+			festgelegt = neuFestgelegt;
+		}
+		if (this.widerspruechlich)
+			return;
+	
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++) {
+				if (spielfeld.isUncovered(zeile, spalte)
+						|| spielfeld.isMarkedAsMine(zeile, spalte))
+					continue;
+				int variable = randklassen.getKlasse(zeile * breite + spalte);
+				if (variable < 0)
+					variable = aussen;
+				if (this.obergrenze[variable] == 0)
+					this.sichereFelder.add(new Koordinate(zeile, spalte));
+				else if (this.untergrenze[variable] == this.groesse[variable])
+					this.minen.add(new Koordinate(zeile, spalte));
+			}
+	}
+	
+	/**
+	 * Gibt die Felder zurck, auf denen sicher keine Mine liegt.
+	 * 
+	 * @return die sicheren Felder, leer wenn die Stellung widersprchlich ist
+	 */
+	public ArrayList<Koordinate> getSichereFelder() {
+		return this.sichereFelder;
+	}
+	
+	/**
+	 * Gibt die nicht markierten Felder zurck, auf denen sicher eine Mine liegt.
+	 * 
+	 * @return die Minen, leer wenn die Stellung widersprchlich ist
+	 */
+	public ArrayList<Koordinate> getMinen() {
+		return this.minen;
+	}
+	
+	/**
+	 * Gibt zurck, ob die Bedingungen der Stellung keine Lsung haben, z.B. weil
+	 * Minen falsch markiert wurden.
+	 * 
+	 * @return true, wenn die Stellung widersprchlich ist
+	 */
+	public boolean isWiderspruechlich() {
+		return this.widerspruechlich;
+	}
+	
+	/**
+	 * Zhlt die Variablen, deren Minenzahl festgelegt ist.
+	 * 
+	 * @return die Anzahl der festgelegten Variablen
+	 */
+	private int zaehleFestgelegte() {
+		int festgelegt = 0;
+		for (int variable = 0; variable < this.untergrenze.length; variable++)
+			if (this.untergrenze[variable] == this.obergrenze[variable])
+				festgelegt++;
+		return festgelegt;
+	}
+	
+	/**
+	 * Setzt die festgelegten Minenzahlen in eine Gleichung ein.
+	 * 
+	 * @param gleichung
+	 * 		die Gleichung
+	 * @return die Gleichung ber die brigen Variablen oder null, wenn keine
+	 * 		brig bleibt
+	 */
+	private Gleichung setzeEin(final Gleichung gleichung) {
+		int offen = 0;
+		long rechteSeite = gleichung.rechteSeite;
+		for (int index = 0; index < gleichung.spalten.length; index++) {
+			final int spalte = gleichung.spalten[index];
+			if (this.untergrenze[spalte] == this.obergrenze[spalte])
+				rechteSeite -= gleichung.werte[index] * this.untergrenze[spalte];
+			else
+				offen++;
+		}
+		if (offen == 0) {
+			if (rechteSeite != 0)
+				this.widerspruechlich = true;
+			return null;
+		}
+		final int[] spalten = new int[offen];
+		final long[] werte = new long[offen];
+		offen = 0;
+		for (int index = 0; index < gleichung.spalten.length; index++) {
+			final int spalte = gleichung.spalten[index];
+			if (this.untergrenze[spalte] != this.obergrenze[spalte]) {
+				spalten[offen] = spalte;
+				werte[offen++] = gleichung.werte[index];
+			}
+		}
+		return new Gleichung(spalten, werte, rechteSeite);
+	}
+	
+	/**
+	 * Bringt Gleichungen mit ganzzahliger Gau-Jordan-Elimination auf reduzierte
+	 * Stufenform. Die Gleichungen werden nacheinander aufgenommen: Jede neue wird
+	 * zunchst durch die bisherigen Pivotzeilen reduziert und eliminiert dann ihre
+	 * Pivotvariable aus allen bisherigen Zeilen, in denen diese vorkommt. Welche
+	 * das sind, wird je Variable mitgefhrt, so dass dnn besetzte Gleichungen
+	 * dnn bleiben. Luft ein Koeffizient ber, wird die Elimination abgebrochen;
+	 * die bis dahin reduzierten Zeilen folgen trotzdem aus den Gleichungen.
+	 * 
+	 * @param gleichungen
+	 * 		die Gleichungen
+	 * @param pivotspalte
+	 * 		nimmt die Pivotvariable jeder Pivotzeile auf
+	 * @return die Pivotzeilen
+	 */
+	private ArrayList<Gleichung> eliminiere(final ArrayList<Gleichung> gleichungen,
+			final int[] pivotspalte) {
+		final ArrayList<Gleichung> pivotzeilen = new ArrayList<Gleichung>();
+		final int[] pivotzeileVon = new int[this.untergrenze.length];
+		Arrays.fill(pivotzeileVon, -1);
+		// Die Pivotzeilen, in denen jede Variable vorkommt oder vorkam
+		final ArrayList<ArrayList<Integer>> vorkommen = new ArrayList<ArrayList<Integer>>();
+		for (int spalte = 0; spalte < this.untergrenze.length; spalte++)
+			vorkommen.add(new ArrayList<Integer>(4));
+		try {
+			for (final Gleichung gleichung : gleichungen) {
+				Gleichung zeile = gleichung;
+				for (final int spalte : gleichung.spalten)
+					if (pivotzeileVon[spalte] >= 0) {
+						zeile = Eliminationsloeser.kombiniere(zeile,
+								pivotzeilen.get(pivotzeileVon[spalte]), spalte);
+						if (zeile == null) {
+							this.widerspruechlich = true;
+							return pivotzeilen;
+						}
+					}
+				if (zeile.spalten.length == 0) {
+					if (zeile.rechteSeite != 0) {
+						this.widerspruechlich = true;
+						return pivotzeilen;
+					}
+					continue;
+				}
+				// Koeffizienten vom Betrag 1 halten die brigen Zeilen klein
+				int pivot = zeile.spalten[0];
+				for (int index = 0; index < zeile.spalten.length; index++)
+					if (Math.abs(zeile.werte[index]) == 1) {
+						pivot = zeile.spalten[index];
+						break;
+					}
+				final int neu = pivotzeilen.size();
+				for (final int andere : vorkommen.get(pivot)) {
+					final Gleichung alt = pivotzeilen.get(andere);
+					if (alt.getWert(pivot) == 0)
+						continue;
+					final Gleichung reduziert = Eliminationsloeser.kombiniere(alt, zeile, pivot);
+					if (reduziert == null) {
+						this.widerspruechlich = true;
+						return pivotzeilen;
+					}
+					pivotzeilen.set(andere, reduziert);
+					for (final int spalte : reduziert.spalten)
+						if (alt.getWert(spalte) == 0 && spalte != pivotspalte[andere])
+							vorkommen.get(spalte).add(andere);
+				}
+				vorkommen.get(pivot).clear();
+				pivotzeilen.add(zeile);
+				pivotzeileVon[pivot] = neu;
+				pivotspalte[neu] = pivot;
+				for (final int spalte : zeile.spalten)
+					if (spalte != pivot)
+						vorkommen.get(spalte).add(neu);
+			}
+		} catch (ArithmeticException e) {
+			// berlauf: die bisherigen Zeilen sind gltig, nur nicht vollstndig reduziert
+		}
+		return pivotzeilen;
+	}
+	
+	/**
+	 * Eliminiert die Pivotvariablen aus einer Gleichung mit vielen Variablen. Die
+	 * Koeffizienten werden dazu in einem Feld je Variable gesammelt, so dass jede
+	 * Pivotzeile nur einmal durchlaufen wird. Da die Pivotzeilen reduziert sind,
+	 * kommt dabei keine bereits eliminierte Pivotvariable wieder hinzu.
+	 * 
+	 * @param gleichung
+	 * 		die Gleichung
+	 * @param pivotzeilen
+	 * 		die Pivotzeilen aus eliminiere()
+	 * @param pivotspalte
+	 * 		die Pivotvariable jeder Pivotzeile
+	 * @return die reduzierte Gleichung oder null, wenn ein Koeffizient berluft
+	 */
+	private Gleichung reduziere(final Gleichung gleichung,
+			final ArrayList<Gleichung> pivotzeilen, final int[] pivotspalte) {
+		final long[] dicht = new long[this.untergrenze.length];
+		for (int index = 0; index < gleichung.spalten.length; index++)
+			dicht[gleichung.spalten[index]] = gleichung.werte[index];
+		long rechteSeite = gleichung.rechteSeite;
+		try {
+			for (int zeile = 0; zeile < pivotzeilen.size(); zeile++) {
+				final long wert = dicht[pivotspalte[zeile]];
+				if (wert == 0)
+					continue;
+				final Gleichung pivotzeile = pivotzeilen.get(zeile);
+				final long pivotwert = pivotzeile.getWert(pivotspalte[zeile]);
+				if (wert % pivotwert != 0) {
+					for (int spalte = 0; spalte < dicht.length; spalte++)
+						dicht[spalte] = Math.multiplyExact(dicht[spalte], Math.abs(pivotwert));
+					rechteSeite = Math.multiplyExact(rechteSeite, Math.abs(pivotwert));
+				}
+				final long faktor = dicht[pivotspalte[zeile]] / pivotwert;
+				for (int index = 0; index < pivotzeile.spalten.length; index++)
+					dicht[pivotzeile.spalten[index]] = Math.subtractExact(
+							dicht[pivotzeile.spalten[index]],
+							Math.multiplyExact(faktor, pivotzeile.werte[index]));
+				rechteSeite = Math.subtractExact(rechteSeite,
+						Math.multiplyExact(faktor, pivotzeile.rechteSeite));
+			}
+		} catch (ArithmeticException e) {
+			return null;
+		}
+		int laenge = 0;
+		long teiler = 0;
+		for (int spalte = 0; spalte < dicht.length; spalte++)
+			if (dicht[spalte] != 0) {
+				laenge++;
+				teiler = Eliminationsloeser.ggT(teiler, dicht[spalte]);
+			}
+		if (teiler == 0) {
+			if (rechteSeite != 0)
+				this.widerspruechlich = true;
+			return null;
+		}
+		if (rechteSeite % teiler != 0) {
+			this.widerspruechlich = true;
+			return null;
+		}
+		final int[] spalten = new int[laenge];
+		final long[] werte = new long[laenge];
+		laenge = 0;
+		for (int spalte = 0; spalte < dicht.length; spalte++)
+			if (dicht[spalte] != 0) {
+				spalten[laenge] = spalte;
+				werte[laenge++] = dicht[spalte] / teiler;
+			}
+		return new Gleichung(spalten, werte, rechteSeite / teiler);
+	}
+	
+	/**
+	 * Eliminiert eine Variable aus einer Gleichung mit Hilfe einer zweiten, die
+	 * sie ebenfalls enthlt, und teilt das Ergebnis durch den grten gemeinsamen
+	 * Teiler seiner Koeffizienten.
+	 * 
+	 * @param zeile
+	 * 		die Gleichung, aus der eliminiert wird
+	 * @param pivotzeile
+	 * 		die Gleichung, mit der eliminiert wird
+	 * @param spalte
+	 * 		die zu eliminierende Variable
+	 * @return die Kombination beider Gleichungen ohne die Variable oder null, wenn
+	 * 		sie keine ganzzahlige Lsung hat
+	 * @throws ArithmeticException
+	 * 		wird geworfen, wenn ein Koeffizient berluft
+	 */
+	private static Gleichung kombiniere(final Gleichung zeile, final Gleichung pivotzeile,
+			final int spalte) {
+		final long faktor = pivotzeile.getWert(spalte);
+		final long pivotfaktor = zeile.getWert(spalte);
+		final int[] spalten = new int[zeile.spalten.length + pivotzeile.spalten.length];
+		final long[] werte = new long[spalten.length];
+		int laenge = 0;
+		int links = 0;
+		int rechts = 0;
+		while (links < zeile.spalten.length || rechts < pivotzeile.spalten.length) {
+			final int linkeSpalte = links < zeile.spalten.length
+					? zeile.spalten[links] : Integer.MAX_VALUE;
+			final int rechteSpalte = rechts < pivotzeile.spalten.length
+					? pivotzeile.spalten[rechts] : Integer.MAX_VALUE;
+			long wert = 0;
+			final int naechste = Math.min(linkeSpalte, rechteSpalte);
+			if (linkeSpalte == naechste)
+				wert = Math.multiplyExact(zeile.werte[links++], faktor);
+			if (rechteSpalte == naechste)
+				wert = Math.subtractExact(wert,
+						Math.multiplyExact(pivotzeile.werte[rechts++], pivotfaktor));
+			if (wert != 0) {
+				spalten[laenge] = naechste;
+				werte[laenge++] = wert;
+			}
+		}
+		long rechteSeite = Math.subtractExact(
+				Math.multiplyExact(zeile.rechteSeite, faktor),
+				Math.multiplyExact(pivotzeile.rechteSeite, pivotfaktor));
+		long teiler = 0;
+		for (int index = 0; index < laenge; index++)
+			teiler = Eliminationsloeser.ggT(teiler, werte[index]);
+		if (laenge > 0 && werte[0] < 0)
+			teiler = -teiler;
+		if (teiler != 0) {
+			if (rechteSeite % teiler != 0)
+				return null;
+			for (int index = 0; index < laenge; index++)
+				werte[index] /= teiler;
+			rechteSeite /= teiler;
+		}
+		return new Gleichung(Arrays.copyOf(spalten, laenge),
+				Arrays.copyOf(werte, laenge), rechteSeite);
+	}
+	
+	/**
+	 * Berechnet den grten gemeinsamen Teiler zweier Zahlen.
+	 * 
+	 * @param erste
+	 * 		die erste Zahl
+	 * @param zweite
+	 * 		die zweite Zahl
+	 * @return der grte gemeinsame Teiler, nicht negativ
+	 */
+	private static long ggT(final long erste, final long zweite) {
+		long a = Math.abs(erste);
+		long b = Math.abs(zweite);
+		while (b != 0) {
+			final long rest = a % b;
+			a = b;
+			b = rest;
+		}
+		return a;
+	}
+	
+	/**
+	 * Verschrft die Schranken der Variablen, bis keine Gleichung sie weiter
+	 * einschrnkt. Jede Gleichung begrenzt den Beitrag einer Variablen auf die
+	 * rechte Seite abzglich des grt- bzw. kleinstmglichen Beitrags der
+	 * brigen. ndert sich eine Schranke, werden die Gleichungen der Variablen
+	 * erneut ausgewertet.
+	 * 
+	 * @param gleichungen
+	 * 		die Gleichungen
+	 */
+	private void propagiere(final ArrayList<Gleichung> gleichungen) {
+		final int anzahl = gleichungen.size();
+		// Die Gleichungen jeder Variablen in kompakter Form
+		final int[] beginn = new int[this.untergrenze.length + 1];
+		for (final Gleichung gleichung : gleichungen)
+			for (final int spalte : gleichung.spalten)
+				beginn[spalte + 1]++;
+		for (int spalte = 0; spalte < this.untergrenze.length; spalte++)
+			beginn[spalte + 1] += beginn[spalte];
+		final int[] variablengleichungen = new int[beginn[this.untergrenze.length]];
+		final int[] belegt = beginn.clone();
+		for (int index = 0; index < anzahl; index++)
+			for (final int spalte : gleichungen.get(index).spalten)
+				variablengleichungen[belegt[spalte]++] = index;
+	
+		// Kurze Gleichungen werden zuerst ausgewertet, lange erst, wenn keine
+		// kurze mehr wartet, da sie nach fast jeder nderung wieder anstnden.
+		final int[][] warteschlange = new int[2][anzahl];
+		final int[] kopf = new int[2];
+		final int[] laenge = new int[2];
+		final boolean[] wartet = new boolean[anzahl];
+		for (int index = 0; index < anzahl; index++) {
+			final int art = gleichungen.get(index).spalten.length > LANGE_GLEICHUNG ? 1 : 0;
+			warteschlange[art][laenge[art]++] = index;
+			wartet[index] = true;
+		}
+		long auswertungen = (long) MAXIMALE_AUSWERTUNGEN * anzahl;
+		while (laenge[0] + laenge[1] > 0 && auswertungen-- > 0) {
+			final int art = laenge[0] > 0 ? 0 : 1;
+			final int index = warteschlange[art][kopf[art]];
+			kopf[art] = (kopf[art] + 1) % anzahl;
+			laenge[art]--;
+			wartet[index] = false;
+			final Gleichung gleichung = gleichungen.get(index);
+			try {
+				long minimum = 0;
+				long maximum = 0;
+				for (int term = 0; term < gleichung.spalten.length; term++) {
+					final int spalte = gleichung.spalten[term];
+					final long wert = gleichung.werte[term];
+					final long unten = Math.multiplyExact(wert, this.untergrenze[spalte]);
+					final long oben = Math.multiplyExact(wert, this.obergrenze[spalte]);
+					minimum = Math.addExact(minimum, Math.min(unten, oben));
+					maximum = Math.addExact(maximum, Math.max(unten, oben));
+				}
+				if (minimum > gleichung.rechteSeite || maximum < gleichung.rechteSeite) {
+					this.widerspruechlich = true;
+					return;
+				}
+				for (int term = 0; term < gleichung.spalten.length; term++) {
+					final int spalte = gleichung.spalten[term];
+					final long wert = gleichung.werte[term];
+					final long unten = wert * this.untergrenze[spalte];
+					final long oben = wert * this.obergrenze[spalte];
+					// Schranken fr wert * x aus den brigen Termen
+					final long kleinster = gleichung.rechteSeite - (maximum - Math.max(unten, oben));
+					final long groesster = gleichung.rechteSeite - (minimum - Math.min(unten, oben));
+					long neueUntergrenze;
+					long neueObergrenze;
+					if (wert > 0) {
+						neueUntergrenze = -Math.floorDiv(-kleinster, wert);
+						neueObergrenze = Math.floorDiv(groesster, wert);
+					} else {
+						neueUntergrenze = -Math.floorDiv(groesster, -wert);
+						neueObergrenze = Math.floorDiv(-kleinster, -wert);
+					}
+					if (neueUntergrenze <= this.untergrenze[spalte]
+							&& neueObergrenze >= this.obergrenze[spalte])
+						continue;
+					this.untergrenze[spalte] = Math.max(this.untergrenze[spalte], neueUntergrenze);
+					this.obergrenze[spalte] = Math.min(this.obergrenze[spalte], neueObergrenze);
+					if (this.untergrenze[spalte] > this.obergrenze[spalte]) {
+						this.widerspruechlich = true;
+						return;
+					}
+					for (int position = beginn[spalte]; position < beginn[spalte + 1]; position++) {
+						final int andere = variablengleichungen[position];
+						if (!wartet[andere]) {
+							wartet[andere] = true;
+							final int andereArt = gleichungen.get(andere).spalten.length
+									> LANGE_GLEICHUNG ? 1 : 0;
+							warteschlange[andereArt][(kopf[andereArt] + laenge[andereArt])
+									% anzahl] = andere;
+							laenge[andereArt]++;
+						}
+					}
+				}
+			} catch (ArithmeticException e) {
+				// berlauf: die Gleichung wird fr die Schranken nicht verwendet
+			}
+		}
+	}
+}
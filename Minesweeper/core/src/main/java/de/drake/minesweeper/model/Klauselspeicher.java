@@ -0,0 +1,159 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Speichert die Klauseln, die der Modellzaehler aus Konflikten gelernt hat, ber
+ * die Zge einer Partie hinweg. Wird vom ProbabilityCalculator an die Rechner
+ * seiner Schnappschsse weitergegeben und ist daher threadsicher.
+ *
+ * Eine Klausel ist eine Disjunktion von Literalen ber Felder in zeilenweiser
+ * Nummerierung: feld + 1 steht fr "auf dem Feld liegt eine Mine", -(feld + 1)
+ * fr das Gegenteil. Jede Klausel folgt allein aus den Zahlen ihrer Prmissen,
+ * also bestimmter aufgedeckter Felder. Sie gilt daher in jeder Stellung, in der
+ * diese Felder mit denselben Zahlen aufgedeckt sind, gleich welche Felder
+ * inzwischen aufgedeckt, markiert oder durch Rckgngigmachen wieder verdeckt
+ * wurden.
+ */
+final class Klauselspeicher {
+	
+	/**
+	 * Die Anzahl der Klauseln, die hchstens gespeichert werden. Darber hinaus
+	 * wird jeweils die lteste verworfen.
+	 */
+	static final int MAXIMALE_KLAUSELN = 1 << 14;
+	
+	/**
+	 * Eine gelernte Klausel samt ihren Prmissen.
+	 */
+	static final class Klausel {
+	
+		/**
+		 * Die Literale der Klausel
+		 */
+		final int[] literale;
+	
+		/**
+		 * Die aufgedeckten Felder, aus deren Zahlen die Klausel folgt
+		 */
+		final int[] praemissen;
+	
+		/**
+		 * Die Zahl jeder Prmisse
+		 */
+		final int[] zahlen;
+	
+		/**
+		 * Erzeugt eine Klausel.
+		 * 
+		 * @param literale
+		 * 		die Literale der Klausel
+		 * @param praemissen
+		 * 		die aufgedeckten Felder, aus deren Zahlen die Klausel folgt
+		 * @param zahlen
+		 * 		die Zahl jeder Prmisse
+		 */
+		Klausel(final int[] literale, final int[] praemissen, final int[] zahlen) {
+			this.literale = literale;
+			this.praemissen = praemissen;
+			this.zahlen = zahlen;
+		}
+	}
+	
+	/**
+	 * Die gespeicherten Klauseln, die lteste zuerst
+	 */
+	private final ArrayDeque<Klausel> klauseln = new ArrayDeque<Klausel>();
+	
+	/**
+	 * Speichert eine gelernte Klausel.
+	 * 
+	 * @param klausel
+	 * 		die Klausel
+	 */
+	synchronized void lerne(final Klausel klausel) {
+		this.klauseln.addLast(klausel);
+		if (this.klauseln.size() > MAXIMALE_KLAUSELN)
+			this.klauseln.removeFirst();
+	}
+	
+	/**
+	 * Gibt die Anzahl der gespeicherten Klauseln zurck.
+	 * 
+	 * @return die Anzahl der Klauseln
+	 */
+	synchronized int getAnzahl() {
+		return this.klauseln.size();
+	}
+	
+	/**
+	 * Whlt die Klauseln aus, die in einer Stellung gelten und noch etwas ber
+	 * die Randfelder aussagen, und ordnet sie den Komponenten zu. Klauseln, deren
+	 * Randfelder zu mehreren Komponenten gehren, werden bergangen.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld in der Stellung
+	 * @param randklassen
+	 * 		die Randklassen der Stellung
+	 * @return fr jede Komponente die Liste ihrer Klauseln
+	 */
+	synchronized ArrayList<ArrayList<Klausel>> waehleAus(final Spielfeld spielfeld,
+			final Randklassen randklassen) {
+		final ArrayList<ArrayList<Klausel>> auswahl = new ArrayList<ArrayList<Klausel>>();
+		for (int komponente = 0; komponente < randklassen.getKomponentenzahl(); komponente++)
+			auswahl.add(new ArrayList<Klausel>());
+		for (final Klausel klausel : this.klauseln) {
+			final int komponente = Klauselspeicher.getKomponente(klausel, spielfeld,
+					randklassen);
+			if (komponente >= 0)
+				auswahl.get(komponente).add(klausel);
+		}
+		return auswahl;
+	}
+	
+	/**
+	 * Bestimmt die Komponente, ber deren Randfelder eine Klausel in einer
+	 * Stellung etwas aussagt.
+	 * 
+	 * @param klausel
+	 * 		die Klausel
+	 * @param spielfeld
+	 * 		das Spielfeld in der Stellung
+	 * @param randklassen
+	 * 		die Randklassen der Stellung
+	 * @return die Komponente oder -1, wenn eine Prmisse nicht mehr gilt, die
+	 * 		Klausel bereits erfllt ist oder nicht in einer Komponente liegt
+	 */
+	private static int getKomponente(final Klausel klausel, final Spielfeld spielfeld,
+			final Randklassen randklassen) {
+		final int breite = spielfeld.getBreite();
+		for (int index = 0; index < klausel.praemissen.length; index++) {
+			final int zeile = klausel.praemissen[index] / breite;
+			final int spalte = klausel.praemissen[index] % breite;
+			if (!spielfeld.isUncovered(zeile, spalte)
+					|| spielfeld.getBenachbarteMinen(zeile, spalte) != klausel.zahlen[index])
+				return -1;
+		}
+		int komponente = -1;
+		for (final int literal : klausel.literale) {
+			final int feld = Math.abs(literal) - 1;
+			final int zeile = feld / breite;
+			final int spalte = feld % breite;
+			if (spielfeld.isUncovered(zeile, spalte)) {
+				if (literal < 0)
+					return -1;
+			} else if (spielfeld.isMarkedAsMine(zeile, spalte)) {
+				if (literal > 0)
+					return -1;
+			} else {
+				final int klasse = randklassen.getKlasse(feld);
+				if (klasse < 0 || (komponente >= 0
+						&& randklassen.getKomponenteVon(klasse) != komponente))
+					return -1;
+				komponente = randklassen.getKomponenteVon(klasse);
+			}
+		}
+		return komponente;
+	}
+}
@@ -0,0 +1,247 @@
+package de.drake.minesweeper.model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Speichert die gezhlten Minenverteilungen von Komponenten der Randklassen ber
+ * die Zge einer Partie hinweg. Ein Zug verndert meist nur eine Komponente; alle
+ * brigen findet der ProbabilityCalculator hier wieder und muss sie nicht neu
+ * zhlen. Wird wie der Klauselspeicher mit den Rechnern der Schnappschsse
+ * geteilt und ist daher threadsicher.
+ *
+ * Eine Komponente wird an ihren Klassen samt deren Feldern und an ihren
+ * Bedingungen samt deren Feldern und Werten erkannt. Die Verteilung hngt darber
+ * hinaus nur vom Minengewicht ab, mit dem gezhlt wurde; sie wird daher mit
+ * diesem gespeichert und beim Auslesen auf das aktuelle umgerechnet.
+ */
+final class Komponentenspeicher {
+	
+	/**
+	 * Die Anzahl der Werte aller Verteilungen zusammen, die hchstens gespeichert
+	 * werden. Darber hinaus wird jeweils die am lngsten nicht verwendete
+	 * Komponente verworfen.
+	 */
+	static final int MAXIMALE_WERTE = 1 << 20;
+	
+	/**
+	 * Erkennt eine Komponente unabhngig von der Nummerierung ihrer Klassen und
+	 * Bedingungen in einer bestimmten Berechnung.
+	 */
+	static final class Schluessel {
+	
+		/**
+		 * Die Klassen der Komponente, nach ihrem ersten Feld sortiert
+		 */
+		final int[] klassen;
+	
+		/**
+		 * Fr jede Klasse ihre Gre und ihre Felder, danach fr jede Bedingung
+		 * ihr Feld und ihr Wert
+		 */
+		private final int[] werte;
+	
+		/**
+		 * Der Hashwert von werte
+		 */
+		private final int hashwert;
+	
+		/**
+		 * Erzeugt den Schlssel einer Komponente.
+		 * 
+		 * @param randklassen
+		 * 		die Randklassen der Berechnung
+		 * @param komponente
+		 * 		die Komponente
+		 */
+		Schluessel(final Randklassen randklassen, final int komponente) {
+			final int[] unsortiert = randklassen.getKomponente(komponente);
+			// Das erste Feld in den oberen, die Klasse in den unteren Bits
+			final long[] sortierung = new long[unsortiert.length];
+			for (int index = 0; index < unsortiert.length; index++)
+				sortierung[index] = ((long) randklassen.getFelder(unsortiert[index])[0] << 32)
+						| unsortiert[index];
+			Arrays.sort(sortierung);
+			this.klassen = new int[unsortiert.length];
+			int laenge = 0;
+			int bedingungszahl = 0;
+			for (int index = 0; index < sortierung.length; index++) {
+				this.klassen[index] = (int) sortierung[index];
+				laenge += 1 + randklassen.getGroesse(this.klassen[index]);
+				bedingungszahl += randklassen.getBedingungen(this.klassen[index]).length;
+			}
+			// Die Bedingungen der Komponente, mehrfach und erst danach sortiert
+			final int[] bedingungen = new int[bedingungszahl];
+			bedingungszahl = 0;
+			for (final int klasse : this.klassen)
+				for (final int bedingung : randklassen.getBedingungen(klasse))
+					bedingungen[bedingungszahl++] = bedingung;
+			Arrays.sort(bedingungen);
+			final int[] werte = new int[laenge + 2 * bedingungen.length];
+			int position = 0;
+			for (final int klasse : this.klassen) {
+				werte[position++] = randklassen.getGroesse(klasse);
+				for (final int feld : randklassen.getFelder(klasse))
+					werte[position++] = feld;
+			}
+			for (int index = 0; index < bedingungen.length; index++) {
+				if (index > 0 && bedingungen[index] == bedingungen[index - 1])
+					continue;
+				werte[position++] = randklassen.getFeld(bedingungen[index]);
+				werte[position++] = randklassen.getWert(bedingungen[index]);
+			}
+			this.werte = Arrays.copyOf(werte, position);
+			this.hashwert = Arrays.hashCode(this.werte);
+		}
+	
+		@Override
+		public boolean equals(final Object objekt) {
+			return objekt instanceof Schluessel
+					&& Arrays.equals(this.werte, ((Schluessel) objekt).werte);
+		}
+	
+		@Override
+		public int hashCode() {
+			return this.hashwert;
+		}
+	}
+	
+	/**
+	 * Die gespeicherte Zhlung einer Komponente.
+	 */
+	static final class Eintrag {
+	
+		/**
+		 * Die auf ihr Maximum normierte Minenverteilung der Komponente
+		 */
+		final double[] verteilung;
+	
+		/**
+		 * Fr jede Klasse in der Reihenfolge des Schlssels die Verteilung,
+		 * gewichtet mit ihrer Minenzahl, im selben Mastab wie verteilung; null,
+		 * wenn die Komponente von einem Komponentenzaehler gezhlt wurde
+		 */
+		final double[][] klassenverteilung;
+	
+		/**
+		 * Das Minengewicht, mit dem gezhlt wurde
+		 */
+		final double minengewicht;
+	
+		/**
+		 * Erzeugt einen Eintrag.
+		 * 
+		 * @param verteilung
+		 * 		die normierte Minenverteilung der Komponente
+		 * @param klassenverteilung
+		 * 		die Verteilung jeder Klasse, gewichtet mit ihrer Minenzahl, oder null
+		 * @param minengewicht
+		 * 		das Minengewicht, mit dem gezhlt wurde
+		 */
+		Eintrag(final double[] verteilung, final double[][] klassenverteilung,
+				final double minengewicht) {
+			this.verteilung = verteilung;
+			this.klassenverteilung = klassenverteilung;
+			this.minengewicht = minengewicht;
+		}
+	
+		/**
+		 * Rechnet den Eintrag auf ein anderes Minengewicht um. Jede Besetzung mit m
+		 * Minen zhlt dann (neues / altes Minengewicht)^m mal so viel; gerechnet
+		 * wird in Logarithmen und auf das Maximum der Verteilung normiert.
+		 * 
+		 * @param minengewicht
+		 * 		das neue Minengewicht
+		 * @return der umgerechnete Eintrag, dieser selbst bei gleichem Minengewicht
+		 */
+		Eintrag gewichteUm(final double minengewicht) {
+			if (minengewicht == this.minengewicht)
+				return this;
+			final double logarithmus = Math.log(minengewicht / this.minengewicht);
+			double maximum = Double.NEGATIVE_INFINITY;
+			for (int minen = 0; minen < this.verteilung.length; minen++)
+				if (this.verteilung[minen] > 0)
+					maximum = Math.max(maximum,
+							Math.log(this.verteilung[minen]) + minen * logarithmus);
+			final double[] faktoren = new double[this.verteilung.length];
+			for (int minen = 0; minen < faktoren.length; minen++)
+				faktoren[minen] = Math.exp(minen * logarithmus - maximum);
+			final double[] verteilung = new double[this.verteilung.length];
+			for (int minen = 0; minen < verteilung.length; minen++)
+				verteilung[minen] = this.verteilung[minen] * faktoren[minen];
+			double[][] klassenverteilung = null;
+			if (this.klassenverteilung != null) {
+				klassenverteilung = new double[this.klassenverteilung.length][];
+				for (int klasse = 0; klasse < klassenverteilung.length; klasse++) {
+					klassenverteilung[klasse] = new double[verteilung.length];
+					for (int minen = 0; minen < verteilung.length; minen++)
+						klassenverteilung[klasse][minen] =
+								this.klassenverteilung[klasse][minen] * faktoren[minen];
+				}
+			}
+			return new Eintrag(verteilung, klassenverteilung, minengewicht);
+		}
+	
+		/**
+		 * Gibt die Anzahl der gespeicherten Werte zurck.
+		 * 
+		 * @return die Anzahl der Werte
+		 */
+		int getGroesse() {
+			return this.verteilung.length * (1 + (this.klassenverteilung == null
+					? 0 : this.klassenverteilung.length));
+		}
+	}
+	
+	/**
+	 * Die gespeicherten Eintrge, der am lngsten nicht verwendete zuerst
+	 */
+	private final LinkedHashMap<Schluessel, Eintrag> eintraege =
+			new LinkedHashMap<Schluessel, Eintrag>(16, 0.75f, true);
+	
+	/**
+	 * Die Anzahl der Werte aller gespeicherten Eintrge
+	 */
+	private int werte = 0;
+	
+	/**
+	 * Gibt den gespeicherten Eintrag einer Komponente zurck.
+	 * 
+	 * @param schluessel
+	 * 		der Schlssel der Komponente
+	 * @return der Eintrag oder null, wenn keiner gespeichert ist
+	 */
+	synchronized Eintrag hole(final Schluessel schluessel) {
+		return this.eintraege.get(schluessel);
+	}
+	
+	/**
+	 * Speichert die Zhlung einer Komponente.
+	 * 
+	 * @param schluessel
+	 * 		der Schlssel der Komponente
+	 * @param eintrag
+	 * 		die Zhlung
+	 */
+	synchronized void speichere(final Schluessel schluessel, final Eintrag eintrag) {
+		final Eintrag alt = this.eintraege.put(schluessel, eintrag);
+		if (alt != null)
+			this.werte -= alt.getGroesse();
+		this.werte += eintrag.getGroesse();
+		final Iterator<Eintrag> iterator = this.eintraege.values().iterator();
+		while (this.werte > MAXIMALE_WERTE && iterator.hasNext()) {
+			this.werte -= iterator.next().getGroesse();
+			iterator.remove();
+		}
+	}
+	
+	/**
+	 * Gibt die Anzahl der gespeicherten Komponenten zurck.
+	 * 
+	 * @return die Anzahl der Komponenten
+	 */
+	synchronized int getAnzahl() {
+		return this.eintraege.size();
+	}
+}
@@ -0,0 +1,49 @@
+package de.drake.minesweeper.model;
+
+/**
+ * Ein Verfahren, mit dem der ProbabilityCalculator die Besetzungen einer
+ * Komponente von Randklassen zhlt, wenn sich Backtracking nicht lohnt.
+ */
+interface Komponentenzaehler {
+	
+	/**
+	 * Berechnet die Verteilung der Besetzungen der Komponente nach ihrer
+	 * Minenzahl, wobei jede Besetzung der Klassen mit dem Produkt ihrer
+	 * Binomialkoeffizienten zhlt, mal dem Minengewicht des ProbabilityCalculators
+	 * hoch ihrer Minenzahl.
+	 * 
+	 * @return die auf ihr Maximum normierte Verteilung
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	double[] berechneVerteilung() throws InterruptedException;
+	
+	/**
+	 * Berechnet fr jede Klasse der Komponente die erwartete Anzahl ihrer Minen,
+	 * wenn jede Minenzahl m der Komponente zustzlich mit gewichtung[m] zhlt.
+	 * Setzt einen vorherigen Aufruf von berechneVerteilung() voraus.
+	 * 
+	 * @param gewichtung
+	 * 		das Gewicht jeder Minenzahl der Komponente
+	 * @param klassenwahrscheinlichkeit
+	 * 		nimmt die erwartete Minenzahl jeder Klasse auf
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	void berechneKlassenminen(double[] gewichtung, double[] klassenwahrscheinlichkeit)
+			throws InterruptedException;
+	
+	/**
+	 * Gibt die Anzahl der bisher besuchten Zustnde zurck.
+	 * 
+	 * @return die Anzahl der besuchten Zustnde
+	 */
+	long getBesuchteZustaende();
+	
+	/**
+	 * Gibt die Anzahl der bisher verworfenen bergnge zurck.
+	 * 
+	 * @return die Anzahl der bergnge, die eine Bedingung verletzt htten
+	 */
+	long getVerworfeneUebergaenge();
+}
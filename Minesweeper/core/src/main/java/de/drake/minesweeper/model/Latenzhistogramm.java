@@ -0,0 +1,159 @@
+package de.drake.minesweeper.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ein thread-sicheres Histogramm fr Laufzeiten. Die Laufzeiten werden in
+ * Mikrosekunden in logarithmisch wachsende Klassen einsortiert (vier Klassen je
+ * Zweierpotenz), so dass Perzentile mit einem relativen Fehler von hchstens 25%
+ * abgelesen werden knnen, ohne die einzelnen Messwerte zu speichern.
+ */
+class Latenzhistogramm {
+	
+	/**
+	 * Die Anzahl der Klassen. Die letzte Klasse nimmt alle Laufzeiten ab etwa
+	 * vier Stunden auf.
+	 */
+	private static final int KLASSEN = 136;
+	
+	/**
+	 * Die Anzahl der Messwerte je Klasse
+	 */
+	private final AtomicLongArray haeufigkeiten = new AtomicLongArray(KLASSEN);
+	
+	/**
+	 * Die Anzahl aller Messwerte
+	 */
+	private final AtomicLong anzahl = new AtomicLong();
+	
+	/**
+	 * Die Summe aller Messwerte in Nanosekunden
+	 */
+	private final AtomicLong summe = new AtomicLong();
+	
+	/**
+	 * Der grte Messwert in Nanosekunden
+	 */
+	private final AtomicLong maximum = new AtomicLong();
+	
+	/**
+	 * Nimmt einen Messwert in das Histogramm auf.
+	 * 
+	 * @param nanos
+	 * 		die gemessene Laufzeit in Nanosekunden
+	 */
+	void zaehle(final long nanos) {
+		this.haeufigkeiten.incrementAndGet(Latenzhistogramm.getKlasse(nanos / 1000));
+		this.anzahl.incrementAndGet();
+		this.summe.addAndGet(nanos);
+		long bisherigesMaximum = this.maximum.get();
+		while (nanos > bisherigesMaximum
+				&& !this.maximum.compareAndSet(bisherigesMaximum, nanos))
+			bisherigesMaximum = this.maximum.get();
+	}
+	
+	/**
+	 * Setzt das Histogramm zurck.
+	 */
+	void reset() {
+		for (int klasse = 0; klasse < KLASSEN; klasse++)
+			this.haeufigkeiten.set(klasse, 0);
+		this.anzahl.set(0);
+		this.summe.set(0);
+		this.maximum.set(0);
+	}
+	
+	/**
+	 * Gibt die Anzahl der Messwerte zurck.
+	 * 
+	 * @return die Anzahl der Messwerte
+	 */
+	long getAnzahl() {
+		return this.anzahl.get();
+	}
+	
+	/**
+	 * Gibt die Summe aller Messwerte zurck.
+	 * 
+	 * @return die Summe aller Messwerte in Millisekunden
+	 */
+	double getSummeMillis() {
+		return this.summe.get() / 1e6;
+	}
+	
+	/**
+	 * Gibt den Mittelwert aller Messwerte zurck.
+	 * 
+	 * @return der Mittelwert in Millisekunden, 0 wenn noch nichts gemessen wurde
+	 */
+	double getMittelwertMillis() {
+		final long anzahl = this.anzahl.get();
+		if (anzahl == 0)
+			return 0;
+		return this.summe.get() / 1e6 / anzahl;
+	}
+	
+	/**
+	 * Gibt den grten Messwert zurck.
+	 * 
+	 * @return der grte Messwert in Millisekunden
+	 */
+	double getMaximumMillis() {
+		return this.maximum.get() / 1e6;
+	}
+	
+	/**
+	 * Gibt ein Perzentil der Messwerte zurck. Geliefert wird die Obergrenze der
+	 * Klasse, in die das Perzentil fllt, hchstens aber der grte Messwert.
+	 * 
+	 * @param anteil
+	 * 		der Anteil der Messwerte, die hchstens so gro sind wie das Ergebnis,
+	 * 		z.B. 0.99 fr das 99. Perzentil
+	 * @return das Perzentil in Millisekunden, 0 wenn noch nichts gemessen wurde
+	 */
+	double getPerzentilMillis(final double anteil) {
+		final long anzahl = this.anzahl.get();
+		if (anzahl == 0)
+			return 0;
+		final long rang = Math.max(1, (long) Math.ceil(anteil * anzahl));
+		long kumuliert = 0;
+		for (int klasse = 0; klasse < KLASSEN; klasse++) {
+			kumuliert += this.haeufigkeiten.get(klasse);
+			if (kumuliert >= rang)
+				return Math.min(Latenzhistogramm.getObergrenze(klasse) / 1e3,
+						this.getMaximumMillis());
+		}
+		return this.getMaximumMillis();
+	}
+	
+	/**
+	 * Berechnet die Klasse fr einen Messwert.
+	 * 
+	 * @param mikros
+	 * 		der Messwert in Mikrosekunden
+	 * @return die Klasse des Messwertes
+	 */
+	private static int getKlasse(final long mikros) {
+		if (mikros < 4)
+			return (int) Math.max(0, mikros);
+		final int exponent = 63 - Long.numberOfLeadingZeros(mikros);
+		final int mantisse = (int) (mikros >>> (exponent - 2)) & 3;
+		return Math.min(KLASSEN - 1, 4 * (exponent - 1) + mantisse);
+	}
+	
+	/**
+	 * Berechnet die grte Laufzeit, die noch in eine Klasse fllt.
+	 * 
+	 * @param klasse
+	 * 		die Klasse
+	 * @return die Obergrenze der Klasse in Mikrosekunden
+	 */
+	private static long getObergrenze(final int klasse) {
+		if (klasse < 4)
+			return klasse;
+		final int exponent = klasse / 4 + 1;
+		final long untergrenze = (4L + klasse % 4) << (exponent - 2);
+		return untergrenze + (1L << (exponent - 2)) - 1;
+	}
+}
@@ -0,0 +1,37 @@
+package de.drake.minesweeper.model;
+
+/**
+ * Beschreibt, wie ein Feld des Minesweepers in einem Byte abgelegt wird. Die
+ * unteren vier Bits enthalten die Anzahl der Minen in den umgebenden Feldern,
+ * die oberen Bits die Eigenschaften des Feldes. Gegenber einem Objekt je Feld
+ * spart das Speicher und erlaubt es, groe Spielfelder am Stck zu speichern
+ * und zu laden.
+ */
+final class Minefield {
+	
+	/**
+	 * Maske fr die Anzahl der Minen in den umgebenden Feldern
+	 */
+	static final byte BENACHBARTE_MINEN = 0x0F;
+	
+	/**
+	 * Indiziert, ob auf dem Feld eine Mine liegt
+	 */
+	static final byte MINE = 0x10;
+	
+	/**
+	 * Indiziert, ob das Feld bereits aufgedeckt wurde
+	 */
+	static final byte AUFGEDECKT = 0x20;
+	
+	/**
+	 * Indiziert, ob ein Feld als Mine markiert wurde
+	 */
+	static final byte MARKIERT = 0x40;
+	
+	/**
+	 * Nicht instanziierbar.
+	 */
+	private Minefield() {
+	}
+}
\ No newline at end of file
@@ -0,0 +1,1062 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Zhlt die Besetzungen einer Komponente wie ein #SAT-Lser. Jedes Randfeld ist
+ * eine Variable, jede aufgedeckte Zahl eine Kardinalittsbedingung "genau k
+ * dieser Nachbarn sind Minen". Gezhlt wird mit DPLL: Nach jeder Verzweigung
+ * werden die erzwungenen Variablen propagiert und die brigen in unabhngige
+ * Teilkomponenten zerlegt, deren Zhlungen zwischengespeichert werden. Aus
+ * Konflikten werden Klauseln gelernt (1-UIP), die in spteren Zweigen frher
+ * zum Konflikt fhren. Sie gehen auerdem in den Klauselspeicher, so dass auch
+ * die Berechnungen der folgenden Zge derselben Partie von ihnen profitieren.
+ *
+ * Die Zhlungen sind Polynome in der Minenzahl: Der Koeffizient von x^m gibt
+ * die Anzahl der Besetzungen mit m Minen an, jede mit dem Minengewicht hoch m
+ * gewichtet. Die erwartete Minenzahl einer Klasse ergibt sich aus einer weiteren
+ * Zhlung, bei der ein Feld der Klasse als Mine gesetzt ist; die Felder einer
+ * Klasse sind ja austauschbar.
+ */
+final class Modellzaehler implements Komponentenzaehler {
+	
+	/**
+	 * Die Anzahl der Teilkomponenten, deren Zhlungen hchstens
+	 * zwischengespeichert werden. Darber hinaus wird der Zwischenspeicher geleert.
+	 */
+	static final int MAXIMALER_ZWISCHENSPEICHER = 1 << 18;
+	
+	/**
+	 * Die Anzahl der Klauseln, die je Komponente hchstens gelernt werden
+	 */
+	static final int MAXIMALE_GELERNTE_KLAUSELN = 1 << 12;
+	
+	/**
+	 * Der Grund einer Variablen, die durch Verzweigung belegt wurde
+	 */
+	private static final int ENTSCHEIDUNG = -1;
+	
+	/**
+	 * Das Ergebnis der Propagation, wenn kein Konflikt auftrat
+	 */
+	private static final int KEIN_KONFLIKT = Integer.MIN_VALUE;
+	
+	/**
+	 * Ein Polynom in der Minenzahl mit einem gemeinsamen Zweierexponenten, damit
+	 * auch die Zhlungen groer Komponenten nicht ber- oder unterlaufen. Der
+	 * Koeffizient von x^m ist werte[m] * 2^exponent.
+	 */
+	private static final class Polynom {
+	
+		/**
+		 * Die Koeffizienten ohne den gemeinsamen Exponenten, das grte in [1, 2)
+		 */
+		private final double[] werte;
+	
+		/**
+		 * Der gemeinsame Zweierexponent
+		 */
+		private final int exponent;
+	
+		/**
+		 * Erzeugt ein Polynom und bringt dabei den grten Koeffizienten nach [1, 2).
+		 * 
+		 * @param werte
+		 * 		die Koeffizienten; werden verndert
+		 * @param exponent
+		 * 		der gemeinsame Zweierexponent der Koeffizienten
+		 */
+		private Polynom(final double[] werte, final int exponent) {
+			double maximum = 0;
+			for (final double wert : werte)
+				maximum = Math.max(maximum, wert);
+			final int verschiebung = maximum == 0 ? 0 : Math.getExponent(maximum);
+			for (int index = 0; index < werte.length; index++)
+				werte[index] = Math.scalb(werte[index], -verschiebung);
+			this.werte = werte;
+			this.exponent = exponent + verschiebung;
+		}
+	}
+	
+	/**
+	 * Der Schlssel einer Teilkomponente im Zwischenspeicher: ihre Variablen und
+	 * die restlichen Minenzahlen ihrer Bedingungen. Teilkomponenten mit gleichem
+	 * Schlssel haben dieselben Besetzungen.
+	 */
+	private static final class Schluessel {
+	
+		/**
+		 * Die Variablen, -1, dann je Bedingung ihre Nummer und restliche Minenzahl
+		 */
+		private final int[] werte;
+	
+		/**
+		 * Der Hashcode der Werte
+		 */
+		private final int hashcode;
+	
+		/**
+		 * Erzeugt einen Schlssel.
+		 * 
+		 * @param werte
+		 * 		die Werte des Schlssels
+		 */
+		private Schluessel(final int[] werte) {
+			this.werte = werte;
+			this.hashcode = Arrays.hashCode(werte);
+		}
+	
+		@Override
+		public int hashCode() {
+			return this.hashcode;
+		}
+	
+		@Override
+		public boolean equals(final Object objekt) {
+			return objekt instanceof Schluessel
+					&& Arrays.equals(this.werte, ((Schluessel) objekt).werte);
+		}
+	}
+	
+	/**
+	 * Der ProbabilityCalculator, fr den gezhlt wird
+	 */
+	private final ProbabilityCalculator rechner;
+	
+	/**
+	 * Die Randklassen der Stellung
+	 */
+	private final Randklassen randklassen;
+	
+	/**
+	 * Die Klassen der Komponente
+	 */
+	private final int[] klassen;
+	
+	/**
+	 * Das Spielfeld in der Stellung, aus dem die festen Nachbarn der Bedingungen
+	 * fr gelernte Klauseln stammen
+	 */
+	private final Spielfeld spielfeld;
+	
+	/**
+	 * Der Speicher, in den gelernte Klauseln fr folgende Zge gehen
+	 */
+	private final Klauselspeicher speicher;
+	
+	/**
+	 * Das Feld jeder Variablen, die Variablen einer Klasse hintereinander
+	 */
+	private final int[] feld;
+	
+	/**
+	 * Die Variable jedes Randfeldes der Komponente
+	 */
+	private final HashMap<Integer, Integer> variableVon = new HashMap<Integer, Integer>();
+	
+	/**
+	 * Die erste Variable jeder Klasse der Komponente
+	 */
+	private final int[] klassenvariable;
+	
+	/**
+	 * Die Variablen jeder Bedingung der Komponente
+	 */
+	private final int[][] bedingungsvariablen;
+	
+	/**
+	 * Die Minenzahl, die jede Bedingung unter ihren Variablen verlangt
+	 */
+	private final int[] bedingungswert;
+	
+	/**
+	 * Das aufgedeckte Feld jeder Bedingung
+	 */
+	private final int[] bedingungsfeld;
+	
+	/**
+	 * Die Bedingung jedes aufgedeckten Feldes der Komponente
+	 */
+	private final HashMap<Integer, Integer> bedingungVon = new HashMap<Integer, Integer>();
+	
+	/**
+	 * Die Bedingungen jeder Variablen
+	 */
+	private final int[][] variablenbedingungen;
+	
+	/**
+	 * Alle Variablen der Komponente
+	 */
+	private final int[] alleVariablen;
+	
+	/**
+	 * Die Belegung jeder Variablen: 1 fr eine Mine, 0 fr keine, -1 fr offen
+	 */
+	private final int[] wert;
+	
+	/**
+	 * Der Grund jeder belegten Variablen: ENTSCHEIDUNG, die Nummer der Bedingung,
+	 * die sie erzwungen hat, oder -(k + 2) fr die Klausel k
+	 */
+	private final int[] grund;
+	
+	/**
+	 * Die Entscheidungsebene, auf der jede Variable belegt wurde
+	 */
+	private final int[] ebeneVon;
+	
+	/**
+	 * Die Position jeder belegten Variablen in this.spur
+	 */
+	private final int[] position;
+	
+	/**
+	 * Die belegten Variablen in der Reihenfolge ihrer Belegung
+	 */
+	private final int[] spur;
+	
+	/**
+	 * Die Anzahl der belegten Variablen
+	 */
+	private int spurlaenge;
+	
+	/**
+	 * Die Anzahl der belegten Variablen, deren Folgen schon propagiert wurden
+	 */
+	private int kopf;
+	
+	/**
+	 * Die aktuelle Entscheidungsebene
+	 */
+	private int ebene;
+	
+	/**
+	 * Die offenen Variablen jeder Bedingung
+	 */
+	private final int[] offen;
+	
+	/**
+	 * Die als Minen belegten Variablen jeder Bedingung
+	 */
+	private final int[] minen;
+	
+	/**
+	 * Die Marke der Teilkomponente, in der jede Variable zuletzt gezhlt wurde
+	 */
+	private final int[] marke;
+	
+	/**
+	 * Die Marke der Teilkomponente, die gerade gezhlt wird
+	 */
+	private int aktuelleMarke;
+	
+	/**
+	 * Die zuletzt vergebene Marke
+	 */
+	private int letzteMarke;
+	
+	/**
+	 * Die Marke jeder Variablen in der letzten Zerlegung
+	 */
+	private final int[] besucht;
+	
+	/**
+	 * Die Marke jeder Bedingung in der letzten Zerlegung
+	 */
+	private final int[] bedingungBesucht;
+	
+	/**
+	 * Die Marke der letzten Zerlegung
+	 */
+	private int besuchsmarke;
+	
+	/**
+	 * Die Literale jeder Klausel ber den Variablen: v + 1 fr eine Mine auf v,
+	 * -(v + 1) fr keine
+	 */
+	private final ArrayList<int[]> klauselliterale = new ArrayList<int[]>();
+	
+	/**
+	 * Die Bedingungen der Komponente unter den Prmissen jeder Klausel
+	 */
+	private final ArrayList<int[]> klauselbedingungen = new ArrayList<int[]>();
+	
+	/**
+	 * Jede Klausel in der Form des Klauselspeichers
+	 */
+	private final ArrayList<Klauselspeicher.Klausel> klauseln =
+			new ArrayList<Klauselspeicher.Klausel>();
+	
+	/**
+	 * Die Klauseln, in denen jede Variable vorkommt
+	 */
+	private final ArrayList<ArrayList<Integer>> vorkommen;
+	
+	/**
+	 * Die Anzahl der in dieser Komponente gelernten Klauseln
+	 */
+	private int gelernteKlauseln;
+	
+	/**
+	 * Die bereits bei der Konfliktanalyse gesehenen Variablen
+	 */
+	private final boolean[] gesehen;
+	
+	/**
+	 * Die Zhlungen der Teilkomponenten
+	 */
+	private final HashMap<Schluessel, Polynom> zwischenspeicher =
+			new HashMap<Schluessel, Polynom>();
+	
+	/**
+	 * Der Zweierlogarithmus des Minengewichts
+	 */
+	private final double logarithmusMinengewicht;
+	
+	/**
+	 * Die Zhlung der ganzen Komponente, null wenn sie keine Besetzung hat
+	 */
+	private Polynom gesamt;
+	
+	/**
+	 * Die Anzahl der Minen, die schon vor jeder Verzweigung feststehen
+	 */
+	private int wurzelminen;
+	
+	/**
+	 * Die Anzahl der besuchten Zweige
+	 */
+	private long besuchteZustaende;
+	
+	/**
+	 * Die Anzahl der Zweige, die mit einem Konflikt endeten
+	 */
+	private long verworfeneUebergaenge;
+	
+	/**
+	 * Bereitet das Zhlen einer Komponente vor.
+	 * 
+	 * @param rechner
+	 * 		der ProbabilityCalculator, fr den gezhlt wird
+	 * @param randklassen
+	 * 		die Randklassen der Stellung
+	 * @param komponente
+	 * 		die Komponente
+	 * @param spielfeld
+	 * 		das Spielfeld in der Stellung
+	 * @param speicher
+	 * 		der Speicher, in den gelernte Klauseln gehen
+	 * @param gespeicherteKlauseln
+	 * 		die Klauseln aus dem Speicher, die in dieser Stellung fr die
+	 * 		Komponente gelten
+	 */
+	Modellzaehler(final ProbabilityCalculator rechner, final Randklassen randklassen,
+			final int komponente, final Spielfeld spielfeld, final Klauselspeicher speicher,
+			final ArrayList<Klauselspeicher.Klausel> gespeicherteKlauseln) {
+		this.rechner = rechner;
+		this.randklassen = randklassen;
+		this.klassen = randklassen.getKomponente(komponente);
+		this.spielfeld = spielfeld;
+		this.speicher = speicher;
+		this.logarithmusMinengewicht = Math.log(rechner.getMinengewicht()) / Math.log(2);
+		final int variablenzahl = randklassen.getKomponentenfelder(komponente);
+		this.feld = new int[variablenzahl];
+		this.klassenvariable = new int[this.klassen.length];
+		this.variablenbedingungen = new int[variablenzahl][];
+		final ArrayList<Integer> bedingungen = new ArrayList<Integer>();
+		int variable = 0;
+		for (int index = 0; index < this.klassen.length; index++) {
+			this.klassenvariable[index] = variable;
+			for (final int bedingung : randklassen.getBedingungen(this.klassen[index]))
+				if (!this.bedingungVon.containsKey(randklassen.getFeld(bedingung))) {
+					this.bedingungVon.put(randklassen.getFeld(bedingung), bedingungen.size());
+					bedingungen.add(bedingung);
+				}
+			for (final int randfeld : randklassen.getFelder(this.klassen[index])) {
+				this.feld[variable] = randfeld;
+				this.variableVon.put(randfeld, variable);
+				variable++;
+			}
+		}
+		this.bedingungsvariablen = new int[bedingungen.size()][];
+		this.bedingungswert = new int[bedingungen.size()];
+		this.bedingungsfeld = new int[bedingungen.size()];
+		for (int bedingung = 0; bedingung < bedingungen.size(); bedingung++) {
+			final int global = bedingungen.get(bedingung);
+			this.bedingungswert[bedingung] = randklassen.getWert(global);
+			this.bedingungsfeld[bedingung] = randklassen.getFeld(global);
+			int anzahl = 0;
+			for (final int klasse : randklassen.getKlassen(global))
+				anzahl += randklassen.getGroesse(klasse);
+			this.bedingungsvariablen[bedingung] = new int[anzahl];
+			anzahl = 0;
+			for (final int klasse : randklassen.getKlassen(global))
+				for (final int randfeld : randklassen.getFelder(klasse))
+					this.bedingungsvariablen[bedingung][anzahl++] =
+							this.variableVon.get(randfeld);
+		}
+		for (int index = 0; index < this.klassen.length; index++) {
+			final int[] globale = randklassen.getBedingungen(this.klassen[index]);
+			final int[] lokale = new int[globale.length];
+			for (int stelle = 0; stelle < globale.length; stelle++)
+				lokale[stelle] = this.bedingungVon.get(randklassen.getFeld(globale[stelle]));
+			for (int randfeld = 0; randfeld < randklassen.getGroesse(this.klassen[index]);
+					randfeld++)
+				this.variablenbedingungen[this.klassenvariable[index] + randfeld] = lokale;
+		}
+		this.alleVariablen = new int[variablenzahl];
+		for (variable = 0; variable < variablenzahl; variable++)
+			this.alleVariablen[variable] = variable;
+		this.wert = new int[variablenzahl];
+		Arrays.fill(this.wert, -1);
+		this.grund = new int[variablenzahl];
+		this.ebeneVon = new int[variablenzahl];
+		this.position = new int[variablenzahl];
+		this.spur = new int[variablenzahl];
+		this.marke = new int[variablenzahl];
+		this.besucht = new int[variablenzahl];
+		this.gesehen = new boolean[variablenzahl];
+		this.offen = new int[bedingungen.size()];
+		this.minen = new int[bedingungen.size()];
+		this.bedingungBesucht = new int[bedingungen.size()];
+		for (int bedingung = 0; bedingung < bedingungen.size(); bedingung++)
+			this.offen[bedingung] = this.bedingungsvariablen[bedingung].length;
+		this.vorkommen = new ArrayList<ArrayList<Integer>>(variablenzahl);
+		for (variable = 0; variable < variablenzahl; variable++)
+			this.vorkommen.add(new ArrayList<Integer>());
+		for (final Klauselspeicher.Klausel klausel : gespeicherteKlauseln)
+			this.fuegeHinzu(klausel);
+	}
+	
+	@Override
+	public long getBesuchteZustaende() {
+		return this.besuchteZustaende;
+	}
+	
+	@Override
+	public long getVerworfeneUebergaenge() {
+		return this.verworfeneUebergaenge;
+	}
+	
+	@Override
+	public double[] berechneVerteilung() throws InterruptedException {
+		this.ebene = 0;
+		this.markiere(this.alleVariablen);
+		int konflikt = KEIN_KONFLIKT;
+		for (int bedingung = 0; bedingung < this.offen.length
+				&& konflikt == KEIN_KONFLIKT; bedingung++)
+			konflikt = this.pruefeBedingung(bedingung);
+		for (int klausel = 0; klausel < this.klauseln.size()
+				&& konflikt == KEIN_KONFLIKT; klausel++)
+			konflikt = this.pruefeKlausel(klausel);
+		if (konflikt == KEIN_KONFLIKT)
+			konflikt = this.propagiere();
+		final double[] verteilung = new double[this.alleVariablen.length + 1];
+		if (konflikt != KEIN_KONFLIKT) {
+			this.gesamt = null;
+			return verteilung;
+		}
+		this.wurzelminen = 0;
+		for (int index = 0; index < this.spurlaenge; index++)
+			this.wurzelminen += this.wert[this.spur[index]];
+		this.gesamt = this.zaehleZerlegt(this.alleVariablen, this.wurzelminen);
+		if (this.gesamt != null)
+			System.arraycopy(this.gesamt.werte, 0, verteilung, 0, this.gesamt.werte.length);
+		return verteilung;
+	}
+	
+	@Override
+	public void berechneKlassenminen(final double[] gewichtung,
+			final double[] klassenwahrscheinlichkeit) throws InterruptedException {
+		if (this.gesamt == null) {
+			// Die Komponente hat keine Besetzung, etwa wegen falscher Markierungen.
+			for (final int klasse : this.klassen)
+				klassenwahrscheinlichkeit[klasse] = Double.NaN;
+			return;
+		}
+		final double nenner = Modellzaehler.gewichte(this.gesamt, gewichtung);
+		for (int index = 0; index < this.klassen.length; index++) {
+			final int variable = this.klassenvariable[index];
+			Polynom bedingt;
+			if (this.wert[variable] >= 0)
+				bedingt = this.wert[variable] == 1 ? this.gesamt : null;
+			else
+				bedingt = Modellzaehler.multipliziere(this.monom(this.wurzelminen),
+						this.verzweige(this.alleVariablen, variable, 1));
+			final double zaehler = bedingt == null ? 0 : Math.scalb(
+					Modellzaehler.gewichte(bedingt, gewichtung),
+					bedingt.exponent - this.gesamt.exponent);
+			klassenwahrscheinlichkeit[this.klassen[index]] =
+					this.randklassen.getGroesse(this.klassen[index]) * zaehler / nenner;
+		}
+	}
+	
+	/**
+	 * Zhlt die Besetzungen einer Teilkomponente, sofern sie nicht schon im
+	 * Zwischenspeicher steht.
+	 * 
+	 * @param variablen
+	 * 		die Variablen der Teilkomponente, alle offen
+	 * @param bedingungen
+	 * 		die Bedingungen mit offenen Variablen in der Teilkomponente
+	 * @return die Zhlung oder null, wenn es keine Besetzung gibt
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	private Polynom zaehle(final int[] variablen, final int[] bedingungen)
+			throws InterruptedException {
+		final int[] werte = new int[variablen.length + 1 + 2 * bedingungen.length];
+		System.arraycopy(variablen, 0, werte, 0, variablen.length);
+		werte[variablen.length] = -1;
+		for (int index = 0; index < bedingungen.length; index++) {
+			final int bedingung = bedingungen[index];
+			werte[variablen.length + 1 + 2 * index] = bedingung;
+			werte[variablen.length + 2 + 2 * index] =
+					this.bedingungswert[bedingung] - this.minen[bedingung];
+		}
+		final Schluessel schluessel = new Schluessel(werte);
+		if (this.zwischenspeicher.containsKey(schluessel))
+			return this.zwischenspeicher.get(schluessel);
+		final int variable = this.waehleVariable(variablen);
+		Polynom ergebnis = null;
+		for (int belegung = 0; belegung <= 1; belegung++)
+			ergebnis = Modellzaehler.addiere(ergebnis,
+					this.verzweige(variablen, variable, belegung));
+		if (this.zwischenspeicher.size() >= MAXIMALER_ZWISCHENSPEICHER)
+			this.zwischenspeicher.clear();
+		this.zwischenspeicher.put(schluessel, ergebnis);
+		return ergebnis;
+	}
+	
+	/**
+	 * Belegt eine Variable, propagiert die Folgen und zhlt die brigen
+	 * Variablen einer Teilkomponente. Danach wird die Belegung zurckgenommen.
+	 * 
+	 * @param variablen
+	 * 		die Variablen der Teilkomponente
+	 * @param variable
+	 * 		die zu belegende Variable
+	 * @param belegung
+	 * 		1 fr eine Mine, 0 fr keine
+	 * @return die Zhlung der Variablen der Teilkomponente einschlielich der in
+	 * 		diesem Zweig belegten, null wenn es keine Besetzung gibt
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	private Polynom verzweige(final int[] variablen, final int variable,
+			final int belegung) throws InterruptedException {
+		if ((this.besuchteZustaende++ & 0xFFF) == 0)
+			this.rechner.pruefeUnterbrechung();
+		final int anfang = this.spurlaenge;
+		this.ebene++;
+		this.markiere(variablen);
+		this.setze(variable, belegung, ENTSCHEIDUNG);
+		final int konflikt = this.propagiere();
+		Polynom ergebnis = null;
+		if (konflikt == KEIN_KONFLIKT) {
+			int neueMinen = 0;
+			for (int index = anfang; index < this.spurlaenge; index++)
+				neueMinen += this.wert[this.spur[index]];
+			ergebnis = this.zaehleZerlegt(variablen, neueMinen);
+		} else {
+			this.verworfeneUebergaenge++;
+			this.lerne(konflikt);
+		}
+		this.nimmZurueck(anfang);
+		this.ebene--;
+		return ergebnis;
+	}
+	
+	/**
+	 * Zerlegt die offenen Variablen einer Teilkomponente in unabhngige
+	 * Teilkomponenten und multipliziert deren Zhlungen.
+	 * 
+	 * @param variablen
+	 * 		die Variablen der Teilkomponente
+	 * @param belegteMinen
+	 * 		die Anzahl der bereits als Minen belegten Variablen der Teilkomponente
+	 * @return die Zhlung oder null, wenn es keine Besetzung gibt
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	private Polynom zaehleZerlegt(final int[] variablen, final int belegteMinen)
+			throws InterruptedException {
+		Polynom produkt = this.monom(belegteMinen);
+		for (final int[][] teil : this.zerlege(variablen)) {
+			produkt = Modellzaehler.multipliziere(produkt, this.zaehle(teil[0], teil[1]));
+			if (produkt == null)
+				return null;
+		}
+		return produkt;
+	}
+	
+	/**
+	 * Zerlegt die offenen Variablen durch Breitensuche ber die Bedingungen mit
+	 * offenen Variablen in unabhngige Teilkomponenten.
+	 * 
+	 * @param variablen
+	 * 		die zu zerlegenden Variablen
+	 * @return fr jede Teilkomponente ihre Variablen und ihre Bedingungen mit
+	 * 		offenen Variablen, beide aufsteigend
+	 */
+	private ArrayList<int[][]> zerlege(final int[] variablen) {
+		this.besuchsmarke++;
+		final ArrayList<int[][]> teile = new ArrayList<int[][]>();
+		final int[] warteschlange = new int[variablen.length];
+		final ArrayList<Integer> bedingungen = new ArrayList<Integer>();
+		for (final int start : variablen) {
+			if (this.wert[start] >= 0 || this.besucht[start] == this.besuchsmarke)
+				continue;
+			this.besucht[start] = this.besuchsmarke;
+			warteschlange[0] = start;
+			int laenge = 1;
+			bedingungen.clear();
+			for (int index = 0; index < laenge; index++)
+				for (final int bedingung : this.variablenbedingungen[warteschlange[index]]) {
+					if (this.bedingungBesucht[bedingung] == this.besuchsmarke)
+						continue;
+					this.bedingungBesucht[bedingung] = this.besuchsmarke;
+					bedingungen.add(bedingung);
+					for (final int nachbar : this.bedingungsvariablen[bedingung])
+						if (this.wert[nachbar] < 0 && this.besucht[nachbar] != this.besuchsmarke) {
+							this.besucht[nachbar] = this.besuchsmarke;
+							warteschlange[laenge++] = nachbar;
+						}
+				}
+			final int[] teilvariablen = Arrays.copyOf(warteschlange, laenge);
+			Arrays.sort(teilvariablen);
+			final int[] teilbedingungen = new int[bedingungen.size()];
+			for (int index = 0; index < teilbedingungen.length; index++)
+				teilbedingungen[index] = bedingungen.get(index);
+			Arrays.sort(teilbedingungen);
+			teile.add(new int[][] {teilvariablen, teilbedingungen});
+		}
+		return teile;
+	}
+	
+	/**
+	 * Whlt die Variable, nach der verzweigt wird: die mit den meisten
+	 * Bedingungen.
+	 * 
+	 * @param variablen
+	 * 		die Variablen der Teilkomponente, alle offen
+	 * @return die Variable
+	 */
+	private int waehleVariable(final int[] variablen) {
+		int beste = variablen[0];
+		for (final int variable : variablen)
+			if (this.variablenbedingungen[variable].length
+					> this.variablenbedingungen[beste].length)
+				beste = variable;
+		return beste;
+	}
+	
+	/**
+	 * Markiert die Variablen der Teilkomponente, die gerade gezhlt wird.
+	 * Gelernte Klauseln propagieren nur innerhalb der markierten Variablen.
+	 * 
+	 * @param variablen
+	 * 		die Variablen der Teilkomponente
+	 */
+	private void markiere(final int[] variablen) {
+		this.aktuelleMarke = ++this.letzteMarke;
+		for (final int variable : variablen)
+			this.marke[variable] = this.aktuelleMarke;
+	}
+	
+	/**
+	 * Belegt eine Variable und hngt sie an die Spur an.
+	 * 
+	 * @param variable
+	 * 		die Variable
+	 * @param belegung
+	 * 		1 fr eine Mine, 0 fr keine
+	 * @param ursache
+	 * 		der Grund der Belegung, siehe this.grund
+	 */
+	private void setze(final int variable, final int belegung, final int ursache) {
+		this.wert[variable] = belegung;
+		this.grund[variable] = ursache;
+		this.ebeneVon[variable] = this.ebene;
+		this.position[variable] = this.spurlaenge;
+		this.spur[this.spurlaenge++] = variable;
+		for (final int bedingung : this.variablenbedingungen[variable]) {
+			this.offen[bedingung]--;
+			this.minen[bedingung] += belegung;
+		}
+	}
+	
+	/**
+	 * Nimmt alle Belegungen ab einer Position der Spur zurck.
+	 * 
+	 * @param anfang
+	 * 		die Position der ersten zurckzunehmenden Belegung
+	 */
+	private void nimmZurueck(final int anfang) {
+		while (this.spurlaenge > anfang) {
+			final int variable = this.spur[--this.spurlaenge];
+			for (final int bedingung : this.variablenbedingungen[variable]) {
+				this.offen[bedingung]++;
+				this.minen[bedingung] -= this.wert[variable];
+			}
+			this.wert[variable] = -1;
+		}
+		this.kopf = anfang;
+	}
+	
+	/**
+	 * Propagiert die Folgen aller noch nicht propagierten Belegungen.
+	 * 
+	 * @return KEIN_KONFLIKT oder der Grund des Konflikts, siehe this.grund
+	 */
+	private int propagiere() {
+		while (this.kopf < this.spurlaenge) {
+			final int variable = this.spur[this.kopf++];
+			for (final int bedingung : this.variablenbedingungen[variable]) {
+				final int konflikt = this.pruefeBedingung(bedingung);
+				if (konflikt != KEIN_KONFLIKT)
+					return konflikt;
+			}
+			final ArrayList<Integer> klauseln = this.vorkommen.get(variable);
+			for (int index = 0; index < klauseln.size(); index++) {
+				final int konflikt = this.pruefeKlausel(klauseln.get(index));
+				if (konflikt != KEIN_KONFLIKT)
+					return konflikt;
+			}
+		}
+		return KEIN_KONFLIKT;
+	}
+	
+	/**
+	 * Prft eine Bedingung und belegt ihre offenen Variablen, wenn sie alle Minen
+	 * oder alle keine sein mssen.
+	 * 
+	 * @param bedingung
+	 * 		die Bedingung
+	 * @return KEIN_KONFLIKT oder die Bedingung, wenn sie nicht mehr erfllbar ist
+	 */
+	private int pruefeBedingung(final int bedingung) {
+		final int bedarf = this.bedingungswert[bedingung] - this.minen[bedingung];
+		if (bedarf < 0 || bedarf > this.offen[bedingung])
+			return bedingung;
+		if (this.offen[bedingung] > 0 && (bedarf == 0 || bedarf == this.offen[bedingung])) {
+			final int belegung = bedarf == 0 ? 0 : 1;
+			for (final int variable : this.bedingungsvariablen[bedingung])
+				if (this.wert[variable] < 0)
+					this.setze(variable, belegung, bedingung);
+		}
+		return KEIN_KONFLIKT;
+	}
+	
+	/**
+	 * Prft eine Klausel und belegt ihre letzte offene Variable, wenn alle anderen
+	 * Literale falsch sind. Eine Klausel wird nur angewendet, wenn ihre Prmissen
+	 * keine offenen Variablen auerhalb der gerade gezhlten Teilkomponente haben.
+	 * Dann folgt sie aus den Bedingungen der Teilkomponente allein, und deren
+	 * Zhlung bleibt unabhngig davon, ob andere Teilkomponenten Besetzungen haben.
+	 * 
+	 * @param klausel
+	 * 		die Klausel
+	 * @return KEIN_KONFLIKT oder -(klausel + 2), wenn alle Literale falsch sind
+	 */
+	private int pruefeKlausel(final int klausel) {
+		int offenesLiteral = 0;
+		for (final int literal : this.klauselliterale.get(klausel)) {
+			final int belegung = this.wert[Math.abs(literal) - 1];
+			if (belegung < 0) {
+				if (offenesLiteral != 0)
+					return KEIN_KONFLIKT;
+				offenesLiteral = literal;
+			} else if ((belegung == 1) == (literal > 0)) {
+				return KEIN_KONFLIKT;
+			}
+		}
+		for (final int bedingung : this.klauselbedingungen.get(klausel))
+			for (final int variable : this.bedingungsvariablen[bedingung])
+				if (this.wert[variable] < 0) {
+					if (this.marke[variable] != this.aktuelleMarke)
+						return KEIN_KONFLIKT;
+					break;
+				}
+		if (offenesLiteral == 0)
+			return -(klausel + 2);
+		this.setze(Math.abs(offenesLiteral) - 1, offenesLiteral > 0 ? 1 : 0, -(klausel + 2));
+		return KEIN_KONFLIKT;
+	}
+	
+	/**
+	 * Lernt aus einem Konflikt eine Klausel nach dem ersten eindeutigen
+	 * Implikationspunkt (1-UIP) der aktuellen Entscheidungsebene und legt sie
+	 * zustzlich im Klauselspeicher ab. Dort enthlt sie auch die Literale der
+	 * aufgedeckten und markierten Nachbarn, von denen sie abhngt.
+	 * 
+	 * @param konflikt
+	 * 		der Grund des Konflikts
+	 */
+	private void lerne(final int konflikt) {
+		if (this.ebene == 0 || this.gelernteKlauseln >= MAXIMALE_GELERNTE_KLAUSELN)
+			return;
+		final ArrayList<Integer> gelernt = new ArrayList<Integer>();
+		final ArrayList<Integer> begruendung = new ArrayList<Integer>();
+		final ArrayList<Integer> markiert = new ArrayList<Integer>();
+		final TreeSet<Integer> fest = new TreeSet<Integer>();
+		final TreeMap<Integer, Integer> praemissen = new TreeMap<Integer, Integer>();
+		int ursache = konflikt;
+		int pivot = -1;
+		int index = this.spurlaenge - 1;
+		int offeneLiterale = 0;
+		while (true) {
+			this.begruende(ursache, pivot, begruendung, fest, praemissen);
+			for (final int literal : begruendung) {
+				final int variable = Math.abs(literal) - 1;
+				if (this.gesehen[variable])
+					continue;
+				this.gesehen[variable] = true;
+				markiert.add(variable);
+				if (this.ebeneVon[variable] == this.ebene)
+					offeneLiterale++;
+				else
+					gelernt.add(literal);
+			}
+			if (offeneLiterale == 0)
+				break;
+			while (!this.gesehen[this.spur[index]])
+				index--;
+			pivot = this.spur[index--];
+			if (--offeneLiterale == 0)
+				break;
+			ursache = this.grund[pivot];
+		}
+		for (final int variable : markiert)
+			this.gesehen[variable] = false;
+		// Ohne Literal der aktuellen Ebene widersprechen sich schon die Bedingungen
+		// ohne Verzweigung, daraus ist nichts zu lernen.
+		if (pivot < 0)
+			return;
+		gelernt.add(this.wert[pivot] == 1 ? -(pivot + 1) : pivot + 1);
+		final int[] literale = new int[gelernt.size() + fest.size()];
+		int anzahl = 0;
+		for (final int literal : gelernt)
+			literale[anzahl++] = literal > 0
+					? this.feld[literal - 1] + 1 : -(this.feld[-literal - 1] + 1);
+		for (final int literal : fest)
+			literale[anzahl++] = literal;
+		final int[] felder = new int[praemissen.size()];
+		final int[] zahlen = new int[praemissen.size()];
+		anzahl = 0;
+		for (final Map.Entry<Integer, Integer> praemisse : praemissen.entrySet()) {
+			felder[anzahl] = praemisse.getKey();
+			zahlen[anzahl++] = praemisse.getValue();
+		}
+		final Klauselspeicher.Klausel klausel =
+				new Klauselspeicher.Klausel(literale, felder, zahlen);
+		this.fuegeHinzu(klausel);
+		this.speicher.lerne(klausel);
+		this.gelernteKlauseln++;
+	}
+	
+	/**
+	 * Sammelt die Literale, aus denen eine Belegung oder ein Konflikt folgt. Die
+	 * Literale der Variablen sind alle falsch; die der festen Nachbarn sowie die
+	 * Prmissen werden getrennt gesammelt.
+	 * 
+	 * @param ursache
+	 * 		der Grund der Belegung oder des Konflikts, siehe this.grund
+	 * @param pivot
+	 * 		die belegte Variable oder -1 fr einen Konflikt
+	 * @param literale
+	 * 		nimmt die Literale der brigen Variablen auf
+	 * @param fest
+	 * 		nimmt die Literale der aufgedeckten und markierten Nachbarn auf
+	 * @param praemissen
+	 * 		nimmt die verwendeten aufgedeckten Felder samt Zahl auf
+	 */
+	private void begruende(final int ursache, final int pivot,
+			final ArrayList<Integer> literale, final TreeSet<Integer> fest,
+			final TreeMap<Integer, Integer> praemissen) {
+		literale.clear();
+		if (ursache < 0) {
+			final int klausel = -ursache - 2;
+			for (final int literal : this.klauselliterale.get(klausel))
+				if (Math.abs(literal) - 1 != pivot)
+					literale.add(literal);
+			final Klauselspeicher.Klausel herkunft = this.klauseln.get(klausel);
+			for (final int literal : herkunft.literale)
+				if (!this.variableVon.containsKey(Math.abs(literal) - 1))
+					fest.add(literal);
+			for (int index = 0; index < herkunft.praemissen.length; index++)
+				praemissen.put(herkunft.praemissen[index], herkunft.zahlen[index]);
+			return;
+		}
+		// Eine Mine folgt daraus, dass zu viele Nachbarn keine Minen sind, keine
+		// Mine daraus, dass schon genug Nachbarn Minen sind.
+		final int bedingung = ursache;
+		final boolean mindestens = pivot >= 0 ? this.wert[pivot] == 1
+				: this.bedingungswert[bedingung] >= this.minen[bedingung];
+		final int grenze = pivot >= 0 ? this.position[pivot] : this.spurlaenge;
+		final int gesucht = mindestens ? 0 : 1;
+		for (final int variable : this.bedingungsvariablen[bedingung])
+			if (this.wert[variable] == gesucht && this.position[variable] < grenze)
+				literale.add(mindestens ? variable + 1 : -(variable + 1));
+		final int breite = this.spielfeld.getBreite();
+		final int zeile = this.bedingungsfeld[bedingung] / breite;
+		final int spalte = this.bedingungsfeld[bedingung] % breite;
+		for (int nachbarZeile = Math.max(0, zeile-1);
+				nachbarZeile < Math.min(zeile+2, this.spielfeld.getHoehe()); nachbarZeile++)
+			for (int nachbarSpalte = Math.max(0, spalte-1);
+					nachbarSpalte < Math.min(spalte+2, breite); nachbarSpalte++) {
+				final int nachbar = nachbarZeile * breite + nachbarSpalte;
+				if (nachbar == this.bedingungsfeld[bedingung])
+					continue;
+				if (mindestens && this.spielfeld.isUncovered(nachbarZeile, nachbarSpalte))
+					fest.add(nachbar + 1);
+				else if (!mindestens
+						&& this.spielfeld.isMarkedAsMine(nachbarZeile, nachbarSpalte))
+					fest.add(-(nachbar + 1));
+			}
+		praemissen.put(this.bedingungsfeld[bedingung],
+				this.spielfeld.getBenachbarteMinen(zeile, spalte));
+	}
+	
+	/**
+	 * Nimmt eine Klausel in die Klauseln dieser Komponente auf. Literale ber
+	 * Feldern, die keine Variablen sind, sind in dieser Stellung falsch und
+	 * entfallen. Hat eine Prmisse offene Nachbarn in einer anderen Komponente,
+	 * wird die Klausel bergangen.
+	 * 
+	 * @param klausel
+	 * 		die Klausel in der Form des Klauselspeichers
+	 */
+	private void fuegeHinzu(final Klauselspeicher.Klausel klausel) {
+		final ArrayList<Integer> bedingungen = new ArrayList<Integer>();
+		for (final int praemisse : klausel.praemissen) {
+			final Integer bedingung = this.bedingungVon.get(praemisse);
+			if (bedingung != null)
+				bedingungen.add(bedingung);
+			else if (this.hatRandnachbarn(praemisse))
+				return;
+		}
+		final ArrayList<Integer> lokal = new ArrayList<Integer>();
+		for (final int literal : klausel.literale) {
+			final Integer variable = this.variableVon.get(Math.abs(literal) - 1);
+			if (variable != null)
+				lokal.add(literal > 0 ? variable + 1 : -(variable + 1));
+		}
+		final int nummer = this.klauseln.size();
+		final int[] literale = new int[lokal.size()];
+		for (int index = 0; index < literale.length; index++) {
+			literale[index] = lokal.get(index);
+			this.vorkommen.get(Math.abs(literale[index]) - 1).add(nummer);
+		}
+		final int[] lokaleBedingungen = new int[bedingungen.size()];
+		for (int index = 0; index < lokaleBedingungen.length; index++)
+			lokaleBedingungen[index] = bedingungen.get(index);
+		this.klauselliterale.add(literale);
+		this.klauselbedingungen.add(lokaleBedingungen);
+		this.klauseln.add(klausel);
+	}
+	
+	/**
+	 * Prft, ob ein Feld an Randfelder grenzt.
+	 * 
+	 * @param feld
+	 * 		das Feld in zeilenweiser Nummerierung
+	 * @return true, wenn ein Nachbar ein Randfeld ist
+	 */
+	private boolean hatRandnachbarn(final int feld) {
+		final int breite = this.spielfeld.getBreite();
+		final int zeile = feld / breite;
+		final int spalte = feld % breite;
+		for (int nachbarZeile = Math.max(0, zeile-1);
+				nachbarZeile < Math.min(zeile+2, this.spielfeld.getHoehe()); nachbarZeile++)
+			for (int nachbarSpalte = Math.max(0, spalte-1);
+					nachbarSpalte < Math.min(spalte+2, breite); nachbarSpalte++)
+				if (this.randklassen.getKlasse(nachbarZeile * breite + nachbarSpalte) >= 0)
+					return true;
+		return false;
+	}
+	
+	/**
+	 * Gibt das Polynom x^minen mit dem Minengewicht hoch minen als Koeffizienten
+	 * zurck.
+	 * 
+	 * @param minen
+	 * 		die Anzahl der Minen
+	 * @return das Polynom
+	 */
+	private Polynom monom(final int minen) {
+		final double logarithmus = minen * this.logarithmusMinengewicht;
+		final int exponent = (int) Math.floor(logarithmus);
+		final double[] werte = new double[minen + 1];
+		werte[minen] = Math.pow(2, logarithmus - exponent);
+		return new Polynom(werte, exponent);
+	}
+	
+	/**
+	 * Multipliziert zwei Polynome.
+	 * 
+	 * @param erstes
+	 * 		das erste Polynom oder null fr 0
+	 * @param zweites
+	 * 		das zweite Polynom oder null fr 0
+	 * @return das Produkt oder null fr 0
+	 */
+	private static Polynom multipliziere(final Polynom erstes, final Polynom zweites) {
+		if (erstes == null || zweites == null)
+			return null;
+		final double[] werte = new double[erstes.werte.length + zweites.werte.length - 1];
+		for (int i = 0; i < erstes.werte.length; i++) {
+			if (erstes.werte[i] == 0)
+				continue;
+			for (int j = 0; j < zweites.werte.length; j++)
+				werte[i + j] += erstes.werte[i] * zweites.werte[j];
+		}
+		return new Polynom(werte, erstes.exponent + zweites.exponent);
+	}
+	
+	/**
+	 * Addiert zwei Polynome.
+	 * 
+	 * @param erstes
+	 * 		das erste Polynom oder null fr 0
+	 * @param zweites
+	 * 		das zweite Polynom oder null fr 0
+	 * @return die Summe oder null fr 0
+	 */
+	private static Polynom addiere(final Polynom erstes, final Polynom zweites) {
+		if (erstes == null)
+			return zweites;
+		if (zweites == null)
+			return erstes;
+		final int exponent = Math.max(erstes.exponent, zweites.exponent);
+		final double[] werte =
+				new double[Math.max(erstes.werte.length, zweites.werte.length)];
+		for (int index = 0; index < erstes.werte.length; index++)
+			werte[index] += Math.scalb(erstes.werte[index], erstes.exponent - exponent);
+		for (int index = 0; index < zweites.werte.length; index++)
+			werte[index] += Math.scalb(zweites.werte[index], zweites.exponent - exponent);
+		return new Polynom(werte, exponent);
+	}
+	
+	/**
+	 * Summiert die Koeffizienten eines Polynoms gewichtet, ohne den gemeinsamen
+	 * Exponenten.
+	 * 
+	 * @param polynom
+	 * 		das Polynom
+	 * @param gewichtung
+	 * 		das Gewicht jeder Minenzahl
+	 * @return sum_m werte[m] * gewichtung[m]
+	 */
+	private static double gewichte(final Polynom polynom, final double[] gewichtung) {
+		double summe = 0;
+		for (int minen = 0; minen < polynom.werte.length && minen < gewichtung.length; minen++)
+			summe += polynom.werte[minen] * gewichtung[minen];
+		return summe;
+	}
+}
@@ -0,0 +1,1363 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Stellt Methoden zur Berechnung der Minenwahrscheinlichkeit zur Verfgung.
+ * Wir modellieren das Minesweeper wie folgt: Die Felder X_ij sind hypergeometrische
+ * Bernoulli-Variablen mit sum X_ij = minenzahl (1=Bombe, 0=keine Bombe).
+ * Bei einem teilweise gelsten Minesweeper haben wir Informationen A={X_11+X_12=1,...}
+ * und B={X_11=0,X_13=1,...}. Bedingt man nach B, so bilden die verbleibenden Felder
+ * wieder ein Minesweeper-Modell mit verbleibendeMinen Minen und
+ * (verbleibendeFelder + verbleibendeMinen) Feldern. Das zugehrige Wahrscheinlichkeitsma
+ * fr dieses Modell bezeichnen wir als P_B.
+ */
+class ProbabilityCalculator {
+	
+	/**
+	 * Whlt fr jede Komponente das passende Zhlverfahren.
+	 */
+	static final String AUTOMATISCH = "automatisch";
+	
+	/**
+	 * Zhlt alle Komponenten mit Backtracking.
+	 */
+	static final String BACKTRACKING = "backtracking";
+	
+	/**
+	 * Zhlt jede Komponente, fr die sie geeignet ist, mit der Transfermatrix.
+	 */
+	static final String TRANSFERMATRIX = "transfermatrix";
+	
+	/**
+	 * Zhlt jede Komponente, fr die sie geeignet ist, mit der Baumzerlegung.
+	 */
+	static final String BAUMZERLEGUNG = "baumzerlegung";
+	
+	/**
+	 * Zhlt alle Komponenten mit dem Modellzaehler, einem #SAT-Lser, der aus
+	 * Konflikten Klauseln lernt und ber die Zge einer Partie behlt.
+	 */
+	static final String MODELLZAEHLUNG = "modellzaehlung";
+	
+	/**
+	 * Die Systemeigenschaft, die das Zhlverfahren neuer ProbabilityCalculator
+	 * festlegt
+	 */
+	static final String EIGENSCHAFT_VERFAHREN = "minesweeper.solver.verfahren";
+	
+	/**
+	 * Der Mindestabstand zwischen zwei Zwischenergebnissen in Nanosekunden. Die
+	 * erste Schtzung wird immer sofort weitergegeben.
+	 */
+	static final long ZWISCHENERGEBNIS_ABSTAND = 20 * 1000000L;
+	
+	/**
+	 * Speichert das Minesweeper-Spielfeld.
+	 */
+	private Spielfeld spielfeld;
+	
+	/**
+	 * Die Hhe des Minesweepers.
+	 */
+	private int hoehe;
+	
+	/**
+	 * Die Breite des Minesweepers.
+	 */
+	private int breite;
+	
+	/**
+	 * Indiziert, ob die Berechnungen aufgrund der hohen Rechenzeit
+	 * abgebrochen werden soll.
+	 * Ist diese Variable true, wird zum nchstmglichen Zeitpunkt eine
+	 * InterruptedException geworfen. Wird auch von anderen Threads gesetzt, z.B.
+	 * beim Abbruch einer Suche der Vorausschau.
+	 */
+	private volatile boolean interruptionDetected = false;
+	
+	/**
+	 * Speichert, ob seit der letzten Wahrscheinlichkeitsberechnung Anderungen
+	 * am Modell vorgenommen wurden. Wird bentigt, da bei einer nderung 
+	 * am Modell smtliche Wahrscheinlichkeiten neu berechnet werden mssen.
+	 */
+	private boolean probabilitiesAreUpToDate = false;
+	
+	/**
+	 * Speichert die Wahrscheinlichkeit aller Felder, eine Mine zu beinhalten.
+	 * Muss bei nderungen am Minesweeper komplett neu berechnet werden.
+	 */
+	private double[][] mineprobability;
+	
+	/**
+	 * Die Klassen der Randfelder der laufenden Berechnung.
+	 */
+	private Randklassen randklassen;
+	
+	/**
+	 * Die Minenzahl jeder Klasse in der aktuellen Besetzung.
+	 */
+	private int[] klassenminen;
+	
+	/**
+	 * Die Minenzahl, die die aktuelle Besetzung jeder Bedingung zuweist.
+	 */
+	private int[] bedingungsminen;
+	
+	/**
+	 * Die Anzahl der Felder jeder Bedingung, deren Klasse noch nicht besetzt ist.
+	 */
+	private int[] offeneBedingungsfelder;
+	
+	/**
+	 * Die Summe der Besetzungen der laufenden Komponente je Minenzahl.
+	 */
+	private double[] minenverteilung;
+	
+	/**
+	 * Die Summe der Besetzungen der laufenden Komponente je Minenzahl, gewichtet
+	 * mit der Minenzahl jeder Klasse.
+	 */
+	private double[][] klassenverteilung;
+	
+	/**
+	 * Enthlt P_B(X_ij=1|A) summiert ber die Felder jeder Klasse.
+	 */
+	private double[] klassenwahrscheinlichkeit;
+	
+	/**
+	 * Enthlt P_B(X_ij=1|A) fr die Felder auerhalb von A.
+	 */
+	private double aussenwahrscheinlichkeit;
+	
+	/**
+	 * Zhlt die im Backtracking besuchten Knoten der laufenden Berechnung.
+	 */
+	private long besuchteKnoten;
+	
+	/**
+	 * Zhlt die ausgewerteten vollstndigen Besetzungen der laufenden Berechnung.
+	 */
+	private long ausgewerteteBlaetter;
+	
+	/**
+	 * Zhlt die Teilbesetzungen, die in der laufenden Berechnung verworfen wurden.
+	 */
+	private long verworfeneBesetzungen;
+	
+	/**
+	 * Zhlt die Komponenten, die in der laufenden Berechnung mit einer
+	 * Transfermatrix gezhlt wurden.
+	 */
+	private int transfermatrizen;
+	
+	/**
+	 * Zhlt die Komponenten, die in der laufenden Berechnung mit einer
+	 * Baumzerlegung gezhlt wurden.
+	 */
+	private int baumzerlegungen;
+	
+	/**
+	 * Das JFR-Ereignis fr den laufenden Stapel an Auswertungen. Ist null, wenn
+	 * das Ereignis in der laufenden Aufzeichnung nicht aktiviert ist.
+	 */
+	private AuswertungEvent auswertungEvent;
+	
+	/**
+	 * Das Zhlverfahren, eines von AUTOMATISCH, BACKTRACKING, TRANSFERMATRIX,
+	 * BAUMZERLEGUNG und MODELLZAEHLUNG.
+	 */
+	private String zaehlverfahren =
+			System.getProperty(EIGENSCHAFT_VERFAHREN, AUTOMATISCH);
+	
+	/**
+	 * Die grte Weite der Baumzerlegungen der laufenden Berechnung, 0 wenn keine
+	 * verwendet wurde.
+	 */
+	private int baumweite;
+	
+	/**
+	 * Das Gewicht t jeder Mine am Rand in der laufenden Berechnung. Jede Besetzung
+	 * mit m Minen am Rand zhlt beim Zhlen der Komponenten mit t^m, die Gewichte
+	 * aus berechneGewichte() mit t^(-m), so dass sich t berall herauskrzt. Mit
+	 * t = M / (F - M), den Chancen eines Feldes ohne weitere Information, liegen
+	 * beide Seiten bei derselben Minenzahl am hchsten und unterlaufen auch bei
+	 * hunderten Minen am Rand nicht.
+	 */
+	private double minengewicht;
+	
+	/**
+	 * Die Klauseln, die der Modellzaehler in dieser Partie gelernt hat. Wird mit
+	 * den Rechnern der Schnappschsse geteilt.
+	 */
+	private Klauselspeicher klauselspeicher = new Klauselspeicher();
+	
+	/**
+	 * Die Klauseln aus dem Klauselspeicher, die in der laufenden Berechnung
+	 * gelten, nach Komponenten. Wird erst bei Bedarf ausgewhlt.
+	 */
+	private ArrayList<ArrayList<Klauselspeicher.Klausel>> gespeicherteKlauseln;
+	
+	/**
+	 * Die gezhlten Minenverteilungen der Komponenten aus frheren Berechnungen
+	 * dieser Partie. Wird mit den Rechnern der Schnappschsse geteilt.
+	 */
+	private Komponentenspeicher komponentenspeicher = new Komponentenspeicher();
+	
+	/**
+	 * Die Version des Spielfeldes, fr die die Komponenten in
+	 * bereiteKomponentenVor() gezhlt und verknpft wurden, oder -1, wenn die
+	 * Zwischenergebnisse nicht mehr gelten.
+	 */
+	private long vorbereiteteVersion = -1;
+	
+	/**
+	 * Die normierte Minenverteilung jeder Komponente
+	 */
+	private double[][] verteilungen;
+	
+	/**
+	 * Der Komponentenzaehler jeder Komponente oder null fr Komponenten, die mit
+	 * Backtracking gezhlt wurden oder aus dem Komponentenspeicher stammen
+	 */
+	private Komponentenzaehler[] zaehler;
+	
+	/**
+	 * vorher[k] ist die Minenverteilung der Komponenten 0 bis k-1
+	 */
+	private double[][] vorher;
+	
+	/**
+	 * nachher[k][p] gewichtet die Komponenten ab k und die Felder auerhalb von
+	 * A, wenn die Komponenten vor k zusammen p Minen enthalten
+	 */
+	private double[][] nachher;
+	
+	/**
+	 * Die Gewichte aus berechneGewichte()
+	 */
+	private double[] gewichte;
+	
+	/**
+	 * Gibt fr jede Komponente an, ob klassenwahrscheinlichkeit fr ihre Klassen
+	 * schon berechnet ist.
+	 */
+	private boolean[] komponenteBerechnet;
+	
+	/**
+	 * Die Komponenten in der Reihenfolge, in der sie gezhlt und ausgewertet
+	 * werden, die mit den wenigsten Klassen zuerst
+	 */
+	private int[] reihenfolge;
+	
+	/**
+	 * Die vorlufigen Minenwahrscheinlichkeiten einer schrittweisen Berechnung,
+	 * sonst null
+	 */
+	private double[][] zwischenstand;
+	
+	/**
+	 * Der Zeitpunkt, zu dem das letzte Zwischenergebnis weitergegeben wurde
+	 */
+	private long letztesZwischenergebnis;
+	
+	/**
+	 * Gibt an, ob die laufende Berechnung auch die Verteilungen der Zahlen
+	 * bestimmen soll, siehe getZahlenverteilungen().
+	 */
+	private boolean mitZahlenverteilungen = false;
+	
+	/**
+	 * Erfasst die Zahlen im Backtracking, wenn mitZahlenverteilungen gilt, sonst
+	 * null
+	 */
+	private Zahlenverteilungen zahlenerfassung;
+	
+	/**
+	 * Die Verteilungen der Zahlen aus der letzten Berechnung, oder null
+	 */
+	private double[][][] zahlenverteilungen;
+	
+	/**
+	 * Die Version des Spielfeldes, fr die zahlenverteilungen berechnet wurden.
+	 * Das Markieren einer sicheren Mine lsst die Minenwahrscheinlichkeiten
+	 * gelten, nicht aber die Verteilungen.
+	 */
+	private long zahlenversion;
+	
+	/**
+	 * Initialisiert den ProbabilityCalculator.
+	 * 
+	 * @param spielfeld
+	 * 		Das Minesweeper zum Nachschlagen der Modellparameter
+	 * @param hoehe
+	 * 		Die Hhe des Minesweepers
+	 * @param breite
+	 * 		Die Breite des Minesweepers
+	 */
+	ProbabilityCalculator(final Spielfeld spielfeld, final int hoehe,
+			final int breite) {
+		this.spielfeld = spielfeld;
+		this.hoehe = hoehe;
+		this.breite = breite;
+	}
+	
+	/**
+	 * Gibt zurck, ob sich aktuelle Minenwahrscheinlichkeiten im Speicher befinden.
+	 * Hiervon hngt es ab, ob beim Aufruf von getMinenwahrscheinlichkeit() die
+	 * Wahrscheinlichkeiten neu berechnet werden mssen oder nicht.
+	 * @return true, wenn die Wahrscheinlichkeiten noch aktuell sind
+	 */
+	boolean isMineprobabilityUpToDate() {
+		return this.probabilitiesAreUpToDate;
+	}
+	
+	/**
+	 * Gibt die Minenwahrscheinlichkeit fr ein bestimmtes Feld des Minesweepers aus.
+	 * Sind keine aktuellen Werte im Speicher, so wird die Minenwahrscheinlichkeit
+	 * fr jedes Feld neu berechnet.
+	 * Die Minenwahrscheinlichkeit fr ein Feld ij berechnet sich hierbei nach
+	 * der folgenden Formel:
+	 * P_B(X_ij=1|A) = P_B(A|X_ij=1) * P_B(X_ij=1) / P_B(A).
+	 * Whrend die Berechnung von P_B(X_ij=1) einfach ist
+	 * (= verbleibendeMinen / (verbleibendeFelder + verbleibendeMinen), bentigen wir fr
+	 * die Berechnung von P_B(A) und P_B(A|X_ij=1) einen Backtracking-Algorithmus,
+	 * welcher alle mglichen Minenzahlen der Klassen gleichwertiger Randfelder
+	 * ermittelt.
+	 * 
+	 * @param zeile
+	 * 		Die Zeile des Feldes, dessen Minenwahrscheinlichkeit berechnet werden soll
+	 * @param spalte
+	 * 		Die Spalte des Feldes, dessen Minenwahrscheinlichkeit berechnet werden soll
+	 * @return Die Wahrscheinlichkeit, das das angegebene Feld eine Mine beinhaltet
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	double getMinenwahrscheinlichkeit(final int zeile, final int spalte) throws
+	InterruptedException {
+		if (this.spielfeld.isMarkedAsMine(zeile, spalte))
+			return 1.;
+		if (this.spielfeld.isUncovered(zeile, spalte))
+			return 0.;
+		if (!this.probabilitiesAreUpToDate)
+			this.berechneMinenwahrscheinlichkeiten();
+		return this.mineprobability[zeile][spalte];
+	}
+	
+	/**
+	 * Berechnet die Minenwahrscheinlichkeiten aller Felder neu, unabhngig davon,
+	 * ob sich aktuelle Werte im Speicher befinden. Die Formel ist in
+	 * getMinenwahrscheinlichkeit() beschrieben.
+	 * 
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	void berechneMinenwahrscheinlichkeiten() throws InterruptedException {
+		this.berechneMinenwahrscheinlichkeiten(null);
+	}
+	
+	/**
+	 * Berechnet die Minenwahrscheinlichkeiten aller Felder neu wie
+	 * berechneMinenwahrscheinlichkeiten() und gibt dabei Zwischenergebnisse
+	 * weiter. Zuerst kommt die Schtzung M / F fr alle Felder, dann jede
+	 * Komponente, sobald sie gezhlt ist, mit der Schtzung aus
+	 * schaetzeKomponente(), dann der genaue Wert auerhalb von A und schlielich
+	 * jede Komponente mit ihrem genauen Wert. Die Komponenten kommen dabei
+	 * jeweils in der Reihenfolge ihres Aufwands, so dass eine einzelne groe
+	 * Komponente die brigen nicht aufhlt.
+	 * 
+	 * @param empfaenger
+	 * 		nimmt die Zwischenergebnisse entgegen, oder null
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	void berechneMinenwahrscheinlichkeiten(final Zwischenergebnisempfaenger empfaenger)
+			throws InterruptedException {
+		final long start = System.nanoTime();
+		final BerechnungEvent berechnungEvent = new BerechnungEvent();
+		berechnungEvent.begin();
+		this.besuchteKnoten = 0;
+		this.ausgewerteteBlaetter = 0;
+		this.verworfeneBesetzungen = 0;
+		this.transfermatrizen = 0;
+		this.baumzerlegungen = 0;
+		this.baumweite = 0;
+		// Randklassen, die bei einem Abbruch noch von einer frheren Stellung
+		// stammen, gehen nicht in die Statistik ein
+		final Randklassen fruehereRandklassen =
+				this.vorbereiteteVersion == this.spielfeld.getVersion() ? null : this.randklassen;
+		this.auswertungEvent = new AuswertungEvent();
+		if (!this.auswertungEvent.isEnabled())
+			this.auswertungEvent = null;
+		boolean abgebrochen = true;
+		try {
+			this.berechneMinenwahrscheinlichkeitenUngezaehlt(empfaenger);
+			abgebrochen = false;
+		} finally {
+			if (this.auswertungEvent != null) {
+				this.beendeAuswertungsstapel();
+				this.auswertungEvent = null;
+			}
+			final long dauer = System.nanoTime() - start;
+			final Randklassen randklassen =
+					this.randklassen != fruehereRandklassen ? this.randklassen : null;
+			final int frontgroesse = randklassen != null ? randklassen.getRandfelder() : 0;
+			final int komponenten = randklassen != null ? randklassen.getKomponentenzahl() : 0;
+			SolverStatistik.getInstanz().zaehleBerechnung(dauer,
+					this.besuchteKnoten, this.ausgewerteteBlaetter,
+					this.verworfeneBesetzungen, frontgroesse, komponenten, this.baumweite,
+					abgebrochen);
+			if (Berechnungsprotokoll.istLangsam(dauer))
+				Berechnungsprotokoll.protokolliere(this.spielfeld, dauer,
+						this.besuchteKnoten, this.ausgewerteteBlaetter,
+						frontgroesse, komponenten, this.baumweite, abgebrochen);
+			berechnungEvent.end();
+			if (berechnungEvent.shouldCommit()) {
+				berechnungEvent.hoehe = this.hoehe;
+				berechnungEvent.breite = this.breite;
+				berechnungEvent.frontgroesse = frontgroesse;
+				berechnungEvent.komponenten = komponenten;
+				berechnungEvent.baumweite = this.baumweite;
+				berechnungEvent.knoten = this.besuchteKnoten;
+				berechnungEvent.blaetter = this.ausgewerteteBlaetter;
+				berechnungEvent.verworfen = this.verworfeneBesetzungen;
+				berechnungEvent.abgebrochen = abgebrochen;
+				berechnungEvent.commit();
+			}
+		}
+	}
+	
+	/**
+	 * Fhrt die eigentliche Berechnung fr berechneMinenwahrscheinlichkeiten() aus.
+	 * Die Randfelder werden dazu in Klassen gleichwertiger Felder zusammengefasst
+	 * (siehe Randklassen), aufgezhlt werden dann nur noch die Minenzahlen der
+	 * Klassen. Enthlt die Klasse c mit g_c Feldern k_c Minen, so steht diese
+	 * Besetzung fr prod_c binom(g_c, k_c) Besetzungen der einzelnen Randfelder,
+	 * die sich auf die Klassenfelder gleichmig verteilen.
+	 * Jede Komponente wird fr sich aufgezhlt und liefert eine Verteilung ihrer
+	 * Besetzungen nach der Minenzahl, siehe bereiteKomponentenVor(). Die
+	 * Komponenten werden erst anschlieend in berechneKomponente() ber die
+	 * Gesamtzahl der Minen verknpft. Komponenten, die schon fr
+	 * getMinenwahrscheinlichkeitEinzeln() berechnet wurden, werden bernommen,
+	 * auer bei einer schrittweisen Berechnung.
+	 * 
+	 * @param empfaenger
+	 * 		nimmt die Zwischenergebnisse entgegen, oder null
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	private void berechneMinenwahrscheinlichkeitenUngezaehlt(
+			final Zwischenergebnisempfaenger empfaenger) throws InterruptedException {
+		try {
+			if (empfaenger != null || this.mitZahlenverteilungen
+					|| this.vorbereiteteVersion != this.spielfeld.getVersion())
+				this.bereiteKomponentenVor(empfaenger);
+			for (final int komponente : this.reihenfolge) {
+				if (this.komponenteBerechnet[komponente])
+					continue;
+				this.berechneKomponente(komponente);
+				if (empfaenger != null) {
+					this.trageKomponenteEin(komponente);
+					this.gibZwischenergebnisWeiter(empfaenger, false);
+				}
+			}
+		} catch (InterruptedException e) {
+			this.vorbereiteteVersion = -1;
+			throw e;
+		}
+		this.mineprobability = new double[this.hoehe][this.breite];
+		for (int zeilenindex = 0; zeilenindex < this.hoehe; zeilenindex++)
+			for (int spaltenindex = 0; spaltenindex < this.breite; spaltenindex++) {
+				if (this.interruptionDetected) 
+					throw new InterruptedException("Interrupted");
+				if (this.spielfeld.isUncovered(zeilenindex, spaltenindex)
+						|| this.spielfeld.isMarkedAsMine(zeilenindex, spaltenindex))
+					continue;
+				final int klasse = this.randklassen.getKlasse(
+						zeilenindex * this.breite + spaltenindex);
+				if (klasse >= 0) {
+					this.mineprobability[zeilenindex][spaltenindex] =
+							this.klassenwahrscheinlichkeit[klasse]
+							/ this.randklassen.getGroesse(klasse);
+				} else {
+					this.mineprobability[zeilenindex][spaltenindex] =
+							this.aussenwahrscheinlichkeit;
+				}
+			}
+		if (this.zahlenerfassung != null) {
+			this.zahlenverteilungen = this.zahlenerfassung.berechne(this.verteilungen, this);
+			this.zahlenversion = this.spielfeld.getVersion();
+		}
+		this.gibKomponentenFrei();
+		this.probabilitiesAreUpToDate = true;
+	}
+	
+	/**
+	 * Gibt die Minenwahrscheinlichkeit eines Feldes zurck, ohne dafr alle
+	 * Komponenten der Randfelder vollstndig auszuwerten. Gezhlt werden dazu die
+	 * Minenverteilungen aller Komponenten, die meist im Komponentenspeicher
+	 * liegen, und ber die Gesamtzahl der Minen verknpft. Die Minenzahlen der
+	 * Klassen werden nur fr die Komponente des Feldes berechnet; fr Felder
+	 * auerhalb von A ergibt sich die Wahrscheinlichkeit direkt aus der
+	 * Verknpfung. Die Zwischenergebnisse bleiben bis zur nchsten nderung am
+	 * Modell erhalten, so dass weitere Anfragen zur selben Komponente nichts mehr
+	 * kosten. Sind aktuelle Wahrscheinlichkeiten aller Felder im Speicher, werden
+	 * diese verwendet.
+	 * Die Anfragen gehen nicht in die SolverStatistik ein.
+	 * 
+	 * @param zeile
+	 * 		Die Zeile des Feldes, dessen Minenwahrscheinlichkeit berechnet werden soll
+	 * @param spalte
+	 * 		Die Spalte des Feldes, dessen Minenwahrscheinlichkeit berechnet werden soll
+	 * @return Die Wahrscheinlichkeit, das das angegebene Feld eine Mine beinhaltet
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	double getMinenwahrscheinlichkeitEinzeln(final int zeile, final int spalte)
+			throws InterruptedException {
+		if (this.spielfeld.isMarkedAsMine(zeile, spalte))
+			return 1.;
+		if (this.spielfeld.isUncovered(zeile, spalte))
+			return 0.;
+		if (this.probabilitiesAreUpToDate)
+			return this.mineprobability[zeile][spalte];
+		try {
+			if (this.vorbereiteteVersion != this.spielfeld.getVersion())
+				this.bereiteKomponentenVor(null);
+			final int klasse = this.randklassen.getKlasse(zeile * this.breite + spalte);
+			if (klasse < 0)
+				return this.aussenwahrscheinlichkeit;
+			final int komponente = this.randklassen.getKomponenteVon(klasse);
+			if (!this.komponenteBerechnet[komponente])
+				this.berechneKomponente(komponente);
+			return this.klassenwahrscheinlichkeit[klasse] / this.randklassen.getGroesse(klasse);
+		} catch (InterruptedException e) {
+			this.vorbereiteteVersion = -1;
+			throw e;
+		}
+	}
+	
+	/**
+	 * Gibt fr jedes verdeckte, nicht markierte Feld die Verteilung der Zahl
+	 * zurck, die es beim Aufdecken zeigen wrde. Eintrag z ist die
+	 * Wahrscheinlichkeit, dass das Feld frei ist und z zeigt; zusammen ergeben die
+	 * Eintrge also 1 - P_B(X_ij=1|A). Markierte Nachbarn zhlen als Minen.
+	 * Sind die Verteilungen nicht aktuell, werden sie zusammen mit den
+	 * Minenwahrscheinlichkeiten in einem Durchlauf berechnet, siehe
+	 * Zahlenverteilungen. Dafr werden die Komponenten, die waehleZaehler()
+	 * automatisch mit Backtracking zhlen wrde, unabhngig vom Zhlverfahren mit
+	 * Backtracking gezhlt. Grere Komponenten werden wie sonst gezhlt, aber
+	 * ohne Zahlen, denn im Backtracking wchst der Aufwand mit ihrer Gre
+	 * exponentiell; fr Felder an solchen Komponenten gibt es keine Verteilung.
+	 * 
+	 * @return fr jedes Feld die Wahrscheinlichkeiten der Zahlen 0 bis 8, null fr
+	 * 		aufgedeckte und markierte Felder und fr Felder an Komponenten, die
+	 * 		ohne Zahlen gezhlt wurden; darf nicht verndert werden
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	double[][][] getZahlenverteilungen() throws InterruptedException {
+		if (this.zahlenverteilungen == null || !this.probabilitiesAreUpToDate
+				|| this.zahlenversion != this.spielfeld.getVersion()) {
+			this.mitZahlenverteilungen = true;
+			try {
+				this.berechneMinenwahrscheinlichkeiten();
+			} finally {
+				this.mitZahlenverteilungen = false;
+			}
+		}
+		return this.zahlenverteilungen;
+	}
+	
+	/**
+	 * Zhlt die Minenverteilung jeder Komponente und verknpft sie ber die
+	 * Gesamtzahl der Minen, soweit es alle Komponenten gemeinsam betrifft. Die
+	 * Minenverteilung mehrerer Komponenten zusammen ist die Faltung ihrer
+	 * einzelnen Verteilungen, also das Produkt der erzeugenden Funktionen. Daraus
+	 * ergibt sich bereits P_B(X_ij=1|A) fr die Felder auerhalb von A; die Klassen
+	 * einer Komponente wertet berechneKomponente() aus.
+	 * Liegt die Zhlung einer Komponente im Komponentenspeicher, wird sie nur auf
+	 * das aktuelle Minengewicht umgerechnet. Sonst werden grere Komponenten statt
+	 * mit Backtracking mit einem Komponentenzaehler gezhlt, siehe waehleZaehler(),
+	 * und das Ergebnis gespeichert. Gezhlt wird in der Reihenfolge des Aufwands.
+	 * 
+	 * @param empfaenger
+	 * 		nimmt die Zwischenergebnisse entgegen, oder null
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	private void bereiteKomponentenVor(final Zwischenergebnisempfaenger empfaenger)
+			throws InterruptedException {
+		this.vorbereiteteVersion = -1;
+		this.randklassen = new Randklassen(this.spielfeld, this.hoehe, this.breite);
+		final int klassenzahl = this.randklassen.getKlassenzahl();
+		final int bedingungszahl = this.randklassen.getBedingungszahl();
+		final int komponentenzahl = this.randklassen.getKomponentenzahl();
+		this.klassenminen = new int[klassenzahl];
+		this.gespeicherteKlauseln = null;
+		final int verbleibendeMinen = this.spielfeld.getVerbleibendeMinen();
+		final int verdeckteFelder =
+				this.spielfeld.getVerbleibendeFelder() + verbleibendeMinen;
+		this.minengewicht = verbleibendeMinen > 0 && verbleibendeMinen < verdeckteFelder
+				? (double) verbleibendeMinen / (verdeckteFelder - verbleibendeMinen) : 1;
+		this.klassenverteilung = new double[klassenzahl][];
+		this.bedingungsminen = new int[bedingungszahl];
+		this.offeneBedingungsfelder = new int[bedingungszahl];
+		for (int bedingung = 0; bedingung < bedingungszahl; bedingung++)
+			for (final int klasse : this.randklassen.getKlassen(bedingung))
+				this.offeneBedingungsfelder[bedingung] += this.randklassen.getGroesse(klasse);
+		this.zahlenerfassung = this.mitZahlenverteilungen ? new Zahlenverteilungen(
+				this.spielfeld, this.randklassen, this.hoehe, this.breite, this.minengewicht)
+				: null;
+		this.verteilungen = new double[komponentenzahl][];
+		this.zaehler = new Komponentenzaehler[komponentenzahl];
+		this.klassenwahrscheinlichkeit = new double[klassenzahl];
+		this.komponenteBerechnet = new boolean[komponentenzahl];
+		// Die Klassenzahl in den oberen, die Komponente in den unteren Bits
+		final long[] aufwand = new long[komponentenzahl];
+		for (int komponente = 0; komponente < komponentenzahl; komponente++)
+			aufwand[komponente] = ((long) this.randklassen.getKomponente(komponente).length
+					<< 32) | komponente;
+		Arrays.sort(aufwand);
+		this.reihenfolge = new int[komponentenzahl];
+		for (int index = 0; index < komponentenzahl; index++)
+			this.reihenfolge[index] = (int) aufwand[index];
+		if (empfaenger != null) {
+			this.zwischenstand = new double[this.hoehe][this.breite];
+			this.trageAussenEin(verdeckteFelder > 0
+					? (double) verbleibendeMinen / verdeckteFelder : 0, true);
+			this.gibZwischenergebnisWeiter(empfaenger, true);
+		}
+		for (int index = 0; index < komponentenzahl; index++) {
+			final int komponente = this.reihenfolge[index];
+			// Die letzte Komponente wird nicht geschtzt, da gleich danach ihr
+			// genauer Wert folgt.
+			final boolean schaetzen = empfaenger != null && index < komponentenzahl - 1;
+			final Komponentenspeicher.Schluessel schluessel =
+					new Komponentenspeicher.Schluessel(this.randklassen, komponente);
+			// Die Zahlen werden nur im Backtracking erfasst.
+			Komponentenspeicher.Eintrag eintrag = !this.erfasseZahlen(komponente)
+					? this.komponentenspeicher.hole(schluessel) : null;
+			if (eintrag != null && this.zahlenerfassung != null)
+				this.zahlenerfassung.lasseAus(komponente);
+			if (eintrag != null) {
+				eintrag = eintrag.gewichteUm(this.minengewicht);
+				this.verteilungen[komponente] = eintrag.verteilung;
+				if (eintrag.klassenverteilung != null)
+					for (int stelle = 0; stelle < schluessel.klassen.length; stelle++)
+						this.klassenverteilung[schluessel.klassen[stelle]] =
+								eintrag.klassenverteilung[stelle];
+			} else {
+				this.zaehleKomponente(komponente);
+				// Das Backtracking lsst Besetzungen mit mehr als M Minen aus, solche
+				// Verteilungen gelten also nur fr diese Stellung.
+				if (verbleibendeMinen >= this.randklassen.getKomponentenfelder(komponente)) {
+					double[][] klassenverteilung = null;
+					if (this.zaehler[komponente] == null) {
+						klassenverteilung = new double[schluessel.klassen.length][];
+						for (int stelle = 0; stelle < schluessel.klassen.length; stelle++)
+							klassenverteilung[stelle] =
+									this.klassenverteilung[schluessel.klassen[stelle]];
+					}
+					this.komponentenspeicher.speichere(schluessel,
+							new Komponentenspeicher.Eintrag(this.verteilungen[komponente],
+							klassenverteilung, this.minengewicht));
+				}
+			}
+			if (schaetzen) {
+				this.schaetzeKomponente(komponente);
+				this.trageKomponenteEin(komponente);
+				this.gibZwischenergebnisWeiter(empfaenger, false);
+			}
+		}
+		this.gewichte = this.berechneGewichte();
+		// vorher[k] ist die Minenverteilung der Komponenten 0 bis k-1
+		this.vorher = new double[komponentenzahl + 1][];
+		this.vorher[0] = new double[] {1};
+		for (int komponente = 0; komponente < komponentenzahl; komponente++) {
+			if (this.interruptionDetected)
+				throw new InterruptedException("Interrupted");
+			this.vorher[komponente + 1] = ProbabilityCalculator.falte(
+					this.vorher[komponente], this.verteilungen[komponente]);
+			ProbabilityCalculator.normiere(this.vorher[komponente + 1]);
+		}
+		// nachher[k][p] gewichtet die Komponenten ab k und die Felder auerhalb
+		// von A, wenn die Komponenten vor k zusammen p Minen enthalten
+		this.nachher = new double[komponentenzahl + 1][];
+		this.nachher[komponentenzahl] = this.gewichte;
+		for (int komponente = komponentenzahl - 1; komponente >= 0; komponente--) {
+			if (this.interruptionDetected)
+				throw new InterruptedException("Interrupted");
+			final double[] verteilung = this.verteilungen[komponente];
+			final double[] folgende = this.nachher[komponente + 1];
+			final double[] gewichtung = new double[folgende.length - verteilung.length + 1];
+			for (int minen = 0; minen < gewichtung.length; minen++)
+				for (int eigeneMinen = 0; eigeneMinen < verteilung.length; eigeneMinen++)
+					gewichtung[minen] += verteilung[eigeneMinen] * folgende[minen + eigeneMinen];
+			ProbabilityCalculator.normiere(gewichtung);
+			this.nachher[komponente] = gewichtung;
+		}
+		// Fr die Felder auerhalb von A trgt jede Besetzung der Randfelder mit m
+		// Minen den Anteil (M-m) / (F-n) bei, siehe werteBesetzungAus().
+		final double[] gesamt = this.vorher[komponentenzahl];
+		final int aussenfelder = verdeckteFelder - this.randklassen.getRandfelder();
+		double modellwahrscheinlichkeit = 0;
+		double aussen = 0;
+		for (int minen = 0; minen < gesamt.length; minen++) {
+			modellwahrscheinlichkeit += gesamt[minen] * this.gewichte[minen];
+			if (aussenfelder > 0)
+				aussen += gesamt[minen] * this.gewichte[minen]
+						* (verbleibendeMinen - minen) / aussenfelder;
+		}
+		this.aussenwahrscheinlichkeit = aussen / modellwahrscheinlichkeit;
+		if (empfaenger != null) {
+			this.trageAussenEin(this.aussenwahrscheinlichkeit, false);
+			this.gibZwischenergebnisWeiter(empfaenger, false);
+		}
+		this.vorbereiteteVersion = this.spielfeld.getVersion();
+	}
+	
+	/**
+	 * Zhlt die Minenverteilung einer Komponente mit dem Verfahren aus
+	 * waehleZaehler() und legt sie in verteilungen ab. Beim Backtracking werden
+	 * dabei auch die Verteilungen der Klassen in klassenverteilung abgelegt.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	private void zaehleKomponente(final int komponente) throws InterruptedException {
+		final int[] klassen = this.randklassen.getKomponente(komponente);
+		final int felder = this.randklassen.getKomponentenfelder(komponente);
+		final boolean mitZahlen = this.erfasseZahlen(komponente);
+		if (this.zahlenerfassung != null && !mitZahlen)
+			this.zahlenerfassung.lasseAus(komponente);
+		this.zaehler[komponente] = mitZahlen ? null : this.waehleZaehler(komponente);
+		if (this.zaehler[komponente] != null) {
+			this.verteilungen[komponente] = this.zaehler[komponente].berechneVerteilung();
+			return;
+		}
+		this.minenverteilung = new double[felder + 1];
+		for (final int klasse : klassen)
+			this.klassenverteilung[klasse] = new double[felder + 1];
+		if (mitZahlen)
+			this.zahlenerfassung.beginneKomponente(komponente);
+		this.berechneMinenwahrscheinlichkeitBacktrack(klassen, 0, 0, 1);
+		// Die Verteilungen einer Komponente gehen in jedes Ergebnis genau
+		// einmal ein, ein gemeinsamer Faktor krzt sich also heraus.
+		final double faktor = ProbabilityCalculator.normiere(this.minenverteilung);
+		for (final int klasse : klassen)
+			for (int minen = 0; minen <= felder; minen++)
+				this.klassenverteilung[klasse][minen] /= faktor;
+		if (mitZahlen)
+			this.zahlenerfassung.beendeKomponente(faktor);
+		this.verteilungen[komponente] = this.minenverteilung;
+		this.minenverteilung = null;
+	}
+	
+	/**
+	 * Berechnet P_B(X_ij=1|A) fr die Klassen einer Komponente K. Alle brigen
+	 * Komponenten zusammen samt der Felder auerhalb von A werden fr K mit m
+	 * Minen gewichtet mit
+	 * G_K(m) = sum_p V_{<K}(p) * R_{>K}(p + m),
+	 * wobei V_{<K} die gefaltete Verteilung der Komponenten vor K ist und R_{>K}
+	 * die Gewichte aus berechneGewichte() mit den Komponenten nach K verrechnet.
+	 * Der Aufwand fr alle Komponenten ist dadurch quadratisch in der Anzahl der
+	 * Randfelder, unabhngig von der Anzahl der Komponenten. Alle
+	 * Zwischenergebnisse werden auf ihr Maximum normiert, da sich gemeinsame
+	 * Faktoren je Komponente herauskrzen.
+	 * Stammt nur die Minenverteilung eines Komponentenzaehlers aus dem
+	 * Komponentenspeicher, wird die Komponente hier noch einmal gezhlt.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	private void berechneKomponente(final int komponente) throws InterruptedException {
+		if (this.interruptionDetected)
+			throw new InterruptedException("Interrupted");
+		final int laenge = this.randklassen.getKomponentenfelder(komponente) + 1;
+		final double[] davor = this.vorher[komponente];
+		final double[] danach = this.nachher[komponente + 1];
+		final double[] gewichtung = new double[laenge];
+		for (int minen = 0; minen < laenge; minen++)
+			for (int vorherigeMinen = 0; vorherigeMinen < davor.length; vorherigeMinen++)
+				gewichtung[minen] += davor[vorherigeMinen] * danach[vorherigeMinen + minen];
+		this.werteKomponenteAus(komponente, gewichtung);
+		final Komponentenzaehler zaehler = this.zaehler[komponente];
+		if (zaehler != null) {
+			this.besuchteKnoten += zaehler.getBesuchteZustaende();
+			this.verworfeneBesetzungen += zaehler.getVerworfeneUebergaenge();
+		}
+		this.komponenteBerechnet[komponente] = true;
+	}
+	
+	/**
+	 * Schtzt P_B(X_ij=1|A) fr die Klassen einer Komponente, bevor die brigen
+	 * Komponenten gezhlt sind. Jede Minenzahl der Komponente zhlt dazu gleich
+	 * viel; durch das Minengewicht entspricht das einem Modell, in dem jedes
+	 * Feld auerhalb der Komponente unabhngig mit Wahrscheinlichkeit M / F eine
+	 * Mine enthlt. Der Unterschied zum genauen Wert rhrt nur von der festen
+	 * Gesamtzahl der Minen her und ist meist gering.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	private void schaetzeKomponente(final int komponente) throws InterruptedException {
+		final double[] gewichtung =
+				new double[this.randklassen.getKomponentenfelder(komponente) + 1];
+		Arrays.fill(gewichtung, 1);
+		this.werteKomponenteAus(komponente, gewichtung);
+	}
+	
+	/**
+	 * Berechnet klassenwahrscheinlichkeit fr die Klassen einer Komponente, wenn
+	 * jede Minenzahl m der Komponente zustzlich mit gewichtung[m] zhlt. Stammt
+	 * nur die Minenverteilung eines Komponentenzaehlers aus dem
+	 * Komponentenspeicher, wird die Komponente dazu noch einmal gezhlt.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 * @param gewichtung
+	 * 		das Gewicht jeder Minenzahl der Komponente
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen wurde
+	 */
+	private void werteKomponenteAus(final int komponente, final double[] gewichtung)
+			throws InterruptedException {
+		final int[] klassen = this.randklassen.getKomponente(komponente);
+		if (this.zaehler[komponente] == null && this.klassenverteilung[klassen[0]] == null)
+			this.zaehleKomponente(komponente);
+		if (this.zaehler[komponente] != null) {
+			this.zaehler[komponente].berechneKlassenminen(gewichtung,
+					this.klassenwahrscheinlichkeit);
+			return;
+		}
+		final double[] verteilung = this.verteilungen[komponente];
+		double summe = 0;
+		for (int minen = 0; minen < verteilung.length; minen++)
+			summe += verteilung[minen] * gewichtung[minen];
+		for (final int klasse : klassen) {
+			double erwartung = 0;
+			for (int minen = 0; minen < verteilung.length; minen++)
+				erwartung += this.klassenverteilung[klasse][minen] * gewichtung[minen];
+			this.klassenwahrscheinlichkeit[klasse] = erwartung / summe;
+		}
+	}
+	
+	/**
+	 * Trgt eine Wahrscheinlichkeit fr die Felder auerhalb von A in den
+	 * Zwischenstand ein.
+	 * 
+	 * @param wahrscheinlichkeit
+	 * 		die Wahrscheinlichkeit
+	 * @param auchRandfelder
+	 * 		true, wenn sie auch fr die Randfelder eingetragen werden soll
+	 */
+	private void trageAussenEin(final double wahrscheinlichkeit,
+			final boolean auchRandfelder) {
+		for (int zeilenindex = 0; zeilenindex < this.hoehe; zeilenindex++)
+			for (int spaltenindex = 0; spaltenindex < this.breite; spaltenindex++)
+				if (!this.spielfeld.isUncovered(zeilenindex, spaltenindex)
+						&& !this.spielfeld.isMarkedAsMine(zeilenindex, spaltenindex)
+						&& (auchRandfelder || this.randklassen.getKlasse(
+								zeilenindex * this.breite + spaltenindex) < 0))
+					this.zwischenstand[zeilenindex][spaltenindex] = wahrscheinlichkeit;
+	}
+	
+	/**
+	 * Trgt die Werte aus klassenwahrscheinlichkeit fr die Felder einer
+	 * Komponente in den Zwischenstand ein.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 */
+	private void trageKomponenteEin(final int komponente) {
+		for (final int klasse : this.randklassen.getKomponente(komponente)) {
+			final double wahrscheinlichkeit = this.klassenwahrscheinlichkeit[klasse]
+					/ this.randklassen.getGroesse(klasse);
+			for (final int feld : this.randklassen.getFelder(klasse))
+				this.zwischenstand[feld / this.breite][feld % this.breite] = wahrscheinlichkeit;
+		}
+	}
+	
+	/**
+	 * Gibt eine Kopie des Zwischenstands weiter, sofern seit dem letzten
+	 * Zwischenergebnis mindestens ZWISCHENERGEBNIS_ABSTAND vergangen ist.
+	 * 
+	 * @param empfaenger
+	 * 		nimmt das Zwischenergebnis entgegen
+	 * @param sofort
+	 * 		true, wenn der Abstand nicht abgewartet werden soll
+	 */
+	private void gibZwischenergebnisWeiter(final Zwischenergebnisempfaenger empfaenger,
+			final boolean sofort) {
+		final long jetzt = System.nanoTime();
+		if (!sofort && jetzt - this.letztesZwischenergebnis < ZWISCHENERGEBNIS_ABSTAND)
+			return;
+		this.letztesZwischenergebnis = jetzt;
+		final double[][] kopie = new double[this.hoehe][];
+		for (int zeilenindex = 0; zeilenindex < this.hoehe; zeilenindex++)
+			kopie[zeilenindex] = this.zwischenstand[zeilenindex].clone();
+		empfaenger.empfangeZwischenergebnis(kopie);
+	}
+	
+	/**
+	 * Verwirft die Zwischenergebnisse der Komponenten, sobald die
+	 * Wahrscheinlichkeiten aller Felder berechnet sind.
+	 */
+	private void gibKomponentenFrei() {
+		this.vorbereiteteVersion = -1;
+		this.verteilungen = null;
+		this.zaehler = null;
+		this.klassenverteilung = null;
+		this.vorher = null;
+		this.nachher = null;
+		this.gewichte = null;
+		this.komponenteBerechnet = null;
+		this.reihenfolge = null;
+		this.zwischenstand = null;
+		this.zahlenerfassung = null;
+	}
+	
+	/**
+	 * Gibt zurck, ob beim Zhlen einer Komponente die Zahlen erfasst werden,
+	 * siehe getZahlenverteilungen(). Das geschieht nur fr die Komponenten, die
+	 * waehleZaehler() automatisch mit Backtracking zhlt.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 * @return true, wenn die Zahlen erfasst werden
+	 */
+	private boolean erfasseZahlen(final int komponente) {
+		return this.zahlenerfassung != null && this.randklassen.getKomponente(komponente).length
+				< Transfermatrix.MINDESTKLASSEN;
+	}
+	
+	/**
+	 * Whlt das Zhlverfahren fr eine Komponente. Automatisch werden kleine
+	 * Komponenten mit Backtracking gezhlt, lange, schmale Komponenten mit der
+	 * Transfermatrix und breitere mit der Baumzerlegung, sofern deren Tabellen
+	 * nicht zu gro werden. Ist ein Verfahren fest eingestellt, wird es fr jede
+	 * Komponente verwendet, fr die es geeignet ist. Der Modellzaehler ist fr
+	 * jede Komponente geeignet, wird aber nie automatisch gewhlt.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 * @return der Komponentenzaehler oder null fr Backtracking
+	 */
+	private Komponentenzaehler waehleZaehler(final int komponente) {
+		if (MODELLZAEHLUNG.equals(this.zaehlverfahren)) {
+			if (this.gespeicherteKlauseln == null)
+				this.gespeicherteKlauseln =
+						this.klauselspeicher.waehleAus(this.spielfeld, this.randklassen);
+			return new Modellzaehler(this, this.randklassen, komponente, this.spielfeld,
+					this.klauselspeicher, this.gespeicherteKlauseln.get(komponente));
+		}
+		final boolean automatisch = AUTOMATISCH.equals(this.zaehlverfahren);
+		if (BACKTRACKING.equals(this.zaehlverfahren) || (automatisch
+				&& this.randklassen.getKomponente(komponente).length
+				< Transfermatrix.MINDESTKLASSEN))
+			return null;
+		if (automatisch || TRANSFERMATRIX.equals(this.zaehlverfahren)) {
+			final Transfermatrix matrix =
+					new Transfermatrix(this, this.randklassen, komponente);
+			if (matrix.istGeeignet()) {
+				this.transfermatrizen++;
+				return matrix;
+			}
+		}
+		if (automatisch || BAUMZERLEGUNG.equals(this.zaehlverfahren)) {
+			final Baumzerlegung zerlegung =
+					new Baumzerlegung(this, this.randklassen, komponente);
+			if (zerlegung.istGeeignet()) {
+				this.baumweite = Math.max(this.baumweite, zerlegung.getBaumweite());
+				this.baumzerlegungen++;
+				return zerlegung;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Faltet zwei Minenverteilungen.
+	 * 
+	 * @param erste
+	 * 		die erste Verteilung
+	 * @param zweite
+	 * 		die zweite Verteilung
+	 * @return die Verteilung der Summe der Minenzahlen
+	 */
+	private static double[] falte(final double[] erste, final double[] zweite) {
+		final double[] ergebnis = new double[erste.length + zweite.length - 1];
+		for (int i = 0; i < erste.length; i++) {
+			if (erste[i] == 0)
+				continue;
+			for (int j = 0; j < zweite.length; j++)
+				ergebnis[i + j] += erste[i] * zweite[j];
+		}
+		return ergebnis;
+	}
+	
+	/**
+	 * Teilt alle Werte durch ihr Maximum, sofern dieses nicht 0 ist.
+	 * 
+	 * @param werte
+	 * 		die zu normierenden Werte
+	 * @return das Maximum, durch das geteilt wurde, oder 1
+	 */
+	private static double normiere(final double[] werte) {
+		double maximum = 0;
+		for (final double wert : werte)
+			maximum = Math.max(maximum, wert);
+		if (maximum == 0)
+			return 1;
+		for (int index = 0; index < werte.length; index++)
+			werte[index] /= maximum;
+		return maximum;
+	}
+	
+	/**
+	 * Berechnet fr jede mgliche Minenzahl m der Randfelder ein Gewicht, das
+	 * proportional zu binom(F - n, M - m) ist, der Anzahl der Mglichkeiten, die
+	 * brigen Minen auf die Felder auerhalb von A zu verteilen. Dabei sind F die
+	 * verdeckten, nicht markierten Felder, M die verbleibenden Minen und n die
+	 * Randfelder. Jedes Gewicht ist zustzlich durch minengewicht^m geteilt, siehe
+	 * dort. Um ber- und Unterlufe zu vermeiden, wird in Logarithmen gerechnet und
+	 * auf das grte Gewicht normiert.
+	 * 
+	 * @return die Gewichte fr m = 0, ..., n
+	 */
+	private double[] berechneGewichte() {
+		final int minen = this.spielfeld.getVerbleibendeMinen();
+		final int randfelder = this.randklassen.getRandfelder();
+		final int aussenfelder = this.spielfeld.getVerbleibendeFelder() + minen - randfelder;
+		final double[] gewichte = new double[randfelder + 1];
+		final int kleinste = Math.max(0, minen - aussenfelder);
+		final int groesste = Math.min(minen, randfelder);
+		if (kleinste > groesste)
+			return gewichte;
+		// binom(F-n, M-m-1) / binom(F-n, M-m) = (M-m) / (F-n-M+m+1)
+		final double logarithmusMinengewicht = Math.log(this.minengewicht);
+		double logarithmus = 0;
+		double maximum = 0;
+		for (int neueMinen = kleinste; neueMinen < groesste; neueMinen++) {
+			logarithmus += Math.log((double) (minen - neueMinen)
+					/ (aussenfelder - minen + neueMinen + 1)) - logarithmusMinengewicht;
+			gewichte[neueMinen + 1] = logarithmus;
+			maximum = Math.max(maximum, logarithmus);
+		}
+		for (int neueMinen = kleinste; neueMinen <= groesste; neueMinen++)
+			gewichte[neueMinen] = Math.exp(gewichte[neueMinen] - maximum);
+		return gewichte;
+	}
+
+	/**
+	 * Zhlt rekursiv die Besetzungen einer Komponente nach ihrer Minenzahl. Die
+	 * Summen der Binomialprodukte werden in this.minenverteilung gespeichert, die
+	 * nach der Minenzahl jeder Klasse gewichteten Summen in this.klassenverteilung.
+	 * Die Klassen werden der Reihe nach mit jeder Minenzahl besetzt, die mit den
+	 * Bedingungen noch vereinbar ist. Fr jede vollstndige Besetzung wird dann
+	 * this.werteBesetzungAus gestartet.
+	 * 
+	 * @param klassen
+	 * 		Die Klassen der Komponente
+	 * @param index
+	 * 		Der Index der nchsten zu besetzenden Klasse in klassen
+	 * @param neueMinen
+	 * 		Die Anzahl der Minen in den bereits besetzten Klassen
+	 * @param binomialprodukt
+	 * 		Das Produkt der Binomialkoeffizienten der bereits besetzten Klassen
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der
+	 * 		Minenwahrscheinlichkeit unterbrochen wurde
+	 */
+	private void berechneMinenwahrscheinlichkeitBacktrack(final int[] klassen,
+			final int index, final int neueMinen, final double binomialprodukt)
+			throws InterruptedException {
+		if (this.interruptionDetected)
+			throw new InterruptedException("Interrupted");
+		this.besuchteKnoten++;
+		if (index == klassen.length) {
+			this.ausgewerteteBlaetter++;
+			if (this.auswertungEvent == null) {
+				this.werteBesetzungAus(klassen, neueMinen, binomialprodukt);
+			} else {
+				this.werteBesetzungAusProtokolliert(klassen, neueMinen, binomialprodukt);
+			}
+			return;
+		}
+		final int klasse = klassen[index];
+		final int groesse = this.randklassen.getGroesse(klasse);
+		final int[] bedingungen = this.randklassen.getBedingungen(klasse);
+		// Die Minenzahlen, die jede Bedingung dieser Klasse noch zulsst
+		int minimum = 0;
+		int maximum = Math.min(groesse,
+				this.spielfeld.getVerbleibendeMinen() - neueMinen);
+		for (final int bedingung : bedingungen) {
+			final int rest = this.randklassen.getWert(bedingung)
+					- this.bedingungsminen[bedingung];
+			maximum = Math.min(maximum, rest);
+			minimum = Math.max(minimum,
+					rest - this.offeneBedingungsfelder[bedingung] + groesse);
+			this.offeneBedingungsfelder[bedingung] -= groesse;
+		}
+		double binomialkoeffizient = 1;
+		for (int minen = 0; minen <= groesse; minen++) {
+			if (minen > 0)
+				binomialkoeffizient = binomialkoeffizient * (groesse - minen + 1) / minen
+						* this.minengewicht;
+			if (minen < minimum || minen > maximum) {
+				this.verworfeneBesetzungen++;
+				continue;
+			}
+			for (final int bedingung : bedingungen)
+				this.bedingungsminen[bedingung] += minen;
+			this.klassenminen[klasse] = minen;
+			this.berechneMinenwahrscheinlichkeitBacktrack(klassen, index + 1,
+					neueMinen + minen, binomialprodukt * binomialkoeffizient);
+			for (final int bedingung : bedingungen)
+				this.bedingungsminen[bedingung] -= minen;
+		}
+		for (final int bedingung : bedingungen)
+			this.offeneBedingungsfelder[bedingung] += groesse;
+	}
+	
+	/**
+	 * Fhrt werteBesetzungAus() aus und erfasst die Auswertung im laufenden
+	 * JFR-Stapel. Ist der Stapel voll, wird er aufgezeichnet.
+	 * 
+	 * @param klassen
+	 * 		Die Klassen der Komponente
+	 * @param neueMinen
+	 * 		Die Anzahl der Minen in der Komponente
+	 * @param binomialprodukt
+	 * 		Die Anzahl der Besetzungen der Randfelder, fr die die Besetzung der
+	 * 		Klassen steht
+	 */
+	private void werteBesetzungAusProtokolliert(final int[] klassen,
+			final int neueMinen, final double binomialprodukt) {
+		if (this.auswertungEvent.blaetter == 0)
+			this.auswertungEvent.begin();
+		final long start = System.nanoTime();
+		this.werteBesetzungAus(klassen, neueMinen, binomialprodukt);
+		this.auswertungEvent.auswertungszeit += System.nanoTime() - start;
+		this.auswertungEvent.blaetter++;
+		if (this.auswertungEvent.blaetter == AuswertungEvent.STAPELGROESSE)
+			this.beendeAuswertungsstapel();
+	}
+	
+	/**
+	 * Zeichnet den laufenden JFR-Stapel an Auswertungen auf, sofern er nicht leer
+	 * ist, und beginnt einen neuen.
+	 */
+	private void beendeAuswertungsstapel() {
+		if (this.auswertungEvent.blaetter > 0) {
+			this.auswertungEvent.end();
+			this.auswertungEvent.commit();
+		}
+		this.auswertungEvent = new AuswertungEvent();
+	}
+	
+	/**
+	 * Wertet eine mgliche Besetzung der Klassen einer Komponente aus. Jede der
+	 * prod_c binom(g_c, k_c) Besetzungen der Randfelder mit insgesamt m Minen hat
+	 * unter P_B dieselbe Wahrscheinlichkeit binom(F-n, M-m) / binom(F, M), mit den
+	 * Bezeichnungen aus berechneGewichte(). Daraus folgt
+	 * P_B(A) ~ sum_{Besetzungen} prod_c binom(g_c, k_c) * binom(F-n, M-m),
+	 * fr ein Feld der Klasse c trgt jede Besetzung zustzlich den Anteil k_c / g_c
+	 * bei, fr ein Feld auerhalb von A den Anteil (M-m) / (F-n). Da m erst mit
+	 * allen Komponenten feststeht, wird hier nur nach der Minenzahl der Komponente
+	 * aufsummiert, jede Besetzung mit minengewicht^m gewichtet.
+	 * 
+	 * @param klassen
+	 * 		Die Klassen der Komponente
+	 * @param neueMinen
+	 * 		Die Anzahl der Minen in der Komponente
+	 * @param binomialprodukt
+	 * 		Die Anzahl der Besetzungen der Randfelder, fr die die Besetzung der
+	 * 		Klassen steht, mal minengewicht^neueMinen
+	 */
+	private void werteBesetzungAus(final int[] klassen, final int neueMinen,
+			final double binomialprodukt) {
+		this.minenverteilung[neueMinen] += binomialprodukt;
+		for (final int klasse : klassen)
+			this.klassenverteilung[klasse][neueMinen] +=
+					binomialprodukt * this.klassenminen[klasse];
+		if (this.zahlenerfassung != null)
+			this.zahlenerfassung.erfasse(this.klassenminen, neueMinen, binomialprodukt);
+	}
+	
+	/**
+	 * Gibt die berechneten Minenwahrscheinlichkeiten zurck, sofern sie aktuell
+	 * sind. Das Feld wird bei jeder Berechnung neu angelegt und danach nicht mehr
+	 * verndert, kann also aufbewahrt werden.
+	 * 
+	 * @return die Minenwahrscheinlichkeiten aller Felder oder null, wenn keine
+	 * 		aktuellen vorliegen
+	 */
+	double[][] getAktuelleWahrscheinlichkeiten() {
+		return this.probabilitiesAreUpToDate ? this.mineprobability : null;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Komponenten zurck, die in der letzten Berechnung mit
+	 * einer Transfermatrix gezhlt wurden.
+	 * 
+	 * @return die Anzahl der Komponenten
+	 */
+	int getTransfermatrizen() {
+		return this.transfermatrizen;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Komponenten zurck, die in der letzten Berechnung mit
+	 * einer Baumzerlegung gezhlt wurden.
+	 * 
+	 * @return die Anzahl der Komponenten
+	 */
+	int getBaumzerlegungen() {
+		return this.baumzerlegungen;
+	}
+	
+	/**
+	 * bernimmt frher berechnete Minenwahrscheinlichkeiten, z.B. nach dem
+	 * Rckgngigmachen eines Zuges, so dass sie nicht neu berechnet werden mssen.
+	 * 
+	 * @param wahrscheinlichkeiten
+	 * 		die fr den aktuellen Stand des Modells berechneten
+	 * 		Minenwahrscheinlichkeiten
+	 */
+	void setzeWahrscheinlichkeiten(final double[][] wahrscheinlichkeiten) {
+		this.mineprobability = wahrscheinlichkeiten;
+		this.probabilitiesAreUpToDate = true;
+		this.zahlenverteilungen = null;
+	}
+	
+	/**
+	 * Benachrichtigt den ProbabilityCalculator darber, dass am Modell nderungen
+	 * vorgenommen wurden, so dass eventuell vorhandene Zwischenergebnisse
+	 * verworfen werden.
+	 */
+	void notifyOfChangedProbabilities() {
+		this.probabilitiesAreUpToDate = false;
+		this.vorbereiteteVersion = -1;
+		this.zahlenverteilungen = null;
+	}
+	
+	/**
+	 * Legt das Zhlverfahren fest, mit dem knftige Berechnungen die Komponenten
+	 * der Randfelder zhlen. Voreingestellt ist der Wert der Systemeigenschaft
+	 * EIGENSCHAFT_VERFAHREN oder AUTOMATISCH.
+	 * 
+	 * @param zaehlverfahren
+	 * 		eines von AUTOMATISCH, BACKTRACKING, TRANSFERMATRIX, BAUMZERLEGUNG und
+	 * 		MODELLZAEHLUNG
+	 */
+	void setZaehlverfahren(final String zaehlverfahren) {
+		this.zaehlverfahren = zaehlverfahren;
+		this.notifyOfChangedProbabilities();
+	}
+	
+	/**
+	 * Gibt den Speicher der Klauseln zurck, die der Modellzaehler gelernt hat.
+	 * 
+	 * @return der Klauselspeicher
+	 */
+	Klauselspeicher getKlauselspeicher() {
+		return this.klauselspeicher;
+	}
+	
+	/**
+	 * Legt den Speicher fr die Klauseln fest, die der Modellzaehler lernt. Wird
+	 * fr Schnappschsse verwendet, damit sie die Klauseln des Spielfeldes nutzen
+	 * und erweitern, von dem sie stammen.
+	 * 
+	 * @param klauselspeicher
+	 * 		der Klauselspeicher
+	 */
+	void setKlauselspeicher(final Klauselspeicher klauselspeicher) {
+		this.klauselspeicher = klauselspeicher;
+	}
+	
+	/**
+	 * Gibt den Speicher der gezhlten Komponenten zurck.
+	 * 
+	 * @return der Komponentenspeicher
+	 */
+	Komponentenspeicher getKomponentenspeicher() {
+		return this.komponentenspeicher;
+	}
+	
+	/**
+	 * Legt den Speicher fr die gezhlten Komponenten fest. Wird fr
+	 * Schnappschsse verwendet, damit sie die Zhlungen des Spielfeldes nutzen und
+	 * erweitern, von dem sie stammen.
+	 * 
+	 * @param komponentenspeicher
+	 * 		der Komponentenspeicher
+	 */
+	void setKomponentenspeicher(final Komponentenspeicher komponentenspeicher) {
+		this.komponentenspeicher = komponentenspeicher;
+	}
+	
+	/**
+	 * Gibt das Gewicht jeder Mine am Rand in der laufenden Berechnung zurck. Die
+	 * Zhlverfahren multiplizieren jeden Binomialkoeffizienten binom(g, k) damit
+	 * k-mal.
+	 * 
+	 * @return das Minengewicht
+	 */
+	double getMinengewicht() {
+		return this.minengewicht;
+	}
+	
+	/**
+	 * Wirft eine InterruptedException, wenn die Berechnung unterbrochen werden
+	 * soll. Fr die Zhlverfahren, die der ProbabilityCalculator verwendet.
+	 * 
+	 * @throws InterruptedException 
+	 * 		Wird geworfen, wenn die Berechnung der Minenwahrscheinlichkeit
+	 * 		unterbrochen werden soll
+	 */
+	void pruefeUnterbrechung() throws InterruptedException {
+		if (this.interruptionDetected)
+			throw new InterruptedException("Interrupted");
+	}
+	
+	/**
+	 * Teilt dem ProbabilityCalculator mit, ob die nchsten 
+	 * Wahrscheinlichkeitsberechnungen unterbrochen werden sollen oder nicht.
+	 * @param wert
+	 * 		bei "true" werden die Berechnungen unterbrochen, bei "false" nicht.
+	 */
+	void setInterruptionDetected(final boolean wert) {
+		if (wert == false && this.interruptionDetected == true)
+			this.notifyOfChangedProbabilities();
+		this.interruptionDetected = wert;
+	}
+
+	/**
+	 * Gibt zurck, ob derzeit eine Berechnung luft, die unterbrochen werden soll
+	 * @return "true", wenn die Berechnung unterbrochen werden soll
+	 */
+	boolean isInterrupted() {
+		return this.interruptionDetected;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,372 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Die Randfelder eines Spielfeldes, zusammengefasst zu Klassen, samt den
+ * Bedingungen, die die aufgedeckten Zahlen an sie stellen. Wird vom
+ * ProbabilityCalculator verwendet.
+ * 
+ * Randfelder sind die verdeckten, nicht markierten Felder neben aufgedeckten
+ * Feldern. Zwei Randfelder gehren zur selben Klasse, wenn sie an genau dieselben
+ * aufgedeckten Felder grenzen. Fr die Bedingungen ist dann nur wichtig, wie
+ * viele Minen eine Klasse enthlt, nicht auf welchen ihrer Felder sie liegen.
+ * Jede Bedingung verlangt, dass die Klassen um ein aufgedecktes Feld zusammen
+ * genau so viele Minen enthalten, wie die Zahl des Feldes abzglich der
+ * markierten Nachbarn angibt.
+ * 
+ * Klassen, die ber gemeinsame Bedingungen verbunden sind, bilden eine
+ * Komponente. Die Besetzungen verschiedener Komponenten hngen nur noch ber
+ * die Gesamtzahl der Minen voneinander ab.
+ */
+final class Randklassen {
+	
+	/**
+	 * Die Klasse jedes Feldes in zeilenweiser Nummerierung, -1 fr Felder, die
+	 * keine Randfelder sind
+	 */
+	private final int[] feldklasse;
+	
+	/**
+	 * Die Anzahl der Felder jeder Klasse
+	 */
+	private final int[] klassengroesse;
+	
+	/**
+	 * Die Felder jeder Klasse in zeilenweiser Nummerierung, aufsteigend
+	 */
+	private final int[][] klassenfelder;
+	
+	/**
+	 * Die Klassen jeder Bedingung
+	 */
+	private final int[][] bedingungsklassen;
+	
+	/**
+	 * Die Minenzahl, die jede Bedingung verlangt
+	 */
+	private final int[] bedingungswert;
+	
+	/**
+	 * Das aufgedeckte Feld jeder Bedingung in zeilenweiser Nummerierung
+	 */
+	private final int[] bedingungsfeld;
+	
+	/**
+	 * Die Bedingungen jeder Klasse
+	 */
+	private final int[][] klassenbedingungen;
+	
+	/**
+	 * Die Anzahl der Randfelder
+	 */
+	private final int randfelder;
+	
+	/**
+	 * Die Klassen jeder Komponente, in der Reihenfolge einer Breitensuche
+	 */
+	private final int[][] komponentenklassen;
+	
+	/**
+	 * Die Komponente jeder Klasse
+	 */
+	private final int[] klassenkomponente;
+	
+	/**
+	 * Die Anzahl der Randfelder jeder Komponente
+	 */
+	private final int[] komponentenfelder;
+	
+	/**
+	 * Fasst die Randfelder eines Spielfeldes zu Klassen zusammen.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param hoehe
+	 * 		die Hhe des Spielfeldes
+	 * @param breite
+	 * 		die Breite des Spielfeldes
+	 */
+	Randklassen(final Spielfeld spielfeld, final int hoehe, final int breite) {
+		this.feldklasse = new int[hoehe * breite];
+		// Die Schlssel sind die Nummern der angrenzenden aufgedeckten Felder
+		final HashMap<ArrayList<Integer>, Integer> klassen =
+				new HashMap<ArrayList<Integer>, Integer>();
+		final ArrayList<Integer> groessen = new ArrayList<Integer>();
+		int randfelder = 0;
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++) {
+				final int feld = zeile * breite + spalte;
+				this.feldklasse[feld] = -1;
+				if (spielfeld.isUncovered(zeile, spalte)
+						|| spielfeld.isMarkedAsMine(zeile, spalte))
+					continue;
+				final ArrayList<Integer> schluessel = new ArrayList<Integer>(8);
+				for (int nachbarZeile = Math.max(0, zeile-1);
+						nachbarZeile < Math.min(zeile+2, hoehe); nachbarZeile++)
+					for (int nachbarSpalte = Math.max(0, spalte-1);
+							nachbarSpalte < Math.min(spalte+2, breite); nachbarSpalte++)
+						if (spielfeld.isUncovered(nachbarZeile, nachbarSpalte))
+							schluessel.add(nachbarZeile * breite + nachbarSpalte);
+				if (schluessel.isEmpty())
+					continue;
+				Integer klasse = klassen.get(schluessel);
+				if (klasse == null) {
+					klasse = groessen.size();
+					klassen.put(schluessel, klasse);
+					groessen.add(0);
+				}
+				this.feldklasse[feld] = klasse;
+				groessen.set(klasse, groessen.get(klasse) + 1);
+				randfelder++;
+			}
+		this.randfelder = randfelder;
+		this.klassengroesse = new int[groessen.size()];
+		for (int klasse = 0; klasse < this.klassengroesse.length; klasse++)
+			this.klassengroesse[klasse] = groessen.get(klasse);
+		this.klassenfelder = new int[this.klassengroesse.length][];
+		final int[] belegt = new int[this.klassengroesse.length];
+		for (int klasse = 0; klasse < this.klassengroesse.length; klasse++)
+			this.klassenfelder[klasse] = new int[this.klassengroesse[klasse]];
+		for (int feld = 0; feld < this.feldklasse.length; feld++) {
+			final int klasse = this.feldklasse[feld];
+			if (klasse >= 0)
+				this.klassenfelder[klasse][belegt[klasse]++] = feld;
+		}
+		
+		// Eine Bedingung je aufgedecktem Feld mit angrenzenden Randfeldern
+		final ArrayList<int[]> bedingungen = new ArrayList<int[]>();
+		final ArrayList<Integer> werte = new ArrayList<Integer>();
+		final ArrayList<Integer> bedingungsfelder = new ArrayList<Integer>();
+		final ArrayList<ArrayList<Integer>> klassenbedingungen =
+				new ArrayList<ArrayList<Integer>>();
+		for (int klasse = 0; klasse < this.klassengroesse.length; klasse++)
+			klassenbedingungen.add(new ArrayList<Integer>());
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++) {
+				if (!spielfeld.isUncovered(zeile, spalte))
+					continue;
+				int wert = spielfeld.getBenachbarteMinen(zeile, spalte);
+				final ArrayList<Integer> beteiligte = new ArrayList<Integer>(8);
+				for (int nachbarZeile = Math.max(0, zeile-1);
+						nachbarZeile < Math.min(zeile+2, hoehe); nachbarZeile++)
+					for (int nachbarSpalte = Math.max(0, spalte-1);
+							nachbarSpalte < Math.min(spalte+2, breite); nachbarSpalte++) {
+						if (spielfeld.isMarkedAsMine(nachbarZeile, nachbarSpalte))
+							wert--;
+						final int klasse = this.feldklasse[nachbarZeile * breite + nachbarSpalte];
+						if (klasse >= 0 && !beteiligte.contains(klasse))
+							beteiligte.add(klasse);
+					}
+				if (beteiligte.isEmpty())
+					continue;
+				final int[] bedingung = new int[beteiligte.size()];
+				for (int index = 0; index < bedingung.length; index++) {
+					bedingung[index] = beteiligte.get(index);
+					klassenbedingungen.get(bedingung[index]).add(bedingungen.size());
+				}
+				bedingungen.add(bedingung);
+				werte.add(wert);
+				bedingungsfelder.add(zeile * breite + spalte);
+			}
+		this.bedingungsklassen = bedingungen.toArray(new int[bedingungen.size()][]);
+		this.bedingungswert = new int[werte.size()];
+		this.bedingungsfeld = new int[werte.size()];
+		for (int bedingung = 0; bedingung < this.bedingungswert.length; bedingung++) {
+			this.bedingungswert[bedingung] = werte.get(bedingung);
+			this.bedingungsfeld[bedingung] = bedingungsfelder.get(bedingung);
+		}
+		this.klassenbedingungen = new int[this.klassengroesse.length][];
+		for (int klasse = 0; klasse < this.klassengroesse.length; klasse++) {
+			final ArrayList<Integer> liste = klassenbedingungen.get(klasse);
+			this.klassenbedingungen[klasse] = new int[liste.size()];
+			for (int index = 0; index < liste.size(); index++)
+				this.klassenbedingungen[klasse][index] = liste.get(index);
+		}
+		
+		// Komponenten durch Breitensuche ber die gemeinsamen Bedingungen
+		final ArrayList<int[]> komponenten = new ArrayList<int[]>();
+		final ArrayList<Integer> felderzahlen = new ArrayList<Integer>();
+		final boolean[] erreicht = new boolean[this.klassengroesse.length];
+		this.klassenkomponente = new int[this.klassengroesse.length];
+		final int[] warteschlange = new int[this.klassengroesse.length];
+		for (int start = 0; start < this.klassengroesse.length; start++) {
+			if (erreicht[start])
+				continue;
+			erreicht[start] = true;
+			warteschlange[0] = start;
+			int laenge = 1;
+			int felder = 0;
+			for (int index = 0; index < laenge; index++) {
+				final int klasse = warteschlange[index];
+				this.klassenkomponente[klasse] = komponenten.size();
+				felder += this.klassengroesse[klasse];
+				for (final int bedingung : this.klassenbedingungen[klasse])
+					for (final int nachbar : this.bedingungsklassen[bedingung])
+						if (!erreicht[nachbar]) {
+							erreicht[nachbar] = true;
+							warteschlange[laenge++] = nachbar;
+						}
+			}
+			final int[] komponente = new int[laenge];
+			System.arraycopy(warteschlange, 0, komponente, 0, laenge);
+			komponenten.add(komponente);
+			felderzahlen.add(felder);
+		}
+		this.komponentenklassen = komponenten.toArray(new int[komponenten.size()][]);
+		this.komponentenfelder = new int[felderzahlen.size()];
+		for (int komponente = 0; komponente < this.komponentenfelder.length; komponente++)
+			this.komponentenfelder[komponente] = felderzahlen.get(komponente);
+	}
+	
+	/**
+	 * Gibt die Klasse eines Feldes zurck.
+	 * 
+	 * @param feld
+	 * 		die zeilenweise Nummer des Feldes
+	 * @return die Klasse oder -1, wenn das Feld kein Randfeld ist
+	 */
+	int getKlasse(final int feld) {
+		return this.feldklasse[feld];
+	}
+	
+	/**
+	 * Gibt die Anzahl der Klassen zurck.
+	 * 
+	 * @return die Anzahl der Klassen
+	 */
+	int getKlassenzahl() {
+		return this.klassengroesse.length;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Felder einer Klasse zurck.
+	 * 
+	 * @param klasse
+	 * 		die Klasse
+	 * @return die Anzahl ihrer Felder
+	 */
+	int getGroesse(final int klasse) {
+		return this.klassengroesse[klasse];
+	}
+	
+	/**
+	 * Gibt die Felder einer Klasse zurck.
+	 * 
+	 * @param klasse
+	 * 		die Klasse
+	 * @return die zeilenweisen Nummern ihrer Felder, aufsteigend; darf nicht
+	 * 		verndert werden
+	 */
+	int[] getFelder(final int klasse) {
+		return this.klassenfelder[klasse];
+	}
+	
+	/**
+	 * Gibt die Komponente einer Klasse zurck.
+	 * 
+	 * @param klasse
+	 * 		die Klasse
+	 * @return die Komponente, zu der die Klasse gehrt
+	 */
+	int getKomponenteVon(final int klasse) {
+		return this.klassenkomponente[klasse];
+	}
+	
+	/**
+	 * Gibt die Anzahl der Randfelder zurck.
+	 * 
+	 * @return die Summe der Gren aller Klassen
+	 */
+	int getRandfelder() {
+		return this.randfelder;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Bedingungen zurck.
+	 * 
+	 * @return die Anzahl der Bedingungen
+	 */
+	int getBedingungszahl() {
+		return this.bedingungswert.length;
+	}
+	
+	/**
+	 * Gibt die Klassen einer Bedingung zurck.
+	 * 
+	 * @param bedingung
+	 * 		die Bedingung
+	 * @return die Klassen, deren Minenzahlen sich zum Wert der Bedingung
+	 * 		summieren mssen; darf nicht verndert werden
+	 */
+	int[] getKlassen(final int bedingung) {
+		return this.bedingungsklassen[bedingung];
+	}
+	
+	/**
+	 * Gibt die Minenzahl zurck, die eine Bedingung verlangt.
+	 * 
+	 * @param bedingung
+	 * 		die Bedingung
+	 * @return die Zahl des aufgedeckten Feldes abzglich seiner markierten Nachbarn
+	 */
+	int getWert(final int bedingung) {
+		return this.bedingungswert[bedingung];
+	}
+	
+	/**
+	 * Gibt das aufgedeckte Feld einer Bedingung zurck.
+	 * 
+	 * @param bedingung
+	 * 		die Bedingung
+	 * @return die zeilenweise Nummer des Feldes, dessen Zahl die Bedingung stellt
+	 */
+	int getFeld(final int bedingung) {
+		return this.bedingungsfeld[bedingung];
+	}
+	
+	/**
+	 * Gibt die Bedingungen einer Klasse zurck.
+	 * 
+	 * @param klasse
+	 * 		die Klasse
+	 * @return die Bedingungen, an denen die Klasse beteiligt ist; darf nicht
+	 * 		verndert werden
+	 */
+	int[] getBedingungen(final int klasse) {
+		return this.klassenbedingungen[klasse];
+	}
+	
+	/**
+	 * Gibt die Anzahl der Komponenten zurck.
+	 * 
+	 * @return die Anzahl der Komponenten
+	 */
+	int getKomponentenzahl() {
+		return this.komponentenklassen.length;
+	}
+	
+	/**
+	 * Gibt die Klassen einer Komponente zurck.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 * @return die Klassen der Komponente, benachbarte mglichst nah beieinander;
+	 * 		darf nicht verndert werden
+	 */
+	int[] getKomponente(final int komponente) {
+		return this.komponentenklassen[komponente];
+	}
+	
+	/**
+	 * Gibt die Anzahl der Randfelder einer Komponente zurck.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 * @return die Summe der Gren ihrer Klassen
+	 */
+	int getKomponentenfelder(final int komponente) {
+		return this.komponentenfelder[komponente];
+	}
+}
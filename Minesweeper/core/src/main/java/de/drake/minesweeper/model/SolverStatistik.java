@@ -0,0 +1,394 @@
+package de.drake.minesweeper.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Sammelt Zhler und Laufzeiten des ProbabilityCalculators und der KI und
+ * verffentlicht sie als MBean unter dem Namen OBJEKTNAME. Die Statistik gilt
+ * fr die gesamte Anwendung; der ProbabilityCalculator zhlt whrend einer
+ * Berechnung lokal und meldet seine Werte erst am Ende, so dass die Zhler das
+ * Backtracking nicht bremsen.
+ */
+public final class SolverStatistik implements SolverStatistikMBean {
+	
+	/**
+	 * Der Name, unter dem die Statistik beim MBeanServer registriert wird
+	 */
+	public static final String OBJEKTNAME = "de.drake.minesweeper:type=SolverStatistik";
+	
+	/**
+	 * Die einzige Instanz der Statistik
+	 */
+	private static final SolverStatistik INSTANZ = new SolverStatistik();
+	
+	/**
+	 * Der Beginn der laufenden Sitzung
+	 */
+	private volatile long sitzungsbeginn;
+	
+	/**
+	 * Die Anzahl der abgeschlossenen Berechnungen
+	 */
+	private final AtomicLong berechnungen = new AtomicLong();
+	
+	/**
+	 * Die Anzahl der unterbrochenen Berechnungen
+	 */
+	private final AtomicLong abgebrocheneBerechnungen = new AtomicLong();
+	
+	/**
+	 * Die Anzahl der besuchten Knoten im Backtracking
+	 */
+	private final AtomicLong besuchteKnoten = new AtomicLong();
+	
+	/**
+	 * Die Anzahl der ausgewerteten vollstndigen Besetzungen
+	 */
+	private final AtomicLong ausgewerteteBlaetter = new AtomicLong();
+	
+	/**
+	 * Die Anzahl der verworfenen Teilbesetzungen
+	 */
+	private final AtomicLong verworfeneBesetzungen = new AtomicLong();
+	
+	/**
+	 * Die Summe der Frontgren aller Berechnungen
+	 */
+	private final AtomicLong summeFrontgroesse = new AtomicLong();
+	
+	/**
+	 * Die Frontgre der letzten Berechnung
+	 */
+	private volatile int letzteFrontgroesse;
+	
+	/**
+	 * Die grte Frontgre der Sitzung
+	 */
+	private volatile int maximaleFrontgroesse;
+	
+	/**
+	 * Die Komponentenzahl der letzten Berechnung
+	 */
+	private volatile int letzteKomponentenzahl;
+	
+	/**
+	 * Die grte Komponentenzahl der Sitzung
+	 */
+	private volatile int maximaleKomponentenzahl;
+	
+	/**
+	 * Die Weite der Baumzerlegung der letzten Berechnung
+	 */
+	private volatile int letzteBaumweite;
+	
+	/**
+	 * Die grte Weite einer Baumzerlegung in der Sitzung
+	 */
+	private volatile int maximaleBaumweite;
+	
+	/**
+	 * Die Rechenzeiten der einzelnen Berechnungen
+	 */
+	private final Latenzhistogramm rechenzeiten = new Latenzhistogramm();
+	
+	/**
+	 * Die Anzahl der KI-Zge, bei denen geraten werden musste
+	 */
+	private final AtomicLong kiGerateneZuege = new AtomicLong();
+	
+	/**
+	 * Die Bedenkzeiten der einzelnen KI-Zge
+	 */
+	private final Latenzhistogramm kiZugzeiten = new Latenzhistogramm();
+	
+	/**
+	 * Die Anzahl der gewonnenen Spiele
+	 */
+	private final AtomicLong gewonneneSpiele = new AtomicLong();
+	
+	/**
+	 * Die Anzahl der verlorenen Spiele
+	 */
+	private final AtomicLong verloreneSpiele = new AtomicLong();
+	
+	/**
+	 * Erzeugt die Statistik und beginnt die erste Sitzung.
+	 */
+	private SolverStatistik() {
+		this.sitzungsbeginn = System.currentTimeMillis();
+	}
+	
+	/**
+	 * Gibt die Statistik der Anwendung zurck.
+	 * 
+	 * @return die einzige Instanz der Statistik
+	 */
+	public static SolverStatistik getInstanz() {
+		return INSTANZ;
+	}
+	
+	/**
+	 * Registriert die Statistik beim MBeanServer der Plattform. Schlgt die
+	 * Registrierung fehl (z.B. weil sie bereits erfolgt ist), luft das Spiel
+	 * ohne JMX-Anbindung weiter.
+	 */
+	public static void registriere() {
+		try {
+			final ObjectName name = new ObjectName(OBJEKTNAME);
+			if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name))
+				ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANZ, name);
+		} catch (JMException e) {
+		}
+	}
+	
+	/**
+	 * Meldet das Ergebnis einer Wahrscheinlichkeitsberechnung.
+	 * 
+	 * @param nanos
+	 * 		die Rechenzeit in Nanosekunden
+	 * @param knoten
+	 * 		die Anzahl der besuchten Knoten
+	 * @param blaetter
+	 * 		die Anzahl der ausgewerteten vollstndigen Besetzungen
+	 * @param verworfen
+	 * 		die Anzahl der verworfenen Teilbesetzungen
+	 * @param frontgroesse
+	 * 		die Anzahl der Randfelder
+	 * @param komponenten
+	 * 		die Anzahl der unabhngigen Teilfronten
+	 * @param baumweite
+	 * 		die grte Weite der verwendeten Baumzerlegungen, 0 wenn keine
+	 * 		verwendet wurde
+	 * @param abgebrochen
+	 * 		true, wenn die Berechnung unterbrochen wurde
+	 */
+	void zaehleBerechnung(final long nanos, final long knoten, final long blaetter,
+			final long verworfen, final int frontgroesse, final int komponenten,
+			final int baumweite, final boolean abgebrochen) {
+		this.besuchteKnoten.addAndGet(knoten);
+		this.ausgewerteteBlaetter.addAndGet(blaetter);
+		this.verworfeneBesetzungen.addAndGet(verworfen);
+		if (abgebrochen) {
+			this.abgebrocheneBerechnungen.incrementAndGet();
+			return;
+		}
+		this.berechnungen.incrementAndGet();
+		this.rechenzeiten.zaehle(nanos);
+		this.summeFrontgroesse.addAndGet(frontgroesse);
+		this.letzteFrontgroesse = frontgroesse;
+		this.maximaleFrontgroesse = Math.max(this.maximaleFrontgroesse, frontgroesse);
+		this.letzteKomponentenzahl = komponenten;
+		this.maximaleKomponentenzahl =
+				Math.max(this.maximaleKomponentenzahl, komponenten);
+		this.letzteBaumweite = baumweite;
+		this.maximaleBaumweite = Math.max(this.maximaleBaumweite, baumweite);
+	}
+	
+	/**
+	 * Meldet einen Zug der KI.
+	 * 
+	 * @param nanos
+	 * 		die Bedenkzeit in Nanosekunden
+	 * @param geraten
+	 * 		true, wenn das aufgedeckte Feld eine Mine htte enthalten knnen
+	 */
+	public void zaehleKIZug(final long nanos, final boolean geraten) {
+		this.kiZugzeiten.zaehle(nanos);
+		if (geraten)
+			this.kiGerateneZuege.incrementAndGet();
+	}
+	
+	/**
+	 * Meldet das Ende eines Spiels.
+	 * 
+	 * @param gewonnen
+	 * 		true, wenn das Spiel gewonnen wurde
+	 */
+	public void zaehleSpielende(final boolean gewonnen) {
+		if (gewonnen) {
+			this.gewonneneSpiele.incrementAndGet();
+		} else {
+			this.verloreneSpiele.incrementAndGet();
+		}
+	}
+	
+	@Override
+	public String getSitzungsbeginn() {
+		return new Date(this.sitzungsbeginn).toString();
+	}
+	
+	@Override
+	public long getBerechnungen() {
+		return this.berechnungen.get();
+	}
+	
+	@Override
+	public long getAbgebrocheneBerechnungen() {
+		return this.abgebrocheneBerechnungen.get();
+	}
+	
+	@Override
+	public long getBesuchteKnoten() {
+		return this.besuchteKnoten.get();
+	}
+	
+	@Override
+	public long getAusgewerteteBlaetter() {
+		return this.ausgewerteteBlaetter.get();
+	}
+	
+	@Override
+	public long getVerworfeneBesetzungen() {
+		return this.verworfeneBesetzungen.get();
+	}
+	
+	@Override
+	public int getLetzteFrontgroesse() {
+		return this.letzteFrontgroesse;
+	}
+	
+	@Override
+	public int getMaximaleFrontgroesse() {
+		return this.maximaleFrontgroesse;
+	}
+	
+	@Override
+	public double getMittlereFrontgroesse() {
+		final long berechnungen = this.berechnungen.get();
+		if (berechnungen == 0)
+			return 0;
+		return (double) this.summeFrontgroesse.get() / berechnungen;
+	}
+	
+	@Override
+	public int getLetzteKomponentenzahl() {
+		return this.letzteKomponentenzahl;
+	}
+	
+	@Override
+	public int getMaximaleKomponentenzahl() {
+		return this.maximaleKomponentenzahl;
+	}
+	
+	@Override
+	public int getLetzteBaumweite() {
+		return this.letzteBaumweite;
+	}
+	
+	@Override
+	public int getMaximaleBaumweite() {
+		return this.maximaleBaumweite;
+	}
+	
+	@Override
+	public double getRechenzeitGesamtMillis() {
+		return this.rechenzeiten.getSummeMillis();
+	}
+	
+	@Override
+	public double getRechenzeitMittelwertMillis() {
+		return this.rechenzeiten.getMittelwertMillis();
+	}
+	
+	@Override
+	public double getRechenzeitP50Millis() {
+		return this.rechenzeiten.getPerzentilMillis(0.5);
+	}
+	
+	@Override
+	public double getRechenzeitP90Millis() {
+		return this.rechenzeiten.getPerzentilMillis(0.9);
+	}
+	
+	@Override
+	public double getRechenzeitP99Millis() {
+		return this.rechenzeiten.getPerzentilMillis(0.99);
+	}
+	
+	@Override
+	public double getRechenzeitMaximumMillis() {
+		return this.rechenzeiten.getMaximumMillis();
+	}
+	
+	@Override
+	public long getKIZuege() {
+		return this.kiZugzeiten.getAnzahl();
+	}
+	
+	@Override
+	public long getKIGerateneZuege() {
+		return this.kiGerateneZuege.get();
+	}
+	
+	@Override
+	public double getKIZugzeitP50Millis() {
+		return this.kiZugzeiten.getPerzentilMillis(0.5);
+	}
+	
+	@Override
+	public double getKIZugzeitP90Millis() {
+		return this.kiZugzeiten.getPerzentilMillis(0.9);
+	}
+	
+	@Override
+	public double getKIZugzeitP99Millis() {
+		return this.kiZugzeiten.getPerzentilMillis(0.99);
+	}
+	
+	@Override
+	public double getKIZugzeitMaximumMillis() {
+		return this.kiZugzeiten.getMaximumMillis();
+	}
+	
+	@Override
+	public long getGewonneneSpiele() {
+		return this.gewonneneSpiele.get();
+	}
+	
+	@Override
+	public long getVerloreneSpiele() {
+		return this.verloreneSpiele.get();
+	}
+	
+	@Override
+	public long getSchwelleLangsameBerechnungMillis() {
+		return Berechnungsprotokoll.getSchwelle();
+	}
+	
+	@Override
+	public void setSchwelleLangsameBerechnungMillis(final long millis) {
+		Berechnungsprotokoll.setSchwelle(millis);
+	}
+	
+	@Override
+	public long getProtokollierteLangsameBerechnungen() {
+		return Berechnungsprotokoll.getProtokolliert();
+	}
+	
+	@Override
+	public void reset() {
+		this.berechnungen.set(0);
+		this.abgebrocheneBerechnungen.set(0);
+		this.besuchteKnoten.set(0);
+		this.ausgewerteteBlaetter.set(0);
+		this.verworfeneBesetzungen.set(0);
+		this.summeFrontgroesse.set(0);
+		this.letzteFrontgroesse = 0;
+		this.maximaleFrontgroesse = 0;
+		this.letzteKomponentenzahl = 0;
+		this.maximaleKomponentenzahl = 0;
+		this.letzteBaumweite = 0;
+		this.maximaleBaumweite = 0;
+		this.rechenzeiten.reset();
+		this.kiGerateneZuege.set(0);
+		this.kiZugzeiten.reset();
+		this.gewonneneSpiele.set(0);
+		this.verloreneSpiele.set(0);
+		this.sitzungsbeginn = System.currentTimeMillis();
+	}
+}
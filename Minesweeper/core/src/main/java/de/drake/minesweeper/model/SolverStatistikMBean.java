@@ -0,0 +1,170 @@
+package de.drake.minesweeper.model;
+
+/**
+ * Die Verwaltungsschnittstelle der SolverStatistik, ber die sich die Zhler des
+ * Lsers mit gngigen JMX-Werkzeugen (z.B. JConsole oder VisualVM) beobachten
+ * lassen. Alle Werte beziehen sich auf die laufende Sitzung, also die Zeit seit
+ * dem Programmstart oder dem letzten Aufruf von reset().
+ */
+public interface SolverStatistikMBean {
+	
+	/**
+	 * @return der Beginn der laufenden Sitzung
+	 */
+	String getSitzungsbeginn();
+	
+	/**
+	 * @return die Anzahl der abgeschlossenen Wahrscheinlichkeitsberechnungen
+	 */
+	long getBerechnungen();
+	
+	/**
+	 * @return die Anzahl der unterbrochenen Wahrscheinlichkeitsberechnungen
+	 */
+	long getAbgebrocheneBerechnungen();
+	
+	/**
+	 * @return die Anzahl der im Backtracking besuchten Knoten
+	 */
+	long getBesuchteKnoten();
+	
+	/**
+	 * @return die Anzahl der ausgewerteten vollstndigen Besetzungen
+	 */
+	long getAusgewerteteBlaetter();
+	
+	/**
+	 * @return die Anzahl der Teilbesetzungen, die die Gltigkeitsprfung verworfen hat
+	 */
+	long getVerworfeneBesetzungen();
+	
+	/**
+	 * @return die Anzahl der Randfelder bei der letzten Berechnung
+	 */
+	int getLetzteFrontgroesse();
+	
+	/**
+	 * @return die grte Anzahl an Randfeldern in dieser Sitzung
+	 */
+	int getMaximaleFrontgroesse();
+	
+	/**
+	 * @return die mittlere Anzahl an Randfeldern je Berechnung
+	 */
+	double getMittlereFrontgroesse();
+	
+	/**
+	 * @return die Anzahl der unabhngigen Teilfronten bei der letzten Berechnung
+	 */
+	int getLetzteKomponentenzahl();
+	
+	/**
+	 * @return die grte Anzahl an unabhngigen Teilfronten in dieser Sitzung
+	 */
+	int getMaximaleKomponentenzahl();
+	
+	/**
+	 * @return die grte Weite der Baumzerlegungen bei der letzten Berechnung,
+	 * 		0 wenn keine verwendet wurde
+	 */
+	int getLetzteBaumweite();
+	
+	/**
+	 * @return die grte Weite einer Baumzerlegung in dieser Sitzung
+	 */
+	int getMaximaleBaumweite();
+	
+	/**
+	 * @return die gesamte Rechenzeit aller Berechnungen in Millisekunden
+	 */
+	double getRechenzeitGesamtMillis();
+	
+	/**
+	 * @return die mittlere Rechenzeit je Berechnung in Millisekunden
+	 */
+	double getRechenzeitMittelwertMillis();
+	
+	/**
+	 * @return der Median der Rechenzeit je Berechnung in Millisekunden
+	 */
+	double getRechenzeitP50Millis();
+	
+	/**
+	 * @return das 90. Perzentil der Rechenzeit je Berechnung in Millisekunden
+	 */
+	double getRechenzeitP90Millis();
+	
+	/**
+	 * @return das 99. Perzentil der Rechenzeit je Berechnung in Millisekunden
+	 */
+	double getRechenzeitP99Millis();
+	
+	/**
+	 * @return die lngste Rechenzeit einer Berechnung in Millisekunden
+	 */
+	double getRechenzeitMaximumMillis();
+	
+	/**
+	 * @return die Anzahl der Zge, in denen die KI ein Feld aufgedeckt hat
+	 */
+	long getKIZuege();
+	
+	/**
+	 * @return die Anzahl der KI-Zge, bei denen geraten werden musste
+	 */
+	long getKIGerateneZuege();
+	
+	/**
+	 * @return der Median der Bedenkzeit je KI-Zug in Millisekunden
+	 */
+	double getKIZugzeitP50Millis();
+	
+	/**
+	 * @return das 90. Perzentil der Bedenkzeit je KI-Zug in Millisekunden
+	 */
+	double getKIZugzeitP90Millis();
+	
+	/**
+	 * @return das 99. Perzentil der Bedenkzeit je KI-Zug in Millisekunden
+	 */
+	double getKIZugzeitP99Millis();
+	
+	/**
+	 * @return die lngste Bedenkzeit eines KI-Zuges in Millisekunden
+	 */
+	double getKIZugzeitMaximumMillis();
+	
+	/**
+	 * @return die Anzahl der gewonnenen Spiele
+	 */
+	long getGewonneneSpiele();
+	
+	/**
+	 * @return die Anzahl der verlorenen Spiele
+	 */
+	long getVerloreneSpiele();
+	
+	/**
+	 * @return die Schwelle, ab der eine Berechnung im Berechnungsprotokoll
+	 * 		landet, in Millisekunden; negativ, wenn nicht protokolliert wird
+	 */
+	long getSchwelleLangsameBerechnungMillis();
+	
+	/**
+	 * @param millis
+	 * 		die Schwelle, ab der eine Berechnung im Berechnungsprotokoll landet,
+	 * 		in Millisekunden; negativ zum Abschalten
+	 */
+	void setSchwelleLangsameBerechnungMillis(long millis);
+	
+	/**
+	 * @return die Anzahl der Berechnungen, die seit dem Programmstart im
+	 * 		Berechnungsprotokoll gelandet sind
+	 */
+	long getProtokollierteLangsameBerechnungen();
+	
+	/**
+	 * Setzt alle Zhler zurck und beginnt eine neue Sitzung.
+	 */
+	void reset();
+}
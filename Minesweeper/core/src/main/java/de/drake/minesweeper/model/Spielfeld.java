@@ -0,0 +1,781 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Modelliert das gesamte Minesweeper-Spielfeld
+ */
+public class Spielfeld {
+	
+	// Instanzattribute
+	
+	/**
+	 * Die Hhe des Minesweepers.
+	 */
+	private int hoehe;
+	
+	/**
+	 * Die Breite des Minesweepers.
+	 */
+	private int breite;
+	
+	/**
+	 * Speichert die einzelnen Felder des Minesweepers zeilenweise, ein Byte je
+	 * Feld (siehe Minefield).
+	 */
+	private byte[] felder;
+	
+	/**
+	 * Die Gesamtzahl der Minen im Minesweeper.
+	 */
+	private int minenzahl;
+	
+	/**
+	 * Die Anzahl der Felder, zu denen gemeinsam vermerkt wird, ob sie sich seit
+	 * dem letzten Abruf von entnehmeGeaenderteBloecke() gendert haben.
+	 */
+	static final int BLOCKGROESSE = 4096;
+	
+	/**
+	 * Bitmenge der Blcke, in denen sich seit dem letzten Abruf von
+	 * entnehmeGeaenderteBloecke() ein Feld gendert hat.
+	 */
+	private long[] geaenderteBloecke;
+	
+	/**
+	 * Tool zur Berechnung von Minenwahrscheinlichkeiten
+	 */
+	private ProbabilityCalculator probabilityCalculator;
+	
+	/**
+	 * Protokolliert die Zge, damit sie rckgngig gemacht werden knnen
+	 */
+	private final Zugjournal zugjournal = new Zugjournal();
+	
+	/**
+	 * Die Version des Spielfeldes; wird bei jeder nderung eines Feldes erhht
+	 */
+	private long version = 0;
+	
+	/**
+	 * Bei einem Schnappschuss das Spielfeld, von dem er erzeugt wurde, sonst null
+	 */
+	private Spielfeld ursprung = null;
+	
+	/**
+	 * Speichert die verbleibenden Minen des Minesweepers.
+	 * Diese ergibt sich aus der Gesamtzahl der Minen abzglich den
+	 * markierten Minen (auch wenn Minen falsch markiert wurden).
+	 */
+	private int verbleibendeMinen;
+	
+	/**
+	 * Speichert die Anzahl der Felder, die fr einen Sieg noch aufgedeckt
+	 * werden mssen. Diese ergibt sich aus der Anzahl der verbleibenden
+	 * verdeckten Feldern abzglich der Gesamtzahl der Minen.
+	 */
+	private int verbleibendeFelder;
+	
+	
+	// Konstruktoren
+	
+	/**
+	 * Erzeugt ein neues Minesweeper und platziert darin zufllig Minen.
+	 * 
+	 * @throws RuntimeException
+	 * 		Wird geworfen, mehr Minen platziert werden sollen als
+	 * 		das Minesweeper Felder hat.
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 * @param minenzahl
+	 * 		die Gesamtzahl der Minen, die im Minesweeper-Feld verteilt werden sollen
+	 */
+	public Spielfeld(final int hoehe, final int breite, final int minenzahl)
+			throws RuntimeException {
+		if (hoehe * breite < minenzahl)
+			throw new RuntimeException("Spielfelderzeugung fehlgeschlagen. " +
+					"Zu viele Minen!");
+		this.hoehe = hoehe;
+		this.breite = breite;
+		this.minenzahl = minenzahl;
+		this.verbleibendeMinen = minenzahl;
+		this.verbleibendeFelder = this.hoehe * this.breite - minenzahl;
+		this.felder = new byte[this.hoehe * this.breite];
+		this.markiereAllesGeaendert();
+		this.placeMines(this.hoehe, this.breite, minenzahl);
+		this.probabilityCalculator = new ProbabilityCalculator(
+				this, this.hoehe, this.breite);
+	}
+	
+	/**
+	 * Erzeugt ein neues Minesweeper mit einer vorgegebenen Minenverteilung.
+	 * Wird verwendet, um reproduzierbare Stellungen (z.B. fr Benchmarks)
+	 * zu erzeugen.
+	 * 
+	 * @param minen
+	 * 		die Minenverteilung; minen[zeile][spalte] ist true, wenn dort eine
+	 * 		Mine liegt. Alle Zeilen mssen gleich lang sein.
+	 */
+	public Spielfeld(final boolean[][] minen) {
+		this.hoehe = minen.length;
+		this.breite = this.hoehe == 0 ? 0 : minen[0].length;
+		this.felder = new byte[this.hoehe * this.breite];
+		this.markiereAllesGeaendert();
+		int minenzahl = 0;
+		for (int zeile = 0; zeile < this.hoehe; zeile++)
+			for (int spalte = 0; spalte < this.breite; spalte++)
+				if (minen[zeile][spalte]) {
+					this.setzeMine(zeile, spalte);
+					minenzahl++;
+				}
+		this.minenzahl = minenzahl;
+		this.verbleibendeMinen = minenzahl;
+		this.verbleibendeFelder = this.hoehe * this.breite - minenzahl;
+		this.probabilityCalculator = new ProbabilityCalculator(
+				this, this.hoehe, this.breite);
+	}
+	
+	/**
+	 * Erzeugt ein Minesweeper aus bereits kodierten Feldern. Wird beim Laden
+	 * eines Spielstandes verwendet.
+	 * 
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 * @param felder
+	 * 		die zeilenweise kodierten Felder (siehe Minefield) samt
+	 * 		Nachbarminenzahlen; wird nicht kopiert
+	 * @param minenzahl
+	 * 		die Gesamtzahl der Minen
+	 * @param verbleibendeMinen
+	 * 		die verbleibende Anzahl unmarkierter Minen
+	 * @param verbleibendeFelder
+	 * 		die Anzahl der Felder, die fr einen Sieg noch aufgedeckt werden mssen
+	 */
+	Spielfeld(final int hoehe, final int breite, final byte[] felder,
+			final int minenzahl, final int verbleibendeMinen,
+			final int verbleibendeFelder) {
+		this.hoehe = hoehe;
+		this.breite = breite;
+		this.felder = felder;
+		this.markiereAllesGeaendert();
+		this.minenzahl = minenzahl;
+		this.verbleibendeMinen = verbleibendeMinen;
+		this.verbleibendeFelder = verbleibendeFelder;
+		this.probabilityCalculator = new ProbabilityCalculator(
+				this, this.hoehe, this.breite);
+	}
+	
+	
+	// get/set/is-Methoden
+	
+	/**
+	 * Gibt zurck, ob ein bestimmes Feld aufgedeckt ist oder nicht.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu berprfenden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu berprfenden Feldes
+	 * @return true, wenn das Feld bereits aufgedeckt ist
+	 */
+	public boolean isUncovered(final int zeile, final int spalte) {
+		return (this.felder[zeile * this.breite + spalte] & Minefield.AUFGEDECKT) != 0;
+	}
+	
+	/**
+	 * Markiert ein bestimmtes Feld als aufgedeckt.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu berprfenden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu berprfenden Feldes
+	 */
+	public void setUncovered(final int zeile, final int spalte) {
+		if (this.isUncovered(zeile, spalte)) 
+			return;
+		if (!this.isMine(zeile, spalte)) {
+			this.verbleibendeFelder -= 1;
+		} else {
+			this.verbleibendeMinen -= 1;
+		}
+		this.probabilityCalculator.notifyOfChangedProbabilities();
+		this.felder[zeile * this.breite + spalte] |= Minefield.AUFGEDECKT;
+		this.markiereGeaendert(zeile * this.breite + spalte);
+		this.version++;
+		this.zugjournal.notiere(zeile * this.breite + spalte, Zugjournal.AUFGEDECKT);
+	}
+	
+	/**
+	 * Gibt die Minenwahrscheinlichkeit fr ein bestimmtes Feld des Minesweepers aus.
+	 * 
+	 * @param zeile
+	 * 		Die Zeile des Feldes, dessen Minenwahrscheinlichkeit berechnet werden soll
+	 * @param spalte
+	 * 		Die Spalte des Feldes, dessen Minenwahrscheinlichkeit berechnet werden soll
+	 * @param isInterrupted
+	 * 		Variable, die indiziert, dass die Berechnung abgebrochen werden soll.
+	 * 		Soll die Berechnung nicht abbrechbar sein, kann hier einfach
+	 * 		false angegeben werden.
+	 * @return Die Wahrscheinlichkeit, das das angegebene Feld eine Mine beinhaltet
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung
+	 * 		unterbrochen wurde
+	 */
+	public double getMinenwahrscheinlichkeit(final int zeile, final int spalte)
+			throws InterruptedException {
+		return(this.probabilityCalculator.getMinenwahrscheinlichkeit(
+				zeile, spalte));
+	}
+	
+	/**
+	 * Berechnet die Minenwahrscheinlichkeiten aller Felder, sofern sie nicht
+	 * aktuell sind, und gibt whrenddessen vorlufige Ergebnisse weiter, so dass
+	 * eine Anzeige nicht auf die aufwndigste Komponente der Randfelder warten
+	 * muss. Die endgltigen Werte liefert danach getMinenwahrscheinlichkeit().
+	 * 
+	 * @param empfaenger
+	 * 		nimmt die vorlufigen Ergebnisse entgegen
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung
+	 * 		unterbrochen wurde
+	 */
+	public void berechneSchrittweise(final Zwischenergebnisempfaenger empfaenger)
+			throws InterruptedException {
+		if (!this.probabilityCalculator.isMineprobabilityUpToDate())
+			this.probabilityCalculator.berechneMinenwahrscheinlichkeiten(empfaenger);
+	}
+	
+	/**
+	 * Gibt fr jedes verdeckte, nicht markierte Feld die Verteilung der Zahl
+	 * zurck, die es beim Aufdecken zeigen wrde. Eintrag z ist die
+	 * Wahrscheinlichkeit, dass das Feld frei ist und z zeigt. Wird zusammen mit
+	 * den Minenwahrscheinlichkeiten berechnet, ohne fr jede Zahl eine eigene
+	 * Stellung durchzurechnen. Fr Felder an groen Komponenten des Randes gibt es
+	 * keine Verteilung, da der Aufwand dafr exponentiell wchst.
+	 * 
+	 * @return fr jedes Feld die Wahrscheinlichkeiten der Zahlen 0 bis 8, null fr
+	 * 		aufgedeckte und markierte Felder und fr Felder an groen Komponenten;
+	 * 		darf nicht verndert werden
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung
+	 * 		unterbrochen wurde
+	 */
+	public double[][][] getZahlenverteilungen() throws InterruptedException {
+		return this.probabilityCalculator.getZahlenverteilungen();
+	}
+	
+	/**
+	 * Gibt die Minenwahrscheinlichkeit fr ein einzelnes Feld des Minesweepers
+	 * aus, ohne dafr die Wahrscheinlichkeiten aller Felder zu berechnen. Fr
+	 * Hinweise zu einzelnen Feldern deutlich schneller als
+	 * getMinenwahrscheinlichkeit(), solange die Wahrscheinlichkeiten aller Felder
+	 * nicht ohnehin gebraucht werden.
+	 * 
+	 * @param zeile
+	 * 		Die Zeile des Feldes, dessen Minenwahrscheinlichkeit berechnet werden soll
+	 * @param spalte
+	 * 		Die Spalte des Feldes, dessen Minenwahrscheinlichkeit berechnet werden soll
+	 * @return Die Wahrscheinlichkeit, das das angegebene Feld eine Mine beinhaltet
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung
+	 * 		unterbrochen wurde
+	 */
+	public double getEinzelwahrscheinlichkeit(final int zeile, final int spalte)
+			throws InterruptedException {
+		return this.probabilityCalculator.getMinenwahrscheinlichkeitEinzeln(zeile, spalte);
+	}
+	
+	/**
+	 * Gibt zurck, ob ein bestimmes Feld eine Mine beinhaltet.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu berprfenden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu berprfenden Feldes
+	 * @return true, wenn das Feld eine Mine beinhaltet
+	 */
+	public boolean isMine(final int zeile, final int spalte) {
+		return (this.felder[zeile * this.breite + spalte] & Minefield.MINE) != 0;
+	}
+	
+	/**
+	 * Gibt zurck, ob ein bestimmes Feld als Mine markiert ist.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu berprfenden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu berprfenden Feldes
+	 * @return true, wenn das Feld als Mine markiert ist
+	 */
+	public boolean isMarkedAsMine(final int zeile, final int spalte) {
+		return (this.felder[zeile * this.breite + spalte] & Minefield.MARKIERT) != 0;
+	}
+	
+	/**
+	 * Markiert ein Feld als Mine bzw.
+	 * entfernt eine Minenmarkierung von einem Feld.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu berprfenden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu berprfenden Feldes
+	 * @param wert
+	 * 		true, wenn das Feld als Mine markiert werden soll,
+	 * 		false wenn die Markierung entfernt werden soll
+	 */
+	public void setMarkedAsMine(final int zeile, final int spalte, final boolean wert) {
+		if (wert == false)
+			this.verbleibendeMinen += 1;
+		if (wert == true)
+			this.verbleibendeMinen -= 1;
+		try {
+			if (this.probabilityCalculator.isMineprobabilityUpToDate() &&
+					(wert == false || this.getMinenwahrscheinlichkeit(zeile,
+							spalte) < 0.9999))
+				this.probabilityCalculator.notifyOfChangedProbabilities();
+		} catch (InterruptedException e) {
+			// Kann nicht vorkommen, da
+			// this.probabilityCalculator.isMineprobabilityUpToDate()
+			// geprft wurde und hierbei keine Unterbrechung passieren kann
+		}
+		if (wert != this.isMarkedAsMine(zeile, spalte))
+			this.zugjournal.notiere(zeile * this.breite + spalte, Zugjournal.MARKIERT);
+		if (wert) {
+			this.felder[zeile * this.breite + spalte] |= Minefield.MARKIERT;
+		} else {
+			this.felder[zeile * this.breite + spalte] &= ~Minefield.MARKIERT;
+		}
+		this.markiereGeaendert(zeile * this.breite + spalte);
+		this.version++;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Minen zurck, die ein bestimmtes Feld umgeben.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu bestimmten Feldes
+	 * @param spalte
+	 * 		die Spalte des zu bestimmten Feldes
+	 * @return die gefragte Anzahl der Minen
+	 */
+	public int getBenachbarteMinen(final int zeile, final int spalte) {
+		return this.felder[zeile * this.breite + spalte] & Minefield.BENACHBARTE_MINEN;
+	}
+	
+	/**
+	 * Gibt die verbleibende Anzahl verdeckter Felder zurck.
+	 * 
+	 * @return die verbleibende Anzahl Felder
+	 */
+	public int getVerbleibendeFelder() {
+		return this.verbleibendeFelder;
+	}
+	
+	/**
+	 * Gibt die verbleibende Anzahl unmarkierter Minen zurck.
+	 * 
+	 * @return die verbleibende Anzahl Minen
+	 */
+	public int getVerbleibendeMinen() {
+		return this.verbleibendeMinen;
+	}
+	
+	
+	/**
+	 * Gibt die Gesamtzahl der Minen zurck.
+	 * 
+	 * @return die Gesamtzahl der Minen
+	 */
+	public int getMinenzahl() {
+		return this.minenzahl;
+	}
+	
+	/**
+	 * Gibt die kodierten Felder zurck, ohne sie zu kopieren. Wird beim
+	 * Speichern eines Spielstandes verwendet.
+	 * 
+	 * @return die zeilenweise kodierten Felder (siehe Minefield)
+	 */
+	byte[] getFelder() {
+		return this.felder;
+	}
+	
+	/**
+	 * Gibt die Blcke zurck, in denen sich seit dem letzten Aufruf ein Feld
+	 * gendert hat, und vergisst die nderungen. Block i umfasst die Felder
+	 * i*BLOCKGROESSE bis (i+1)*BLOCKGROESSE-1 in zeilenweiser Nummerierung.
+	 * Nach der Erzeugung gelten alle Blcke als gendert.
+	 * 
+	 * @return die Bitmenge der genderten Blcke, Block i in Bit i%64 von
+	 * 		Element i/64
+	 */
+	long[] entnehmeGeaenderteBloecke() {
+		final long[] ergebnis = this.geaenderteBloecke.clone();
+		Arrays.fill(this.geaenderteBloecke, 0);
+		return ergebnis;
+	}
+	
+	/**
+	 * Vermerkt, dass sich ein Feld gendert hat.
+	 * 
+	 * @param feld
+	 * 		die zeilenweise Nummer des Feldes
+	 */
+	private void markiereGeaendert(final int feld) {
+		final int block = feld / BLOCKGROESSE;
+		this.geaenderteBloecke[block >>> 6] |= 1L << block;
+	}
+	
+	/**
+	 * Vermerkt, dass sich alle Felder gendert haben.
+	 */
+	private void markiereAllesGeaendert() {
+		final int bloecke = (this.felder.length + BLOCKGROESSE - 1) / BLOCKGROESSE;
+		this.geaenderteBloecke = new long[(bloecke + 63) / 64];
+		for (int block = 0; block < bloecke; block++)
+			this.geaenderteBloecke[block >>> 6] |= 1L << block;
+	}
+	
+	/**
+	 * Gibt die Hhe des Minesweepers zurck.
+	 * 
+	 * @return die Anzahl der Zeilen
+	 */
+	public int getHoehe() {
+		return this.hoehe;
+	}
+	
+	/**
+	 * Gibt die Breite des Minesweepers zurck.
+	 * 
+	 * @return die Anzahl der Spalten
+	 */
+	public int getBreite() {
+		return this.breite;
+	}
+	
+	
+	// Weitere Instanzmethoden
+	
+	/**
+	 * Deckt ausgehend von einem bereits aufgedeckten Nullfeld das gesamte
+	 * zusammenhngende minenfreie Gebiet samt Rand auf. Als Mine markierte Felder
+	 * werden dabei nicht aufgedeckt.
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der ein Nullfeld aufgedeckt wurde
+	 * @param spalte
+	 * 		die Spalte, in der ein Nullfeld aufgedeckt wurde
+	 * @return die Koordinaten aller Felder, die hierbei neu aufgedeckt wurden,
+	 * 		in der Reihenfolge des Aufdeckens
+	 */
+	public ArrayList<Koordinate> uncoverMinelessArea(final int zeile, final int spalte) {
+		ArrayList<Koordinate> aufgedeckteFelder = new ArrayList<Koordinate>();
+		ArrayList<Koordinate> zuBearbeitendeNullfelder = new ArrayList<Koordinate>();
+		zuBearbeitendeNullfelder.add(new Koordinate(zeile, spalte));
+		while (zuBearbeitendeNullfelder.size() > 0) {
+			final Koordinate nullfeld =
+					zuBearbeitendeNullfelder.remove(zuBearbeitendeNullfelder.size() - 1);
+			final int nullzeile = nullfeld.getZeile();
+			final int nullspalte = nullfeld.getSpalte();
+			// Gehe alle Nachbarfelder durch...
+			for (int nachbarZeile = Math.max(0,nullzeile-1);
+					nachbarZeile < Math.min(nullzeile+2,this.hoehe); nachbarZeile++)
+			for (int nachbarSpalte = Math.max(0,nullspalte-1);
+					nachbarSpalte < Math.min(nullspalte+2, this.breite); nachbarSpalte++) {
+				// Wenn das Nachbarfeld bereits aufgedeckt ist oder als Mine markiert ist,
+				// ignoriere es
+				if (this.isUncovered(nachbarZeile, nachbarSpalte)
+						|| this.isMarkedAsMine(nachbarZeile, nachbarSpalte))
+					continue;
+				// das Nachbarfeld aufdecken...
+				this.setUncovered(nachbarZeile, nachbarSpalte);
+				final Koordinate nachbar = new Koordinate(nachbarZeile, nachbarSpalte);
+				aufgedeckteFelder.add(nachbar);
+				// Wenn es ein Nullfeld ist, registrieren
+				if (this.getBenachbarteMinen(nachbarZeile, nachbarSpalte) == 0)
+					zuBearbeitendeNullfelder.add(nachbar);
+			}
+		}
+		return aufgedeckteFelder;
+	}
+	
+	/**
+	 * Gibt die Version des Spielfeldes zurck. Sie wird bei jeder nderung eines
+	 * Feldes erhht, auch beim Rckgngigmachen.
+	 * 
+	 * @return die Version
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * Erzeugt einen Schnappschuss der aktuellen Stellung, auf dem z.B.
+	 * Minenwahrscheinlichkeiten in einem anderen Thread berechnet werden knnen,
+	 * whrend auf diesem Spielfeld weitergespielt wird. Der Schnappschuss darf
+	 * nicht verndert werden.
+	 * Kopiert werden nur die Felder (ein Byte je Feld) und bereits berechnete
+	 * Wahrscheinlichkeiten; das Zugjournal nicht. Gelernte Klauseln und gezhlte
+	 * Komponenten teilt der Schnappschuss mit diesem Spielfeld. Muss in dem Thread aufgerufen
+	 * werden, der die Zge ausfhrt.
+	 * 
+	 * @return der Schnappschuss mit der aktuellen Version
+	 */
+	public Spielfeld erzeugeSchnappschuss() {
+		final Spielfeld schnappschuss = new Spielfeld(this.hoehe, this.breite,
+				this.felder.clone(), this.minenzahl, this.verbleibendeMinen,
+				this.verbleibendeFelder);
+		schnappschuss.version = this.version;
+		schnappschuss.ursprung = this;
+		schnappschuss.probabilityCalculator.setKlauselspeicher(
+				this.probabilityCalculator.getKlauselspeicher());
+		schnappschuss.probabilityCalculator.setKomponentenspeicher(
+				this.probabilityCalculator.getKomponentenspeicher());
+		final double[][] wahrscheinlichkeiten =
+				this.probabilityCalculator.getAktuelleWahrscheinlichkeiten();
+		if (wahrscheinlichkeiten != null)
+			schnappschuss.probabilityCalculator.setzeWahrscheinlichkeiten(
+					wahrscheinlichkeiten);
+		return schnappschuss;
+	}
+	
+	/**
+	 * Erzeugt eine angenommene Stellung, in der auer den Feldern dieses
+	 * Spielfeldes weitere Felder mit vorgegebenen Zahlen aufgedeckt sind. Die
+	 * Minen der verdeckten Felder sind darin unbekannt, es drfen also nur
+	 * Wahrscheinlichkeiten berechnet werden. Gelernte Klauseln und gezhlte
+	 * Komponenten teilt die Stellung mit diesem Spielfeld. Darf von mehreren
+	 * Threads zugleich aufgerufen werden, solange dieses Spielfeld nicht
+	 * verndert wird.
+	 * 
+	 * @param aufdeckungen
+	 * 		die zustzlich aufgedeckten Felder, jeweils die zeilenweise Nummer des
+	 * 		Feldes mal 16 plus die Zahl, die es zeigt
+	 * @return die angenommene Stellung
+	 */
+	Spielfeld erzeugeAnnahme(final int[] aufdeckungen) {
+		final byte[] felder = this.felder.clone();
+		for (int feld = 0; feld < felder.length; feld++)
+			if ((felder[feld] & Minefield.AUFGEDECKT) == 0)
+				felder[feld] &= Minefield.MARKIERT;
+		for (final int aufdeckung : aufdeckungen)
+			felder[aufdeckung >> 4] = (byte) (Minefield.AUFGEDECKT
+					| (aufdeckung & Minefield.BENACHBARTE_MINEN));
+		final Spielfeld annahme = new Spielfeld(this.hoehe, this.breite, felder,
+				this.minenzahl, this.verbleibendeMinen,
+				this.verbleibendeFelder - aufdeckungen.length);
+		annahme.probabilityCalculator.setKlauselspeicher(
+				this.probabilityCalculator.getKlauselspeicher());
+		annahme.probabilityCalculator.setKomponentenspeicher(
+				this.probabilityCalculator.getKomponentenspeicher());
+		return annahme;
+	}
+	
+	/**
+	 * Prft, ob ein Schnappschuss von diesem Spielfeld stammt und seitdem kein
+	 * Feld gendert wurde.
+	 * 
+	 * @param schnappschuss
+	 * 		der Schnappschuss
+	 * @return true, wenn der Schnappschuss noch aktuell ist
+	 */
+	public boolean isAktuellerSchnappschuss(final Spielfeld schnappschuss) {
+		return schnappschuss.ursprung == this && schnappschuss.version == this.version;
+	}
+	
+	/**
+	 * bernimmt die auf einem Schnappschuss berechneten Minenwahrscheinlichkeiten,
+	 * sofern der Schnappschuss von diesem Spielfeld stammt und seitdem kein Feld
+	 * gendert wurde. Muss in dem Thread aufgerufen werden, der die Zge ausfhrt.
+	 * 
+	 * @param schnappschuss
+	 * 		der Schnappschuss mit den berechneten Wahrscheinlichkeiten
+	 * @return true, wenn der Schnappschuss noch aktuell ist; false, wenn seine
+	 * 		Ergebnisse verworfen werden mssen
+	 */
+	public boolean uebernehmeWahrscheinlichkeiten(final Spielfeld schnappschuss) {
+		if (!this.isAktuellerSchnappschuss(schnappschuss))
+			return false;
+		final double[][] wahrscheinlichkeiten =
+				schnappschuss.probabilityCalculator.getAktuelleWahrscheinlichkeiten();
+		if (wahrscheinlichkeiten != null)
+			this.probabilityCalculator.setzeWahrscheinlichkeiten(wahrscheinlichkeiten);
+		return true;
+	}
+	
+	/**
+	 * Beginnt einen neuen Zug. Alle nderungen bis zum nchsten Aufruf, z.B. auch
+	 * das Aufdecken eines minenfreien Gebiets, werden gemeinsam rckgngig gemacht.
+	 * Vor dem ersten Aufruf werden keine Zge protokolliert.
+	 */
+	public void beginneZug() {
+		this.zugjournal.beginneZug(
+				this.probabilityCalculator.getAktuelleWahrscheinlichkeiten());
+	}
+	
+	/**
+	 * Gibt zurck, ob ein Zug rckgngig gemacht werden kann.
+	 * 
+	 * @return true, wenn ein Zug rckgngig gemacht werden kann
+	 */
+	public boolean kannZugRueckgaengigMachen() {
+		return this.zugjournal.kannRueckgaengigMachen();
+	}
+	
+	/**
+	 * Gibt zurck, ob ein rckgngig gemachter Zug wiederholt werden kann.
+	 * 
+	 * @return true, wenn ein Zug wiederholt werden kann
+	 */
+	public boolean kannZugWiederholen() {
+		return this.zugjournal.kannWiederholen();
+	}
+	
+	/**
+	 * Macht den letzten Zug rckgngig. Der Aufwand ist proportional zur Zahl
+	 * der Felder, die der Zug gendert hat.
+	 * 
+	 * @return die Koordinaten der genderten Felder
+	 */
+	public ArrayList<Koordinate> macheZugRueckgaengig() {
+		return this.wechsleZug(true);
+	}
+	
+	/**
+	 * Wiederholt den zuletzt rckgngig gemachten Zug.
+	 * 
+	 * @return die Koordinaten der genderten Felder
+	 */
+	public ArrayList<Koordinate> wiederholeZug() {
+		return this.wechsleZug(false);
+	}
+	
+	/**
+	 * Geht im Zugjournal einen Zug zurck bzw. vor, indem die protokollierten
+	 * Bits der Felder umgeschaltet werden. Liegen fr den erreichten Spielstand
+	 * noch Minenwahrscheinlichkeiten vor, werden sie bernommen.
+	 * 
+	 * @param rueckwaerts
+	 * 		true, um einen Zug zurckzugehen, false um einen vorzugehen
+	 * @return die Koordinaten der genderten Felder
+	 */
+	private ArrayList<Koordinate> wechsleZug(final boolean rueckwaerts) {
+		final int[] aenderungen = this.zugjournal.wechsleZug(rueckwaerts,
+				this.probabilityCalculator.getAktuelleWahrscheinlichkeiten());
+		final ArrayList<Koordinate> geaenderteFelder =
+				new ArrayList<Koordinate>(aenderungen.length);
+		for (int aenderung : aenderungen) {
+			final int feld = aenderung >>> 2;
+			if ((aenderung & Zugjournal.AUFGEDECKT) != 0) {
+				final int richtung =
+						(this.felder[feld] & Minefield.AUFGEDECKT) != 0 ? 1 : -1;
+				if ((this.felder[feld] & Minefield.MINE) != 0) {
+					this.verbleibendeMinen += richtung;
+				} else {
+					this.verbleibendeFelder += richtung;
+				}
+				this.felder[feld] ^= Minefield.AUFGEDECKT;
+			}
+			if ((aenderung & Zugjournal.MARKIERT) != 0) {
+				this.verbleibendeMinen +=
+						(this.felder[feld] & Minefield.MARKIERT) != 0 ? 1 : -1;
+				this.felder[feld] ^= Minefield.MARKIERT;
+			}
+			this.markiereGeaendert(feld);
+			geaenderteFelder.add(new Koordinate(feld / this.breite, feld % this.breite));
+		}
+		this.version++;
+		final double[][] wahrscheinlichkeiten = this.zugjournal.getWahrscheinlichkeiten();
+		if (wahrscheinlichkeiten != null) {
+			this.probabilityCalculator.setzeWahrscheinlichkeiten(wahrscheinlichkeiten);
+		} else {
+			this.probabilityCalculator.notifyOfChangedProbabilities();
+		}
+		return geaenderteFelder;
+	}
+	
+	/**
+	 * Prft, ob ein Feld des Minesweepers neben einer aufgedeckten Zahl liegt
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 * @return true, wenn ein aufgedecktes Nachbarfeld existiert
+	 */
+	public boolean hasUncoveredNeighbor(final int zeile, final int spalte) {
+		for (int nachbarzeile = Math.max(0,zeile-1);
+				nachbarzeile < Math.min(this.hoehe, zeile+2); nachbarzeile++)
+			for (int nachbarspalte = Math.max(0,spalte-1);
+					nachbarspalte < Math.min(this.breite, spalte+2); nachbarspalte++)
+				if (this.isUncovered(nachbarzeile, nachbarspalte))
+					return true;
+		return false;
+	}
+	
+	/**
+	 * Plaziert zufllig die Minen des Minesweepers.
+	 */
+	private void placeMines(final int hoehe, final int breite, final int minenzahl) {
+		int zuPlazierendeMinen = minenzahl;
+		while (zuPlazierendeMinen != 0) {
+			final int zufaelligeZeile = (int) (Math.random() * hoehe);
+			final int zufaelligeSpalte = (int) (Math.random() * breite);
+			if (this.isMine(zufaelligeZeile, zufaelligeSpalte))
+				continue;
+			this.setzeMine(zufaelligeZeile, zufaelligeSpalte);
+			zuPlazierendeMinen -= 1;
+		}
+	}
+	
+	/**
+	 * Legt eine Mine auf ein Feld und erhht die Minenzahl der Nachbarfelder.
+	 * 
+	 * @param zeile
+	 * 		die Zeile der neuen Mine
+	 * @param spalte
+	 * 		die Spalte der neuen Mine
+	 */
+	private void setzeMine(final int zeile, final int spalte) {
+		this.felder[zeile * this.breite + spalte] |= Minefield.MINE;
+		if (zeile > 0)
+			this.felder[(zeile-1) * this.breite + spalte]++;
+		if (zeile > 0 && spalte > 0)
+			this.felder[(zeile-1) * this.breite + spalte-1]++;
+		if (zeile > 0 && spalte < this.breite-1)
+			this.felder[(zeile-1) * this.breite + spalte+1]++;
+		if (spalte > 0)
+			this.felder[zeile * this.breite + spalte-1]++;
+		if (spalte < this.breite-1)
+			this.felder[zeile * this.breite + spalte+1]++;
+		if (zeile < this.hoehe-1)
+			this.felder[(zeile+1) * this.breite + spalte]++;
+		if (zeile < this.hoehe-1 && spalte > 0)
+			this.felder[(zeile+1) * this.breite + spalte-1]++;
+		if (zeile < this.hoehe-1 && spalte < this.breite-1)
+			this.felder[(zeile+1) * this.breite + spalte+1]++;
+	}
+
+	/**
+	 * Teilt dem ProbabilityCalculator mit, ob die nchsten 
+	 * Wahrscheinlichkeitsberechnungen unterbrochen werden sollen oder nicht.
+	 * @param wert
+	 * 		bei "true" werden die Berechnungen unterbrochen, bei "false" nicht.
+	 */
+	public void setInterruptionDetected(final boolean wert) {
+		this.probabilityCalculator.setInterruptionDetected(wert);
+	}
+	
+	/**
+	 * Gibt zurck, ob derzeit eine Berechnung luft, die unterbrochen werden soll
+	 * @return "true", wenn die Berechnung unterbrochen werden soll
+	 */
+	public boolean calculationIsInterrupted() {
+		return this.probabilityCalculator.isInterrupted();
+	}
+}
\ No newline at end of file
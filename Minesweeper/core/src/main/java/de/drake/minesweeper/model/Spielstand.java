@@ -0,0 +1,345 @@
+package de.drake.minesweeper.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Speichert und ldt vollstndige Spielfelder in einem bitgepackten Binrformat.
+ * Die Datei wird in einem Stck ber einen FileChannel gelesen und geschrieben,
+ * so dass auch Spielfelder mit 10.000x10.000 Feldern in Sekundenbruchteilen
+ * gespeichert und geladen werden. Die Datei wird dabei nicht in den Speicher
+ * eingeblendet, da eine eingeblendete Datei unter Windows bis zur Freigabe des
+ * Puffers nicht gekrzt oder gelscht werden kann.
+ * 
+ * Aufbau der Datei: ein Kopf aus acht int-Werten (big endian) mit KENNUNG,
+ * VERSION, Hhe, Breite, Minenzahl, verbleibenden Minen, verbleibenden Feldern
+ * und einem reservierten Wert, danach drei Bitebenen fr Minen, aufgedeckte und
+ * markierte Felder. Jede Ebene besteht aus long-Werten (little endian), Feld i
+ * steht im Byte i/8 im Bit i%8 der Ebene. Die Nachbarminenzahlen werden nicht
+ * gespeichert, sondern beim Laden in einem Durchgang neu berechnet.
+ */
+public final class Spielstand {
+	
+	/**
+	 * Die Kennung am Anfang jeder Spielstanddatei ("MSSP")
+	 */
+	public static final int KENNUNG = 0x4D535350;
+	
+	/**
+	 * Die Version des Dateiformats
+	 */
+	public static final int VERSION = 1;
+	
+	/**
+	 * Die Dateiendung fr Spielstnde
+	 */
+	public static final String ENDUNG = ".mss";
+	
+	/**
+	 * Die Lnge des Dateikopfes in Bytes
+	 */
+	static final int KOPFLAENGE = 32;
+	
+	/**
+	 * Verteilt die acht Bits eines Bytes auf die untersten Bits von acht Bytes:
+	 * Bit i landet in Byte i.
+	 */
+	private static final long[] SPREIZUNG = new long[256];
+	
+	static {
+		for (int bits = 0; bits < 256; bits++)
+			for (int bit = 0; bit < 8; bit++)
+				if ((bits & (1 << bit)) != 0)
+					SPREIZUNG[bits] |= 1L << (8 * bit);
+	}
+	
+	/**
+	 * Nicht instanziierbar.
+	 */
+	private Spielstand() {
+	}
+	
+	/**
+	 * Berechnet die Lnge einer Bitebene.
+	 * 
+	 * @param felderzahl
+	 * 		die Anzahl der Felder
+	 * @return die Lnge einer Bitebene in Bytes
+	 */
+	static long getEbenenlaenge(final long felderzahl) {
+		return (felderzahl + 63) / 64 * 8;
+	}
+	
+	/**
+	 * Speichert ein Spielfeld in einer Datei. Eine vorhandene Datei wird
+	 * berschrieben.
+	 * 
+	 * @param spielfeld
+	 * 		das zu speichernde Spielfeld
+	 * @param datei
+	 * 		die Zieldatei
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Datei nicht geschrieben werden konnte
+	 */
+	public static void speichere(final Spielfeld spielfeld, final File datei)
+			throws IOException {
+		final byte[] felder = spielfeld.getFelder();
+		final long ebenenlaenge = Spielstand.getEbenenlaenge(felder.length);
+		final ByteBuffer puffer = ByteBuffer.allocate((int) (KOPFLAENGE + 3 * ebenenlaenge));
+		Spielstand.schreibeKopf(spielfeld, puffer);
+		puffer.order(ByteOrder.LITTLE_ENDIAN);
+		Spielstand.schreibeEbenen(felder, puffer, KOPFLAENGE, (int) ebenenlaenge,
+				0, (int) ebenenlaenge / 8);
+		final FileChannel kanal = FileChannel.open(datei.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+		try {
+			while (puffer.hasRemaining())
+				kanal.write(puffer);
+		} finally {
+			kanal.close();
+		}
+	}
+	
+	/**
+	 * Schreibt den Dateikopf an den Anfang eines Puffers. Die Byte-Reihenfolge
+	 * des Puffers wird dabei auf big endian gesetzt.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param puffer
+	 * 		der Puffer
+	 */
+	static void schreibeKopf(final Spielfeld spielfeld, final ByteBuffer puffer) {
+		puffer.order(ByteOrder.BIG_ENDIAN);
+		puffer.putInt(0, KENNUNG);
+		puffer.putInt(4, VERSION);
+		puffer.putInt(8, spielfeld.getHoehe());
+		puffer.putInt(12, spielfeld.getBreite());
+		puffer.putInt(16, spielfeld.getMinenzahl());
+		puffer.putInt(20, spielfeld.getVerbleibendeMinen());
+		puffer.putInt(24, spielfeld.getVerbleibendeFelder());
+		puffer.putInt(28, 0);
+	}
+	
+	/**
+	 * Packt die Minen-, Aufgedeckt- und Markiert-Bits eines Bereiches von Feldern
+	 * in die drei Bitebenen. Je acht Felder werden als long gelesen und mit einer
+	 * Multiplikation zu einem Byte je Ebene zusammengeschoben.
+	 * 
+	 * @param felder
+	 * 		die kodierten Felder
+	 * @param puffer
+	 * 		der Puffer, in den geschrieben wird (little endian)
+	 * @param anfang
+	 * 		die Position der ersten Ebene im Puffer
+	 * @param ebenenlaenge
+	 * 		die Lnge einer Ebene in Bytes
+	 * @param erstesWort
+	 * 		das erste zu packende Wort; Wort i umfasst die Felder 64*i bis 64*i+63
+	 * @param letztesWort
+	 * 		das erste nicht mehr zu packende Wort
+	 */
+	static void schreibeEbenen(final byte[] felder, final ByteBuffer puffer,
+			final int anfang, final int ebenenlaenge, final int erstesWort,
+			final int letztesWort) {
+		final ByteBuffer feldpuffer = ByteBuffer.wrap(felder).order(ByteOrder.LITTLE_ENDIAN);
+		for (int wort = erstesWort; wort < letztesWort; wort++) {
+			long minen = 0;
+			long aufgedeckt = 0;
+			long markiert = 0;
+			for (int gruppe = 0; gruppe < 8; gruppe++) {
+				final int erstesFeld = wort * 64 + gruppe * 8;
+				if (erstesFeld >= felder.length)
+					break;
+				final long achtFelder;
+				if (erstesFeld + 8 <= felder.length) {
+					achtFelder = feldpuffer.getLong(erstesFeld);
+				} else {
+					long rest = 0;
+					for (int feld = erstesFeld; feld < felder.length; feld++)
+						rest |= (felder[feld] & 0xFFL) << (8 * (feld - erstesFeld));
+					achtFelder = rest;
+				}
+				minen |= Spielstand.sammle(achtFelder >>> 4) << (8 * gruppe);
+				aufgedeckt |= Spielstand.sammle(achtFelder >>> 5) << (8 * gruppe);
+				markiert |= Spielstand.sammle(achtFelder >>> 6) << (8 * gruppe);
+			}
+			puffer.putLong(anfang + wort * 8, minen);
+			puffer.putLong(anfang + ebenenlaenge + wort * 8, aufgedeckt);
+			puffer.putLong(anfang + 2 * ebenenlaenge + wort * 8, markiert);
+		}
+	}
+	
+	/**
+	 * Sammelt das jeweils unterste Bit der acht Bytes eines long in einem Byte.
+	 * Die Multiplikation verschiebt das Bit aus Byte i an Position 56+i, ohne dass
+	 * sich die Teilprodukte berlagern.
+	 * 
+	 * @param achtFelder
+	 * 		acht Bytes, von denen jeweils nur das unterste Bit ausgewertet wird
+	 * @return die acht Bits, Bit i stammt aus Byte i
+	 */
+	private static long sammle(final long achtFelder) {
+		return ((achtFelder & 0x0101010101010101L) * 0x0102040810204080L) >>> 56;
+	}
+	
+	/**
+	 * Ldt ein Spielfeld aus einer Datei.
+	 * 
+	 * @param datei
+	 * 		die Datei mit dem Spielstand
+	 * @return das geladene Spielfeld
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Datei nicht gelesen werden konnte oder
+	 * 		keinen gltigen Spielstand enthlt
+	 */
+	public static Spielfeld lade(final File datei) throws IOException {
+		final FileChannel kanal = FileChannel.open(datei.toPath(),
+				StandardOpenOption.READ);
+		try {
+			if (kanal.size() < KOPFLAENGE)
+				throw new IOException(datei + " ist kein Spielstand.");
+			if (kanal.size() > Integer.MAX_VALUE)
+				throw new IOException(datei + " hat eine ungltige Gre.");
+			final ByteBuffer puffer = ByteBuffer.allocate((int) kanal.size());
+			while (puffer.hasRemaining())
+				if (kanal.read(puffer) < 0)
+					throw new IOException(datei + " ist unvollstndig.");
+			puffer.flip();
+			if (puffer.getInt() != KENNUNG)
+				throw new IOException(datei + " ist kein Spielstand.");
+			if (puffer.getInt() != VERSION)
+				throw new IOException(datei + " hat eine unbekannte Version.");
+			final int hoehe = puffer.getInt();
+			final int breite = puffer.getInt();
+			final int minenzahl = puffer.getInt();
+			final int verbleibendeMinen = puffer.getInt();
+			final int verbleibendeFelder = puffer.getInt();
+			final long felderzahl = (long) hoehe * breite;
+			if (hoehe <= 0 || breite <= 0 || felderzahl > Integer.MAX_VALUE - 8)
+				throw new IOException(datei + " hat eine ungltige Gre.");
+			final long ebenenlaenge = Spielstand.getEbenenlaenge(felderzahl);
+			if (kanal.size() != KOPFLAENGE + 3 * ebenenlaenge)
+				throw new IOException(datei + " ist unvollstndig.");
+			puffer.order(ByteOrder.LITTLE_ENDIAN);
+			final byte[] felder = new byte[(int) felderzahl];
+			Spielstand.leseEbenen(felder, puffer, KOPFLAENGE, (int) ebenenlaenge);
+			Spielstand.berechneBenachbarteMinen(felder, hoehe, breite);
+			return new Spielfeld(hoehe, breite, felder, minenzahl,
+					verbleibendeMinen, verbleibendeFelder);
+		} finally {
+			kanal.close();
+		}
+	}
+	
+	/**
+	 * Entpackt die drei Bitebenen in die kodierten Felder. Je acht Felder werden
+	 * ber die Tabelle SPREIZUNG auf einmal als long geschrieben; Wrter, in denen
+	 * kein Bit gesetzt ist, werden bersprungen.
+	 * 
+	 * @param felder
+	 * 		die kodierten Felder, die zu Beginn 0 sein mssen
+	 * @param puffer
+	 * 		der Puffer, aus dem gelesen wird (little endian)
+	 * @param anfang
+	 * 		die Position der ersten Ebene im Puffer
+	 * @param ebenenlaenge
+	 * 		die Lnge einer Ebene in Bytes
+	 */
+	private static void leseEbenen(final byte[] felder, final ByteBuffer puffer,
+			final int anfang, final int ebenenlaenge) {
+		final ByteBuffer feldpuffer = ByteBuffer.wrap(felder).order(ByteOrder.LITTLE_ENDIAN);
+		for (int wort = 0; wort < ebenenlaenge / 8; wort++) {
+			final long minen = puffer.getLong(anfang + wort * 8);
+			final long aufgedeckt = puffer.getLong(anfang + ebenenlaenge + wort * 8);
+			final long markiert = puffer.getLong(anfang + 2 * ebenenlaenge + wort * 8);
+			if ((minen | aufgedeckt | markiert) == 0)
+				continue;
+			for (int gruppe = 0; gruppe < 8; gruppe++) {
+				final int erstesFeld = wort * 64 + gruppe * 8;
+				if (erstesFeld >= felder.length)
+					break;
+				final long achtFelder =
+						(SPREIZUNG[(int) (minen >>> (8 * gruppe)) & 0xFF] << 4)
+						| (SPREIZUNG[(int) (aufgedeckt >>> (8 * gruppe)) & 0xFF] << 5)
+						| (SPREIZUNG[(int) (markiert >>> (8 * gruppe)) & 0xFF] << 6);
+				if (erstesFeld + 8 <= felder.length) {
+					feldpuffer.putLong(erstesFeld, achtFelder);
+				} else {
+					for (int feld = erstesFeld; feld < felder.length; feld++)
+						felder[feld] = (byte) (achtFelder >>> (8 * (feld - erstesFeld)));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Berechnet die Nachbarminenzahlen aller Felder in einem Durchgang. Dazu
+	 * werden je Zeile die Minen in Dreiergruppen waagerecht aufsummiert und dann
+	 * drei aufeinanderfolgende Zeilensummen addiert.
+	 * 
+	 * @param felder
+	 * 		die kodierten Felder, deren Nachbarminenzahlen 0 sein mssen
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 */
+	static void berechneBenachbarteMinen(final byte[] felder, final int hoehe,
+			final int breite) {
+		byte[] oben = new byte[breite];
+		byte[] mitte = new byte[breite];
+		byte[] unten = new byte[breite];
+		Spielstand.summiereWaagerecht(felder, 0, breite, mitte);
+		for (int zeile = 0; zeile < hoehe; zeile++) {
+			if (zeile + 1 < hoehe) {
+				Spielstand.summiereWaagerecht(felder, zeile + 1, breite, unten);
+			} else {
+				Arrays.fill(unten, (byte) 0);
+			}
+			final int zeilenanfang = zeile * breite;
+			for (int spalte = 0; spalte < breite; spalte++) {
+				final int feld = zeilenanfang + spalte;
+				felder[feld] += oben[spalte] + mitte[spalte] + unten[spalte]
+						- ((felder[feld] & Minefield.MINE) >> 4);
+			}
+			final byte[] frei = oben;
+			oben = mitte;
+			mitte = unten;
+			unten = frei;
+		}
+	}
+	
+	/**
+	 * Berechnet fr eine Zeile, wie viele Minen jeweils im Feld selbst und in
+	 * seinen waagerechten Nachbarn liegen.
+	 * 
+	 * @param felder
+	 * 		die kodierten Felder
+	 * @param zeile
+	 * 		die Zeile
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 * @param summen
+	 * 		das Ergebnis, eine Summe je Spalte
+	 */
+	private static void summiereWaagerecht(final byte[] felder, final int zeile,
+			final int breite, final byte[] summen) {
+		final int zeilenanfang = zeile * breite;
+		int links = 0;
+		int mitte = (felder[zeilenanfang] & Minefield.MINE) >> 4;
+		for (int spalte = 0; spalte < breite; spalte++) {
+			final int rechts = spalte + 1 < breite
+					? (felder[zeilenanfang + spalte + 1] & Minefield.MINE) >> 4 : 0;
+			summen[spalte] = (byte) (links + mitte + rechts);
+			links = mitte;
+			mitte = rechts;
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package de.drake.minesweeper.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Schreibt Stellungen, also Spielfelder samt Minenverteilung, aufgedeckten und
+ * markierten Feldern, in ein Text- oder Binrformat. Gelesen werden beide Formate
+ * vom Stellungsleser. Eine Datei darf beliebig viele Stellungen hintereinander
+ * enthalten.
+ * 
+ * Textformat (ISO-8859-1): Jede Stellung beginnt mit einer Kopfzeile
+ * "Stellung hoehe breite", gefolgt von hoehe Zeilen mit je breite Zeichen:
+ * '.' verdecktes Feld, '*' verdeckte Mine, 'F' markierte Mine, 'f' falsch
+ * markiertes Feld, '0' bis '8' aufgedecktes Feld mit der Anzahl benachbarter
+ * Minen, 'X' aufgedeckte Mine. Leerzeilen und Zeilen, die mit '#' beginnen,
+ * werden zwischen den Stellungen ignoriert.
+ * 
+ * Binrformat: Jede Stellung besteht aus der Kennung BINAERKENNUNG, der Hhe und
+ * der Breite (jeweils int, big endian) sowie drei Bitfeldern fr Minen,
+ * aufgedeckte und markierte Felder. Die Felder sind zeilenweise nummeriert, Feld i
+ * steht im Byte i/8 im Bit i%8.
+ */
+public final class Stellungsformat {
+	
+	/**
+	 * Die Kennung, mit der jede Stellung im Binrformat beginnt ("MSST")
+	 */
+	public static final int BINAERKENNUNG = 0x4D535354;
+	
+	/**
+	 * Die Kopfzeile, mit der jede Stellung im Textformat beginnt
+	 */
+	public static final String TEXTKENNUNG = "Stellung";
+	
+	/**
+	 * Die Dateiendung fr Stellungen im Textformat
+	 */
+	public static final String ENDUNG_TEXT = ".msp";
+	
+	/**
+	 * Die Dateiendung fr Stellungen im Binrformat
+	 */
+	public static final String ENDUNG_BINAER = ".msb";
+	
+	/**
+	 * Nicht instanziierbar.
+	 */
+	private Stellungsformat() {
+	}
+	
+	/**
+	 * Gibt das Zeichen zurck, mit dem ein Feld im Textformat dargestellt wird.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 * @return das Zeichen fr das Feld
+	 */
+	static char getZeichen(final Spielfeld spielfeld, final int zeile,
+			final int spalte) {
+		final boolean mine = spielfeld.isMine(zeile, spalte);
+		if (spielfeld.isUncovered(zeile, spalte))
+			return mine ? 'X' : (char) ('0' + spielfeld.getBenachbarteMinen(zeile, spalte));
+		if (spielfeld.isMarkedAsMine(zeile, spalte))
+			return mine ? 'F' : 'f';
+		return mine ? '*' : '.';
+	}
+	
+	/**
+	 * Gibt eine Stellung im Textformat zurck.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @return die Stellung im Textformat, mit Zeilenumbrchen "\n"
+	 */
+	public static String toText(final Spielfeld spielfeld) {
+		final StringBuilder text = new StringBuilder(
+				(spielfeld.getBreite() + 1) * (spielfeld.getHoehe() + 1));
+		text.append(TEXTKENNUNG).append(' ').append(spielfeld.getHoehe())
+				.append(' ').append(spielfeld.getBreite()).append('\n');
+		for (int zeile = 0; zeile < spielfeld.getHoehe(); zeile++) {
+			for (int spalte = 0; spalte < spielfeld.getBreite(); spalte++)
+				text.append(Stellungsformat.getZeichen(spielfeld, zeile, spalte));
+			text.append('\n');
+		}
+		return text.toString();
+	}
+	
+	/**
+	 * Schreibt eine Stellung im Textformat.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param ausgabe
+	 * 		der Writer, in den geschrieben wird
+	 * @throws IOException
+	 * 		wird geworfen, wenn nicht geschrieben werden konnte
+	 */
+	public static void schreibeText(final Spielfeld spielfeld, final Writer ausgabe)
+			throws IOException {
+		ausgabe.write(Stellungsformat.toText(spielfeld));
+	}
+	
+	/**
+	 * Schreibt eine Stellung im Binrformat.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param ausgabe
+	 * 		der Stream, in den geschrieben wird
+	 * @throws IOException
+	 * 		wird geworfen, wenn nicht geschrieben werden konnte
+	 */
+	public static void schreibeBinaer(final Spielfeld spielfeld,
+			final DataOutputStream ausgabe) throws IOException {
+		final int hoehe = spielfeld.getHoehe();
+		final int breite = spielfeld.getBreite();
+		final int laenge = (int) (((long) hoehe * breite + 7) / 8);
+		final byte[] minen = new byte[laenge];
+		final byte[] aufgedeckt = new byte[laenge];
+		final byte[] markiert = new byte[laenge];
+		int feld = 0;
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++, feld++) {
+				final int bit = 1 << (feld & 7);
+				if (spielfeld.isMine(zeile, spalte))
+					minen[feld >>> 3] |= bit;
+				if (spielfeld.isUncovered(zeile, spalte))
+					aufgedeckt[feld >>> 3] |= bit;
+				if (spielfeld.isMarkedAsMine(zeile, spalte))
+					markiert[feld >>> 3] |= bit;
+			}
+		ausgabe.writeInt(BINAERKENNUNG);
+		ausgabe.writeInt(hoehe);
+		ausgabe.writeInt(breite);
+		ausgabe.write(minen);
+		ausgabe.write(aufgedeckt);
+		ausgabe.write(markiert);
+	}
+	
+	/**
+	 * Speichert eine Stellung in einer Datei. Endet der Dateiname auf
+	 * ENDUNG_BINAER, wird das Binrformat verwendet, sonst das Textformat.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param datei
+	 * 		die Datei, die berschrieben wird
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Datei nicht geschrieben werden konnte
+	 */
+	public static void speichere(final Spielfeld spielfeld, final File datei)
+			throws IOException {
+		if (datei.getName().toLowerCase().endsWith(ENDUNG_BINAER)) {
+			final DataOutputStream ausgabe = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(datei)));
+			try {
+				Stellungsformat.schreibeBinaer(spielfeld, ausgabe);
+			} finally {
+				ausgabe.close();
+			}
+		} else {
+			final Writer ausgabe = new OutputStreamWriter(
+					new FileOutputStream(datei), "ISO-8859-1");
+			try {
+				Stellungsformat.schreibeText(spielfeld, ausgabe);
+			} finally {
+				ausgabe.close();
+			}
+		}
+	}
+	
+	/**
+	 * Ldt die erste Stellung aus einer Datei im Text- oder Binrformat.
+	 * 
+	 * @param datei
+	 * 		die Datei
+	 * @return das Spielfeld in der gespeicherten Stellung
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Datei nicht gelesen werden konnte oder keine
+	 * 		gltige Stellung enthlt
+	 */
+	public static Spielfeld lade(final File datei) throws IOException {
+		final Stellungsleser stellungsleser =
+				new Stellungsleser(new FileInputStream(datei));
+		try {
+			final Spielfeld spielfeld = stellungsleser.naechsteStellung();
+			if (spielfeld == null)
+				throw new IOException(datei + " enthlt keine Stellung.");
+			return spielfeld;
+		} finally {
+			stellungsleser.close();
+		}
+	}
+	
+	/**
+	 * Baut ein Spielfeld in einer beliebigen Stellung auf.
+	 * 
+	 * @param minen
+	 * 		die Minenverteilung
+	 * @param aufgedeckt
+	 * 		die aufgedeckten Felder
+	 * @param markiert
+	 * 		die als Mine markierten Felder
+	 * @return das Spielfeld
+	 */
+	public static Spielfeld erzeugeSpielfeld(final boolean[][] minen,
+			final boolean[][] aufgedeckt, final boolean[][] markiert) {
+		final Spielfeld spielfeld = new Spielfeld(minen);
+		for (int zeile = 0; zeile < spielfeld.getHoehe(); zeile++)
+			for (int spalte = 0; spalte < spielfeld.getBreite(); spalte++) {
+				if (aufgedeckt[zeile][spalte]) {
+					spielfeld.setUncovered(zeile, spalte);
+				} else if (markiert[zeile][spalte]) {
+					spielfeld.setMarkedAsMine(zeile, spalte, true);
+				}
+			}
+		return spielfeld;
+	}
+}
@@ -0,0 +1,203 @@
+package de.drake.minesweeper.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+/**
+ * Liest Stellungen nacheinander aus einem Stream, ohne die ganze Datei in den
+ * Speicher zu laden. Ob der Stream im Text- oder im Binrformat vorliegt, wird
+ * an den ersten vier Bytes erkannt. Die Formate sind im Stellungsformat
+ * beschrieben.
+ */
+public class Stellungsleser implements Closeable {
+	
+	/**
+	 * Der Stream im Binrformat, null beim Textformat
+	 */
+	private DataInputStream binaer;
+	
+	/**
+	 * Der Reader im Textformat, null beim Binrformat
+	 */
+	private BufferedReader text;
+	
+	/**
+	 * Die Nummer der zuletzt gelesenen Textzeile, fr Fehlermeldungen
+	 */
+	private int zeilennummer = 0;
+	
+	/**
+	 * ffnet einen Stream mit Stellungen.
+	 * 
+	 * @param eingabe
+	 * 		der Stream, der die Stellungen enthlt
+	 * @throws IOException
+	 * 		wird geworfen, wenn der Stream nicht gelesen werden konnte
+	 */
+	public Stellungsleser(final InputStream eingabe) throws IOException {
+		final BufferedInputStream gepuffert = new BufferedInputStream(eingabe, 1 << 16);
+		gepuffert.mark(4);
+		int kennung = 0;
+		for (int i = 0; i < 4; i++)
+			kennung = (kennung << 8) | (gepuffert.read() & 0xFF);
+		gepuffert.reset();
+		if (kennung == Stellungsformat.BINAERKENNUNG) {
+			this.binaer = new DataInputStream(gepuffert);
+		} else {
+			this.text = new BufferedReader(
+					new InputStreamReader(gepuffert, "ISO-8859-1"));
+		}
+	}
+	
+	/**
+	 * Liest die nchste Stellung.
+	 * 
+	 * @return das Spielfeld in der nchsten Stellung oder null, wenn der Stream
+	 * 		keine weitere Stellung enthlt
+	 * @throws IOException
+	 * 		wird geworfen, wenn der Stream nicht gelesen werden konnte oder keine
+	 * 		gltige Stellung enthlt
+	 */
+	public Spielfeld naechsteStellung() throws IOException {
+		if (this.binaer != null)
+			return this.naechsteBinaerstellung();
+		return this.naechsteTextstellung();
+	}
+	
+	/**
+	 * Liest die nchste Stellung im Textformat.
+	 * 
+	 * @return das Spielfeld oder null am Ende des Streams
+	 * @throws IOException
+	 * 		wird geworfen, wenn der Stream keine gltige Stellung enthlt
+	 */
+	private Spielfeld naechsteTextstellung() throws IOException {
+		String kopfzeile;
+		do {
+			kopfzeile = this.text.readLine();
+			if (kopfzeile == null)
+				return null;
+			this.zeilennummer++;
+			kopfzeile = kopfzeile.trim();
+		} while (kopfzeile.length() == 0 || kopfzeile.startsWith("#"));
+		final String[] kopf = kopfzeile.split("\\s+");
+		final int hoehe;
+		final int breite;
+		try {
+			if (kopf.length != 3 || !kopf[0].equals(Stellungsformat.TEXTKENNUNG))
+				throw new NumberFormatException();
+			hoehe = Integer.parseInt(kopf[1]);
+			breite = Integer.parseInt(kopf[2]);
+		} catch (NumberFormatException e) {
+			throw this.fehler("Kopfzeile \"" + Stellungsformat.TEXTKENNUNG
+					+ " hoehe breite\" erwartet");
+		}
+		if (hoehe <= 0 || breite <= 0)
+			throw this.fehler("ungltige Gre " + hoehe + "x" + breite);
+		final boolean[][] minen = new boolean[hoehe][breite];
+		final boolean[][] aufgedeckt = new boolean[hoehe][breite];
+		final boolean[][] markiert = new boolean[hoehe][breite];
+		final char[][] zeichen = new char[hoehe][];
+		for (int zeile = 0; zeile < hoehe; zeile++) {
+			final String textzeile = this.text.readLine();
+			if (textzeile == null)
+				throw this.fehler("unerwartetes Dateiende");
+			this.zeilennummer++;
+			zeichen[zeile] = textzeile.trim().toCharArray();
+			if (zeichen[zeile].length != breite)
+				throw this.fehler(breite + " Zeichen erwartet");
+			for (int spalte = 0; spalte < breite; spalte++) {
+				final char feld = zeichen[zeile][spalte];
+				if (feld == '*' || feld == 'F' || feld == 'X')
+					minen[zeile][spalte] = true;
+				if (feld == 'F' || feld == 'f')
+					markiert[zeile][spalte] = true;
+				if (feld == 'X' || (feld >= '0' && feld <= '8')) {
+					aufgedeckt[zeile][spalte] = true;
+				} else if (feld != '.' && feld != '*' && feld != 'F' && feld != 'f') {
+					throw this.fehler("ungltiges Zeichen '" + feld + "'");
+				}
+			}
+		}
+		final Spielfeld spielfeld =
+				Stellungsformat.erzeugeSpielfeld(minen, aufgedeckt, markiert);
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++)
+				if (Stellungsformat.getZeichen(spielfeld, zeile, spalte)
+						!= zeichen[zeile][spalte])
+					throw new IOException("Stellung vor Zeile " + this.zeilennummer
+							+ ": Feld (" + zeile + "," + spalte + ") passt nicht zur "
+							+ "Minenverteilung");
+		return spielfeld;
+	}
+	
+	/**
+	 * Liest die nchste Stellung im Binrformat.
+	 * 
+	 * @return das Spielfeld oder null am Ende des Streams
+	 * @throws IOException
+	 * 		wird geworfen, wenn der Stream keine gltige Stellung enthlt
+	 */
+	private Spielfeld naechsteBinaerstellung() throws IOException {
+		final int kennung;
+		try {
+			kennung = this.binaer.readInt();
+		} catch (EOFException e) {
+			return null;
+		}
+		if (kennung != Stellungsformat.BINAERKENNUNG)
+			throw new IOException("Ungltige Kennung einer Binrstellung");
+		final int hoehe = this.binaer.readInt();
+		final int breite = this.binaer.readInt();
+		if (hoehe <= 0 || breite <= 0)
+			throw new IOException("Ungltige Gre " + hoehe + "x" + breite);
+		final int laenge = (int) (((long) hoehe * breite + 7) / 8);
+		final byte[] minenbits = new byte[laenge];
+		final byte[] aufgedecktbits = new byte[laenge];
+		final byte[] markiertbits = new byte[laenge];
+		this.binaer.readFully(minenbits);
+		this.binaer.readFully(aufgedecktbits);
+		this.binaer.readFully(markiertbits);
+		final boolean[][] minen = new boolean[hoehe][breite];
+		final boolean[][] aufgedeckt = new boolean[hoehe][breite];
+		final boolean[][] markiert = new boolean[hoehe][breite];
+		int feld = 0;
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++, feld++) {
+				final int bit = 1 << (feld & 7);
+				minen[zeile][spalte] = (minenbits[feld >>> 3] & bit) != 0;
+				aufgedeckt[zeile][spalte] = (aufgedecktbits[feld >>> 3] & bit) != 0;
+				markiert[zeile][spalte] = (markiertbits[feld >>> 3] & bit) != 0;
+			}
+		return Stellungsformat.erzeugeSpielfeld(minen, aufgedeckt, markiert);
+	}
+	
+	/**
+	 * Erzeugt eine Fehlermeldung mit der aktuellen Zeilennummer.
+	 * 
+	 * @param meldung
+	 * 		die Beschreibung des Fehlers
+	 * @return die Exception, die geworfen werden soll
+	 */
+	private IOException fehler(final String meldung) {
+		return new IOException("Zeile " + this.zeilennummer + ": " + meldung);
+	}
+	
+	/**
+	 * Schliet den zugrundeliegenden Stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.binaer != null) {
+			this.binaer.close();
+		} else {
+			this.text.close();
+		}
+	}
+}
@@ -0,0 +1,537 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Zhlt die Besetzungen einer Komponente von Randklassen durch dynamische
+ * Programmierung statt durch Backtracking. Wird vom ProbabilityCalculator fr
+ * lange, schmale Komponenten verwendet.
+ *
+ * Die Klassen werden in einer festen Reihenfolge durchlaufen. Zwischen zwei
+ * aufeinanderfolgenden Klassen liegt ein Schnitt; offen sind dort die Bedingungen,
+ * die Klassen auf beiden Seiten des Schnitts haben. Ein Zustand eines Schnitts
+ * ist die Minenzahl, die die Klassen vor dem Schnitt jeder offenen Bedingung
+ * schon zuweisen. Zu jedem Zustand wird ein Vektor gespeichert, der die
+ * Besetzungen vor dem Schnitt nach ihrer Minenzahl gewichtet. Der Aufwand ist
+ * damit linear in der Anzahl der Klassen und nur in der Anzahl der offenen
+ * Bedingungen, der Pfadweite, exponentiell.
+ *
+ * Fr die Minenwahrscheinlichkeiten der Klassen wird zustzlich von hinten
+ * gerechnet, wobei die Gewichte der brigen Komponenten schon eingehen. Damit
+ * nicht alle Vektoren beider Richtungen zugleich im Speicher liegen, werden
+ * von vorne nur etwa Wurzel aus der Klassenzahl Schnitte aufbewahrt und die
+ * dazwischenliegenden bei Bedarf neu berechnet.
+ */
+final class Transfermatrix implements Komponentenzaehler {
+	
+	/**
+	 * Die Mindestzahl an Klassen, ab der sich die Transfermatrix gegenber dem
+	 * Backtracking lohnt.
+	 */
+	static final int MINDESTKLASSEN = 16;
+	
+	/**
+	 * Die grte Anzahl an Zustnden eines Schnitts, bis zu der die Transfermatrix
+	 * verwendet wird.
+	 */
+	static final int MAXIMALE_ZUSTAENDE = 1 << 14;
+	
+	/**
+	 * Der ProbabilityCalculator, dessen Berechnung unterbrochen werden kann.
+	 */
+	private final ProbabilityCalculator rechner;
+	
+	/**
+	 * Die Randklassen, zu denen die Komponente gehrt.
+	 */
+	private final Randklassen randklassen;
+	
+	/**
+	 * Die Klassen der Komponente in der Reihenfolge des Durchlaufs.
+	 */
+	private final int[] reihenfolge;
+	
+	/**
+	 * Die Position jeder Bedingung der Komponente, an der sie sich ffnet.
+	 */
+	private final int[] erstePosition;
+	
+	/**
+	 * Die Position jeder Bedingung der Komponente, an der sie sich schliet.
+	 */
+	private final int[] letztePosition;
+	
+	/**
+	 * Die grte Anzahl gleichzeitig offener Bedingungen.
+	 */
+	private final int pfadweite;
+	
+	/**
+	 * Eine obere Schranke fr die Anzahl der Zustnde eines Schnitts.
+	 */
+	private final long zustandsschranke;
+	
+	/**
+	 * Die Anzahl der Randfelder vor jedem Schnitt.
+	 */
+	private int[] felderDavor;
+	
+	/**
+	 * Die offenen Bedingungen jedes Schnitts.
+	 */
+	private int[][] offen;
+	
+	/**
+	 * Der Stellenwert jeder offenen Bedingung in der Nummer eines Zustands.
+	 */
+	private int[][] stellenwert;
+	
+	/**
+	 * Die Anzahl der Felder jeder offenen Bedingung hinter jedem Schnitt.
+	 */
+	private int[][] restfelder;
+	
+	/**
+	 * Die Anzahl der Zustnde jedes Schnitts.
+	 */
+	private int[] zustaende;
+	
+	/**
+	 * Fr jede Position und jede offene Bedingung des Schnitts dahinter die Stelle
+	 * der Bedingung im Schnitt davor, -1 fr Bedingungen, die sich hier ffnen.
+	 */
+	private int[][] quelle;
+	
+	/**
+	 * Fr jede Position und jede offene Bedingung des Schnitts dahinter, ob die
+	 * Klasse an dieser Position zur Bedingung gehrt.
+	 */
+	private boolean[][] erhoeht;
+	
+	/**
+	 * Fr jede Position die Stellen der Bedingungen im Schnitt davor, die sich hier
+	 * schlieen, -1 fr Bedingungen, die sich hier zugleich ffnen.
+	 */
+	private int[][] schliessend;
+	
+	/**
+	 * Fr jede Position die Werte der Bedingungen, die sich hier schlieen.
+	 */
+	private int[][] schliessendWert;
+	
+	/**
+	 * Der Abstand der aufbewahrten Schnitte.
+	 */
+	private int abstand;
+	
+	/**
+	 * Die aufbewahrten Vektoren jedes abstand-ten Schnitts.
+	 */
+	private double[][][] kontrollpunkte;
+	
+	/**
+	 * Zhlt die besuchten Zustnde.
+	 */
+	private long besuchteZustaende;
+	
+	/**
+	 * Zhlt die verworfenen bergnge zwischen Zustnden.
+	 */
+	private long verworfeneUebergaenge;
+	
+	/**
+	 * Legt die Reihenfolge der Klassen einer Komponente fest und schtzt die
+	 * Anzahl der Zustnde ab. Die eigentliche Vorbereitung erfolgt erst in
+	 * berechneVerteilung().
+	 * 
+	 * @param rechner
+	 * 		der ProbabilityCalculator, dessen Berechnung unterbrochen werden kann
+	 * @param randklassen
+	 * 		die Randklassen
+	 * @param komponente
+	 * 		die Komponente
+	 */
+	Transfermatrix(final ProbabilityCalculator rechner, final Randklassen randklassen,
+			final int komponente) {
+		this.rechner = rechner;
+		this.randklassen = randklassen;
+		// Die Breitensuche der Randklassen endet an einer Klasse, die weit vom
+		// Anfang entfernt ist. Von dort aus ergibt eine zweite Breitensuche
+		// schmale Schnitte, bei Bndern etwa senkrecht zum Band.
+		final int[] klassen = randklassen.getKomponente(komponente);
+		this.reihenfolge = new int[klassen.length];
+		final int[] position = new int[randklassen.getKlassenzahl()];
+		Arrays.fill(position, -1);
+		this.reihenfolge[0] = klassen[klassen.length - 1];
+		position[this.reihenfolge[0]] = 0;
+		int laenge = 1;
+		for (int index = 0; index < laenge; index++)
+			for (final int bedingung : randklassen.getBedingungen(this.reihenfolge[index]))
+				for (final int nachbar : randklassen.getKlassen(bedingung))
+					if (position[nachbar] < 0) {
+						position[nachbar] = laenge;
+						this.reihenfolge[laenge++] = nachbar;
+					}
+	
+		// Wo sich jede Bedingung ffnet und schliet
+		this.erstePosition = new int[randklassen.getBedingungszahl()];
+		this.letztePosition = new int[randklassen.getBedingungszahl()];
+		final int[] offeneBedingungen = new int[klassen.length + 2];
+		final double[] logarithmen = new double[klassen.length + 2];
+		for (final int klasse : this.reihenfolge)
+			for (final int bedingung : randklassen.getBedingungen(klasse)) {
+				int erste = Integer.MAX_VALUE;
+				int letzte = -1;
+				for (final int beteiligte : randklassen.getKlassen(bedingung)) {
+					erste = Math.min(erste, position[beteiligte]);
+					letzte = Math.max(letzte, position[beteiligte]);
+				}
+				if (position[klasse] != erste)
+					continue;
+				this.erstePosition[bedingung] = erste;
+				this.letztePosition[bedingung] = letzte;
+				offeneBedingungen[erste + 1]++;
+				offeneBedingungen[letzte + 1]--;
+				final double logarithmus =
+						Math.log(Math.max(0, randklassen.getWert(bedingung)) + 1);
+				logarithmen[erste + 1] += logarithmus;
+				logarithmen[letzte + 1] -= logarithmus;
+			}
+		int pfadweite = 0;
+		double groessterLogarithmus = 0;
+		int weite = 0;
+		double logarithmus = 0;
+		for (int schnitt = 0; schnitt <= klassen.length; schnitt++) {
+			weite += offeneBedingungen[schnitt];
+			logarithmus += logarithmen[schnitt];
+			pfadweite = Math.max(pfadweite, weite);
+			groessterLogarithmus = Math.max(groessterLogarithmus, logarithmus);
+		}
+		this.pfadweite = pfadweite;
+		this.zustandsschranke = groessterLogarithmus > Math.log(Integer.MAX_VALUE)
+				? Long.MAX_VALUE : Math.round(Math.exp(groessterLogarithmus));
+	}
+	
+	/**
+	 * Gibt zurck, ob die Komponente schmal genug fr die Transfermatrix ist.
+	 * 
+	 * @return true, wenn kein Schnitt mehr als MAXIMALE_ZUSTAENDE Zustnde haben kann
+	 */
+	boolean istGeeignet() {
+		return this.zustandsschranke <= Transfermatrix.MAXIMALE_ZUSTAENDE;
+	}
+	
+	/**
+	 * Gibt die Pfadweite der gewhlten Reihenfolge zurck.
+	 * 
+	 * @return die grte Anzahl gleichzeitig offener Bedingungen
+	 */
+	int getPfadweite() {
+		return this.pfadweite;
+	}
+	
+	@Override
+	public long getBesuchteZustaende() {
+		return this.besuchteZustaende;
+	}
+	
+	@Override
+	public long getVerworfeneUebergaenge() {
+		return this.verworfeneUebergaenge;
+	}
+	
+	@Override
+	public double[] berechneVerteilung() throws InterruptedException {
+		this.bereiteVor();
+		final int klassenzahl = this.reihenfolge.length;
+		this.abstand = (int) Math.ceil(Math.sqrt(klassenzahl));
+		this.kontrollpunkte = new double[klassenzahl / this.abstand + 1][][];
+		double[][] vektoren = new double[1][];
+		vektoren[0] = new double[] {1};
+		for (int position = 0; position < klassenzahl; position++) {
+			if (position % this.abstand == 0)
+				this.kontrollpunkte[position / this.abstand] = vektoren;
+			vektoren = this.rechneVorwaerts(position, vektoren);
+		}
+		final double[] verteilung = vektoren[0] == null
+				? new double[this.felderDavor[klassenzahl] + 1] : vektoren[0];
+		Transfermatrix.normiere(new double[][] {verteilung});
+		return verteilung;
+	}
+	
+	@Override
+	public void berechneKlassenminen(final double[] gewichtung,
+			final double[] klassenwahrscheinlichkeit) throws InterruptedException {
+		final int klassenzahl = this.reihenfolge.length;
+		double[][] hinten = new double[1][];
+		hinten[0] = gewichtung.clone();
+		for (int anfang = (klassenzahl - 1) / this.abstand * this.abstand; anfang >= 0;
+				anfang -= this.abstand) {
+			final int ende = Math.min(anfang + this.abstand, klassenzahl);
+			final double[][][] vorne = new double[ende - anfang][][];
+			vorne[0] = this.kontrollpunkte[anfang / this.abstand];
+			for (int position = anfang; position < ende - 1; position++)
+				vorne[position - anfang + 1] =
+						this.rechneVorwaerts(position, vorne[position - anfang]);
+			for (int position = ende - 1; position >= anfang; position--)
+				hinten = this.rechneRueckwaerts(position, vorne[position - anfang],
+						hinten, klassenwahrscheinlichkeit);
+		}
+	}
+	
+	/**
+	 * Bestimmt die offenen Bedingungen jedes Schnitts und die bergnge zwischen
+	 * den Zustnden benachbarter Schnitte.
+	 */
+	private void bereiteVor() {
+		final int klassenzahl = this.reihenfolge.length;
+		this.felderDavor = new int[klassenzahl + 1];
+		this.offen = new int[klassenzahl + 1][];
+		this.stellenwert = new int[klassenzahl + 1][];
+		this.restfelder = new int[klassenzahl + 1][];
+		this.zustaende = new int[klassenzahl + 1];
+		this.quelle = new int[klassenzahl][];
+		this.erhoeht = new boolean[klassenzahl][];
+		this.schliessend = new int[klassenzahl][];
+		this.schliessendWert = new int[klassenzahl][];
+		final int bedingungszahl = this.randklassen.getBedingungszahl();
+		final int[] stelle = new int[bedingungszahl];
+		final int[] verbleibend = new int[bedingungszahl];
+		for (final int klasse : this.reihenfolge)
+			for (final int bedingung : this.randklassen.getBedingungen(klasse))
+				verbleibend[bedingung] += this.randklassen.getGroesse(klasse);
+		this.offen[0] = new int[0];
+		this.stellenwert[0] = new int[0];
+		this.restfelder[0] = new int[0];
+		this.zustaende[0] = 1;
+		for (int position = 0; position < klassenzahl; position++) {
+			final int klasse = this.reihenfolge[position];
+			final int[] bedingungen = this.randklassen.getBedingungen(klasse);
+			this.felderDavor[position + 1] =
+					this.felderDavor[position] + this.randklassen.getGroesse(klasse);
+			for (int index = 0; index < this.offen[position].length; index++)
+				stelle[this.offen[position][index]] = index;
+			final ArrayList<Integer> naechste = new ArrayList<Integer>();
+			final ArrayList<Integer> schliessend = new ArrayList<Integer>();
+			for (final int bedingung : this.offen[position])
+				if (this.letztePosition[bedingung] != position)
+					naechste.add(bedingung);
+			for (final int bedingung : bedingungen) {
+				verbleibend[bedingung] -= this.randklassen.getGroesse(klasse);
+				if (this.letztePosition[bedingung] == position)
+					schliessend.add(bedingung);
+				else if (this.erstePosition[bedingung] == position)
+					naechste.add(bedingung);
+			}
+			final int schnitt = position + 1;
+			this.offen[schnitt] = new int[naechste.size()];
+			this.stellenwert[schnitt] = new int[naechste.size()];
+			this.restfelder[schnitt] = new int[naechste.size()];
+			this.quelle[position] = new int[naechste.size()];
+			this.erhoeht[position] = new boolean[naechste.size()];
+			int zustaende = 1;
+			for (int index = 0; index < naechste.size(); index++) {
+				final int bedingung = naechste.get(index);
+				this.offen[schnitt][index] = bedingung;
+				this.stellenwert[schnitt][index] = zustaende;
+				zustaende *= Math.max(0, this.randklassen.getWert(bedingung)) + 1;
+				this.restfelder[schnitt][index] = verbleibend[bedingung];
+				this.quelle[position][index] = this.erstePosition[bedingung] == position
+						? -1 : stelle[bedingung];
+			}
+			this.zustaende[schnitt] = zustaende;
+			for (final int bedingung : bedingungen) {
+				final int index = naechste.indexOf(bedingung);
+				if (index >= 0)
+					this.erhoeht[position][index] = true;
+			}
+			this.schliessend[position] = new int[schliessend.size()];
+			this.schliessendWert[position] = new int[schliessend.size()];
+			for (int index = 0; index < schliessend.size(); index++) {
+				final int bedingung = schliessend.get(index);
+				this.schliessend[position][index] = this.erstePosition[bedingung] == position
+						? -1 : stelle[bedingung];
+				this.schliessendWert[position][index] = this.randklassen.getWert(bedingung);
+			}
+		}
+	}
+	
+	/**
+	 * Berechnet den Zustand des Schnitts hinter einer Position, wenn die Klasse
+	 * an dieser Position eine bestimmte Anzahl Minen erhlt.
+	 * 
+	 * @param position
+	 * 		die Position
+	 * @param werte
+	 * 		die Minenzahlen der offenen Bedingungen im Schnitt davor
+	 * @param minen
+	 * 		die Minenzahl der Klasse
+	 * @return die Nummer des Zustands oder -1, wenn eine Bedingung verletzt ist
+	 */
+	private int folgezustand(final int position, final int[] werte, final int minen) {
+		final int[] schliessend = this.schliessend[position];
+		for (int index = 0; index < schliessend.length; index++) {
+			final int wert = (schliessend[index] < 0 ? 0 : werte[schliessend[index]]) + minen;
+			if (wert != this.schliessendWert[position][index])
+				return -1;
+		}
+		final int schnitt = position + 1;
+		final int[] offen = this.offen[schnitt];
+		int zustand = 0;
+		for (int index = 0; index < offen.length; index++) {
+			final int herkunft = this.quelle[position][index];
+			int wert = herkunft < 0 ? 0 : werte[herkunft];
+			if (this.erhoeht[position][index])
+				wert += minen;
+			final int soll = this.randklassen.getWert(offen[index]);
+			if (wert > soll || wert + this.restfelder[schnitt][index] < soll)
+				return -1;
+			zustand += wert * this.stellenwert[schnitt][index];
+		}
+		return zustand;
+	}
+	
+	/**
+	 * Zerlegt die Nummer eines Zustands in die Minenzahlen der offenen Bedingungen.
+	 * 
+	 * @param schnitt
+	 * 		der Schnitt
+	 * @param zustand
+	 * 		die Nummer des Zustands
+	 * @param werte
+	 * 		nimmt die Minenzahlen auf
+	 */
+	private void zerlege(final int schnitt, final int zustand, final int[] werte) {
+		final int[] offen = this.offen[schnitt];
+		for (int index = 0; index < offen.length; index++)
+			werte[index] = zustand / this.stellenwert[schnitt][index]
+					% (Math.max(0, this.randklassen.getWert(offen[index])) + 1);
+	}
+	
+	/**
+	 * Berechnet die Vektoren des Schnitts hinter einer Position aus denen des
+	 * Schnitts davor.
+	 * 
+	 * @param position
+	 * 		die Position
+	 * @param vektoren
+	 * 		die Vektoren des Schnitts davor, null fr unerreichbare Zustnde
+	 * @return die normierten Vektoren des Schnitts dahinter
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	private double[][] rechneVorwaerts(final int position, final double[][] vektoren)
+			throws InterruptedException {
+		this.rechner.pruefeUnterbrechung();
+		final int groesse = this.randklassen.getGroesse(this.reihenfolge[position]);
+		final double[][] ergebnis = new double[this.zustaende[position + 1]][];
+		final double minengewicht = this.rechner.getMinengewicht();
+		final int[] werte = new int[this.offen[position].length];
+		for (int zustand = 0; zustand < vektoren.length; zustand++) {
+			final double[] vektor = vektoren[zustand];
+			if (vektor == null)
+				continue;
+			this.besuchteZustaende++;
+			this.zerlege(position, zustand, werte);
+			double binomialkoeffizient = 1;
+			for (int minen = 0; minen <= groesse; minen++) {
+				if (minen > 0)
+					binomialkoeffizient = binomialkoeffizient * (groesse - minen + 1) / minen
+							* minengewicht;
+				final int folgezustand = this.folgezustand(position, werte, minen);
+				if (folgezustand < 0) {
+					this.verworfeneUebergaenge++;
+					continue;
+				}
+				if (ergebnis[folgezustand] == null)
+					ergebnis[folgezustand] = new double[this.felderDavor[position + 1] + 1];
+				final double[] ziel = ergebnis[folgezustand];
+				for (int davor = 0; davor < vektor.length; davor++)
+					ziel[davor + minen] += binomialkoeffizient * vektor[davor];
+			}
+		}
+		Transfermatrix.normiere(ergebnis);
+		return ergebnis;
+	}
+	
+	/**
+	 * Berechnet die Vektoren von hinten fr den Schnitt vor einer Position und die
+	 * erwartete Minenzahl der Klasse an dieser Position. Der Vektor eines Zustands
+	 * gewichtet hier jede Minenzahl vor dem Schnitt mit allen Besetzungen ab dem
+	 * Schnitt samt deren Gewichtung.
+	 * 
+	 * @param position
+	 * 		die Position
+	 * @param vorne
+	 * 		die Vektoren von vorne fr den Schnitt vor der Position
+	 * @param hinten
+	 * 		die Vektoren von hinten fr den Schnitt hinter der Position
+	 * @param klassenwahrscheinlichkeit
+	 * 		nimmt die erwartete Minenzahl der Klasse auf
+	 * @return die normierten Vektoren von hinten fr den Schnitt vor der Position
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	private double[][] rechneRueckwaerts(final int position, final double[][] vorne,
+			final double[][] hinten, final double[] klassenwahrscheinlichkeit)
+			throws InterruptedException {
+		this.rechner.pruefeUnterbrechung();
+		final int klasse = this.reihenfolge[position];
+		final int groesse = this.randklassen.getGroesse(klasse);
+		final double[][] ergebnis = new double[vorne.length][];
+		final double minengewicht = this.rechner.getMinengewicht();
+		final int[] werte = new int[this.offen[position].length];
+		double summe = 0;
+		double erwartung = 0;
+		for (int zustand = 0; zustand < vorne.length; zustand++) {
+			final double[] vektor = vorne[zustand];
+			if (vektor == null)
+				continue;
+			this.besuchteZustaende++;
+			this.zerlege(position, zustand, werte);
+			final double[] ziel = new double[vektor.length];
+			ergebnis[zustand] = ziel;
+			double binomialkoeffizient = 1;
+			for (int minen = 0; minen <= groesse; minen++) {
+				if (minen > 0)
+					binomialkoeffizient = binomialkoeffizient * (groesse - minen + 1) / minen
+							* minengewicht;
+				final int folgezustand = this.folgezustand(position, werte, minen);
+				if (folgezustand < 0 || hinten[folgezustand] == null)
+					continue;
+				final double[] danach = hinten[folgezustand];
+				double produkt = 0;
+				for (int davor = 0; davor < vektor.length; davor++) {
+					ziel[davor] += binomialkoeffizient * danach[davor + minen];
+					produkt += vektor[davor] * danach[davor + minen];
+				}
+				summe += binomialkoeffizient * produkt;
+				erwartung += binomialkoeffizient * minen * produkt;
+			}
+		}
+		klassenwahrscheinlichkeit[klasse] = erwartung / summe;
+		Transfermatrix.normiere(ergebnis);
+		return ergebnis;
+	}
+	
+	/**
+	 * Teilt alle Vektoren durch ihr gemeinsames Maximum, sofern dieses nicht 0 ist.
+	 * 
+	 * @param vektoren
+	 * 		die zu normierenden Vektoren, null fr unerreichbare Zustnde
+	 */
+	private static void normiere(final double[][] vektoren) {
+		double maximum = 0;
+		for (final double[] vektor : vektoren)
+			if (vektor != null)
+				for (final double wert : vektor)
+					maximum = Math.max(maximum, wert);
+		if (maximum == 0)
+			return;
+		for (final double[] vektor : vektoren)
+			if (vektor != null)
+				for (int index = 0; index < vektor.length; index++)
+					vektor[index] /= maximum;
+	}
+}
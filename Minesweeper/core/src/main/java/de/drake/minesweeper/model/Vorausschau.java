@@ -0,0 +1,901 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Whlt das Feld, auf das die KI rt, so dass die Wahrscheinlichkeit, die Partie
+ * zu gewinnen, mglichst gro wird. Das Feld mit der geringsten
+ * Minenwahrscheinlichkeit ist dafr oft nicht das beste, etwa wenn sein
+ * Aufdecken nichts Neues verrt und danach gleich wieder geraten werden muss.
+ *
+ * Bewertet wird mit Expectimax ber angenommene Stellungen: Wird ein Feld
+ * aufgedeckt, zeigt es mit den Wahrscheinlichkeiten aus
+ * Spielfeld.getZahlenverteilungen() eine bestimmte Zahl; in jeder so
+ * entstehenden Stellung wird wieder das beste Feld gewhlt. Nach der
+ * eingestellten Anzahl an Aufdeckungen wird eine Stellung mit der
+ * Wahrscheinlichkeit bewertet, das nchste Feld zu berleben. Bei Tiefe 1 ist
+ * das genau die bisherige Wahl des Feldes mit der geringsten
+ * Minenwahrscheinlichkeit. Ist ein Feld sicher, wird in einer Stellung nur
+ * dieses betrachtet, denn es aufzudecken schadet nie; sonst nur die
+ * kandidatenzahl Felder mit den geringsten Minenwahrscheinlichkeiten, von den
+ * Feldern ohne aufgedeckten Nachbarn nur eines.
+ *
+ * Dieselbe Stellung entsteht oft auf mehreren Wegen, etwa wenn zwei Felder in
+ * verschiedener Reihenfolge aufgedeckt werden. Alle angenommenen Stellungen
+ * einer Suche stehen daher in einer Transpositionstabelle, zusammen mit ihren
+ * Kandidaten und den Werten je Resttiefe. Die Kandidaten der Ausgangsstellung
+ * werden parallel bewertet; ein Kandidat, der selbst im besten Fall nicht an
+ * den bisher besten heranreicht, wird nicht weiter verfolgt. Gesucht wird mit
+ * steigender Tiefe, bis die eingestellte Tiefe erreicht oder das Zeitbudget des
+ * Zuges aufgebraucht ist; dann gilt das Ergebnis der letzten vollstndigen
+ * Tiefe. Reicht das Zeitbudget nicht einmal fr die Zahlenverteilungen der
+ * Ausgangsstellung, oder fehlen diese fr einen Kandidaten, wird wie bisher
+ * das Feld mit der geringsten Minenwahrscheinlichkeit gewhlt.
+ */
+public final class Vorausschau {
+	
+	/**
+	 * Die Anzahl der Aufdeckungen, die vorausgeschaut wird, wenn nichts anderes
+	 * eingestellt ist
+	 */
+	public static final int STANDARDTIEFE = 3;
+	
+	/**
+	 * Das Zeitbudget je Zug in Millisekunden, wenn nichts anderes eingestellt ist
+	 */
+	public static final long STANDARDBUDGET = 500;
+	
+	/**
+	 * Die Anzahl der Felder, die je Stellung hchstens bewertet werden, wenn
+	 * nichts anderes eingestellt ist
+	 */
+	public static final int STANDARDKANDIDATEN = 8;
+	
+	/**
+	 * Die Minenwahrscheinlichkeit, unter der ein Feld als sicher und ber deren
+	 * Gegenwahrscheinlichkeit es als Mine gilt
+	 */
+	static final double SICHER = 1e-9;
+	
+	/**
+	 * Wie lange hchstens auf eine Berechnung gewartet wird, bevor erneut
+	 * geprft wird, ob die Berechnungen auf dem Spielfeld unterbrochen werden
+	 * sollen, in Nanosekunden
+	 */
+	private static final long PRUEFABSTAND = 10 * 1000000L;
+	
+	/**
+	 * Eine angenommene Stellung, erkannt an den Feldern, die gegenber der
+	 * Ausgangsstellung zustzlich aufgedeckt sind.
+	 */
+	static final class Stellung {
+	
+		/**
+		 * Die zustzlich aufgedeckten Felder, jeweils Feld mal 16 plus Zahl,
+		 * aufsteigend sortiert
+		 */
+		final int[] aufdeckungen;
+	
+		/**
+		 * Der Hashwert von aufdeckungen
+		 */
+		private final int hashwert;
+	
+		/**
+		 * Erzeugt eine Stellung.
+		 * 
+		 * @param aufdeckungen
+		 * 		die zustzlich aufgedeckten Felder, aufsteigend sortiert
+		 */
+		Stellung(final int[] aufdeckungen) {
+			this.aufdeckungen = aufdeckungen;
+			this.hashwert = Arrays.hashCode(aufdeckungen);
+		}
+	
+		@Override
+		public boolean equals(final Object objekt) {
+			return objekt instanceof Stellung
+					&& Arrays.equals(this.aufdeckungen, ((Stellung) objekt).aufdeckungen);
+		}
+	
+		@Override
+		public int hashCode() {
+			return this.hashwert;
+		}
+	}
+	
+	/**
+	 * Was ber eine angenommene Stellung berechnet wurde.
+	 */
+	static final class Knoten {
+	
+		/**
+		 * Die Kandidaten als zeilenweise Feldnummern, nach steigender
+		 * Minenwahrscheinlichkeit sortiert
+		 */
+		final int[] felder;
+	
+		/**
+		 * Die Minenwahrscheinlichkeit jedes Kandidaten
+		 */
+		final double[] wahrscheinlichkeiten;
+	
+		/**
+		 * Fr jeden Kandidaten die Wahrscheinlichkeiten, dass er frei ist und
+		 * die Zahl 0 bis 8 zeigt; null, wenn sie nicht berechnet wurden
+		 */
+		final double[][] zahlen;
+	
+		/**
+		 * Gibt an, ob fr jeden Kandidaten eine Zahlenverteilung vorliegt. Fr
+		 * Felder an groen Komponenten berechnet Spielfeld.getZahlenverteilungen()
+		 * keine.
+		 */
+		final boolean mitAllenZahlen;
+	
+		/**
+		 * Die Werte der Stellung je Resttiefe, NaN wo noch unbekannt
+		 */
+		private final double[] werte;
+	
+		/**
+		 * Erzeugt einen Knoten.
+		 * 
+		 * @param felder
+		 * 		die Kandidaten
+		 * @param wahrscheinlichkeiten
+		 * 		die Minenwahrscheinlichkeit jedes Kandidaten
+		 * @param zahlen
+		 * 		die Zahlenverteilung jedes Kandidaten, einzelne davon oder alle null
+		 * @param tiefe
+		 * 		die grte Resttiefe, fr die ein Wert gespeichert wird
+		 */
+		Knoten(final int[] felder, final double[] wahrscheinlichkeiten,
+				final double[][] zahlen, final int tiefe) {
+			this.felder = felder;
+			this.wahrscheinlichkeiten = wahrscheinlichkeiten;
+			this.zahlen = zahlen;
+			boolean mitAllenZahlen = zahlen != null;
+			for (int kandidat = 0; mitAllenZahlen && kandidat < felder.length; kandidat++)
+				mitAllenZahlen = zahlen[kandidat] != null;
+			this.mitAllenZahlen = mitAllenZahlen;
+			this.werte = new double[tiefe + 1];
+			Arrays.fill(this.werte, Double.NaN);
+		}
+	
+		/**
+		 * Gibt den Wert der Stellung bei einer Resttiefe zurck.
+		 * 
+		 * @param tiefe
+		 * 		die Resttiefe
+		 * @return der Wert oder NaN, wenn er noch unbekannt ist
+		 */
+		synchronized double getWert(final int tiefe) {
+			return this.werte[tiefe];
+		}
+	
+		/**
+		 * Speichert den Wert der Stellung bei einer Resttiefe.
+		 * 
+		 * @param tiefe
+		 * 		die Resttiefe
+		 * @param wert
+		 * 		der Wert
+		 */
+		synchronized void setzeWert(final int tiefe, final double wert) {
+			this.werte[tiefe] = wert;
+		}
+	}
+	
+	/**
+	 * Eine Suche nach dem besten Feld in einer Stellung.
+	 */
+	private final class Suche {
+	
+		/**
+		 * Das Spielfeld, auf dem gespielt wird; nur um Unterbrechungen zu erkennen
+		 */
+		private final Spielfeld spielfeld;
+	
+		/**
+		 * Der Schnappschuss der Ausgangsstellung
+		 */
+		private final Spielfeld wurzel;
+	
+		/**
+		 * Der Zeitpunkt in Nanosekunden, zu dem das Zeitbudget aufgebraucht ist
+		 */
+		private final long frist;
+	
+		/**
+		 * Die Transpositionstabelle aller bisher berechneten Stellungen
+		 */
+		private final ConcurrentHashMap<Stellung, Knoten> tabelle =
+				new ConcurrentHashMap<Stellung, Knoten>();
+	
+		/**
+		 * Die angenommenen Stellungen, auf denen gerade gerechnet wird
+		 */
+		private final Set<Spielfeld> laufend = Collections.newSetFromMap(
+				new ConcurrentHashMap<Spielfeld, Boolean>());
+	
+		/**
+		 * Gibt an, ob die laufende Tiefe abgebrochen wurde
+		 */
+		private volatile boolean abgebrochen = false;
+	
+		/**
+		 * Der Wert des besten vollstndig bewerteten Kandidaten der laufenden
+		 * Tiefe
+		 */
+		private double schranke;
+	
+		/**
+		 * Erzeugt eine Suche.
+		 * 
+		 * @param spielfeld
+		 * 		das Spielfeld, auf dem gespielt wird
+		 * @param frist
+		 * 		der Zeitpunkt in Nanosekunden, zu dem das Zeitbudget aufgebraucht ist
+		 */
+		Suche(final Spielfeld spielfeld, final long frist) {
+			this.spielfeld = spielfeld;
+			this.wurzel = spielfeld.erzeugeSchnappschuss();
+			this.frist = frist;
+		}
+	
+		/**
+		 * Wirft eine InterruptedException, wenn die Berechnungen auf dem
+		 * Spielfeld unterbrochen werden sollen oder die Tiefe abgebrochen wurde.
+		 * 
+		 * @throws InterruptedException
+		 * 		wird geworfen, wenn nicht weitergerechnet werden soll
+		 */
+		private void pruefe() throws InterruptedException {
+			if (this.abgebrochen || this.spielfeld.calculationIsInterrupted())
+				throw new InterruptedException("Interrupted");
+		}
+	
+		/**
+		 * Bricht die laufende Tiefe ab, auch die Berechnungen, die gerade auf
+		 * angenommenen Stellungen laufen.
+		 */
+		void brecheAb() {
+			this.abgebrochen = true;
+			for (final Spielfeld stellung : this.laufend)
+				stellung.setInterruptionDetected(true);
+		}
+	
+		/**
+		 * Berechnet die Kandidaten einer Stellung.
+		 * 
+		 * @param stellung
+		 * 		die Stellung
+		 * @param mitZahlen
+		 * 		ob auch die Zahlenverteilungen der Kandidaten berechnet werden
+		 * @return der Knoten der Stellung
+		 * @throws InterruptedException
+		 * 		wird geworfen, wenn nicht weitergerechnet werden soll
+		 */
+		Knoten berechne(final Spielfeld stellung, final boolean mitZahlen)
+				throws InterruptedException {
+			this.laufend.add(stellung);
+			try {
+				this.pruefe();
+				final double[][][] zahlenverteilungen =
+						mitZahlen ? stellung.getZahlenverteilungen() : null;
+				final int hoehe = stellung.getHoehe();
+				final int breite = stellung.getBreite();
+				final ArrayList<Integer> kandidaten = new ArrayList<Integer>();
+				final double[] wahrscheinlichkeiten = new double[hoehe * breite];
+				int innenfeld = -1;
+				for (int zeile = 0; zeile < hoehe; zeile++)
+					for (int spalte = 0; spalte < breite; spalte++) {
+						if (stellung.isUncovered(zeile, spalte)
+								|| stellung.isMarkedAsMine(zeile, spalte))
+							continue;
+						final int feld = zeile * breite + spalte;
+						wahrscheinlichkeiten[feld] =
+								stellung.getMinenwahrscheinlichkeit(zeile, spalte);
+						if (wahrscheinlichkeiten[feld] > 1 - SICHER)
+							continue;
+						if (stellung.hasUncoveredNeighbor(zeile, spalte)) {
+							kandidaten.add(feld);
+							continue;
+						}
+						// Von den gleich wahrscheinlichen Feldern ohne aufgedeckten
+						// Nachbarn das, das am ehesten eine 0 zeigt
+						if (innenfeld < 0 || (zahlenverteilungen != null
+								&& Vorausschau.getNullwahrscheinlichkeit(zahlenverteilungen[zeile][spalte])
+								> Vorausschau.getNullwahrscheinlichkeit(zahlenverteilungen
+								[innenfeld / breite][innenfeld % breite])))
+							innenfeld = feld;
+					}
+				if (innenfeld >= 0)
+					kandidaten.add(innenfeld);
+				Collections.sort(kandidaten, new Comparator<Integer>() {
+					@Override
+					public int compare(final Integer links, final Integer rechts) {
+						return Double.compare(wahrscheinlichkeiten[links],
+								wahrscheinlichkeiten[rechts]);
+					}
+				});
+				int anzahl = Math.min(kandidaten.size(), Vorausschau.this.kandidatenzahl);
+				if (anzahl > 0 && wahrscheinlichkeiten[kandidaten.get(0)] < SICHER)
+					anzahl = 1;
+				final int[] felder = new int[anzahl];
+				final double[] kandidatenwahrscheinlichkeiten = new double[anzahl];
+				final double[][] zahlen = mitZahlen ? new double[anzahl][] : null;
+				for (int index = 0; index < anzahl; index++) {
+					felder[index] = kandidaten.get(index);
+					kandidatenwahrscheinlichkeiten[index] = wahrscheinlichkeiten[felder[index]];
+					if (mitZahlen)
+						zahlen[index] = zahlenverteilungen
+								[felder[index] / breite][felder[index] % breite];
+				}
+				return new Knoten(felder, kandidatenwahrscheinlichkeiten, zahlen,
+						Vorausschau.this.tiefe);
+			} finally {
+				this.laufend.remove(stellung);
+			}
+		}
+	
+		/**
+		 * Bewertet eine angenommene Stellung: die Wahrscheinlichkeit, die
+		 * folgenden Aufdeckungen zu berleben, wenn jeweils das beste Feld
+		 * gewhlt wird.
+		 * 
+		 * @param aufdeckungen
+		 * 		die gegenber der Ausgangsstellung zustzlich aufgedeckten Felder
+		 * @param tiefe
+		 * 		die Anzahl der Aufdeckungen, die noch vorausgeschaut wird, mindestens 1
+		 * @return der Wert der Stellung
+		 * @throws InterruptedException
+		 * 		wird geworfen, wenn nicht weitergerechnet werden soll
+		 */
+		double bewerte(final int[] aufdeckungen, final int tiefe)
+				throws InterruptedException {
+			if (this.wurzel.getVerbleibendeFelder() == aufdeckungen.length)
+				return 1;
+			this.pruefe();
+			final Stellung stellung = new Stellung(aufdeckungen);
+			Knoten knoten = this.tabelle.get(stellung);
+			if (knoten != null) {
+				final double wert = knoten.getWert(tiefe);
+				if (!Double.isNaN(wert))
+					return wert;
+			}
+			if (knoten == null || (tiefe > 1 && knoten.zahlen == null)) {
+				knoten = this.berechne(this.wurzel.erzeugeAnnahme(aufdeckungen), tiefe > 1);
+				this.tabelle.put(stellung, knoten);
+			}
+			double bester = 0;
+			if (knoten.felder.length == 0)
+				bester = 1;
+			else if (tiefe == 1 || !knoten.mitAllenZahlen)
+				// Ohne Zahlenverteilungen kann nicht weiter vorausgeschaut werden
+				bester = 1 - knoten.wahrscheinlichkeiten[0];
+			else
+				for (int kandidat = 0; kandidat < knoten.felder.length; kandidat++) {
+					// Die Kandidaten sind nach Minenwahrscheinlichkeit sortiert,
+					// keiner der folgenden kann also noch besser sein
+					if (1 - knoten.wahrscheinlichkeiten[kandidat] <= bester)
+						break;
+					bester = Math.max(bester,
+							this.bewerte(knoten, kandidat, aufdeckungen, tiefe, bester));
+				}
+			knoten.setzeWert(tiefe, bester);
+			return bester;
+		}
+	
+		/**
+		 * Bewertet das Aufdecken eines Kandidaten einer Stellung: die Summe der
+		 * Werte der Stellungen, in denen er die einzelnen Zahlen zeigt, gewichtet
+		 * mit deren Wahrscheinlichkeiten. Die Zahlen werden in der Reihenfolge
+		 * ihrer Wahrscheinlichkeit bewertet. Sobald feststeht, dass die Summe die
+		 * Schranke nicht mehr bertreffen kann, wird abgebrochen.
+		 * 
+		 * @param knoten
+		 * 		der Knoten der Stellung
+		 * @param kandidat
+		 * 		der Index des Kandidaten im Knoten
+		 * @param aufdeckungen
+		 * 		die gegenber der Ausgangsstellung zustzlich aufgedeckten Felder
+		 * @param tiefe
+		 * 		die Anzahl der Aufdeckungen, die noch vorausgeschaut wird,
+		 * 		mindestens 2
+		 * @param schranke
+		 * 		der Wert, den der Kandidat bertreffen muss
+		 * @return der Wert des Kandidaten, wenn er die Schranke bertrifft, sonst
+		 * 		ein Wert, der nicht grer als die Schranke ist
+		 * @throws InterruptedException
+		 * 		wird geworfen, wenn nicht weitergerechnet werden soll
+		 */
+		double bewerte(final Knoten knoten, final int kandidat, final int[] aufdeckungen,
+				final int tiefe, final double schranke) throws InterruptedException {
+			final double[] zahlen = knoten.zahlen[kandidat];
+			final int[] reihenfolge = new int[zahlen.length];
+			double rest = 0;
+			for (int zahl = 0; zahl < zahlen.length; zahl++) {
+				int index = zahl;
+				while (index > 0 && zahlen[reihenfolge[index - 1]] < zahlen[zahl]) {
+					reihenfolge[index] = reihenfolge[index - 1];
+					index--;
+				}
+				reihenfolge[index] = zahl;
+				rest += zahlen[zahl];
+			}
+			double summe = 0;
+			for (final int zahl : reihenfolge) {
+				if (zahlen[zahl] <= 0)
+					break;
+				if (summe + rest <= schranke)
+					return summe + rest;
+				rest -= zahlen[zahl];
+				summe += zahlen[zahl] * this.bewerte(Vorausschau.fuegeEin(aufdeckungen,
+						knoten.felder[kandidat] * 16 + zahl), tiefe - 1);
+			}
+			return summe;
+		}
+	
+		/**
+		 * Wartet auf das Ergebnis einer Berechnung, hchstens bis die Frist
+		 * abgelaufen ist.
+		 * 
+		 * @param auftrag
+		 * 		die Berechnung
+		 * @return das Ergebnis
+		 * @throws TimeoutException
+		 * 		wird geworfen, wenn die Frist abgelaufen ist oder die Berechnungen
+		 * 		auf dem Spielfeld unterbrochen werden sollen
+		 * @throws ExecutionException
+		 * 		wird geworfen, wenn die Berechnung eine Exception geworfen hat
+		 * @throws InterruptedException
+		 * 		wird geworfen, wenn der wartende Thread unterbrochen wurde
+		 */
+		private <T> T warte(final Future<T> auftrag)
+				throws TimeoutException, ExecutionException, InterruptedException {
+			while (true) {
+				final long verbleibend = this.frist - System.nanoTime();
+				if (verbleibend <= 0 || this.spielfeld.calculationIsInterrupted())
+					throw new TimeoutException();
+				try {
+					return auftrag.get(Math.min(verbleibend, PRUEFABSTAND),
+							TimeUnit.NANOSECONDS);
+				} catch (TimeoutException e) {
+				}
+			}
+		}
+	
+		/**
+		 * Berechnet die Kandidaten der Ausgangsstellung samt ihrer
+		 * Zahlenverteilungen innerhalb des Zeitbudgets.
+		 * 
+		 * @return der Knoten der Ausgangsstellung, oder null, wenn das Zeitbudget
+		 * 		nicht gereicht hat
+		 * @throws InterruptedException
+		 * 		wird geworfen, wenn die Berechnungen auf dem Spielfeld unterbrochen
+		 * 		werden sollen
+		 */
+		Knoten berechneWurzel() throws InterruptedException {
+			final Future<Knoten> auftrag = Vorausschau.this.rechner.submit(
+					new Callable<Knoten>() {
+				@Override
+				public Knoten call() throws InterruptedException {
+					return Suche.this.berechne(Suche.this.wurzel, true);
+				}
+			});
+			try {
+				return this.warte(auftrag);
+			} catch (TimeoutException e) {
+				this.brecheAb();
+			} catch (ExecutionException e) {
+				if (!(e.getCause() instanceof InterruptedException))
+					throw new RuntimeException(e.getCause());
+			}
+			// Erst zurckkehren, wenn die Berechnung nicht mehr luft
+			try {
+				auftrag.get();
+			} catch (ExecutionException e) {
+			}
+			if (this.spielfeld.calculationIsInterrupted())
+				throw new InterruptedException("Interrupted");
+			return null;
+		}
+	
+		/**
+		 * Gibt den Wert des besten vollstndig bewerteten Kandidaten der
+		 * laufenden Tiefe zurck.
+		 * 
+		 * @return der Wert
+		 */
+		synchronized double getSchranke() {
+			return this.schranke;
+		}
+	
+		/**
+		 * Vermerkt den Wert eines vollstndig bewerteten Kandidaten.
+		 * 
+		 * @param wert
+		 * 		der Wert
+		 */
+		synchronized void erhoeheSchranke(final double wert) {
+			this.schranke = Math.max(this.schranke, wert);
+		}
+	
+		/**
+		 * Bewertet die Kandidaten der Ausgangsstellung parallel.
+		 * 
+		 * @param wurzelknoten
+		 * 		der Knoten der Ausgangsstellung
+		 * @param tiefe
+		 * 		die Anzahl der Aufdeckungen, die vorausgeschaut wird
+		 * @param exakt
+		 * 		wird fr jeden Kandidaten darauf gesetzt, ob sein Wert vollstndig
+		 * 		bewertet wurde; sonst bertrifft er nicht den besten
+		 * @return der Wert jedes Kandidaten, der erste vollstndig, oder null,
+		 * 		wenn das Zeitbudget nicht gereicht hat
+		 * @throws InterruptedException
+		 * 		wird geworfen, wenn die Berechnungen auf dem Spielfeld unterbrochen
+		 * 		werden sollen
+		 */
+		double[] bewerteWurzel(final Knoten wurzelknoten, final int tiefe,
+				final boolean[] exakt) throws InterruptedException {
+			this.abgebrochen = false;
+			this.schranke = 0;
+			final double[] werte = new double[wurzelknoten.felder.length];
+			final ArrayList<Future<Double>> auftraege = new ArrayList<Future<Double>>();
+			for (int index = 0; index < werte.length; index++) {
+				final int kandidat = index;
+				auftraege.add(Vorausschau.this.rechner.submit(new Callable<Double>() {
+					@Override
+					public Double call() throws InterruptedException {
+						// Der erste Kandidat wird immer vollstndig bewertet
+						final double schranke = kandidat == 0
+								? Double.NEGATIVE_INFINITY : Suche.this.getSchranke();
+						final double wert = Suche.this.bewerte(wurzelknoten, kandidat,
+								new int[0], tiefe, schranke);
+						if (wert > schranke) {
+							exakt[kandidat] = true;
+							Suche.this.erhoeheSchranke(wert);
+						}
+						return wert;
+					}
+				}));
+			}
+			boolean vollstaendig = true;
+			for (int index = 0; index < werte.length; index++) {
+				try {
+					if (!vollstaendig)
+						throw new TimeoutException();
+					werte[index] = this.warte(auftraege.get(index));
+				} catch (TimeoutException e) {
+					vollstaendig = false;
+					this.brecheAb();
+				} catch (ExecutionException e) {
+					if (!(e.getCause() instanceof InterruptedException))
+						throw new RuntimeException(e.getCause());
+					vollstaendig = false;
+					this.brecheAb();
+				}
+			}
+			if (vollstaendig)
+				return werte;
+			// Erst zurckkehren, wenn keine Berechnung mehr luft
+			for (final Future<Double> auftrag : auftraege)
+				try {
+					auftrag.get();
+				} catch (ExecutionException e) {
+				}
+			if (this.spielfeld.calculationIsInterrupted())
+				throw new InterruptedException("Interrupted");
+			return null;
+		}
+	}
+	
+	/**
+	 * Die Anzahl der Aufdeckungen, die hchstens vorausgeschaut wird
+	 */
+	private final int tiefe;
+	
+	/**
+	 * Das Zeitbudget je Zug in Nanosekunden
+	 */
+	private final long budget;
+	
+	/**
+	 * Die Anzahl der Felder, die je Stellung hchstens bewertet werden
+	 */
+	private final int kandidatenzahl;
+	
+	/**
+	 * Die Threads, auf denen die Kandidaten der Ausgangsstellung bewertet werden
+	 */
+	private final ExecutorService rechner;
+	
+	/**
+	 * Die Tiefe, bis zu der beim letzten Zug vollstndig gesucht wurde
+	 */
+	private int erreichteTiefe = 0;
+	
+	/**
+	 * Um wie viel die Gewinnwahrscheinlichkeit beim letzten Zug laut Suche hher
+	 * ist als beim Feld mit der geringsten Minenwahrscheinlichkeit
+	 */
+	private double erwarteterGewinn = 0;
+	
+	/**
+	 * Erzeugt eine Vorausschau.
+	 * 
+	 * @param tiefe
+	 * 		die Anzahl der Aufdeckungen, die hchstens vorausgeschaut wird; bei 1
+	 * 		wird wie bisher das Feld mit der geringsten Minenwahrscheinlichkeit
+	 * 		gewhlt
+	 * @param budget
+	 * 		das Zeitbudget je Zug in Millisekunden
+	 * @param kandidatenzahl
+	 * 		die Anzahl der Felder, die je Stellung hchstens bewertet werden,
+	 * 		mindestens 2
+	 * @param threads
+	 * 		die Anzahl der Threads, auf denen gerechnet wird
+	 */
+	public Vorausschau(final int tiefe, final long budget, final int kandidatenzahl,
+			final int threads) {
+		this.tiefe = Math.max(1, tiefe);
+		this.budget = budget * 1000000L;
+		this.kandidatenzahl = Math.max(2, kandidatenzahl);
+		this.rechner = Executors.newFixedThreadPool(Math.max(1, threads),
+				new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable auftrag) {
+				final Thread thread = new Thread(auftrag, "Vorausschau");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	
+	/**
+	 * Erzeugt eine Vorausschau mit den Einstellungen aus den Systemeigenschaften
+	 * minesweeper.vorausschau.tiefe, minesweeper.vorausschau.budget (in
+	 * Millisekunden), minesweeper.vorausschau.kandidaten und
+	 * minesweeper.vorausschau.threads. Ohne Angabe wird auf allen Prozessoren
+	 * gerechnet.
+	 * 
+	 * @return die Vorausschau
+	 */
+	public static Vorausschau ausSystemeigenschaften() {
+		return new Vorausschau(
+				Integer.getInteger("minesweeper.vorausschau.tiefe", STANDARDTIEFE),
+				Long.getLong("minesweeper.vorausschau.budget", STANDARDBUDGET),
+				Integer.getInteger("minesweeper.vorausschau.kandidaten", STANDARDKANDIDATEN),
+				Integer.getInteger("minesweeper.vorausschau.threads",
+				Runtime.getRuntime().availableProcessors()));
+	}
+	
+	/**
+	 * Whlt das Feld mit der geringsten Minenwahrscheinlichkeit, das neben
+	 * einem aufgedeckten Feld liegt. Gibt es kein solches Feld, wird das
+	 * erste verdeckte Feld gewhlt.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @return das Feld oder null, wenn kein verdecktes, nicht markiertes Feld
+	 * 		brig ist
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung
+	 * 		unterbrochen wurde
+	 */
+	public static Koordinate waehleGeringsteWahrscheinlichkeit(final Spielfeld spielfeld)
+			throws InterruptedException {
+		Integer optimaleZeile = null;
+		Integer optimaleSpalte = null;
+		for (int zeile = 0; zeile < spielfeld.getHoehe(); zeile++)
+			for (int spalte = 0; spalte < spielfeld.getBreite(); spalte++) {
+				if (spielfeld.isUncovered(zeile, spalte) ||
+						spielfeld.isMarkedAsMine(zeile, spalte))
+					continue;
+				if (optimaleZeile == null) {
+					optimaleZeile = zeile;
+					optimaleSpalte = spalte;
+					continue;
+				}
+				if (!spielfeld.hasUncoveredNeighbor(zeile, spalte))
+					continue;
+				if (spielfeld.getMinenwahrscheinlichkeit(zeile, spalte) <
+						spielfeld.getMinenwahrscheinlichkeit(
+						optimaleZeile, optimaleSpalte) ||
+						!spielfeld.hasUncoveredNeighbor(
+						optimaleZeile, optimaleSpalte)) {
+					optimaleZeile = zeile;
+					optimaleSpalte = spalte;
+				}
+			}
+		if (optimaleZeile == null)
+			return null;
+		return new Koordinate(optimaleZeile, optimaleSpalte);
+	}
+	
+	/**
+	 * Whlt das Feld, dessen Aufdecken die Wahrscheinlichkeit maximiert, die
+	 * nchsten Aufdeckungen zu berleben, siehe Klassenbeschreibung. Muss in dem
+	 * Thread aufgerufen werden, der die Zge ausfhrt.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @return das Feld oder null, wenn kein verdecktes, nicht markiertes Feld
+	 * 		brig ist
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung
+	 * 		unterbrochen wurde
+	 */
+	public Koordinate waehleFeld(final Spielfeld spielfeld) throws InterruptedException {
+		final long frist = System.nanoTime() + this.budget;
+		final Koordinate heuristik = Vorausschau.waehleGeringsteWahrscheinlichkeit(spielfeld);
+		this.erreichteTiefe = 1;
+		this.erwarteterGewinn = 0;
+		if (this.tiefe == 1 || heuristik == null || !spielfeld.hasUncoveredNeighbor(
+				heuristik.getZeile(), heuristik.getSpalte()))
+			return heuristik;
+		final Suche suche = new Suche(spielfeld, frist);
+		final int heuristikfeld =
+				heuristik.getZeile() * spielfeld.getBreite() + heuristik.getSpalte();
+		final Knoten berechnet = suche.berechneWurzel();
+		// Reicht das Zeitbudget nicht fr die Ausgangsstellung oder fehlen
+		// Zahlenverteilungen, bleibt es bei der bisherigen Wahl
+		if (berechnet == null || !berechnet.mitAllenZahlen)
+			return heuristik;
+		final Knoten wurzelknoten = Vorausschau.stelleVoran(berechnet, heuristikfeld);
+		final int anzahl = wurzelknoten.felder.length;
+		if (anzahl == 0)
+			return heuristik;
+		// Ist das Feld der bisherigen Wahl kein Kandidat, liegt dort sicher eine
+		// Mine und es gewinnt nie
+		final boolean heuristikBewertet = wurzelknoten.felder[0] == heuristikfeld;
+		// Auf Tiefe 1 zhlt nur die Minenwahrscheinlichkeit
+		int bester = 0;
+		for (int kandidat = 1; kandidat < anzahl; kandidat++)
+			if (wurzelknoten.wahrscheinlichkeiten[kandidat]
+					< wurzelknoten.wahrscheinlichkeiten[bester])
+				bester = kandidat;
+		this.erwarteterGewinn = 1 - wurzelknoten.wahrscheinlichkeiten[bester]
+				- (heuristikBewertet ? 1 - wurzelknoten.wahrscheinlichkeiten[0] : 0);
+		if (wurzelknoten.wahrscheinlichkeiten[bester] < SICHER)
+			return Vorausschau.getKoordinate(spielfeld, wurzelknoten.felder[bester]);
+		for (int tiefe = 2; tiefe <= this.tiefe && anzahl > 1; tiefe++) {
+			final boolean[] exakt = new boolean[anzahl];
+			final double[] werte = suche.bewerteWurzel(wurzelknoten, tiefe, exakt);
+			if (werte == null)
+				break;
+			bester = 0;
+			for (int kandidat = 1; kandidat < anzahl; kandidat++)
+				if (exakt[kandidat] && werte[kandidat] > werte[bester])
+					bester = kandidat;
+			this.erreichteTiefe = tiefe;
+			this.erwarteterGewinn = werte[bester] - (heuristikBewertet ? werte[0] : 0);
+		}
+		return Vorausschau.getKoordinate(spielfeld, wurzelknoten.felder[bester]);
+	}
+	
+	/**
+	 * Gibt die Tiefe zurck, bis zu der beim letzten Aufruf von waehleFeld()
+	 * vollstndig gesucht wurde.
+	 * 
+	 * @return die Tiefe, 1 wenn nur nach Minenwahrscheinlichkeit gewhlt wurde
+	 */
+	public int getErreichteTiefe() {
+		return this.erreichteTiefe;
+	}
+	
+	/**
+	 * Gibt zurck, um wie viel die Wahrscheinlichkeit, die vorausgeschauten
+	 * Aufdeckungen zu berleben, beim letzten Aufruf von waehleFeld() laut Suche
+	 * hher ist als beim Feld, das waehleGeringsteWahrscheinlichkeit() gewhlt
+	 * htte.
+	 * 
+	 * @return der erwartete Gewinn, nie negativ
+	 */
+	public double getErwarteterGewinn() {
+		return this.erwarteterGewinn;
+	}
+	
+	/**
+	 * Beendet die Threads der Vorausschau. Danach darf waehleFeld() nicht mehr
+	 * aufgerufen werden.
+	 */
+	public void beende() {
+		this.rechner.shutdownNow();
+	}
+	
+	/**
+	 * Stellt ein Feld an den Anfang der Kandidaten eines Knotens, damit es als
+	 * erstes und vollstndig bewertet wird. Das Feld mit der geringsten
+	 * Minenwahrscheinlichkeit am Rand ist immer einer der ersten beiden
+	 * Kandidaten, es sei denn, es ist sicher eine Mine.
+	 * 
+	 * @param knoten
+	 * 		der Knoten
+	 * @param feld
+	 * 		die zeilenweise Nummer des Feldes
+	 * @return der Knoten mit dem Feld als erstem Kandidaten, der unvernderte
+	 * 		Knoten, wenn das Feld kein Kandidat ist
+	 */
+	private static Knoten stelleVoran(final Knoten knoten, final int feld) {
+		int position = 0;
+		while (position < knoten.felder.length && knoten.felder[position] != feld)
+			position++;
+		if (position == knoten.felder.length)
+			return knoten;
+		final int[] felder = knoten.felder.clone();
+		final double[] wahrscheinlichkeiten = knoten.wahrscheinlichkeiten.clone();
+		final double[][] zahlen = knoten.zahlen.clone();
+		for (int index = position; index > 0; index--) {
+			felder[index] = felder[index - 1];
+			wahrscheinlichkeiten[index] = wahrscheinlichkeiten[index - 1];
+			zahlen[index] = zahlen[index - 1];
+		}
+		felder[0] = feld;
+		wahrscheinlichkeiten[0] = knoten.wahrscheinlichkeiten[position];
+		zahlen[0] = knoten.zahlen[position];
+		return new Knoten(felder, wahrscheinlichkeiten, zahlen, 0);
+	}
+	
+	/**
+	 * Gibt die Wahrscheinlichkeit zurck, dass ein Feld eine 0 zeigt.
+	 * 
+	 * @param zahlen
+	 * 		die Zahlenverteilung des Feldes oder null
+	 * @return die Wahrscheinlichkeit, 0 wenn keine Zahlenverteilung vorliegt
+	 */
+	private static double getNullwahrscheinlichkeit(final double[] zahlen) {
+		return zahlen == null ? 0 : zahlen[0];
+	}
+	
+	/**
+	 * Fgt eine Aufdeckung sortiert in eine Liste von Aufdeckungen ein.
+	 * 
+	 * @param aufdeckungen
+	 * 		die aufsteigend sortierte Liste
+	 * @param aufdeckung
+	 * 		die neue Aufdeckung
+	 * @return die neue Liste
+	 */
+	private static int[] fuegeEin(final int[] aufdeckungen, final int aufdeckung) {
+		final int[] ergebnis = new int[aufdeckungen.length + 1];
+		int position = 0;
+		while (position < aufdeckungen.length && aufdeckungen[position] < aufdeckung) {
+			ergebnis[position] = aufdeckungen[position];
+			position++;
+		}
+		ergebnis[position] = aufdeckung;
+		System.arraycopy(aufdeckungen, position, ergebnis, position + 1,
+				aufdeckungen.length - position);
+		return ergebnis;
+	}
+	
+	/**
+	 * Wandelt eine zeilenweise Feldnummer in eine Koordinate um.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param feld
+	 * 		die Feldnummer
+	 * @return die Koordinate
+	 */
+	private static Koordinate getKoordinate(final Spielfeld spielfeld, final int feld) {
+		return new Koordinate(feld / spielfeld.getBreite(), feld % spielfeld.getBreite());
+	}
+}
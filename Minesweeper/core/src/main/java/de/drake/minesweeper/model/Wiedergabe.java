@@ -0,0 +1,241 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Spielt eine Aufzeichnung ohne Oberflche direkt auf einem Spielfeld ab.
+ * 
+ * Die Zge werden ohne Umweg ber Koordinaten-Objekte angewendet; das
+ * minenfreie Gebiet wird mit einem int-Stapel aufgedeckt. In regelmigen
+ * Abstnden wird beim ersten Vorbeikommen eine Kopie der Felder als
+ * Kontrollpunkt abgelegt, so dass springeZu() von dort aus nur wenige Zge
+ * nachspielen muss. Der Abstand betrgt mindestens KONTROLLPUNKTABSTAND Zge und
+ * wchst mit der Gre des Spielfeldes, so dass die Kopien im Mittel nicht mehr
+ * als 16 Byte je Zug kosten.
+ */
+public class Wiedergabe {
+	
+	/**
+	 * Der kleinste Abstand der Kontrollpunkte in Zgen
+	 */
+	public static final int KONTROLLPUNKTABSTAND = 4096;
+	
+	/**
+	 * Die abgespielte Aufzeichnung
+	 */
+	private final Aufzeichnung aufzeichnung;
+	
+	/**
+	 * Das Spielfeld in der aktuellen Stellung
+	 */
+	private Spielfeld spielfeld;
+	
+	/**
+	 * Die Anzahl der bereits angewendeten Zge
+	 */
+	private int position = 0;
+	
+	/**
+	 * Der Abstand der Kontrollpunkte in Zgen
+	 */
+	private final int abstand;
+	
+	/**
+	 * Die Kontrollpunkte; Element i ist die Stellung nach i*abstand Zgen
+	 */
+	private final ArrayList<Spielfeld> kontrollpunkte = new ArrayList<Spielfeld>();
+	
+	/**
+	 * Der Stapel der noch zu bearbeitenden Nullfelder beim Aufdecken eines
+	 * minenfreien Gebietes
+	 */
+	private int[] nullfelder = new int[64];
+	
+	/**
+	 * Erzeugt eine Wiedergabe, die in der Startstellung der Aufzeichnung steht.
+	 * 
+	 * @param aufzeichnung
+	 * 		die abzuspielende Aufzeichnung
+	 */
+	public Wiedergabe(final Aufzeichnung aufzeichnung) {
+		this.aufzeichnung = aufzeichnung;
+		this.spielfeld = aufzeichnung.erzeugeStartstellung();
+		this.abstand = Math.max(KONTROLLPUNKTABSTAND,
+				this.spielfeld.getHoehe() * this.spielfeld.getBreite() / 16);
+	}
+	
+	/**
+	 * Gibt das Spielfeld in der aktuellen Stellung zurck. Nach springeZu() kann
+	 * das ein anderes Objekt sein als vorher.
+	 * 
+	 * @return das Spielfeld
+	 */
+	public Spielfeld getSpielfeld() {
+		return this.spielfeld;
+	}
+	
+	/**
+	 * Gibt die Anzahl der bereits angewendeten Zge zurck.
+	 * 
+	 * @return die Nummer des nchsten Zuges
+	 */
+	public int getPosition() {
+		return this.position;
+	}
+	
+	/**
+	 * Wendet den nchsten Zug an.
+	 * 
+	 * @return false, wenn die Aufzeichnung bereits zu Ende ist
+	 */
+	public boolean naechsterZug() {
+		if (this.position == this.aufzeichnung.getZugzahl())
+			return false;
+		if (this.position % this.abstand == 0
+				&& this.kontrollpunkte.size() == this.position / this.abstand)
+			this.kontrollpunkte.add(Wiedergabe.kopiere(this.spielfeld));
+		this.wendeAn(this.aufzeichnung.getZug(this.position));
+		this.position++;
+		return true;
+	}
+	
+	/**
+	 * Spielt bis zum Ende der Aufzeichnung.
+	 */
+	public void spieleZuEnde() {
+		while (this.naechsterZug()) {
+		}
+	}
+	
+	/**
+	 * Stellt die Stellung nach einer bestimmten Zahl von Zgen her. Liegt ein
+	 * nherer Kontrollpunkt vor als die aktuelle Stellung, wird von dort aus
+	 * weitergespielt.
+	 * 
+	 * @param ziel
+	 * 		die Anzahl der Zge, zwischen 0 und der Zugzahl der Aufzeichnung
+	 */
+	public void springeZu(final int ziel) {
+		if (ziel < 0 || ziel > this.aufzeichnung.getZugzahl())
+			throw new IllegalArgumentException("Ungltiger Zug " + ziel);
+		final int kontrollpunkt = Math.min(ziel / this.abstand,
+				this.kontrollpunkte.size() - 1);
+		if (kontrollpunkt >= 0 && (ziel < this.position
+				|| kontrollpunkt * this.abstand > this.position)) {
+			this.spielfeld = Wiedergabe.kopiere(this.kontrollpunkte.get(kontrollpunkt));
+			this.position = kontrollpunkt * this.abstand;
+		} else if (ziel < this.position) {
+			this.spielfeld = this.aufzeichnung.erzeugeStartstellung();
+			this.position = 0;
+		}
+		while (this.position < ziel)
+			this.naechsterZug();
+	}
+	
+	/**
+	 * Wendet einen kodierten Zug auf das Spielfeld an.
+	 * 
+	 * @param zug
+	 * 		die Nummer des Feldes, um zwei Bit nach links geschoben, und
+	 * 		darunter die Zugart
+	 */
+	private void wendeAn(final int zug) {
+		final int breite = this.aufzeichnung.getBreite();
+		final int feld = zug >>> 2;
+		final int zeile = feld / breite;
+		final int spalte = feld - zeile * breite;
+		switch (zug & 3) {
+		case Aufzeichnung.AUFDECKEN:
+			this.deckeAuf(zeile, spalte);
+			break;
+		case Aufzeichnung.MARKIEREN:
+			if (!this.spielfeld.isUncovered(zeile, spalte)
+					&& !this.spielfeld.isMarkedAsMine(zeile, spalte))
+				this.spielfeld.setMarkedAsMine(zeile, spalte, true);
+			break;
+		case Aufzeichnung.ENTMARKIEREN:
+			if (this.spielfeld.isMarkedAsMine(zeile, spalte))
+				this.spielfeld.setMarkedAsMine(zeile, spalte, false);
+			break;
+		default:
+			for (int nachbarZeile = Math.max(0, zeile - 1);
+					nachbarZeile < Math.min(zeile + 2, this.spielfeld.getHoehe());
+					nachbarZeile++)
+				for (int nachbarSpalte = Math.max(0, spalte - 1);
+						nachbarSpalte < Math.min(spalte + 2, breite); nachbarSpalte++)
+					if (!this.deckeAuf(nachbarZeile, nachbarSpalte))
+						return;
+		}
+	}
+	
+	/**
+	 * Deckt ein Feld auf, bei einem Nullfeld samt minenfreiem Gebiet.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 * @return false, wenn dabei eine Mine aufgedeckt wurde
+	 */
+	private boolean deckeAuf(final int zeile, final int spalte) {
+		if (this.spielfeld.isUncovered(zeile, spalte)
+				|| this.spielfeld.isMarkedAsMine(zeile, spalte))
+			return true;
+		this.spielfeld.setUncovered(zeile, spalte);
+		if (this.spielfeld.isMine(zeile, spalte))
+			return false;
+		if (this.spielfeld.getBenachbarteMinen(zeile, spalte) == 0)
+			this.deckeGebietAuf(zeile * this.aufzeichnung.getBreite() + spalte);
+		return true;
+	}
+	
+	/**
+	 * Deckt ausgehend von einem aufgedeckten Nullfeld das zusammenhngende
+	 * minenfreie Gebiet samt Rand auf, wie Spielfeld.uncoverMinelessArea().
+	 * 
+	 * @param nullfeld
+	 * 		die zeilenweise Nummer des Nullfeldes
+	 */
+	private void deckeGebietAuf(final int nullfeld) {
+		final int hoehe = this.spielfeld.getHoehe();
+		final int breite = this.aufzeichnung.getBreite();
+		int stapelhoehe = 0;
+		this.nullfelder[stapelhoehe++] = nullfeld;
+		while (stapelhoehe > 0) {
+			final int feld = this.nullfelder[--stapelhoehe];
+			final int zeile = feld / breite;
+			final int spalte = feld - zeile * breite;
+			for (int nachbarZeile = Math.max(0, zeile - 1);
+					nachbarZeile < Math.min(zeile + 2, hoehe); nachbarZeile++)
+				for (int nachbarSpalte = Math.max(0, spalte - 1);
+						nachbarSpalte < Math.min(spalte + 2, breite); nachbarSpalte++) {
+					if (this.spielfeld.isUncovered(nachbarZeile, nachbarSpalte)
+							|| this.spielfeld.isMarkedAsMine(nachbarZeile, nachbarSpalte))
+						continue;
+					this.spielfeld.setUncovered(nachbarZeile, nachbarSpalte);
+					if (this.spielfeld.getBenachbarteMinen(nachbarZeile, nachbarSpalte) != 0)
+						continue;
+					// Jedes Feld kommt hchstens einmal auf den Stapel
+					if (stapelhoehe == this.nullfelder.length)
+						this.nullfelder = Arrays.copyOf(this.nullfelder,
+								2 * stapelhoehe);
+					this.nullfelder[stapelhoehe++] = nachbarZeile * breite + nachbarSpalte;
+				}
+		}
+	}
+	
+	/**
+	 * Kopiert ein Spielfeld samt Zhlern, aber ohne Zugjournal und berechnete
+	 * Wahrscheinlichkeiten.
+	 * 
+	 * @param spielfeld
+	 * 		das zu kopierende Spielfeld
+	 * @return die Kopie
+	 */
+	private static Spielfeld kopiere(final Spielfeld spielfeld) {
+		return new Spielfeld(spielfeld.getHoehe(), spielfeld.getBreite(),
+				spielfeld.getFelder().clone(), spielfeld.getMinenzahl(),
+				spielfeld.getVerbleibendeMinen(), spielfeld.getVerbleibendeFelder());
+	}
+}
@@ -0,0 +1,680 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Berechnet fr jedes verdeckte Feld die Verteilung der Zahl, die es beim
+ * Aufdecken zeigen wrde, im selben Backtracking wie die Minenwahrscheinlichkeiten.
+ *
+ * Zeigt ein freies Feld c die Zahl z, so ist z = b + j + i mit den b markierten
+ * Nachbarn, den j Minen unter den Nachbarn in Randklassen und den i Minen unter
+ * den a Nachbarn auerhalb von A. Bei gegebener Besetzung der Klassen liegen die
+ * k_D Minen einer Klasse D gleichmig auf ihren g_D Feldern; unter den j_D
+ * Nachbarn von c in D sind also hypergeometrisch verteilt viele Minen, und
+ * gehrt c selbst zu D, ist c mit Wahrscheinlichkeit (g_D - k_D) / g_D frei.
+ * Das Backtracking einer Komponente K erfasst daher fr jede Nachbarschaft, also
+ * die Klassen von K an c samt j_D, eine Tabelle T[m][j] ber die Besetzungen von
+ * K mit m Minen, in denen c frei ist und j Minen neben c liegen.
+ *
+ * Die Komponenten, die c berhren, werden danach gefaltet und wie im
+ * ProbabilityCalculator ber die Gesamtzahl der Minen mit den brigen
+ * Komponenten und den Feldern auerhalb von A verknpft. Fr die Felder
+ * auerhalb von A zhlt jede Besetzung mit p Minen am Rand
+ * binom(a, i) * binom(R, M - p - i) mal, wobei R die Felder auerhalb von A
+ * ohne die a Nachbarn und ohne c selbst sind.
+ */
+final class Zahlenverteilungen {
+	
+	/**
+	 * Die grte Zahl, die ein Feld zeigen kann
+	 */
+	static final int GROESSTE_ZAHL = 8;
+	
+	/**
+	 * Die Klassen einer Komponente, an die ein Feld grenzt, und die in den
+	 * Besetzungen der Komponente erfasste Tabelle. Gleiche Nachbarschaften
+	 * verschiedener Felder werden nur einmal erfasst.
+	 */
+	private static final class Nachbarschaft {
+	
+		/**
+		 * Die Komponente
+		 */
+		final int komponente;
+	
+		/**
+		 * Die Klassen, aufsteigend
+		 */
+		final int[] klassen;
+	
+		/**
+		 * Die Anzahl der Nachbarfelder in jeder Klasse
+		 */
+		final int[] anzahlen;
+	
+		/**
+		 * Die Stelle der Klasse des Feldes selbst in klassen, oder -1
+		 */
+		final int eigene;
+	
+		/**
+		 * T[m][j] fr die laufende Berechnung
+		 */
+		double[][] tabelle;
+	
+		/**
+		 * Erzeugt eine Nachbarschaft.
+		 * 
+		 * @param komponente
+		 * 		die Komponente
+		 * @param klassen
+		 * 		die Klassen, aufsteigend
+		 * @param anzahlen
+		 * 		die Anzahl der Nachbarfelder in jeder Klasse
+		 * @param eigene
+		 * 		die Stelle der Klasse des Feldes selbst, oder -1
+		 */
+		Nachbarschaft(final int komponente, final int[] klassen, final int[] anzahlen,
+				final int eigene) {
+			this.komponente = komponente;
+			this.klassen = klassen;
+			this.anzahlen = anzahlen;
+			this.eigene = eigene;
+		}
+	
+		@Override
+		public boolean equals(final Object objekt) {
+			if (!(objekt instanceof Nachbarschaft))
+				return false;
+			final Nachbarschaft andere = (Nachbarschaft) objekt;
+			return this.eigene == andere.eigene && Arrays.equals(this.klassen, andere.klassen)
+					&& Arrays.equals(this.anzahlen, andere.anzahlen);
+		}
+	
+		@Override
+		public int hashCode() {
+			return 31 * (31 * Arrays.hashCode(this.klassen) + Arrays.hashCode(this.anzahlen))
+					+ this.eigene;
+		}
+	}
+	
+	/**
+	 * Das Spielfeld der Berechnung
+	 */
+	private final Spielfeld spielfeld;
+	
+	/**
+	 * Die Randklassen der Berechnung
+	 */
+	private final Randklassen randklassen;
+	
+	/**
+	 * Die Hhe des Minesweepers
+	 */
+	private final int hoehe;
+	
+	/**
+	 * Die Breite des Minesweepers
+	 */
+	private final int breite;
+	
+	/**
+	 * Das Minengewicht, mit dem die Komponenten gezhlt werden
+	 */
+	private final double minengewicht;
+	
+	/**
+	 * Fr jedes verdeckte, nicht markierte Feld seine Nachbarschaften in den
+	 * Komponenten, die es berhrt, nach Komponenten aufsteigend; sonst null
+	 */
+	private final Nachbarschaft[][] nachbarschaften;
+	
+	/**
+	 * Fr jedes Feld die Anzahl seiner verdeckten, nicht markierten Nachbarn
+	 * auerhalb von A
+	 */
+	private final int[] aussennachbarn;
+	
+	/**
+	 * Fr jedes Feld die Anzahl seiner markierten Nachbarn
+	 */
+	private final int[] markierteNachbarn;
+	
+	/**
+	 * Die verschiedenen Nachbarschaften jeder Komponente
+	 */
+	private final ArrayList<ArrayList<Nachbarschaft>> jeKomponente;
+	
+	/**
+	 * Die Nachbarschaften der Komponente, die gerade gezhlt wird, oder null,
+	 * wenn fr keine Komponente erfasst wird
+	 */
+	private ArrayList<Nachbarschaft> laufende;
+	
+	/**
+	 * Fr jede Komponente, ob sie ohne Erfassung der Zahlen gezhlt wurde
+	 */
+	private final boolean[] ausgelassen;
+	
+	/**
+	 * Die hypergeometrische Verteilung, mit der gerade gefaltet wird
+	 */
+	private final double[] hypergeometrisch = new double[GROESSTE_ZAHL + 1];
+	
+	/**
+	 * Die Verteilung der Minen neben dem Feld in der laufenden Besetzung
+	 */
+	private double[] nebenminen = new double[GROESSTE_ZAHL + 1];
+	
+	/**
+	 * Zwischenspeicher fr die Faltung von nebenminen
+	 */
+	private double[] gefaltet = new double[GROESSTE_ZAHL + 1];
+	
+	/**
+	 * Bestimmt die Nachbarschaften aller verdeckten Felder.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld der Berechnung
+	 * @param randklassen
+	 * 		die Randklassen der Berechnung
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 * @param minengewicht
+	 * 		das Minengewicht, mit dem die Komponenten gezhlt werden
+	 */
+	Zahlenverteilungen(final Spielfeld spielfeld, final Randklassen randklassen,
+			final int hoehe, final int breite, final double minengewicht) {
+		this.spielfeld = spielfeld;
+		this.randklassen = randklassen;
+		this.hoehe = hoehe;
+		this.breite = breite;
+		this.minengewicht = minengewicht;
+		this.nachbarschaften = new Nachbarschaft[hoehe * breite][];
+		this.aussennachbarn = new int[hoehe * breite];
+		this.markierteNachbarn = new int[hoehe * breite];
+		this.jeKomponente = new ArrayList<ArrayList<Nachbarschaft>>();
+		this.ausgelassen = new boolean[randklassen.getKomponentenzahl()];
+		for (int komponente = 0; komponente < randklassen.getKomponentenzahl(); komponente++)
+			this.jeKomponente.add(new ArrayList<Nachbarschaft>());
+		final HashMap<Nachbarschaft, Nachbarschaft> bekannte =
+				new HashMap<Nachbarschaft, Nachbarschaft>();
+		// Die Klassen um ein Feld mit der Anzahl seiner Nachbarn darin; die eigene
+		// Klasse steht immer dabei, notfalls mit Anzahl 0
+		final int[] klassen = new int[GROESSTE_ZAHL + 1];
+		final int[] anzahlen = new int[GROESSTE_ZAHL + 1];
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++) {
+				if (spielfeld.isUncovered(zeile, spalte) || spielfeld.isMarkedAsMine(zeile, spalte))
+					continue;
+				final int feld = zeile * breite + spalte;
+				final int eigeneKlasse = randklassen.getKlasse(feld);
+				int verschiedene = 0;
+				if (eigeneKlasse >= 0) {
+					klassen[0] = eigeneKlasse;
+					anzahlen[0] = 0;
+					verschiedene = 1;
+				}
+				for (int nachbarzeile = Math.max(0, zeile - 1);
+						nachbarzeile < Math.min(hoehe, zeile + 2); nachbarzeile++)
+					for (int nachbarspalte = Math.max(0, spalte - 1);
+							nachbarspalte < Math.min(breite, spalte + 2); nachbarspalte++) {
+						if (nachbarzeile == zeile && nachbarspalte == spalte
+								|| spielfeld.isUncovered(nachbarzeile, nachbarspalte))
+							continue;
+						if (spielfeld.isMarkedAsMine(nachbarzeile, nachbarspalte)) {
+							this.markierteNachbarn[feld]++;
+							continue;
+						}
+						final int klasse =
+								randklassen.getKlasse(nachbarzeile * breite + nachbarspalte);
+						if (klasse < 0) {
+							this.aussennachbarn[feld]++;
+							continue;
+						}
+						int stelle = 0;
+						while (stelle < verschiedene && klassen[stelle] != klasse)
+							stelle++;
+						if (stelle == verschiedene) {
+							klassen[stelle] = klasse;
+							anzahlen[stelle] = 0;
+							verschiedene++;
+						}
+						anzahlen[stelle]++;
+					}
+				this.nachbarschaften[feld] = this.erzeugeNachbarschaften(klassen, anzahlen,
+						verschiedene, eigeneKlasse, bekannte);
+			}
+	}
+	
+	/**
+	 * Teilt die Klassen um ein Feld nach Komponenten auf.
+	 * 
+	 * @param klassen
+	 * 		die Klassen um das Feld
+	 * @param anzahlen
+	 * 		die Anzahl der Nachbarfelder in jeder Klasse
+	 * @param verschiedene
+	 * 		die Anzahl der Klassen
+	 * @param eigeneKlasse
+	 * 		die Klasse des Feldes selbst, oder -1
+	 * @param bekannte
+	 * 		die bereits erzeugten Nachbarschaften
+	 * @return die Nachbarschaften des Feldes, nach Komponenten aufsteigend
+	 */
+	private Nachbarschaft[] erzeugeNachbarschaften(final int[] klassen,
+			final int[] anzahlen, final int verschiedene, final int eigeneKlasse,
+			final HashMap<Nachbarschaft, Nachbarschaft> bekannte) {
+		// Die Komponente in den oberen, die Klasse in den unteren Bits
+		final long[] sortierung = new long[verschiedene];
+		for (int stelle = 0; stelle < verschiedene; stelle++)
+			sortierung[stelle] = ((long) this.randklassen.getKomponenteVon(klassen[stelle])
+					<< 32) | klassen[stelle];
+		Arrays.sort(sortierung);
+		int komponenten = 0;
+		for (int stelle = 0; stelle < verschiedene; stelle++)
+			if (stelle == 0 || sortierung[stelle] >>> 32 != sortierung[stelle - 1] >>> 32)
+				komponenten++;
+		final Nachbarschaft[] ergebnis = new Nachbarschaft[komponenten];
+		komponenten = 0;
+		int anfang = 0;
+		while (anfang < verschiedene) {
+			int ende = anfang + 1;
+			while (ende < verschiedene && sortierung[ende] >>> 32 == sortierung[anfang] >>> 32)
+				ende++;
+			final int[] eigeneKlassen = new int[ende - anfang];
+			final int[] eigeneAnzahlen = new int[ende - anfang];
+			int eigene = -1;
+			for (int stelle = anfang; stelle < ende; stelle++) {
+				final int klasse = (int) sortierung[stelle];
+				eigeneKlassen[stelle - anfang] = klasse;
+				for (int index = 0; index < verschiedene; index++)
+					if (klassen[index] == klasse)
+						eigeneAnzahlen[stelle - anfang] = anzahlen[index];
+				if (klasse == eigeneKlasse)
+					eigene = stelle - anfang;
+			}
+			final Nachbarschaft neu = new Nachbarschaft((int) (sortierung[anfang] >>> 32),
+					eigeneKlassen, eigeneAnzahlen, eigene);
+			Nachbarschaft nachbarschaft = bekannte.get(neu);
+			if (nachbarschaft == null) {
+				nachbarschaft = neu;
+				bekannte.put(neu, neu);
+				this.jeKomponente.get(neu.komponente).add(neu);
+			}
+			ergebnis[komponenten++] = nachbarschaft;
+			anfang = ende;
+		}
+		return ergebnis;
+	}
+	
+	/**
+	 * Bereitet die Tabellen einer Komponente vor, bevor sie mit Backtracking
+	 * gezhlt wird.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 */
+	void beginneKomponente(final int komponente) {
+		final int laenge = this.randklassen.getKomponentenfelder(komponente) + 1;
+		this.laufende = this.jeKomponente.get(komponente);
+		for (final Nachbarschaft nachbarschaft : this.laufende)
+			nachbarschaft.tabelle = new double[laenge][GROESSTE_ZAHL + 1];
+	}
+	
+	/**
+	 * Vermerkt, dass eine Komponente ohne Erfassung der Zahlen gezhlt wird. Die
+	 * Felder, die sie berhren, erhalten dann keine Verteilung.
+	 * 
+	 * @param komponente
+	 * 		die Komponente
+	 */
+	void lasseAus(final int komponente) {
+		this.ausgelassen[komponente] = true;
+	}
+	
+	/**
+	 * Erfasst eine Besetzung der Klassen der laufenden Komponente in den Tabellen
+	 * ihrer Nachbarschaften. Wird gerade keine Komponente erfasst, geschieht nichts.
+	 * 
+	 * @param klassenminen
+	 * 		die Minenzahl jeder Klasse
+	 * @param minen
+	 * 		die Anzahl der Minen in der Komponente
+	 * @param gewicht
+	 * 		das Gewicht der Besetzung, wie in minenverteilung
+	 */
+	void erfasse(final int[] klassenminen, final int minen, final double gewicht) {
+		if (this.laufende == null)
+			return;
+		for (final Nachbarschaft nachbarschaft : this.laufende) {
+			double faktor = gewicht;
+			Arrays.fill(this.nebenminen, 0);
+			this.nebenminen[0] = 1;
+			int hoechste = 0;
+			for (int stelle = 0; stelle < nachbarschaft.klassen.length && faktor > 0; stelle++) {
+				final int klasse = nachbarschaft.klassen[stelle];
+				int groesse = this.randklassen.getGroesse(klasse);
+				final int klassenmine = klassenminen[klasse];
+				if (stelle == nachbarschaft.eigene) {
+					faktor = faktor * (groesse - klassenmine) / groesse;
+					groesse--;
+				}
+				final int anzahl = nachbarschaft.anzahlen[stelle];
+				if (anzahl == 0 || faktor == 0)
+					continue;
+				// Minen unter anzahl von groesse Feldern mit klassenmine Minen
+				final double alle = Zahlenverteilungen.binomial(groesse, anzahl);
+				for (int anteil = 0; anteil <= anzahl; anteil++)
+					this.hypergeometrisch[anteil] = Zahlenverteilungen.binomial(klassenmine, anteil)
+							* Zahlenverteilungen.binomial(groesse - klassenmine, anzahl - anteil)
+							/ alle;
+				Arrays.fill(this.gefaltet, 0);
+				for (int bisher = 0; bisher <= hoechste; bisher++)
+					if (this.nebenminen[bisher] != 0)
+						for (int anteil = 0; anteil <= anzahl; anteil++)
+							this.gefaltet[bisher + anteil] +=
+									this.nebenminen[bisher] * this.hypergeometrisch[anteil];
+				final double[] getauscht = this.nebenminen;
+				this.nebenminen = this.gefaltet;
+				this.gefaltet = getauscht;
+				hoechste += anzahl;
+			}
+			if (faktor == 0)
+				continue;
+			final double[] zeile = nachbarschaft.tabelle[minen];
+			for (int anteil = 0; anteil <= hoechste; anteil++)
+				zeile[anteil] += faktor * this.nebenminen[anteil];
+		}
+	}
+	
+	/**
+	 * Schliet die laufende Komponente ab und teilt ihre Tabellen durch denselben
+	 * Faktor wie ihre Minenverteilung.
+	 * 
+	 * @param faktor
+	 * 		der Faktor, durch den die Minenverteilung geteilt wurde
+	 */
+	void beendeKomponente(final double faktor) {
+		for (final Nachbarschaft nachbarschaft : this.laufende)
+			for (final double[] zeile : nachbarschaft.tabelle)
+				for (int anteil = 0; anteil < zeile.length; anteil++)
+					zeile[anteil] /= faktor;
+		this.laufende = null;
+	}
+	
+	/**
+	 * Verknpft die erfassten Tabellen zu den Verteilungen der Zahlen aller
+	 * verdeckten Felder.
+	 * 
+	 * @param verteilungen
+	 * 		die normierte Minenverteilung jeder Komponente
+	 * @param rechner
+	 * 		der ProbabilityCalculator, der unterbrochen werden kann
+	 * @return fr jedes verdeckte, nicht markierte Feld die Wahrscheinlichkeiten,
+	 * 		dass es frei ist und die Zahlen 0 bis GROESSTE_ZAHL zeigt; null fr
+	 * 		aufgedeckte und markierte Felder und fr Felder, die eine ausgelassene
+	 * 		Komponente berhren
+	 * @throws InterruptedException
+	 * 		Wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	double[][][] berechne(final double[][] verteilungen, final ProbabilityCalculator rechner)
+			throws InterruptedException {
+		final int komponentenzahl = verteilungen.length;
+		final int minen = this.spielfeld.getVerbleibendeMinen();
+		final int verdeckteFelder = this.spielfeld.getVerbleibendeFelder() + minen;
+		final int randfelder = this.randklassen.getRandfelder();
+		final int aussenfelder = verdeckteFelder - randfelder;
+		final double[] logarithmen = new double[verdeckteFelder + 1];
+		for (int anzahl = 2; anzahl <= verdeckteFelder; anzahl++)
+			logarithmen[anzahl] = logarithmen[anzahl - 1] + Math.log(anzahl);
+		// Alle Gewichte der Felder auerhalb von A werden auf das grte Gewicht
+		// ohne Nachbarn bezogen, damit sie untereinander vergleichbar bleiben.
+		double bezug = Double.NEGATIVE_INFINITY;
+		for (int randminen = 0; randminen <= randfelder; randminen++)
+			bezug = Math.max(bezug, this.logarithmusGewicht(logarithmen, aussenfelder,
+					minen - randminen, randminen));
+		final HashMap<Integer, double[]> gewichte = new HashMap<Integer, double[]>();
+		// vorher[k] faltet die Komponenten vor k, nachher[k] die ab k
+		final double[][] vorher = new double[komponentenzahl + 1][];
+		vorher[0] = new double[] {1};
+		for (int komponente = 0; komponente < komponentenzahl; komponente++)
+			vorher[komponente + 1] =
+					Zahlenverteilungen.falte(vorher[komponente], verteilungen[komponente]);
+		final double[][] nachher = new double[komponentenzahl + 1][];
+		nachher[komponentenzahl] = new double[] {1};
+		for (int komponente = komponentenzahl - 1; komponente >= 0; komponente--)
+			nachher[komponente] =
+					Zahlenverteilungen.falte(verteilungen[komponente], nachher[komponente + 1]);
+		final double[][] ohne = new double[komponentenzahl][];
+		final double[][][] ergebnis = new double[this.hoehe][this.breite][];
+		for (int zeile = 0; zeile < this.hoehe; zeile++)
+			for (int spalte = 0; spalte < this.breite; spalte++) {
+				rechner.pruefeUnterbrechung();
+				final Nachbarschaft[] umgebung = this.nachbarschaften[zeile * this.breite + spalte];
+				if (umgebung == null || this.beruehrtAusgelassene(umgebung))
+					continue;
+				// Die berhrten Komponenten zusammen, und alle brigen zusammen
+				double[] verteilung = {1};
+				double[][] tabelle = {{1}};
+				for (final Nachbarschaft nachbarschaft : umgebung) {
+					verteilung = Zahlenverteilungen.falte(verteilung,
+							verteilungen[nachbarschaft.komponente]);
+					tabelle = Zahlenverteilungen.falte(tabelle, nachbarschaft.tabelle);
+				}
+				double[] uebrige;
+				if (umgebung.length == 0) {
+					uebrige = vorher[komponentenzahl];
+				} else if (umgebung.length == 1) {
+					final int komponente = umgebung[0].komponente;
+					if (ohne[komponente] == null)
+						ohne[komponente] = Zahlenverteilungen.falte(vorher[komponente],
+								nachher[komponente + 1]);
+					uebrige = ohne[komponente];
+				} else {
+					uebrige = vorher[umgebung[0].komponente];
+					for (int index = 1; index < umgebung.length; index++)
+						for (int komponente = umgebung[index - 1].komponente + 1;
+								komponente < umgebung[index].komponente; komponente++)
+							uebrige = Zahlenverteilungen.falte(uebrige, verteilungen[komponente]);
+					uebrige = Zahlenverteilungen.falte(uebrige,
+							nachher[umgebung[umgebung.length - 1].komponente + 1]);
+				}
+				final int feld = zeile * this.breite + spalte;
+				final int aussen = this.aussennachbarn[feld];
+				final int uebrigeFelder = aussenfelder - aussen
+						- (this.randklassen.getKlasse(feld) < 0 ? 1 : 0);
+				final double[] alleGewichte = this.holeGewichte(gewichte, logarithmen,
+						aussenfelder, minen, randfelder, bezug);
+				final double[] uebrigeGewichte = this.holeGewichte(gewichte, logarithmen,
+						uebrigeFelder, minen, randfelder, bezug);
+				double nenner = 0;
+				for (int randminen = 0; randminen < verteilung.length; randminen++)
+					if (verteilung[randminen] != 0)
+						nenner += verteilung[randminen]
+								* Zahlenverteilungen.korreliere(uebrige, alleGewichte, randminen);
+				final double[] zahlen = new double[GROESSTE_ZAHL + 1];
+				final double[] aussenanteil = new double[verteilung.length + aussen];
+				for (int verschiebung = 0; verschiebung < aussenanteil.length; verschiebung++)
+					aussenanteil[verschiebung] =
+							Zahlenverteilungen.korreliere(uebrige, uebrigeGewichte, verschiebung);
+				final int markiert = this.markierteNachbarn[feld];
+				for (int randminen = 0; randminen < tabelle.length; randminen++)
+					for (int nebenminen = 0; nebenminen < tabelle[randminen].length; nebenminen++) {
+						if (tabelle[randminen][nebenminen] == 0)
+							continue;
+						double faktor = tabelle[randminen][nebenminen];
+						for (int aussenminen = 0; aussenminen <= aussen; aussenminen++) {
+							zahlen[markiert + nebenminen + aussenminen] +=
+									faktor * aussenanteil[randminen + aussenminen];
+							faktor = faktor * (aussen - aussenminen) / (aussenminen + 1)
+									* this.minengewicht;
+						}
+					}
+				for (int zahl = 0; zahl <= GROESSTE_ZAHL; zahl++)
+					zahlen[zahl] /= nenner;
+				ergebnis[zeile][spalte] = zahlen;
+			}
+		return ergebnis;
+	}
+	
+	/**
+	 * Prft, ob unter den Nachbarschaften eines Feldes eine Komponente ist, die
+	 * ohne Erfassung der Zahlen gezhlt wurde.
+	 * 
+	 * @param umgebung
+	 * 		die Nachbarschaften des Feldes
+	 * @return true, wenn das Feld eine ausgelassene Komponente berhrt
+	 */
+	private boolean beruehrtAusgelassene(final Nachbarschaft[] umgebung) {
+		for (final Nachbarschaft nachbarschaft : umgebung)
+			if (this.ausgelassen[nachbarschaft.komponente])
+				return true;
+		return false;
+	}
+	
+	/**
+	 * Gibt die Gewichte fr R Felder auerhalb von A zurck, die M - p Minen
+	 * enthalten, wenn am Rand p Minen liegen, jeweils mal minengewicht^(-p).
+	 * 
+	 * @param gewichte
+	 * 		die bereits berechneten Gewichte nach R
+	 * @param logarithmen
+	 * 		log(n!) fr jedes n
+	 * @param felder
+	 * 		R
+	 * @param minen
+	 * 		M
+	 * @param randfelder
+	 * 		die Anzahl der Randfelder
+	 * @param bezug
+	 * 		der Logarithmus des Gewichts, das 1 entspricht
+	 * @return fr p von 0 bis randfelder + GROESSTE_ZAHL das Gewicht
+	 */
+	private double[] holeGewichte(final HashMap<Integer, double[]> gewichte,
+			final double[] logarithmen, final int felder, final int minen,
+			final int randfelder, final double bezug) {
+		double[] ergebnis = gewichte.get(felder);
+		if (ergebnis == null) {
+			ergebnis = new double[randfelder + GROESSTE_ZAHL + 1];
+			for (int randminen = 0; randminen < ergebnis.length; randminen++)
+				ergebnis[randminen] = Math.exp(this.logarithmusGewicht(logarithmen, felder,
+						minen - randminen, randminen) - bezug);
+			gewichte.put(felder, ergebnis);
+		}
+		return ergebnis;
+	}
+	
+	/**
+	 * Berechnet log(binom(felder, minen) * minengewicht^(-randminen)).
+	 * 
+	 * @param logarithmen
+	 * 		log(n!) fr jedes n
+	 * @param felder
+	 * 		die Anzahl der Felder
+	 * @param minen
+	 * 		die Anzahl der Minen darauf
+	 * @param randminen
+	 * 		die Anzahl der Minen am Rand
+	 * @return der Logarithmus, oder -unendlich, wenn die Minen nicht passen
+	 */
+	private double logarithmusGewicht(final double[] logarithmen, final int felder,
+			final int minen, final int randminen) {
+		if (minen < 0 || minen > felder || felder < 0)
+			return Double.NEGATIVE_INFINITY;
+		return logarithmen[felder] - logarithmen[minen] - logarithmen[felder - minen]
+				- randminen * Math.log(this.minengewicht);
+	}
+	
+	/**
+	 * Berechnet sum_p verteilung[p] * gewichte[p + verschiebung].
+	 * 
+	 * @param verteilung
+	 * 		die Verteilung
+	 * @param gewichte
+	 * 		die Gewichte
+	 * @param verschiebung
+	 * 		die Verschiebung
+	 * @return die Summe
+	 */
+	private static double korreliere(final double[] verteilung, final double[] gewichte,
+			final int verschiebung) {
+		double summe = 0;
+		final int ende = Math.min(verteilung.length, gewichte.length - verschiebung);
+		for (int minen = 0; minen < ende; minen++)
+			summe += verteilung[minen] * gewichte[minen + verschiebung];
+		return summe;
+	}
+	
+	/**
+	 * Faltet zwei Minenverteilungen und normiert das Ergebnis auf sein Maximum.
+	 * 
+	 * @param erste
+	 * 		die erste Verteilung
+	 * @param zweite
+	 * 		die zweite Verteilung
+	 * @return die normierte Verteilung der Summe der Minenzahlen
+	 */
+	private static double[] falte(final double[] erste, final double[] zweite) {
+		final double[] ergebnis = new double[erste.length + zweite.length - 1];
+		double maximum = 0;
+		for (int i = 0; i < erste.length; i++) {
+			if (erste[i] == 0)
+				continue;
+			for (int j = 0; j < zweite.length; j++)
+				ergebnis[i + j] += erste[i] * zweite[j];
+		}
+		for (final double wert : ergebnis)
+			maximum = Math.max(maximum, wert);
+		if (maximum > 0)
+			for (int index = 0; index < ergebnis.length; index++)
+				ergebnis[index] /= maximum;
+		return ergebnis;
+	}
+	
+	/**
+	 * Faltet zwei Tabellen T[m][j] in beiden Richtungen. Da ein Feld hchstens
+	 * GROESSTE_ZAHL Nachbarn hat, bleibt j darunter.
+	 * 
+	 * @param erste
+	 * 		die erste Tabelle
+	 * @param zweite
+	 * 		die zweite Tabelle
+	 * @return die Tabelle der Summen
+	 */
+	private static double[][] falte(final double[][] erste, final double[][] zweite) {
+		final double[][] ergebnis =
+				new double[erste.length + zweite.length - 1][GROESSTE_ZAHL + 1];
+		for (int m1 = 0; m1 < erste.length; m1++)
+			for (int j1 = 0; j1 < erste[m1].length; j1++) {
+				if (erste[m1][j1] == 0)
+					continue;
+				for (int m2 = 0; m2 < zweite.length; m2++)
+					for (int j2 = 0; j1 + j2 <= GROESSTE_ZAHL && j2 < zweite[m2].length; j2++)
+						ergebnis[m1 + m2][j1 + j2] += erste[m1][j1] * zweite[m2][j2];
+			}
+		return ergebnis;
+	}
+	
+	/**
+	 * Berechnet einen Binomialkoeffizienten mit kleinem unteren Wert.
+	 * 
+	 * @param n
+	 * 		der obere Wert
+	 * @param k
+	 * 		der untere Wert
+	 * @return binom(n, k), 0 auerhalb von 0 <= k <= n
+	 */
+	private static double binomial(final int n, final int k) {
+		if (k < 0 || k > n)
+			return 0;
+		double ergebnis = 1;
+		for (int i = 1; i <= k; i++)
+			ergebnis = ergebnis * (n - k + i) / i;
+		return ergebnis;
+	}
+}
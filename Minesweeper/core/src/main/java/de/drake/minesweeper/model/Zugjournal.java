@@ -0,0 +1,217 @@
+package de.drake.minesweeper.model;
+
+import java.util.Arrays;
+
+/**
+ * Protokolliert die nderungen an einem Spielfeld zugweise, damit Zge
+ * rckgngig gemacht und wiederholt werden knnen.
+ * 
+ * Jede nderung eines Feldes wird als einzelner int abgelegt: die zeilenweise
+ * Nummer des Feldes, um zwei Bit nach links geschoben, und darunter die
+ * umgeschalteten Bits (AUFGEDECKT, MARKIERT). Da sich beim Aufdecken und
+ * Markieren nur diese Bits ndern und jede nderung ein Umschalten ist, wird ein
+ * Zug rckgngig gemacht bzw. wiederholt, indem man seine nderungen erneut
+ * umschaltet. Der Aufwand ist proportional zur Zahl der genderten Felder.
+ * 
+ * Zustzlich merkt sich das Journal fr die letzten ZWISCHENSPEICHER Spielstnde
+ * die zuletzt berechneten Minenwahrscheinlichkeiten, damit sie beim Zurckgehen
+ * nicht neu berechnet werden mssen.
+ */
+final class Zugjournal {
+	
+	/**
+	 * Kennzeichnet eine nderung des Bits Minefield.AUFGEDECKT
+	 */
+	static final int AUFGEDECKT = 1;
+	
+	/**
+	 * Kennzeichnet eine nderung des Bits Minefield.MARKIERT
+	 */
+	static final int MARKIERT = 2;
+	
+	/**
+	 * Die Anzahl der Spielstnde, deren Minenwahrscheinlichkeiten aufbewahrt werden
+	 */
+	static final int ZWISCHENSPEICHER = 32;
+	
+	/**
+	 * Die protokollierten nderungen, auch die der rckgngig gemachten Zge
+	 */
+	private int[] aenderungen = new int[64];
+	
+	/**
+	 * Die Anzahl der protokollierten nderungen
+	 */
+	private int aenderungszahl = 0;
+	
+	/**
+	 * Der Index der ersten nderung jedes Zuges; zuganfaenge[zugzahl] ist das
+	 * Ende des letzten Zuges
+	 */
+	private int[] zuganfaenge = new int[16];
+	
+	/**
+	 * Die Anzahl der protokollierten Zge, auch der rckgngig gemachten
+	 */
+	private int zugzahl = 0;
+	
+	/**
+	 * Die Anzahl der ausgefhrten Zge, d.h. die Nummer des aktuellen Spielstandes
+	 */
+	private int aktuellerZug = 0;
+	
+	/**
+	 * Die Spielstnde, deren Minenwahrscheinlichkeiten aufbewahrt werden, -1 fr
+	 * freie Pltze
+	 */
+	private final int[] gespeicherteStaende = new int[ZWISCHENSPEICHER];
+	
+	/**
+	 * Die aufbewahrten Minenwahrscheinlichkeiten zu gespeicherteStaende
+	 */
+	private final double[][][] gespeicherteWahrscheinlichkeiten =
+			new double[ZWISCHENSPEICHER][][];
+	
+	/**
+	 * Gibt an, ob bereits ein Zug begonnen wurde. Vorher werden keine nderungen
+	 * protokolliert, z.B. beim Aufbau einer Stellung.
+	 */
+	private boolean protokolliert = false;
+	
+	/**
+	 * Gibt an, ob die nchste nderung einen neuen Zug erffnet
+	 */
+	private boolean neuerZug = false;
+	
+	/**
+	 * Erzeugt ein leeres Journal. Solange kein Zug begonnen wurde, werden keine
+	 * nderungen protokolliert.
+	 */
+	Zugjournal() {
+		Arrays.fill(this.gespeicherteStaende, -1);
+	}
+	
+	/**
+	 * Beginnt einen neuen Zug. Der Zug wird erst mit seiner ersten nderung
+	 * angelegt, so dass es keine leeren Zge gibt.
+	 * 
+	 * @param wahrscheinlichkeiten
+	 * 		die aktuellen Minenwahrscheinlichkeiten oder null, wenn keine aktuellen
+	 * 		vorliegen
+	 */
+	void beginneZug(final double[][] wahrscheinlichkeiten) {
+		this.protokolliert = true;
+		this.neuerZug = true;
+		this.merkeWahrscheinlichkeiten(wahrscheinlichkeiten);
+	}
+	
+	/**
+	 * Protokolliert die nderung eines Feldes im laufenden Zug. Erffnet sie einen
+	 * neuen Zug, knnen rckgngig gemachte Zge danach nicht mehr wiederholt
+	 * werden.
+	 * 
+	 * @param feld
+	 * 		die zeilenweise Nummer des Feldes
+	 * @param bits
+	 * 		die umgeschalteten Bits, AUFGEDECKT und/oder MARKIERT
+	 */
+	void notiere(final int feld, final int bits) {
+		if (!this.protokolliert)
+			return;
+		if (this.neuerZug) {
+			this.neuerZug = false;
+			if (this.aktuellerZug < this.zugzahl) {
+				this.zugzahl = this.aktuellerZug;
+				this.aenderungszahl = this.zuganfaenge[this.zugzahl];
+				for (int platz = 0; platz < ZWISCHENSPEICHER; platz++)
+					if (this.gespeicherteStaende[platz] > this.aktuellerZug) {
+						this.gespeicherteStaende[platz] = -1;
+						this.gespeicherteWahrscheinlichkeiten[platz] = null;
+					}
+			}
+			if (this.zugzahl + 2 > this.zuganfaenge.length)
+				this.zuganfaenge = Arrays.copyOf(this.zuganfaenge,
+						2 * this.zuganfaenge.length);
+			this.zuganfaenge[this.zugzahl] = this.aenderungszahl;
+			this.zugzahl++;
+			this.aktuellerZug = this.zugzahl;
+		}
+		if (this.aenderungszahl == this.aenderungen.length)
+			this.aenderungen = Arrays.copyOf(this.aenderungen, 2 * this.aenderungen.length);
+		this.aenderungen[this.aenderungszahl] = feld << 2 | bits;
+		this.aenderungszahl++;
+		this.zuganfaenge[this.zugzahl] = this.aenderungszahl;
+	}
+	
+	/**
+	 * Gibt zurck, ob ein Zug rckgngig gemacht werden kann.
+	 * 
+	 * @return true, wenn ein ausgefhrter Zug existiert
+	 */
+	boolean kannRueckgaengigMachen() {
+		return this.aktuellerZug > 0;
+	}
+	
+	/**
+	 * Gibt zurck, ob ein rckgngig gemachter Zug wiederholt werden kann.
+	 * 
+	 * @return true, wenn ein rckgngig gemachter Zug existiert
+	 */
+	boolean kannWiederholen() {
+		return this.aktuellerZug < this.zugzahl;
+	}
+	
+	/**
+	 * Geht einen Zug zurck bzw. vor und gibt die nderungen dieses Zuges zurck.
+	 * 
+	 * @param rueckwaerts
+	 * 		true, um einen Zug zurckzugehen, false um einen vorzugehen
+	 * @param wahrscheinlichkeiten
+	 * 		die Minenwahrscheinlichkeiten des verlassenen Spielstandes oder null
+	 * @return die nderungen des Zuges in der Reihenfolge, in der sie umzuschalten
+	 * 		sind
+	 */
+	int[] wechsleZug(final boolean rueckwaerts, final double[][] wahrscheinlichkeiten) {
+		this.merkeWahrscheinlichkeiten(wahrscheinlichkeiten);
+		final int zug = rueckwaerts ? this.aktuellerZug - 1 : this.aktuellerZug;
+		final int anfang = this.zuganfaenge[zug];
+		final int ende = this.zuganfaenge[zug + 1];
+		final int[] ergebnis = new int[ende - anfang];
+		for (int index = 0; index < ergebnis.length; index++)
+			ergebnis[index] = this.aenderungen[rueckwaerts ? ende - 1 - index : anfang + index];
+		this.aktuellerZug = rueckwaerts ? zug : zug + 1;
+		this.neuerZug = true;
+		return ergebnis;
+	}
+	
+	/**
+	 * Gibt die aufbewahrten Minenwahrscheinlichkeiten des aktuellen Spielstandes
+	 * zurck.
+	 * 
+	 * @return die Minenwahrscheinlichkeiten oder null, wenn keine aufbewahrt wurden
+	 */
+	double[][] getWahrscheinlichkeiten() {
+		for (int platz = 0; platz < ZWISCHENSPEICHER; platz++)
+			if (this.gespeicherteStaende[platz] == this.aktuellerZug)
+				return this.gespeicherteWahrscheinlichkeiten[platz];
+		return null;
+	}
+	
+	/**
+	 * Bewahrt die Minenwahrscheinlichkeiten des aktuellen Spielstandes auf. Der
+	 * Platz wird reihum vergeben, so dass die ltesten Eintrge verdrngt werden.
+	 * 
+	 * @param wahrscheinlichkeiten
+	 * 		die Minenwahrscheinlichkeiten oder null
+	 */
+	private void merkeWahrscheinlichkeiten(final double[][] wahrscheinlichkeiten) {
+		if (wahrscheinlichkeiten == null)
+			return;
+		int platz = this.aktuellerZug % ZWISCHENSPEICHER;
+		for (int index = 0; index < ZWISCHENSPEICHER; index++)
+			if (this.gespeicherteStaende[index] == this.aktuellerZug)
+				platz = index;
+		this.gespeicherteStaende[platz] = this.aktuellerZug;
+		this.gespeicherteWahrscheinlichkeiten[platz] = wahrscheinlichkeiten;
+	}
+}
@@ -0,0 +1,20 @@
+package de.drake.minesweeper.model;
+
+/**
+ * Empfngt vorlufige Minenwahrscheinlichkeiten, whrend der
+ * ProbabilityCalculator noch rechnet, siehe Spielfeld.berechneSchrittweise().
+ */
+public interface Zwischenergebnisempfaenger {
+	
+	/**
+	 * Nimmt den aktuellen Zwischenstand der Berechnung entgegen. Zuerst kommt eine
+	 * Schtzung fr alle Felder, danach werden die Komponenten der Randfelder
+	 * nach und nach eingetragen, zuletzt genau. Wird in dem Thread aufgerufen,
+	 * der rechnet, und sollte ihn nicht lange aufhalten.
+	 * 
+	 * @param wahrscheinlichkeiten
+	 * 		die vorlufige Minenwahrscheinlichkeit jedes Feldes, 0 fr aufgedeckte
+	 * 		und markierte Felder; wird danach nicht mehr verndert
+	 */
+	void empfangeZwischenergebnis(double[][] wahrscheinlichkeiten);
+}
@@ -0,0 +1,253 @@
+package de.drake.minesweeper.model;
+
+import java.util.ArrayList;
+
+/**
+ * Zhlt die Minenverteilungen einer kleinen Stellung vollstndig auf und dient
+ * so als Mastab fr die Zhlverfahren des ProbabilityCalculators. Jede
+ * Verteilung der verbleibenden Minen auf die verdeckten, nicht markierten
+ * Felder, die zu allen aufgedeckten Zahlen passt, ist gleich wahrscheinlich.
+ * Markierte Felder gelten als Minen. Angenommene Aufdeckungen schrnken die
+ * Verteilungen weiter ein, siehe deckeAuf().
+ */
+final class Aufzaehlung {
+	
+	/**
+	 * Die Anzahl der verdeckten, nicht markierten Felder, bis zu der aufgezhlt
+	 * werden kann
+	 */
+	static final int MAXIMALE_FELDER = 20;
+	
+	/**
+	 * Die Hhe des Spielfeldes
+	 */
+	private final int hoehe;
+	
+	/**
+	 * Die Breite des Spielfeldes
+	 */
+	private final int breite;
+	
+	/**
+	 * Je Feld, ob es aufgedeckt ist oder als aufgedeckt angenommen wird
+	 */
+	private final boolean[] aufgedeckt;
+	
+	/**
+	 * Die verdeckten, nicht markierten Felder in zeilenweiser Nummerierung
+	 */
+	private final int[] offeneFelder;
+	
+	/**
+	 * Die Anzahl der Minen auf den verdeckten, nicht markierten Feldern
+	 */
+	private final int minen;
+	
+	/**
+	 * Alle passenden Minenverteilungen, je Feld true fr eine Mine
+	 */
+	private final ArrayList<boolean[]> verteilungen = new ArrayList<boolean[]>();
+	
+	/**
+	 * Zhlt die Minenverteilungen einer Stellung auf.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld mit hchstens MAXIMALE_FELDER verdeckten, nicht
+	 * 		markierten Feldern
+	 */
+	Aufzaehlung(final Spielfeld spielfeld) {
+		this.hoehe = spielfeld.getHoehe();
+		this.breite = spielfeld.getBreite();
+		this.aufgedeckt = new boolean[this.hoehe * this.breite];
+		final ArrayList<Integer> offen = new ArrayList<Integer>();
+		final ArrayList<Integer> aufgedeckt = new ArrayList<Integer>();
+		final boolean[] markiert = new boolean[this.hoehe * this.breite];
+		for (int zeile = 0; zeile < this.hoehe; zeile++)
+			for (int spalte = 0; spalte < this.breite; spalte++) {
+				final int feld = zeile * this.breite + spalte;
+				if (spielfeld.isUncovered(zeile, spalte)) {
+					this.aufgedeckt[feld] = true;
+					aufgedeckt.add(feld);
+				} else if (spielfeld.isMarkedAsMine(zeile, spalte))
+					markiert[feld] = true;
+				else
+					offen.add(feld);
+			}
+		if (offen.size() > MAXIMALE_FELDER)
+			throw new IllegalArgumentException("Zu viele verdeckte Felder: " + offen.size());
+		this.offeneFelder = new int[offen.size()];
+		for (int index = 0; index < this.offeneFelder.length; index++)
+			this.offeneFelder[index] = offen.get(index);
+		this.minen = spielfeld.getVerbleibendeMinen();
+		if (this.minen < 0 || this.minen > this.offeneFelder.length)
+			return;
+		// Alle Teilmengen mit genau minen Elementen in aufsteigender Reihenfolge
+		final int ende = 1 << this.offeneFelder.length;
+		int auswahl = (1 << this.minen) - 1;
+		while (auswahl < ende) {
+			final boolean[] verteilung = markiert.clone();
+			for (int index = 0; index < this.offeneFelder.length; index++)
+				if ((auswahl & (1 << index)) != 0)
+					verteilung[this.offeneFelder[index]] = true;
+			boolean passend = true;
+			for (int index = 0; passend && index < aufgedeckt.size(); index++) {
+				final int feld = aufgedeckt.get(index);
+				passend = this.zaehleNachbarminen(verteilung, feld)
+						== spielfeld.getBenachbarteMinen(feld / this.breite, feld % this.breite);
+			}
+			if (passend)
+				this.verteilungen.add(verteilung);
+			if (auswahl == 0)
+				break;
+			final int niedrigstes = auswahl & -auswahl;
+			final int summe = auswahl + niedrigstes;
+			auswahl = (((auswahl ^ summe) >>> 2) / niedrigstes) | summe;
+		}
+	}
+	
+	/**
+	 * Nimmt an, dass ein Feld aufgedeckt wird und eine bestimmte Zahl zeigt.
+	 * 
+	 * @param vorher
+	 * 		die Aufzhlung vor der Aufdeckung
+	 * @param feld
+	 * 		das aufgedeckte Feld in zeilenweiser Nummerierung
+	 * @param zahl
+	 * 		die Zahl, die es zeigt
+	 */
+	private Aufzaehlung(final Aufzaehlung vorher, final int feld, final int zahl) {
+		this.hoehe = vorher.hoehe;
+		this.breite = vorher.breite;
+		this.aufgedeckt = vorher.aufgedeckt.clone();
+		this.aufgedeckt[feld] = true;
+		this.offeneFelder = new int[vorher.offeneFelder.length - 1];
+		int index = 0;
+		for (final int offenesFeld : vorher.offeneFelder)
+			if (offenesFeld != feld)
+				this.offeneFelder[index++] = offenesFeld;
+		this.minen = vorher.minen;
+		for (final boolean[] verteilung : vorher.verteilungen)
+			if (!verteilung[feld] && this.zaehleNachbarminen(verteilung, feld) == zahl)
+				this.verteilungen.add(verteilung);
+	}
+	
+	/**
+	 * Nimmt an, dass ein verdecktes, nicht markiertes Feld aufgedeckt wird und
+	 * eine bestimmte Zahl zeigt. Ein Nullfeld deckt dabei nicht seine Umgebung
+	 * auf, wie bei Spielfeld.erzeugeAnnahme().
+	 * 
+	 * @param feld
+	 * 		das Feld in zeilenweiser Nummerierung
+	 * @param zahl
+	 * 		die Zahl, die es zeigt
+	 * @return die Aufzhlung der Stellung nach der Aufdeckung
+	 */
+	Aufzaehlung deckeAuf(final int feld, final int zahl) {
+		return new Aufzaehlung(this, feld, zahl);
+	}
+	
+	/**
+	 * Gibt zurck, ob ein Feld einen aufgedeckten oder als aufgedeckt
+	 * angenommenen Nachbarn hat.
+	 * 
+	 * @param feld
+	 * 		das Feld in zeilenweiser Nummerierung
+	 * @return true, wenn es einen solchen Nachbarn gibt
+	 */
+	boolean hatAufgedecktenNachbarn(final int feld) {
+		final int zeile = feld / this.breite;
+		final int spalte = feld % this.breite;
+		for (int nachbarZeile = Math.max(0, zeile-1);
+				nachbarZeile < Math.min(zeile+2, this.hoehe); nachbarZeile++)
+			for (int nachbarSpalte = Math.max(0, spalte-1);
+					nachbarSpalte < Math.min(spalte+2, this.breite); nachbarSpalte++)
+				if (this.aufgedeckt[nachbarZeile * this.breite + nachbarSpalte])
+					return true;
+		return false;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Minen auf den verdeckten, nicht markierten Feldern
+	 * zurck.
+	 * 
+	 * @return die Anzahl
+	 */
+	int getMinen() {
+		return this.minen;
+	}
+	
+	/**
+	 * Gibt die Anzahl der passenden Minenverteilungen zurck.
+	 * 
+	 * @return die Anzahl
+	 */
+	int getAnzahl() {
+		return this.verteilungen.size();
+	}
+	
+	/**
+	 * Gibt die verdeckten, nicht markierten Felder zurck.
+	 * 
+	 * @return die Felder in zeilenweiser Nummerierung; darf nicht verndert werden
+	 */
+	int[] getOffeneFelder() {
+		return this.offeneFelder;
+	}
+	
+	/**
+	 * Gibt die Minenwahrscheinlichkeit eines Feldes zurck.
+	 * 
+	 * @param feld
+	 * 		das Feld in zeilenweiser Nummerierung
+	 * @return der Anteil der passenden Verteilungen mit einer Mine auf dem Feld
+	 */
+	double getMinenwahrscheinlichkeit(final int feld) {
+		int minen = 0;
+		for (final boolean[] verteilung : this.verteilungen)
+			if (verteilung[feld])
+				minen++;
+		return (double) minen / this.verteilungen.size();
+	}
+	
+	/**
+	 * Gibt die Verteilung der Zahl zurck, die ein Feld beim Aufdecken zeigen
+	 * wrde.
+	 * 
+	 * @param feld
+	 * 		das Feld in zeilenweiser Nummerierung
+	 * @return je Zahl 0 bis 8 der Anteil der passenden Verteilungen, in denen das
+	 * 		Feld frei ist und die Zahl zeigt
+	 */
+	double[] getZahlenverteilung(final int feld) {
+		final double[] zahlen = new double[9];
+		for (final boolean[] verteilung : this.verteilungen)
+			if (!verteilung[feld])
+				zahlen[this.zaehleNachbarminen(verteilung, feld)]++;
+		for (int zahl = 0; zahl < zahlen.length; zahl++)
+			zahlen[zahl] /= this.verteilungen.size();
+		return zahlen;
+	}
+	
+	/**
+	 * Zhlt die Minen um ein Feld.
+	 * 
+	 * @param verteilung
+	 * 		die Minenverteilung
+	 * @param feld
+	 * 		das Feld in zeilenweiser Nummerierung
+	 * @return die Anzahl der Minen unter den Nachbarn
+	 */
+	private int zaehleNachbarminen(final boolean[] verteilung, final int feld) {
+		final int zeile = feld / this.breite;
+		final int spalte = feld % this.breite;
+		int anzahl = 0;
+		for (int nachbarZeile = Math.max(0, zeile-1);
+				nachbarZeile < Math.min(zeile+2, this.hoehe); nachbarZeile++)
+			for (int nachbarSpalte = Math.max(0, spalte-1);
+					nachbarSpalte < Math.min(spalte+2, this.breite); nachbarSpalte++)
+				if ((nachbarZeile != zeile || nachbarSpalte != spalte)
+						&& verteilung[nachbarZeile * this.breite + nachbarSpalte])
+					anzahl++;
+		return anzahl;
+	}
+}
@@ -0,0 +1,130 @@
+package de.drake.minesweeper.model;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Sichert Spielfelder aus festen Startwerten mit dem Autospeicher in einem
+ * temporren Verzeichnis und ldt sie mit einem neuen Autospeicher wieder, wie
+ * nach einem Neustart des Programms.
+ */
+public class AutospeicherTest {
+	
+	/**
+	 * Die Anzahl der verdeckten, nicht markierten Felder, die eine Stellung
+	 * hchstens hat
+	 */
+	private static final int GRENZE = 16;
+	
+	/**
+	 * Das Verzeichnis fr die Sicherungen
+	 */
+	@Rule
+	public final TemporaryFolder verzeichnis = new TemporaryFolder();
+	
+	/**
+	 * Die Sicherung enthlt auch die Zge nach dem ersten Schnappschuss, die nur
+	 * als genderte Blcke geschrieben werden.
+	 */
+	@Test
+	public void neuesteSicherungWirdGeladen() {
+		final Random zufall = new Random(37);
+		final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, 2 * GRENZE);
+		final Autospeicher autospeicher = this.erzeugeAutospeicher();
+		autospeicher.schnappschuss(spielfeld);
+		for (int zug = 0; zug < 3 && this.deckeAuf(spielfeld, zufall); zug++)
+			autospeicher.zugBeendet(spielfeld);
+		autospeicher.beende(spielfeld);
+		Teststellungen.pruefeGleich("Sicherung", spielfeld,
+				this.erzeugeAutospeicher().ladeNeuestes());
+	}
+	
+	/**
+	 * Nach dem Lschen gibt es keine Sicherung und keine Dateien mehr, sptere
+	 * Schnappschsse des beendeten Spielfeldes werden ignoriert.
+	 */
+	@Test
+	public void geloeschteSicherungWirdNichtGeladen() {
+		final Spielfeld spielfeld = Teststellungen.erzeuge(new Random(371), GRENZE);
+		final Autospeicher autospeicher = this.erzeugeAutospeicher();
+		autospeicher.schnappschuss(spielfeld);
+		autospeicher.loesche(spielfeld);
+		autospeicher.beende(spielfeld);
+		assertNull(this.erzeugeAutospeicher().ladeNeuestes());
+		assertFalse(new File(this.verzeichnis.getRoot(), Autospeicher.ZEIGER).exists());
+		for (final String slot : Autospeicher.SLOTS)
+			assertFalse(slot, new File(this.verzeichnis.getRoot(), slot).exists());
+	}
+	
+	/**
+	 * Ist die Datei, auf die der Zeiger zeigt, beschdigt, wird der vorherige
+	 * Schnappschuss aus der anderen Datei geladen.
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Datei nicht beschdigt werden konnte
+	 */
+	@Test
+	public void beschaedigteSicherungFaelltAufVorherigeZurueck() throws IOException {
+		final Random zufall = new Random(372);
+		final Spielfeld vorheriges = Teststellungen.erzeuge(zufall, GRENZE);
+		final Spielfeld neuestes = Teststellungen.erzeuge(zufall, GRENZE);
+		this.erzeugeAutospeicher().beende(vorheriges);
+		this.erzeugeAutospeicher().beende(neuestes);
+		Teststellungen.pruefeGleich("neueste Sicherung", neuestes,
+				this.erzeugeAutospeicher().ladeNeuestes());
+		final String neuesteDatei = new String(Files.readAllBytes(new File(
+				this.verzeichnis.getRoot(), Autospeicher.ZEIGER).toPath()), "ISO-8859-1");
+		final RandomAccessFile datei = new RandomAccessFile(
+				new File(this.verzeichnis.getRoot(), neuesteDatei), "rw");
+		try {
+			datei.writeInt(0);
+		} finally {
+			datei.close();
+		}
+		Teststellungen.pruefeGleich("vorherige Sicherung", vorheriges,
+				this.erzeugeAutospeicher().ladeNeuestes());
+	}
+	
+	/**
+	 * Erzeugt einen Autospeicher fr das temporre Verzeichnis, der nur bei
+	 * ausdrcklichen Schnappschssen und beim Beenden sichert.
+	 * 
+	 * @return der Autospeicher
+	 */
+	private Autospeicher erzeugeAutospeicher() {
+		return new Autospeicher(this.verzeichnis.getRoot(), Long.MAX_VALUE,
+				Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Deckt ein zuflliges verdecktes, minenfreies Feld auf.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param zufall
+	 * 		der Zufallsgenerator
+	 * @return false, wenn kein solches Feld brig ist
+	 */
+	private boolean deckeAuf(final Spielfeld spielfeld, final Random zufall) {
+		if (spielfeld.getVerbleibendeFelder() == 0)
+			return false;
+		while (true) {
+			final int zeile = zufall.nextInt(spielfeld.getHoehe());
+			final int spalte = zufall.nextInt(spielfeld.getBreite());
+			if (spielfeld.isUncovered(zeile, spalte) || spielfeld.isMine(zeile, spalte))
+				continue;
+			Teststellungen.deckeAuf(spielfeld, zeile, spalte);
+			return true;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package de.drake.minesweeper.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Prft den Eliminationsloeser gegen eine vollstndige Aufzhlung auf kleinen
+ * Stellungen aus festen Startwerten.
+ */
+public class EliminationsloeserTest {
+	
+	/**
+	 * Die Anzahl der Stellungen je Test
+	 */
+	private static final int STELLUNGEN = 500;
+	
+	/**
+	 * Die Anzahl der verdeckten, nicht markierten Felder, die eine Stellung
+	 * hchstens hat
+	 */
+	private static final int GRENZE = 16;
+	
+	/**
+	 * Jedes gefundene sichere Feld ist in allen passenden Minenverteilungen frei,
+	 * jede gefundene Mine in allen belegt.
+	 */
+	@Test
+	public void gefundeneFelderSindSicher() {
+		final Random zufall = new Random(46);
+		int gefunden = 0;
+		for (int stellung = 0; stellung < STELLUNGEN; stellung++) {
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, GRENZE);
+			final Eliminationsloeser eliminationsloeser = new Eliminationsloeser(spielfeld);
+			assertFalse("Stellung " + stellung, eliminationsloeser.isWiderspruechlich());
+			gefunden += this.pruefe("Stellung " + stellung, spielfeld, eliminationsloeser);
+		}
+		assertTrue("Keine sicheren Felder gefunden", gefunden > 0);
+	}
+	
+	/**
+	 * Mit falsch markierten Minen meldet der Eliminationsloeser einen Widerspruch
+	 * nur, wenn es keine passende Minenverteilung gibt, und bleibt sonst sicher.
+	 */
+	@Test
+	public void widersprucheSindEcht() {
+		final Random zufall = new Random(461);
+		int widersprueche = 0;
+		for (int stellung = 0; stellung < STELLUNGEN; stellung++) {
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, GRENZE);
+			for (int zeile = 0; zeile < spielfeld.getHoehe(); zeile++)
+				for (int spalte = 0; spalte < spielfeld.getBreite(); spalte++)
+					if (!spielfeld.isUncovered(zeile, spalte) && !spielfeld.isMine(zeile, spalte)
+							&& zufall.nextInt(8) == 0)
+						spielfeld.setMarkedAsMine(zeile, spalte, true);
+			final Eliminationsloeser eliminationsloeser = new Eliminationsloeser(spielfeld);
+			if (eliminationsloeser.isWiderspruechlich()) {
+				assertEquals("Stellung " + stellung, 0, new Aufzaehlung(spielfeld).getAnzahl());
+				widersprueche++;
+			} else
+				this.pruefe("Stellung " + stellung, spielfeld, eliminationsloeser);
+		}
+		assertTrue("Keine Widersprche erkannt", widersprueche > 0);
+	}
+	
+	/**
+	 * Prft die sicheren Felder und Minen des Eliminationsloesers gegen die
+	 * Aufzhlung. Hat die Stellung keine passende Minenverteilung, ist jedes
+	 * Ergebnis richtig.
+	 * 
+	 * @param beschreibung
+	 * 		die Beschreibung der Stellung fr die Fehlermeldung
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param eliminationsloeser
+	 * 		der Eliminationsloeser der Stellung
+	 * @return die Anzahl der gefundenen Felder
+	 */
+	private int pruefe(final String beschreibung, final Spielfeld spielfeld,
+			final Eliminationsloeser eliminationsloeser) {
+		final Aufzaehlung aufzaehlung = new Aufzaehlung(spielfeld);
+		if (aufzaehlung.getAnzahl() == 0)
+			return 0;
+		final int breite = spielfeld.getBreite();
+		for (final Koordinate feld : eliminationsloeser.getSichereFelder())
+			assertEquals(beschreibung + ", sicheres Feld " + feld, 0, aufzaehlung
+					.getMinenwahrscheinlichkeit(feld.getZeile() * breite + feld.getSpalte()), 0);
+		for (final Koordinate feld : eliminationsloeser.getMinen())
+			assertEquals(beschreibung + ", Mine " + feld, 1, aufzaehlung
+					.getMinenwahrscheinlichkeit(feld.getZeile() * breite + feld.getSpalte()), 0);
+		return eliminationsloeser.getSichereFelder().size() + eliminationsloeser.getMinen().size();
+	}
+}
@@ -0,0 +1,353 @@
+package de.drake.minesweeper.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Vergleicht die Minenwahrscheinlichkeiten des ProbabilityCalculators mit einer
+ * vollstndigen Aufzhlung auf kleinen Stellungen aus festen Startwerten.
+ */
+public class ProbabilityCalculatorTest {
+	
+	/**
+	 * Die Anzahl der Stellungen je Test
+	 */
+	private static final int STELLUNGEN = 200;
+	
+	/**
+	 * Die Anzahl der verdeckten, nicht markierten Felder, die eine Stellung
+	 * hchstens hat
+	 */
+	private static final int GRENZE = 16;
+	
+	/**
+	 * Die erlaubte Abweichung einer Wahrscheinlichkeit
+	 */
+	private static final double TOLERANZ = 1e-9;
+	
+	/**
+	 * Die Anzahl der Bnder je Test, die Aufzhlung eines Bandes ist teurer als
+	 * die einer kleinen Stellung
+	 */
+	private static final int BAENDER = 20;
+	
+	/**
+	 * Das Backtracking ber die Klassen der Randfelder zhlt genau wie die
+	 * Aufzhlung der einzelnen Felder.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void backtrackingStimmtMitAufzaehlungUeberein() throws InterruptedException {
+		final Random zufall = new Random(41);
+		for (int stellung = 0; stellung < STELLUNGEN; stellung++) {
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, GRENZE);
+			final ProbabilityCalculator rechner =
+					this.berechne(spielfeld, ProbabilityCalculator.BACKTRACKING);
+			assertEquals("Stellung " + stellung, 0, rechner.getTransfermatrizen());
+			assertEquals("Stellung " + stellung, 0, rechner.getBaumzerlegungen());
+			this.pruefe("Stellung " + stellung, spielfeld, rechner);
+		}
+	}
+	
+	/**
+	 * Stellungen mit mehreren unabhngigen Komponenten des Randes werden erst
+	 * ber die Verteilung ihrer Minenzahlen verbunden und stimmen danach mit der
+	 * Aufzhlung berein.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void komponentenWerdenUeberMinenzahlVerbunden() throws InterruptedException {
+		final Random zufall = new Random(42);
+		int geprueft = 0;
+		for (int stellung = 0; stellung < STELLUNGEN; stellung++) {
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, GRENZE);
+			if (new Randklassen(spielfeld, spielfeld.getHoehe(),
+					spielfeld.getBreite()).getKomponentenzahl() < 2)
+				continue;
+			this.pruefe("Stellung " + stellung, spielfeld,
+					this.berechne(spielfeld, ProbabilityCalculator.AUTOMATISCH));
+			geprueft++;
+		}
+		assertTrue("keine Stellung mit mehreren Komponenten", geprueft > 0);
+	}
+	
+	/**
+	 * Lange, schmale Komponenten werden mit der Transfermatrix gezhlt und
+	 * stimmen ebenfalls mit der Aufzhlung berein.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void bandWirdMitTransfermatrixGezaehlt() throws InterruptedException {
+		final Random zufall = new Random(43);
+		for (int stellung = 0; stellung < BAENDER; stellung++) {
+			final Spielfeld spielfeld = Teststellungen.erzeugeBand(zufall,
+					Transfermatrix.MINDESTKLASSEN + zufall.nextInt(5));
+			final ProbabilityCalculator rechner =
+					this.berechne(spielfeld, ProbabilityCalculator.AUTOMATISCH);
+			assertEquals("Band " + stellung, 1, rechner.getTransfermatrizen());
+			this.pruefe("Band " + stellung, spielfeld, rechner);
+		}
+	}
+	
+	/**
+	 * Die Transfermatrix zhlt, wenn sie erzwungen wird, auch die kurzen
+	 * Komponenten der kleinen Stellungen und stimmt dabei mit der Aufzhlung
+	 * berein. Jede Komponente, die sich eignet, muss tatschlich mit einer
+	 * Transfermatrix gezhlt werden, nur die brigen fallen in waehleZaehler()
+	 * auf das Backtracking zurck.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void transfermatrixStimmtMitAufzaehlungUeberein() throws InterruptedException {
+		final Random zufall = new Random(44);
+		int matrizen = 0;
+		for (int stellung = 0; stellung < STELLUNGEN; stellung++) {
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, GRENZE);
+			final Randklassen randklassen = new Randklassen(spielfeld,
+					spielfeld.getHoehe(), spielfeld.getBreite());
+			final ProbabilityCalculator rechner = new ProbabilityCalculator(spielfeld,
+					spielfeld.getHoehe(), spielfeld.getBreite());
+			int geeignet = 0;
+			for (int komponente = 0; komponente < randklassen.getKomponentenzahl(); komponente++)
+				if (new Transfermatrix(rechner, randklassen, komponente).istGeeignet())
+					geeignet++;
+			rechner.setZaehlverfahren(ProbabilityCalculator.TRANSFERMATRIX);
+			rechner.berechneMinenwahrscheinlichkeiten();
+			assertEquals("Stellung " + stellung, geeignet, rechner.getTransfermatrizen());
+			assertEquals("Stellung " + stellung, 0, rechner.getBaumzerlegungen());
+			this.pruefe("Stellung " + stellung, spielfeld, rechner);
+			matrizen += geeignet;
+		}
+		assertTrue("keine Komponente mit einer Transfermatrix gezhlt",
+				matrizen > STELLUNGEN / 2);
+	}
+	
+	/**
+	 * Die Baumzerlegung zhlt, wenn sie erzwungen wird, jede Komponente der
+	 * kleinen Stellungen und stimmt dabei mit der Aufzhlung berein.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void baumzerlegungStimmtMitAufzaehlungUeberein() throws InterruptedException {
+		final Random zufall = new Random(441);
+		for (int stellung = 0; stellung < STELLUNGEN; stellung++) {
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, GRENZE);
+			final int komponenten = new Randklassen(spielfeld, spielfeld.getHoehe(),
+					spielfeld.getBreite()).getKomponentenzahl();
+			final ProbabilityCalculator rechner =
+					this.berechne(spielfeld, ProbabilityCalculator.BAUMZERLEGUNG);
+			assertEquals("Stellung " + stellung, komponenten, rechner.getBaumzerlegungen());
+			assertEquals("Stellung " + stellung, 0, rechner.getTransfermatrizen());
+			this.pruefe("Stellung " + stellung, spielfeld, rechner);
+		}
+	}
+	
+	/**
+	 * Die Modellzhlung zhlt jede Komponente selbst, kleine Stellungen ebenso
+	 * wie lange Bnder, und stimmt dabei mit der Aufzhlung berein.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void modellzaehlungStimmtMitAufzaehlungUeberein() throws InterruptedException {
+		final Random zufall = new Random(45);
+		for (int stellung = 0; stellung < STELLUNGEN; stellung++) {
+			final Spielfeld spielfeld = stellung % 10 == 0
+					? Teststellungen.erzeugeBand(zufall,
+							Transfermatrix.MINDESTKLASSEN + zufall.nextInt(5))
+					: Teststellungen.erzeuge(zufall, GRENZE);
+			final ProbabilityCalculator rechner =
+					this.berechne(spielfeld, ProbabilityCalculator.MODELLZAEHLUNG);
+			assertEquals("Stellung " + stellung, 0, rechner.getTransfermatrizen());
+			assertEquals("Stellung " + stellung, 0, rechner.getBaumzerlegungen());
+			this.pruefe("Stellung " + stellung, spielfeld, rechner);
+		}
+	}
+	
+	/**
+	 * Die Klauseln, die die Modellzhlung in frheren Zgen einer Partie gelernt
+	 * hat, verflschen die Zhlung spterer Zge nicht.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void gelernteKlauselnBleibenGueltig() throws InterruptedException {
+		final Random zufall = new Random(451);
+		for (int partie = 0; partie < STELLUNGEN / 10; partie++) {
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, GRENZE);
+			final Klauselspeicher klauselspeicher = new Klauselspeicher();
+			for (int zug = 0; zug < 10; zug++) {
+				final ProbabilityCalculator rechner = new ProbabilityCalculator(spielfeld,
+						spielfeld.getHoehe(), spielfeld.getBreite());
+				rechner.setZaehlverfahren(ProbabilityCalculator.MODELLZAEHLUNG);
+				rechner.setKlauselspeicher(klauselspeicher);
+				rechner.berechneMinenwahrscheinlichkeiten();
+				this.pruefe("Partie " + partie + ", Zug " + zug, spielfeld, rechner);
+				if (!this.ziehe(spielfeld, zufall))
+					break;
+			}
+		}
+	}
+	
+	/**
+	 * Einzelne Felder werden ohne die brigen Komponenten genauso berechnet wie
+	 * mit allen, auch wenn die Verteilungen aus frheren Zgen der Partie aus dem
+	 * Komponentenspeicher kommen.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void einzelneFelderStimmenMitAufzaehlungUeberein() throws InterruptedException {
+		final String[] zaehlverfahren = {ProbabilityCalculator.AUTOMATISCH,
+				ProbabilityCalculator.BACKTRACKING, ProbabilityCalculator.TRANSFERMATRIX,
+				ProbabilityCalculator.BAUMZERLEGUNG, ProbabilityCalculator.MODELLZAEHLUNG};
+		final Random zufall = new Random(47);
+		for (int partie = 0; partie < STELLUNGEN / 10; partie++) {
+			final String verfahren = zaehlverfahren[partie % zaehlverfahren.length];
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, GRENZE);
+			final int breite = spielfeld.getBreite();
+			final Komponentenspeicher komponentenspeicher = new Komponentenspeicher();
+			for (int zug = 0; zug < 10; zug++) {
+				final String beschreibung = verfahren + ", Partie " + partie + ", Zug " + zug;
+				final ProbabilityCalculator rechner = new ProbabilityCalculator(spielfeld,
+						spielfeld.getHoehe(), breite);
+				rechner.setZaehlverfahren(verfahren);
+				rechner.setKomponentenspeicher(komponentenspeicher);
+				final Aufzaehlung aufzaehlung = new Aufzaehlung(spielfeld);
+				final int[] offeneFelder = aufzaehlung.getOffeneFelder();
+				for (int anfrage = 0; anfrage < 3 && offeneFelder.length > 0; anfrage++) {
+					final int feld = offeneFelder[zufall.nextInt(offeneFelder.length)];
+					assertEquals(beschreibung + ", Feld " + feld,
+							aufzaehlung.getMinenwahrscheinlichkeit(feld),
+							rechner.getMinenwahrscheinlichkeitEinzeln(feld / breite, feld % breite),
+							TOLERANZ);
+				}
+				rechner.berechneMinenwahrscheinlichkeiten();
+				this.pruefe(beschreibung, spielfeld, rechner);
+				if (!this.ziehe(spielfeld, zufall))
+					break;
+			}
+		}
+	}
+	
+	/**
+	 * Die Zahlenverteilungen, die beim Zhlen miterfasst werden, stimmen mit der
+	 * Aufzhlung berein. Die Stellungen sind so klein, dass keine Komponente
+	 * Transfermatrix.MINDESTKLASSEN Klassen erreicht und jedes Feld eine
+	 * Verteilung hat.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void zahlenverteilungenStimmenMitAufzaehlungUeberein() throws InterruptedException {
+		final String[] zaehlverfahren = {ProbabilityCalculator.AUTOMATISCH,
+				ProbabilityCalculator.BACKTRACKING, ProbabilityCalculator.TRANSFERMATRIX,
+				ProbabilityCalculator.BAUMZERLEGUNG, ProbabilityCalculator.MODELLZAEHLUNG};
+		final Random zufall = new Random(49);
+		for (int stellung = 0; stellung < STELLUNGEN; stellung++) {
+			final String verfahren = zaehlverfahren[stellung % zaehlverfahren.length];
+			final String beschreibung = verfahren + ", Stellung " + stellung;
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall,
+					Transfermatrix.MINDESTKLASSEN - 1);
+			final int breite = spielfeld.getBreite();
+			final ProbabilityCalculator rechner = new ProbabilityCalculator(spielfeld,
+					spielfeld.getHoehe(), breite);
+			rechner.setZaehlverfahren(verfahren);
+			final double[][][] zahlenverteilungen = rechner.getZahlenverteilungen();
+			this.pruefe(beschreibung, spielfeld, rechner);
+			final Aufzaehlung aufzaehlung = new Aufzaehlung(spielfeld);
+			for (final int feld : aufzaehlung.getOffeneFelder())
+				assertArrayEquals(beschreibung + ", Feld " + feld,
+						aufzaehlung.getZahlenverteilung(feld),
+						zahlenverteilungen[feld / breite][feld % breite], TOLERANZ);
+		}
+	}
+	
+	/**
+	 * Berechnet die Minenwahrscheinlichkeiten einer Stellung.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param zaehlverfahren
+	 * 		das Zhlverfahren, siehe ProbabilityCalculator.setZaehlverfahren()
+	 * @return der Rechner mit den berechneten Wahrscheinlichkeiten
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	private ProbabilityCalculator berechne(final Spielfeld spielfeld,
+			final String zaehlverfahren) throws InterruptedException {
+		final ProbabilityCalculator rechner = new ProbabilityCalculator(spielfeld,
+				spielfeld.getHoehe(), spielfeld.getBreite());
+		rechner.setZaehlverfahren(zaehlverfahren);
+		rechner.berechneMinenwahrscheinlichkeiten();
+		return rechner;
+	}
+	
+	/**
+	 * Fhrt einen zuflligen Zug aus, der die Stellung widerspruchsfrei lsst:
+	 * ein minenfreies Feld aufdecken oder eine Mine markieren.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param zufall
+	 * 		der Zufallsgenerator
+	 * @return false, wenn kein verdecktes, nicht markiertes Feld brig ist
+	 */
+	private boolean ziehe(final Spielfeld spielfeld, final Random zufall) {
+		if (Teststellungen.zaehleOffeneFelder(spielfeld) == 0)
+			return false;
+		while (true) {
+			final int zeile = zufall.nextInt(spielfeld.getHoehe());
+			final int spalte = zufall.nextInt(spielfeld.getBreite());
+			if (spielfeld.isUncovered(zeile, spalte) || spielfeld.isMarkedAsMine(zeile, spalte))
+				continue;
+			if (spielfeld.isMine(zeile, spalte))
+				spielfeld.setMarkedAsMine(zeile, spalte, true);
+			else
+				Teststellungen.deckeAuf(spielfeld, zeile, spalte);
+			return true;
+		}
+	}
+	
+	/**
+	 * Prft die Minenwahrscheinlichkeiten aller verdeckten, nicht markierten
+	 * Felder gegen die Aufzhlung.
+	 * 
+	 * @param beschreibung
+	 * 		die Beschreibung der Stellung fr die Fehlermeldung
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param rechner
+	 * 		der Rechner, dessen Wahrscheinlichkeiten berechnet sind
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	private void pruefe(final String beschreibung, final Spielfeld spielfeld,
+			final ProbabilityCalculator rechner) throws InterruptedException {
+		final Aufzaehlung aufzaehlung = new Aufzaehlung(spielfeld);
+		final int breite = spielfeld.getBreite();
+		for (final int feld : aufzaehlung.getOffeneFelder())
+			assertEquals(beschreibung + ", Feld " + feld,
+					aufzaehlung.getMinenwahrscheinlichkeit(feld),
+					rechner.getMinenwahrscheinlichkeit(feld / breite, feld % breite), TOLERANZ);
+	}
+}
@@ -0,0 +1,136 @@
+package de.drake.minesweeper.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Speichert Spielfelder aus festen Startwerten als Spielstand und prft, ob sie
+ * beim Laden samt Nachbarminenzahlen und Zhlern wiederhergestellt werden.
+ */
+public class SpielstandTest {
+	
+	/**
+	 * Die Anzahl der kleinen Stellungen
+	 */
+	private static final int STELLUNGEN = 50;
+	
+	/**
+	 * Die Anzahl der verdeckten, nicht markierten Felder, die eine kleine
+	 * Stellung hchstens hat
+	 */
+	private static final int GRENZE = 16;
+	
+	/**
+	 * Das Verzeichnis fr die Spielstnde
+	 */
+	@Rule
+	public final TemporaryFolder verzeichnis = new TemporaryFolder();
+	
+	/**
+	 * Kleine Stellungen und ein groes Spielfeld, dessen Bitebenen aus mehreren
+	 * Wrtern mit einem unvollstndigen letzten Wort bestehen, werden
+	 * unverndert geladen.
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn der Spielstand nicht geschrieben oder gelesen
+	 * 		werden konnte
+	 */
+	@Test
+	public void ladenStelltGespeichertesSpielfeldWiederHer() throws IOException {
+		final Random zufall = new Random(36);
+		final File datei = this.verzeichnis.newFile("spielstand" + Spielstand.ENDUNG);
+		for (int stellung = 0; stellung < STELLUNGEN; stellung++) {
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, GRENZE);
+			Spielstand.speichere(spielfeld, datei);
+			Teststellungen.pruefeGleich("Stellung " + stellung, spielfeld,
+					Spielstand.lade(datei));
+		}
+		final Spielfeld spielfeld = this.erzeugeGrossesSpielfeld(zufall, 37, 53);
+		Spielstand.speichere(spielfeld, datei);
+		Teststellungen.pruefeGleich("groes Spielfeld", spielfeld, Spielstand.lade(datei));
+	}
+	
+	/**
+	 * Eine abgeschnittene Datei wird abgelehnt.
+	 * 
+	 * @throws IOException
+	 * 		wird erwartet
+	 */
+	@Test(expected = IOException.class)
+	public void abgeschnittenerSpielstandWirdAbgelehnt() throws IOException {
+		final File datei = this.speichereGrossesSpielfeld();
+		final RandomAccessFile zugriff = new RandomAccessFile(datei, "rw");
+		try {
+			zugriff.setLength(zugriff.length() - 1);
+		} finally {
+			zugriff.close();
+		}
+		Spielstand.lade(datei);
+	}
+	
+	/**
+	 * Eine Datei mit falscher Kennung wird abgelehnt.
+	 * 
+	 * @throws IOException
+	 * 		wird erwartet
+	 */
+	@Test(expected = IOException.class)
+	public void falscheKennungWirdAbgelehnt() throws IOException {
+		final File datei = this.speichereGrossesSpielfeld();
+		final RandomAccessFile zugriff = new RandomAccessFile(datei, "rw");
+		try {
+			zugriff.writeInt(Stellungsformat.BINAERKENNUNG);
+		} finally {
+			zugriff.close();
+		}
+		Spielstand.lade(datei);
+	}
+	
+	/**
+	 * Speichert ein groes Spielfeld in einer neuen Datei.
+	 * 
+	 * @return die Datei
+	 * @throws IOException
+	 * 		wird geworfen, wenn der Spielstand nicht geschrieben werden konnte
+	 */
+	private File speichereGrossesSpielfeld() throws IOException {
+		final File datei = this.verzeichnis.newFile("spielstand" + Spielstand.ENDUNG);
+		Spielstand.speichere(this.erzeugeGrossesSpielfeld(new Random(361), 37, 53), datei);
+		return datei;
+	}
+	
+	/**
+	 * Erzeugt ein Spielfeld mit zuflligen Minen, aufgedeckten minenfreien und
+	 * markierten Feldern, darunter auch falsch markierten.
+	 * 
+	 * @param zufall
+	 * 		der Zufallsgenerator
+	 * @param hoehe
+	 * 		die Hhe des Spielfeldes
+	 * @param breite
+	 * 		die Breite des Spielfeldes
+	 * @return das Spielfeld
+	 */
+	private Spielfeld erzeugeGrossesSpielfeld(final Random zufall, final int hoehe,
+			final int breite) {
+		final boolean[][] minen = new boolean[hoehe][breite];
+		final boolean[][] aufgedeckt = new boolean[hoehe][breite];
+		final boolean[][] markiert = new boolean[hoehe][breite];
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++) {
+				minen[zeile][spalte] = zufall.nextInt(5) == 0;
+				if (!minen[zeile][spalte] && zufall.nextBoolean()) {
+					aufgedeckt[zeile][spalte] = true;
+				} else {
+					markiert[zeile][spalte] = zufall.nextInt(3) == 0;
+				}
+			}
+		return Stellungsformat.erzeugeSpielfeld(minen, aufgedeckt, markiert);
+	}
+}
@@ -0,0 +1,169 @@
+package de.drake.minesweeper.model;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Schreibt Stellungen aus festen Startwerten im Text- und im Binrformat und
+ * prft, ob der Stellungsleser sie Feld fr Feld wiederherstellt.
+ */
+public class StellungsformatTest {
+	
+	/**
+	 * Die Anzahl der Stellungen je Datei
+	 */
+	private static final int STELLUNGEN = 50;
+	
+	/**
+	 * Die Anzahl der verdeckten, nicht markierten Felder, die eine Stellung
+	 * hchstens hat
+	 */
+	private static final int GRENZE = 16;
+	
+	/**
+	 * Mehrere Stellungen im Textformat hintereinander werden samt Kommentar- und
+	 * Leerzeilen zwischen ihnen wieder gelesen.
+	 * 
+	 * @throws IOException
+	 * 		wird nicht geworfen, da nur im Speicher gelesen und geschrieben wird
+	 */
+	@Test
+	public void textformatStelltStellungenWiederHer() throws IOException {
+		final ArrayList<Spielfeld> stellungen = this.erzeugeStellungen(new Random(34));
+		final ByteArrayOutputStream daten = new ByteArrayOutputStream();
+		final Writer ausgabe = new OutputStreamWriter(daten, "ISO-8859-1");
+		for (final Spielfeld spielfeld : stellungen) {
+			ausgabe.write("# Kommentar\n\n");
+			Stellungsformat.schreibeText(spielfeld, ausgabe);
+		}
+		ausgabe.close();
+		this.pruefeGelesen(stellungen, daten.toByteArray());
+	}
+	
+	/**
+	 * Mehrere Stellungen im Binrformat hintereinander werden wieder gelesen.
+	 * 
+	 * @throws IOException
+	 * 		wird nicht geworfen, da nur im Speicher gelesen und geschrieben wird
+	 */
+	@Test
+	public void binaerformatStelltStellungenWiederHer() throws IOException {
+		final ArrayList<Spielfeld> stellungen = this.erzeugeStellungen(new Random(341));
+		final ByteArrayOutputStream daten = new ByteArrayOutputStream();
+		final DataOutputStream ausgabe = new DataOutputStream(daten);
+		for (final Spielfeld spielfeld : stellungen)
+			Stellungsformat.schreibeBinaer(spielfeld, ausgabe);
+		ausgabe.close();
+		this.pruefeGelesen(stellungen, daten.toByteArray());
+	}
+	
+	/**
+	 * Fehlerhafte Stellungen werden mit einer IOException abgelehnt, statt ein
+	 * falsches Spielfeld zu liefern.
+	 */
+	@Test
+	public void fehlerhafteStellungenWerdenAbgelehnt() {
+		final String[] fehlerhaft = {
+				"Stellung 2\n..\n..\n",
+				"Stellung 2 2\n..\n.\n",
+				"Stellung 2 2\n..\n.?\n",
+				"Stellung 2 2\n..\n",
+				// Die Zahl passt nicht zur Minenverteilung
+				"Stellung 2 2\n1.\n..\n"};
+		for (final String text : fehlerhaft)
+			try {
+				this.lese(text.getBytes("ISO-8859-1"));
+				fail("Nicht abgelehnt: " + text);
+			} catch (IOException e) {
+				// erwartet
+			}
+		final byte[] abgeschnitten = new byte[] {'M', 'S', 'S', 'T', 0, 0, 0, 4, 0, 0, 0, 4, 0};
+		try {
+			this.lese(abgeschnitten);
+			fail("Abgeschnittene Binrstellung nicht abgelehnt");
+		} catch (IOException e) {
+			// erwartet
+		}
+	}
+	
+	/**
+	 * Erzeugt Stellungen, in denen neben den richtig markierten Minen auch ein
+	 * falsch markiertes Feld vorkommt, sofern es ein minenfreies verdecktes Feld
+	 * gibt.
+	 * 
+	 * @param zufall
+	 * 		der Zufallsgenerator
+	 * @return die Stellungen
+	 */
+	private ArrayList<Spielfeld> erzeugeStellungen(final Random zufall) {
+		final ArrayList<Spielfeld> stellungen = new ArrayList<Spielfeld>();
+		for (int stellung = 0; stellung < STELLUNGEN; stellung++) {
+			final Spielfeld spielfeld = Teststellungen.erzeuge(zufall, GRENZE);
+			suche:
+			for (int zeile = 0; zeile < spielfeld.getHoehe(); zeile++)
+				for (int spalte = 0; spalte < spielfeld.getBreite(); spalte++)
+					if (!spielfeld.isUncovered(zeile, spalte)
+							&& !spielfeld.isMine(zeile, spalte)) {
+						spielfeld.setMarkedAsMine(zeile, spalte, true);
+						break suche;
+					}
+			stellungen.add(spielfeld);
+		}
+		return stellungen;
+	}
+	
+	/**
+	 * Liest alle Stellungen aus den Daten und vergleicht sie mit den
+	 * geschriebenen.
+	 * 
+	 * @param stellungen
+	 * 		die geschriebenen Stellungen
+	 * @param daten
+	 * 		die Daten im Text- oder Binrformat
+	 * @throws IOException
+	 * 		wird geworfen, wenn eine Stellung nicht gelesen werden konnte
+	 */
+	private void pruefeGelesen(final ArrayList<Spielfeld> stellungen, final byte[] daten)
+			throws IOException {
+		final Stellungsleser stellungsleser =
+				new Stellungsleser(new ByteArrayInputStream(daten));
+		try {
+			for (int stellung = 0; stellung < stellungen.size(); stellung++)
+				Teststellungen.pruefeGleich("Stellung " + stellung,
+						stellungen.get(stellung), stellungsleser.naechsteStellung());
+			assertNull(stellungsleser.naechsteStellung());
+		} finally {
+			stellungsleser.close();
+		}
+	}
+	
+	/**
+	 * Liest alle Stellungen aus den Daten.
+	 * 
+	 * @param daten
+	 * 		die Daten im Text- oder Binrformat
+	 * @throws IOException
+	 * 		wird geworfen, wenn eine Stellung nicht gelesen werden konnte
+	 */
+	private void lese(final byte[] daten) throws IOException {
+		final Stellungsleser stellungsleser =
+				new Stellungsleser(new ByteArrayInputStream(daten));
+		try {
+			while (stellungsleser.naechsteStellung() != null)
+				continue;
+		} finally {
+			stellungsleser.close();
+		}
+	}
+}
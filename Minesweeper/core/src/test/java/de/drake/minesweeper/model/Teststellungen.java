@@ -0,0 +1,157 @@
+package de.drake.minesweeper.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Erzeugt kleine Stellungen fr die Vergleichstests. Die Stellungen sind so
+ * klein, dass Aufzaehlung alle Minenverteilungen durchgehen kann, und werden
+ * aus festen Startwerten erzeugt, so dass jeder Lauf dieselben Stellungen prft.
+ * Aufgedeckt werden teils Felder am Rand des geffneten Gebietes, teils
+ * beliebige minenfreie Felder, so dass auch mehrere Komponenten entstehen.
+ */
+final class Teststellungen {
+	
+	/**
+	 * Nicht instanziierbar.
+	 */
+	private Teststellungen() {
+	}
+	
+	/**
+	 * Erzeugt eine Stellung mit hchstens grenze verdeckten, nicht markierten
+	 * Feldern. Ein Teil der brigen Minen wird markiert.
+	 * 
+	 * @param zufall
+	 * 		der Zufallsgenerator
+	 * @param grenze
+	 * 		die Anzahl der verdeckten, nicht markierten Felder, die hchstens
+	 * 		brig bleiben
+	 * @return das Spielfeld in der erzeugten Stellung
+	 */
+	static Spielfeld erzeuge(final Random zufall, final int grenze) {
+		final int hoehe = 4 + zufall.nextInt(4);
+		final int breite = 4 + zufall.nextInt(5);
+		final boolean[][] minen = new boolean[hoehe][breite];
+		int zuPlazierendeMinen = 2 + zufall.nextInt(hoehe * breite / 4);
+		while (zuPlazierendeMinen > 0) {
+			final int zeile = zufall.nextInt(hoehe);
+			final int spalte = zufall.nextInt(breite);
+			if (minen[zeile][spalte] || (Math.abs(zeile - hoehe/2) <= 1
+					&& Math.abs(spalte - breite/2) <= 1))
+				continue;
+			minen[zeile][spalte] = true;
+			zuPlazierendeMinen--;
+		}
+		final Spielfeld spielfeld = new Spielfeld(minen);
+		Teststellungen.deckeAuf(spielfeld, hoehe/2, breite/2);
+		while (Teststellungen.zaehleOffeneFelder(spielfeld) > grenze) {
+			final boolean amRand = zufall.nextBoolean();
+			final ArrayList<Koordinate> kandidaten = new ArrayList<Koordinate>();
+			for (int zeile = 0; zeile < hoehe; zeile++)
+				for (int spalte = 0; spalte < breite; spalte++)
+					if (!spielfeld.isUncovered(zeile, spalte)
+							&& !spielfeld.isMine(zeile, spalte)
+							&& (!amRand || spielfeld.hasUncoveredNeighbor(zeile, spalte)))
+						kandidaten.add(new Koordinate(zeile, spalte));
+			final Koordinate feld = kandidaten.get(zufall.nextInt(kandidaten.size()));
+			Teststellungen.deckeAuf(spielfeld, feld.getZeile(), feld.getSpalte());
+		}
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			for (int spalte = 0; spalte < breite; spalte++)
+				if (!spielfeld.isUncovered(zeile, spalte) && spielfeld.isMine(zeile, spalte)
+						&& zufall.nextInt(4) == 0)
+					spielfeld.setMarkedAsMine(zeile, spalte, true);
+		return spielfeld;
+	}
+	
+	/**
+	 * Erzeugt ein Band aus zwei Zeilen, deren obere ganz aufgedeckt ist, whrend
+	 * die untere die Minen enthlt. Der Rand besteht damit aus einer einzigen
+	 * langen, schmalen Komponente, in der jedes Feld seine eigene Klasse bildet.
+	 * 
+	 * @param zufall
+	 * 		der Zufallsgenerator
+	 * @param breite
+	 * 		die Breite des Bandes
+	 * @return das Spielfeld in der erzeugten Stellung
+	 */
+	static Spielfeld erzeugeBand(final Random zufall, final int breite) {
+		final boolean[][] minen = new boolean[2][breite];
+		final double dichte = 0.2 + 0.4 * zufall.nextDouble();
+		for (int spalte = 0; spalte < breite; spalte++)
+			minen[1][spalte] = zufall.nextDouble() < dichte;
+		final Spielfeld spielfeld = new Spielfeld(minen);
+		for (int spalte = 0; spalte < breite; spalte++)
+			spielfeld.setUncovered(0, spalte);
+		return spielfeld;
+	}
+	
+	/**
+	 * Deckt ein minenfreies Feld auf, bei einem Nullfeld samt Umgebung.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 */
+	static void deckeAuf(final Spielfeld spielfeld, final int zeile, final int spalte) {
+		spielfeld.setUncovered(zeile, spalte);
+		if (spielfeld.getBenachbarteMinen(zeile, spalte) == 0)
+			spielfeld.uncoverMinelessArea(zeile, spalte);
+	}
+	
+	/**
+	 * Zhlt die verdeckten, nicht markierten Felder.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @return die Anzahl der Felder
+	 */
+	static int zaehleOffeneFelder(final Spielfeld spielfeld) {
+		int anzahl = 0;
+		for (int zeile = 0; zeile < spielfeld.getHoehe(); zeile++)
+			for (int spalte = 0; spalte < spielfeld.getBreite(); spalte++)
+				if (!spielfeld.isUncovered(zeile, spalte)
+						&& !spielfeld.isMarkedAsMine(zeile, spalte))
+					anzahl++;
+		return anzahl;
+	}
+	
+	/**
+	 * Prft, ob zwei Spielfelder in Gre, Minenverteilung, aufgedeckten und
+	 * markierten Feldern, Nachbarzahlen und Zhlern bereinstimmen.
+	 * 
+	 * @param beschreibung
+	 * 		die Beschreibung der Stellung fr die Fehlermeldung
+	 * @param erwartet
+	 * 		das ursprngliche Spielfeld
+	 * @param spielfeld
+	 * 		das zu prfende Spielfeld
+	 */
+	static void pruefeGleich(final String beschreibung, final Spielfeld erwartet,
+			final Spielfeld spielfeld) {
+		assertEquals(beschreibung + ", Hhe", erwartet.getHoehe(), spielfeld.getHoehe());
+		assertEquals(beschreibung + ", Breite", erwartet.getBreite(), spielfeld.getBreite());
+		for (int zeile = 0; zeile < erwartet.getHoehe(); zeile++)
+			for (int spalte = 0; spalte < erwartet.getBreite(); spalte++) {
+				final String feld = beschreibung + ", Feld (" + zeile + "," + spalte + ")";
+				assertEquals(feld, erwartet.isMine(zeile, spalte),
+						spielfeld.isMine(zeile, spalte));
+				assertEquals(feld, erwartet.isUncovered(zeile, spalte),
+						spielfeld.isUncovered(zeile, spalte));
+				assertEquals(feld, erwartet.isMarkedAsMine(zeile, spalte),
+						spielfeld.isMarkedAsMine(zeile, spalte));
+				assertEquals(feld, erwartet.getBenachbarteMinen(zeile, spalte),
+						spielfeld.getBenachbarteMinen(zeile, spalte));
+			}
+		assertEquals(beschreibung + ", verbleibende Felder",
+				erwartet.getVerbleibendeFelder(), spielfeld.getVerbleibendeFelder());
+		assertEquals(beschreibung + ", verbleibende Minen",
+				erwartet.getVerbleibendeMinen(), spielfeld.getVerbleibendeMinen());
+	}
+}
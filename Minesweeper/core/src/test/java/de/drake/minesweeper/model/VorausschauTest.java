@@ -0,0 +1,220 @@
+package de.drake.minesweeper.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Vergleicht die Vorausschau mit einem Expectimax, das Wahrscheinlichkeiten
+ * und Zahlenverteilungen jeder angenommenen Stellung vollstndig aufzhlt, auf
+ * kleinen Stellungen aus festen Startwerten. Die Kandidaten werden nach
+ * denselben Regeln gewhlt wie in der Vorausschau, bei unbegrenzter Anzahl.
+ */
+public class VorausschauTest {
+	
+	/**
+	 * Die Anzahl der Partien
+	 */
+	private static final int PARTIEN = 1000;
+	
+	/**
+	 * Die Tiefe der Vorausschau
+	 */
+	private static final int TIEFE = 3;
+	
+	/**
+	 * Die erlaubte Abweichung eines Wertes
+	 */
+	private static final double TOLERANZ = 1e-9;
+	
+	/**
+	 * Die Vorausschau whlt in jedem Ratezug ein Feld mit dem besten Wert und
+	 * meldet den Gewinn gegenber dem Feld mit der geringsten
+	 * Minenwahrscheinlichkeit richtig. Die Stellungen haben weniger verdeckte
+	 * Felder als Transfermatrix.MINDESTKLASSEN, so dass jede Stellung
+	 * Zahlenverteilungen hat.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void waehltBestesFeld() throws InterruptedException {
+		final Vorausschau vorausschau = new Vorausschau(TIEFE, 60000, 1000, 2);
+		try {
+			final Random zufall = new Random(50);
+			int ratezuege = 0;
+			for (int partie = 0; partie < PARTIEN; partie++) {
+				final Spielfeld spielfeld = Teststellungen.erzeuge(zufall,
+						Transfermatrix.MINDESTKLASSEN - 1);
+				final int breite = spielfeld.getBreite();
+				int zug = 0;
+				while (true) {
+					final Aufzaehlung aufzaehlung = new Aufzaehlung(spielfeld);
+					if (aufzaehlung.getOffeneFelder().length == aufzaehlung.getMinen())
+						break;
+					boolean sicher = false;
+					for (final int feld : aufzaehlung.getOffeneFelder())
+						if (aufzaehlung.getMinenwahrscheinlichkeit(feld) == 0) {
+							Teststellungen.deckeAuf(spielfeld, feld / breite, feld % breite);
+							sicher = true;
+						}
+					if (sicher)
+						continue;
+					final String beschreibung = "Partie " + partie + ", Zug " + zug++;
+					final Koordinate heuristik =
+							Vorausschau.waehleGeringsteWahrscheinlichkeit(spielfeld);
+					final Koordinate gewaehlt = vorausschau.waehleFeld(spielfeld);
+					final ArrayList<Integer> kandidaten = this.waehleKandidaten(aufzaehlung);
+					// Ohne Wahl oder mit der Heuristik im Inneren wird nicht gesucht
+					final boolean gesucht = kandidaten.size() > 1 && spielfeld
+							.hasUncoveredNeighbor(heuristik.getZeile(), heuristik.getSpalte());
+					assertEquals(beschreibung, gesucht ? TIEFE : 1,
+							vorausschau.getErreichteTiefe());
+					if (gesucht) {
+						double bester = 0;
+						for (final int kandidat : kandidaten)
+							bester = Math.max(bester,
+									this.bewerteFeld(aufzaehlung, kandidat, TIEFE));
+						assertEquals(beschreibung, bester, this.bewerteFeld(aufzaehlung,
+								gewaehlt.getZeile() * breite + gewaehlt.getSpalte(), TIEFE),
+								TOLERANZ);
+						assertEquals(beschreibung, bester - this.bewerteFeld(aufzaehlung,
+								heuristik.getZeile() * breite + heuristik.getSpalte(), TIEFE),
+								vorausschau.getErwarteterGewinn(), TOLERANZ);
+						ratezuege++;
+					}
+					if (spielfeld.isMine(gewaehlt.getZeile(), gewaehlt.getSpalte()))
+						break;
+					Teststellungen.deckeAuf(spielfeld, gewaehlt.getZeile(), gewaehlt.getSpalte());
+				}
+			}
+			assertTrue("Keine durchsuchten Ratezge", ratezuege > 0);
+		} finally {
+			vorausschau.beende();
+		}
+	}
+	
+	/**
+	 * Reicht das Zeitbudget nicht einmal fr die Ausgangsstellung, bleibt es beim
+	 * Feld mit der geringsten Minenwahrscheinlichkeit.
+	 * 
+	 * @throws InterruptedException
+	 * 		wird nicht geworfen, da nichts unterbrochen wird
+	 */
+	@Test
+	public void ohneZeitbudgetBleibtEsBeiDerHeuristik() throws InterruptedException {
+		final Vorausschau vorausschau = new Vorausschau(TIEFE, 0, 1000, 2);
+		try {
+			final Random zufall = new Random(501);
+			int ratezuege = 0;
+			for (int partie = 0; partie < PARTIEN / 10; partie++) {
+				final Spielfeld spielfeld = Teststellungen.erzeuge(zufall,
+						Transfermatrix.MINDESTKLASSEN - 1);
+				while (spielfeld.getVerbleibendeFelder() > 0) {
+					final Koordinate heuristik =
+							Vorausschau.waehleGeringsteWahrscheinlichkeit(spielfeld);
+					final Koordinate gewaehlt = vorausschau.waehleFeld(spielfeld);
+					assertTrue("Partie " + partie, heuristik.equals(gewaehlt));
+					assertEquals("Partie " + partie, 1, vorausschau.getErreichteTiefe());
+					assertEquals("Partie " + partie, 0, vorausschau.getErwarteterGewinn(), 0);
+					ratezuege++;
+					if (spielfeld.isMine(gewaehlt.getZeile(), gewaehlt.getSpalte()))
+						break;
+					Teststellungen.deckeAuf(spielfeld, gewaehlt.getZeile(), gewaehlt.getSpalte());
+				}
+			}
+			assertTrue("Keine Ratezge", ratezuege > 0);
+		} finally {
+			vorausschau.beende();
+		}
+	}
+	
+	/**
+	 * Bewertet eine angenommene Stellung wie Vorausschau.Suche.bewerte().
+	 * 
+	 * @param aufzaehlung
+	 * 		die Aufzhlung der Stellung
+	 * @param tiefe
+	 * 		die Anzahl der Aufdeckungen, die noch vorausgeschaut wird
+	 * @return die Wahrscheinlichkeit, die folgenden Aufdeckungen zu berleben
+	 */
+	private double bewerte(final Aufzaehlung aufzaehlung, final int tiefe) {
+		if (aufzaehlung.getOffeneFelder().length == aufzaehlung.getMinen())
+			return 1;
+		final ArrayList<Integer> kandidaten = this.waehleKandidaten(aufzaehlung);
+		if (kandidaten.isEmpty())
+			return 1;
+		if (tiefe == 1)
+			return 1 - aufzaehlung.getMinenwahrscheinlichkeit(kandidaten.get(0));
+		double bester = 0;
+		for (final int kandidat : kandidaten)
+			bester = Math.max(bester, this.bewerteFeld(aufzaehlung, kandidat, tiefe));
+		return bester;
+	}
+	
+	/**
+	 * Bewertet das Aufdecken eines Feldes.
+	 * 
+	 * @param aufzaehlung
+	 * 		die Aufzhlung der Stellung
+	 * @param feld
+	 * 		das Feld in zeilenweiser Nummerierung
+	 * @param tiefe
+	 * 		die Anzahl der Aufdeckungen einschlielich dieser, die vorausgeschaut
+	 * 		wird
+	 * @return die Wahrscheinlichkeit, diese und die folgenden Aufdeckungen zu
+	 * 		berleben
+	 */
+	private double bewerteFeld(final Aufzaehlung aufzaehlung, final int feld,
+			final int tiefe) {
+		final double[] zahlen = aufzaehlung.getZahlenverteilung(feld);
+		double wert = 0;
+		for (int zahl = 0; zahl < zahlen.length; zahl++)
+			if (zahlen[zahl] > 0)
+				wert += zahlen[zahl] * this.bewerte(aufzaehlung.deckeAuf(feld, zahl), tiefe - 1);
+		return wert;
+	}
+	
+	/**
+	 * Whlt die Kandidaten einer Stellung wie Vorausschau.Suche.berechne(): alle
+	 * Randfelder, die nicht sicher Minen sind, und von den brigen Feldern das,
+	 * das am ehesten eine 0 zeigt, aufsteigend nach Minenwahrscheinlichkeit.
+	 * Ist das erste sicher, bleibt nur dieses.
+	 * 
+	 * @param aufzaehlung
+	 * 		die Aufzhlung der Stellung
+	 * @return die Kandidaten in zeilenweiser Nummerierung
+	 */
+	private ArrayList<Integer> waehleKandidaten(final Aufzaehlung aufzaehlung) {
+		final ArrayList<Integer> kandidaten = new ArrayList<Integer>();
+		int innenfeld = -1;
+		for (final int feld : aufzaehlung.getOffeneFelder()) {
+			if (aufzaehlung.getMinenwahrscheinlichkeit(feld) > 1 - Vorausschau.SICHER)
+				continue;
+			if (aufzaehlung.hatAufgedecktenNachbarn(feld))
+				kandidaten.add(feld);
+			else if (innenfeld < 0 || aufzaehlung.getZahlenverteilung(feld)[0]
+					> aufzaehlung.getZahlenverteilung(innenfeld)[0])
+				innenfeld = feld;
+		}
+		if (innenfeld >= 0)
+			kandidaten.add(innenfeld);
+		Collections.sort(kandidaten, new Comparator<Integer>() {
+			@Override
+			public int compare(final Integer links, final Integer rechts) {
+				return Double.compare(aufzaehlung.getMinenwahrscheinlichkeit(links),
+						aufzaehlung.getMinenwahrscheinlichkeit(rechts));
+			}
+		});
+		if (!kandidaten.isEmpty()
+				&& aufzaehlung.getMinenwahrscheinlichkeit(kandidaten.get(0)) < Vorausschau.SICHER)
+			return new ArrayList<Integer>(kandidaten.subList(0, 1));
+		return kandidaten;
+	}
+}
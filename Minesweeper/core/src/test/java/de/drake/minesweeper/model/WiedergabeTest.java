@@ -0,0 +1,205 @@
+package de.drake.minesweeper.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Zeichnet ein zuflliges Spiel aus einem festen Startwert auf, speichert und
+ * ldt die Aufzeichnung und spielt sie ohne Oberflche ab. Die Stellungen
+ * werden mit einem Spielfeld verglichen, auf dem dieselben Zge direkt
+ * ausgefhrt wurden.
+ */
+public class WiedergabeTest {
+	
+	/**
+	 * Die Anzahl der Zge, genug fr zwei Kontrollpunkte nach der Startstellung
+	 */
+	private static final int ZUEGE = 2 * Wiedergabe.KONTROLLPUNKTABSTAND + 500;
+	
+	/**
+	 * Die Stellungen, die nach dem Abspielen angesprungen werden: die Rnder der
+	 * Kontrollpunkte, Stellungen zwischen ihnen und das Ende, in einer
+	 * Reihenfolge, die vor- und zurckspringt
+	 */
+	private static final int[] ZIELE = {
+			Wiedergabe.KONTROLLPUNKTABSTAND + 1,
+			Wiedergabe.KONTROLLPUNKTABSTAND - 1,
+			Wiedergabe.KONTROLLPUNKTABSTAND,
+			2 * Wiedergabe.KONTROLLPUNKTABSTAND + 17,
+			17,
+			0,
+			2 * Wiedergabe.KONTROLLPUNKTABSTAND,
+			2 * Wiedergabe.KONTROLLPUNKTABSTAND - 1,
+			ZUEGE};
+	
+	/**
+	 * Das Verzeichnis fr die Aufzeichnung
+	 */
+	@Rule
+	public final TemporaryFolder verzeichnis = new TemporaryFolder();
+	
+	/**
+	 * Die geladene Aufzeichnung endet im selben Spielfeld wie das aufgezeichnete
+	 * Spiel, und springeZu() stellt jede Stellung her, auch ber die Grenzen der
+	 * Kontrollpunkte hinweg.
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Aufzeichnung nicht geschrieben oder gelesen
+	 * 		werden konnte
+	 */
+	@Test
+	public void wiedergabeStelltAufgezeichneteStellungenHer() throws IOException {
+		final Random zufall = new Random(39);
+		final Spielfeld spielfeld = this.erzeugeSpielfeld(zufall, 24, 30, 120);
+		final Aufzeichnung aufzeichnung = new Aufzeichnung(spielfeld);
+		final Spielfeld[] stellungen = new Spielfeld[ZUEGE + 1];
+		stellungen[0] = this.kopiere(spielfeld);
+		for (int zug = 1; zug <= ZUEGE; zug++) {
+			this.ziehe(spielfeld, aufzeichnung, zufall);
+			for (final int ziel : ZIELE)
+				if (ziel == zug)
+					stellungen[zug] = this.kopiere(spielfeld);
+		}
+		final File datei = this.verzeichnis.newFile("spiel" + Aufzeichnung.ENDUNG);
+		aufzeichnung.speichere(datei);
+		final Aufzeichnung geladen = Aufzeichnung.lade(datei);
+		assertEquals(ZUEGE, geladen.getZugzahl());
+		for (int zug = 0; zug < ZUEGE; zug++) {
+			assertEquals("Zug " + zug, aufzeichnung.getZug(zug), geladen.getZug(zug));
+			assertEquals("Zug " + zug, aufzeichnung.getZeitpunkt(zug),
+					geladen.getZeitpunkt(zug));
+		}
+		Teststellungen.pruefeGleich("Startstellung", stellungen[0],
+				geladen.erzeugeStartstellung());
+		
+		final Wiedergabe wiedergabe = new Wiedergabe(geladen);
+		wiedergabe.spieleZuEnde();
+		assertEquals(ZUEGE, wiedergabe.getPosition());
+		Teststellungen.pruefeGleich("Ende", spielfeld, wiedergabe.getSpielfeld());
+		for (final int ziel : ZIELE) {
+			wiedergabe.springeZu(ziel);
+			assertEquals(ziel, wiedergabe.getPosition());
+			Teststellungen.pruefeGleich("Zug " + ziel, stellungen[ziel],
+					wiedergabe.getSpielfeld());
+		}
+	}
+	
+	/**
+	 * Fhrt einen zuflligen Zug aus, der keine Mine aufdeckt, und zeichnet ihn
+	 * auf: meist wird eine Markierung gesetzt oder entfernt, auch falsch, sonst
+	 * ein minenfreies Feld aufgedeckt oder ein Akkord auf einer Zahl gespielt,
+	 * deren Minen alle richtig markiert sind.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param aufzeichnung
+	 * 		die Aufzeichnung
+	 * @param zufall
+	 * 		der Zufallsgenerator
+	 */
+	private void ziehe(final Spielfeld spielfeld, final Aufzeichnung aufzeichnung,
+			final Random zufall) {
+		while (true) {
+			final int zeile = zufall.nextInt(spielfeld.getHoehe());
+			final int spalte = zufall.nextInt(spielfeld.getBreite());
+			final int zugart = zufall.nextInt(8);
+			if (spielfeld.isUncovered(zeile, spalte)) {
+				if (zugart != 0 || !this.istAkkordSicher(spielfeld, zeile, spalte))
+					continue;
+				aufzeichnung.notiere(Aufzeichnung.AKKORD, zeile, spalte);
+				for (int nachbarZeile = Math.max(0, zeile - 1);
+						nachbarZeile < Math.min(zeile + 2, spielfeld.getHoehe());
+						nachbarZeile++)
+					for (int nachbarSpalte = Math.max(0, spalte - 1);
+							nachbarSpalte < Math.min(spalte + 2, spielfeld.getBreite());
+							nachbarSpalte++)
+						if (!spielfeld.isUncovered(nachbarZeile, nachbarSpalte)
+								&& !spielfeld.isMarkedAsMine(nachbarZeile, nachbarSpalte))
+							Teststellungen.deckeAuf(spielfeld, nachbarZeile, nachbarSpalte);
+			} else if (spielfeld.isMarkedAsMine(zeile, spalte)) {
+				aufzeichnung.notiere(Aufzeichnung.ENTMARKIEREN, zeile, spalte);
+				spielfeld.setMarkedAsMine(zeile, spalte, false);
+			} else if (zugart == 0 && !spielfeld.isMine(zeile, spalte)) {
+				aufzeichnung.notiere(Aufzeichnung.AUFDECKEN, zeile, spalte);
+				Teststellungen.deckeAuf(spielfeld, zeile, spalte);
+			} else {
+				aufzeichnung.notiere(Aufzeichnung.MARKIEREN, zeile, spalte);
+				spielfeld.setMarkedAsMine(zeile, spalte, true);
+			}
+			return;
+		}
+	}
+	
+	/**
+	 * Prft, ob ein Akkord auf einem aufgedeckten Feld keine Mine aufdeckt, weil
+	 * genau seine benachbarten Minen markiert sind.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @param zeile
+	 * 		die Zeile des aufgedeckten Feldes
+	 * @param spalte
+	 * 		die Spalte des aufgedeckten Feldes
+	 * @return true, wenn der Akkord sicher ist
+	 */
+	private boolean istAkkordSicher(final Spielfeld spielfeld, final int zeile,
+			final int spalte) {
+		for (int nachbarZeile = Math.max(0, zeile - 1);
+				nachbarZeile < Math.min(zeile + 2, spielfeld.getHoehe()); nachbarZeile++)
+			for (int nachbarSpalte = Math.max(0, spalte - 1);
+					nachbarSpalte < Math.min(spalte + 2, spielfeld.getBreite());
+					nachbarSpalte++)
+				if (spielfeld.isMine(nachbarZeile, nachbarSpalte)
+						!= spielfeld.isMarkedAsMine(nachbarZeile, nachbarSpalte))
+					return false;
+		return true;
+	}
+	
+	/**
+	 * Erzeugt ein Spielfeld mit zufllig verteilten Minen.
+	 * 
+	 * @param zufall
+	 * 		der Zufallsgenerator
+	 * @param hoehe
+	 * 		die Hhe des Spielfeldes
+	 * @param breite
+	 * 		die Breite des Spielfeldes
+	 * @param minenzahl
+	 * 		die Anzahl der Minen
+	 * @return das Spielfeld
+	 */
+	private Spielfeld erzeugeSpielfeld(final Random zufall, final int hoehe,
+			final int breite, final int minenzahl) {
+		final boolean[][] minen = new boolean[hoehe][breite];
+		int zuPlazierendeMinen = minenzahl;
+		while (zuPlazierendeMinen > 0) {
+			final int zeile = zufall.nextInt(hoehe);
+			final int spalte = zufall.nextInt(breite);
+			if (minen[zeile][spalte])
+				continue;
+			minen[zeile][spalte] = true;
+			zuPlazierendeMinen--;
+		}
+		return new Spielfeld(minen);
+	}
+	
+	/**
+	 * Kopiert ein Spielfeld samt Zhlern.
+	 * 
+	 * @param spielfeld
+	 * 		das zu kopierende Spielfeld
+	 * @return die Kopie
+	 */
+	private Spielfeld kopiere(final Spielfeld spielfeld) {
+		return new Spielfeld(spielfeld.getHoehe(), spielfeld.getBreite(),
+				spielfeld.getFelder().clone(), spielfeld.getMinenzahl(),
+				spielfeld.getVerbleibendeMinen(), spielfeld.getVerbleibendeFelder());
+	}
+}
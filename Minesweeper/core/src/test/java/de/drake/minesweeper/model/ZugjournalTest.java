@@ -0,0 +1,158 @@
+package de.drake.minesweeper.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Prft das Rckgngigmachen und Wiederholen von Zgen ber das Spielfeld und
+ * die aufbewahrten Minenwahrscheinlichkeiten des Zugjournals.
+ */
+public class ZugjournalTest {
+	
+	/**
+	 * Ein Zug, der ein minenfreies Gebiet aufdeckt, wird als Ganzes rckgngig
+	 * gemacht und wiederholt, ebenso eine Markierung.
+	 * 
+	 * @throws IOException
+	 * 		wird nicht geworfen, da die Kopien im Speicher erstellt werden
+	 */
+	@Test
+	public void kaskadeWirdRueckgaengigGemachtUndWiederholt() throws IOException {
+		final Spielfeld spielfeld = this.erzeugeSpielfeld(new Random(38));
+		final ArrayList<Spielfeld> staende = new ArrayList<Spielfeld>();
+		staende.add(this.kopiere(spielfeld));
+		// Zug 1: ein Nullfeld samt Umgebung aufdecken
+		spielfeld.beginneZug();
+		Teststellungen.deckeAuf(spielfeld, 0, 0);
+		staende.add(this.kopiere(spielfeld));
+		final int kaskade = this.zaehleAufgedeckte(spielfeld);
+		assertTrue("keine Kaskade", kaskade > 1);
+		// Zug 2: eine Mine markieren
+		spielfeld.beginneZug();
+		spielfeld.setMarkedAsMine(spielfeld.getHoehe() - 1, spielfeld.getBreite() - 1, true);
+		staende.add(this.kopiere(spielfeld));
+		for (int stand = staende.size() - 1; stand > 0; stand--) {
+			assertTrue(spielfeld.kannZugRueckgaengigMachen());
+			final ArrayList<Koordinate> geaendert = spielfeld.macheZugRueckgaengig();
+			assertEquals("Zug " + stand, stand == 1 ? kaskade : 1, geaendert.size());
+			Teststellungen.pruefeGleich("zurck zu " + (stand - 1),
+					staende.get(stand - 1), spielfeld);
+		}
+		assertFalse(spielfeld.kannZugRueckgaengigMachen());
+		for (int stand = 1; stand < staende.size(); stand++) {
+			assertTrue(spielfeld.kannZugWiederholen());
+			spielfeld.wiederholeZug();
+			Teststellungen.pruefeGleich("vor zu " + stand, staende.get(stand), spielfeld);
+		}
+		assertFalse(spielfeld.kannZugWiederholen());
+	}
+	
+	/**
+	 * Ein neuer Zug nach dem Rckgngigmachen verwirft die wiederholbaren Zge
+	 * samt ihren aufbewahrten Minenwahrscheinlichkeiten.
+	 */
+	@Test
+	public void neuerZugVerwirftWiederholbareZuege() {
+		final Zugjournal zugjournal = new Zugjournal();
+		final double[][] ersterStand = new double[1][1];
+		final double[][] verworfenerStand = new double[1][1];
+		zugjournal.beginneZug(null);
+		zugjournal.notiere(0, Zugjournal.AUFGEDECKT);
+		zugjournal.beginneZug(ersterStand);
+		zugjournal.notiere(1, Zugjournal.AUFGEDECKT);
+		zugjournal.wechsleZug(true, verworfenerStand);
+		assertTrue(zugjournal.kannWiederholen());
+		zugjournal.beginneZug(ersterStand);
+		zugjournal.notiere(2, Zugjournal.MARKIERT);
+		assertFalse(zugjournal.kannWiederholen());
+		assertNull(zugjournal.getWahrscheinlichkeiten());
+		assertArrayEquals(new int[] {2 << 2 | Zugjournal.MARKIERT},
+				zugjournal.wechsleZug(true, null));
+		assertSame(ersterStand, zugjournal.getWahrscheinlichkeiten());
+	}
+	
+	/**
+	 * Beim Zurck- und Vorgehen werden die aufbewahrten Minenwahrscheinlichkeiten
+	 * jedes Spielstandes zurckgegeben, ohne sie zu kopieren.
+	 */
+	@Test
+	public void aufbewahrteWahrscheinlichkeitenWerdenZurueckgegeben() {
+		final Zugjournal zugjournal = new Zugjournal();
+		final double[][][] wahrscheinlichkeiten = new double[4][1][1];
+		for (int zug = 0; zug < 3; zug++) {
+			zugjournal.beginneZug(wahrscheinlichkeiten[zug]);
+			zugjournal.notiere(zug, Zugjournal.AUFGEDECKT);
+		}
+		assertNull(zugjournal.getWahrscheinlichkeiten());
+		zugjournal.wechsleZug(true, wahrscheinlichkeiten[3]);
+		assertSame(wahrscheinlichkeiten[2], zugjournal.getWahrscheinlichkeiten());
+		zugjournal.wechsleZug(true, null);
+		assertSame(wahrscheinlichkeiten[1], zugjournal.getWahrscheinlichkeiten());
+		zugjournal.wechsleZug(false, null);
+		zugjournal.wechsleZug(false, null);
+		assertSame(wahrscheinlichkeiten[3], zugjournal.getWahrscheinlichkeiten());
+	}
+	
+	/**
+	 * Erzeugt ein Spielfeld, dessen linke obere Ecke ein Nullfeld in einem
+	 * minenfreien Gebiet ist und dessen rechte untere Ecke eine Mine enthlt.
+	 * 
+	 * @param zufall
+	 * 		der Zufallsgenerator
+	 * @return das Spielfeld
+	 */
+	private Spielfeld erzeugeSpielfeld(final Random zufall) {
+		final boolean[][] minen = new boolean[10][10];
+		for (int zeile = 0; zeile < 10; zeile++)
+			for (int spalte = 0; spalte < 10; spalte++)
+				minen[zeile][spalte] = zeile + spalte > 8 && zufall.nextInt(4) == 0;
+		minen[9][9] = true;
+		return new Spielfeld(minen);
+	}
+	
+	/**
+	 * Zhlt die aufgedeckten Felder.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @return die Anzahl der Felder
+	 */
+	private int zaehleAufgedeckte(final Spielfeld spielfeld) {
+		int anzahl = 0;
+		for (int zeile = 0; zeile < spielfeld.getHoehe(); zeile++)
+			for (int spalte = 0; spalte < spielfeld.getBreite(); spalte++)
+				if (spielfeld.isUncovered(zeile, spalte))
+					anzahl++;
+		return anzahl;
+	}
+	
+	/**
+	 * Kopiert ein Spielfeld ber das Textformat der Stellungen.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld
+	 * @return die Kopie
+	 * @throws IOException
+	 * 		wird nicht geworfen, da im Speicher gelesen wird
+	 */
+	private Spielfeld kopiere(final Spielfeld spielfeld) throws IOException {
+		final Stellungsleser stellungsleser = new Stellungsleser(new ByteArrayInputStream(
+				Stellungsformat.toText(spielfeld).getBytes("ISO-8859-1")));
+		try {
+			return stellungsleser.naechsteStellung();
+		} finally {
+			stellungsleser.close();
+		}
+	}
+}
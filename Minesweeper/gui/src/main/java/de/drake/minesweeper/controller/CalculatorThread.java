@@ -0,0 +1,160 @@
+package de.drake.minesweeper.controller;
+
+import de.drake.minesweeper.model.Berechnungsprotokoll;
+import de.drake.minesweeper.model.Koordinate;
+import de.drake.minesweeper.model.Spielfeld;
+import de.drake.minesweeper.view.MinesweeperGUI;
+
+/**
+ * Thread, der zur Berechnung von Minenwahrscheinlichkeiten und hnlichen
+ * Operationen verwendet wird. Der eigene Thread ist notwendig, damit die 
+ * Berechnungen bei zu hohem Rechenaufwand manuell unterbrochen werden kann.
+ */
+class CalculatorThread extends Thread {
+	
+	/**
+	 * Die Aktion, fr die der Thread erzeugt wurde
+	 */
+	private String modus;
+	
+	/**
+	 * Der Gamecontroller, in dem die Aktionen ausgefhrt werden sollen
+	 */
+	private Gamecontroller gamecontroller;
+	
+	/**
+	 * Die GUI, in der das "Stopschild" aufgebaut werden soll
+	 */
+	private MinesweeperGUI minesweeperGUI;
+	
+	/**
+	 * Der Schnappschuss, auf dem in den Modi "show" und "hinweis" gerechnet wird
+	 */
+	private Spielfeld schnappschuss;
+	
+	/**
+	 * Das Feld, zu dem im Modus "hinweis" die Minenwahrscheinlichkeit berechnet
+	 * wird
+	 */
+	private Koordinate feld;
+	
+	/**
+	 * Erzeugt einen neuen Thread.
+	 * @param modus
+	 * 		Die Aufgabe, fr die der Thread erstellt wurde
+	 * @param gamecontroller
+	 * 		Der Gamecontroller, in dem die Aktionen ausgefhrt werden sollen
+	 * @param minesweeperGUI
+	 * 		Die GUI, in der das "Stopschild" aufgebaut werden soll
+	 */
+	CalculatorThread(final String modus, final Gamecontroller gamecontroller,
+			final MinesweeperGUI minesweeperGUI) {
+		this.modus = modus;
+		this.gamecontroller = gamecontroller;
+		this.minesweeperGUI = minesweeperGUI;
+	}
+	
+	/**
+	 * Erzeugt einen neuen Thread, der auf einem Schnappschuss rechnet.
+	 * @param modus
+	 * 		Die Aufgabe, fr die der Thread erstellt wurde
+	 * @param gamecontroller
+	 * 		Der Gamecontroller, in dem die Aktionen ausgefhrt werden sollen
+	 * @param minesweeperGUI
+	 * 		Die GUI, in der das "Stopschild" aufgebaut werden soll
+	 * @param schnappschuss
+	 * 		Der Schnappschuss, auf dem gerechnet werden soll
+	 */
+	CalculatorThread(final String modus, final Gamecontroller gamecontroller,
+			final MinesweeperGUI minesweeperGUI, final Spielfeld schnappschuss) {
+		this(modus, gamecontroller, minesweeperGUI);
+		this.schnappschuss = schnappschuss;
+	}
+	
+	/**
+	 * Erzeugt einen neuen Thread, der auf einem Schnappschuss die
+	 * Minenwahrscheinlichkeit eines einzelnen Feldes berechnet.
+	 * @param gamecontroller
+	 * 		Der Gamecontroller, in dem die Aktionen ausgefhrt werden sollen
+	 * @param minesweeperGUI
+	 * 		Die GUI, in der das "Stopschild" aufgebaut werden soll
+	 * @param schnappschuss
+	 * 		Der Schnappschuss, auf dem gerechnet werden soll
+	 * @param feld
+	 * 		Das Feld, dessen Minenwahrscheinlichkeit berechnet werden soll
+	 */
+	CalculatorThread(final Gamecontroller gamecontroller,
+			final MinesweeperGUI minesweeperGUI, final Spielfeld schnappschuss,
+			final Koordinate feld) {
+		this("hinweis", gamecontroller, minesweeperGUI, schnappschuss);
+		this.feld = feld;
+	}
+	
+	/**
+	 * Startet die Aktion, fr die der Thread erzeugt wurde. Diese Methode wird
+	 * beim Aufruf von this.start() ausgefhrt.
+	 */
+	public void run(){
+		Berechnungsprotokoll.setModus(this.modus);
+		if (this.modus == "show") {
+			this.berechneImHintergrund();
+			return;
+		}
+		if (this.modus == "hinweis") {
+			try {
+				this.gamecontroller.executeZeigeHinweis(this.schnappschuss, this.feld);
+			} catch (InterruptedException e) {
+			}
+			return;
+		}
+		this.minesweeperGUI.showSmileyStop();
+		this.minesweeperGUI.showStopMenu(true);
+		this.minesweeperGUI.stopMouseListener();
+		this.gamecontroller.setToolsActive(false);
+		final boolean kiModus = this.modus == "startKI"
+				|| this.modus == "startKIUntilWin";
+		if (kiModus)
+			this.minesweeperGUI.setKIAktiv(true);
+		try {
+			if (this.modus == "loese") {
+				this.gamecontroller.executeLoeseDeterministisch();
+			} else if (this.modus == "startKI") {
+				this.gamecontroller.executeStartKI();
+			} else {
+				this.gamecontroller.executeActivateKIUntilWin();
+			}
+			this.minesweeperGUI.showSmileyNormal();
+			this.minesweeperGUI.showStopMenu(false);
+			this.minesweeperGUI.resumeMouseListener();
+			this.gamecontroller.setToolsActive(true);
+			this.gamecontroller.resetInterruptionDetected();
+		} catch (Exception e) {
+			if (e.getMessage().equals("Interrupted")) {
+				this.minesweeperGUI.showSmileyNormal();
+				this.minesweeperGUI.resumeMouseListener();
+				this.gamecontroller.setToolsActive(true);
+			}
+			this.minesweeperGUI.showStopMenu(false);
+			this.gamecontroller.resetInterruptionDetected();
+		} finally {
+			if (kiModus)
+				this.minesweeperGUI.setKIAktiv(false);
+		}
+	}
+	
+	/**
+	 * Berechnet die Minenwahrscheinlichkeiten auf einem Schnappschuss des
+	 * Spielfeldes. Maus und Tools bleiben dabei aktiv, so dass weitergespielt
+	 * werden kann; veraltete Ergebnisse verwirft der Gamecontroller.
+	 */
+	private void berechneImHintergrund() {
+		this.minesweeperGUI.showStopMenu(true);
+		try {
+			this.gamecontroller.executeShowMineprobabilities(this.schnappschuss);
+		} catch (InterruptedException e) {
+		} finally {
+			if (!this.gamecontroller.berechnetImVordergrund())
+				this.minesweeperGUI.showStopMenu(false);
+		}
+	}
+}
\ No newline at end of file
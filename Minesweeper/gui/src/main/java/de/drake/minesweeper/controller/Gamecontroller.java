@@ -0,0 +1,1328 @@
+package de.drake.minesweeper.controller;
+
+import java.awt.EventQueue;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import de.drake.minesweeper.model.Aufzeichnung;
+import de.drake.minesweeper.model.Autospeicher;
+import de.drake.minesweeper.model.Eliminationsloeser;
+import de.drake.minesweeper.model.Koordinate;
+import de.drake.minesweeper.model.SolverStatistik;
+import de.drake.minesweeper.model.Spielfeld;
+import de.drake.minesweeper.model.Spielstand;
+import de.drake.minesweeper.model.Stellungsformat;
+import de.drake.minesweeper.model.Vorausschau;
+import de.drake.minesweeper.model.Zwischenergebnisempfaenger;
+import de.drake.minesweeper.view.MinesweeperGUI;
+
+/**
+ * Controller, der ein Minesweeperspiel steuert.
+ * Verwaltet die Kommunikation zwischen Model und View.
+ */
+public class Gamecontroller {
+	
+	// Instanzattribute
+	
+	/**
+	 * Das aktuelle Spielfeld
+	 */
+	private Spielfeld spielfeld;
+	
+	/**
+	 * Die GUI des Minesweepers
+	 */
+	private MinesweeperGUI minesweeperGUI;
+	
+	/**
+	 * Der Maincontroller, um geladene Spiele starten zu knnen
+	 */
+	private Maincontroller maincontroller;
+	
+	/**
+	 * Sichert das Spielfeld nach den Zgen automatisch
+	 */
+	private Autospeicher autospeicher;
+	
+	/**
+	 * Die Aufzeichnung der laufenden Runde
+	 */
+	private Aufzeichnung aufzeichnung;
+	
+	/**
+	 * Die Hhe des Minesweepers
+	 */
+	private int hoehe;
+	
+	/**
+	 * Die Breite des Minesweepers
+	 */
+	private int breite;
+	
+	/**
+	 * Die Anzahl der Minen im Minesweeper
+	 */
+	private int minenzahl;
+	
+	/**
+	 * Speichert, ob derzeit die Minenwahrscheinlichkeiten angezeigt werden
+	 */
+	private boolean mineprobabilitiesAreShown = false;
+	
+	/**
+	 * Speichert, ob von den Minenwahrscheinlichkeiten nur Hinweise zu einzelnen
+	 * Feldern angezeigt werden
+	 */
+	private boolean nurHinweiseAngezeigt = false;
+	
+	/**
+	 * Speichert, ob die Tools derzeit verwendet werden drfen
+	 */
+	private boolean toolsActive = false;
+	
+	/**
+	 * Verweist whrend komplizierteren Berechnungen auf einen Extra-Thread,
+	 * in dem die Berechnungen durchgefhrt werden.
+	 */
+	private Thread calculatorThread;
+	
+	/**
+	 * Der Thread, der die Minenwahrscheinlichkeiten auf einem Schnappschuss des
+	 * Spielfeldes berechnet, whrend weitergespielt werden kann
+	 */
+	private Thread hintergrundThread;
+	
+	/**
+	 * Der Schnappschuss, auf dem hintergrundThread rechnet; null, wenn seine
+	 * Ergebnisse verworfen werden
+	 */
+	private Spielfeld schnappschuss;
+	
+	/**
+	 * Der Schnappschuss, auf dem der zuletzt angeforderte Hinweis berechnet wird;
+	 * null, wenn sein Ergebnis verworfen wird
+	 */
+	private Spielfeld hinweisSchnappschuss;
+	
+	/**
+	 * Der Schnappschuss, dessen Minenwahrscheinlichkeiten zuletzt ausgeblendet
+	 * wurden. Zwischenergebnisse, die danach noch eintreffen, werden verworfen.
+	 */
+	private Spielfeld ausgeblendeterSchnappschuss;
+	
+	
+	// Konstruktoren
+	
+	/**
+	 * Startet ein neues Spiel.
+	 * 
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 * @param minenzahl
+	 * 		die Gesamtzahl der Minen im Minesweeper
+	 * @param maincontroller
+	 * 		der Maincontroller, um spter die Parameter ndern zu knnen
+	 */
+	Gamecontroller(final int hoehe, final int breite, final int minenzahl,
+			final Maincontroller maincontroller) {
+		this.hoehe = hoehe;
+		this.breite = breite;
+		this.minenzahl = minenzahl;
+		this.maincontroller = maincontroller;
+		this.autospeicher = maincontroller.getAutospeicher();
+		this.minesweeperGUI = new MinesweeperGUI("Minesweeper",
+				maincontroller, this, hoehe, breite, minenzahl);
+		this.startNewRound();
+		minesweeperGUI.setVisible(true);
+	}
+	
+	/**
+	 * Setzt ein Spiel mit einem vorhandenen Spielfeld fort, z.B. einem geladenen
+	 * Spielstand.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld, auf dem weitergespielt wird
+	 * @param maincontroller
+	 * 		der Maincontroller, um spter die Parameter ndern zu knnen
+	 */
+	Gamecontroller(final Spielfeld spielfeld, final Maincontroller maincontroller) {
+		this.hoehe = spielfeld.getHoehe();
+		this.breite = spielfeld.getBreite();
+		this.minenzahl = spielfeld.getMinenzahl();
+		this.maincontroller = maincontroller;
+		this.autospeicher = maincontroller.getAutospeicher();
+		this.minesweeperGUI = new MinesweeperGUI("Minesweeper",
+				maincontroller, this, this.hoehe, this.breite, this.minenzahl);
+		this.spielfeld = spielfeld;
+		this.aufzeichnung = new Aufzeichnung(spielfeld);
+		this.minesweeperGUI.reset();
+		this.zeigeSpielfeld();
+		minesweeperGUI.setVisible(true);
+	}
+	
+	
+	// Instanzmethoden
+	
+	/**
+	 * Startet eine neue Runde mit den selben Einstellungen.
+	 * Wird ausgelst, wenn auf den Smiley geklickt wird.
+	 */
+	public void startNewRound() {
+		final NeueRundeEvent neueRundeEvent = new NeueRundeEvent();
+		neueRundeEvent.begin();
+		if (this.spielfeld != null)
+			this.interruptCalculation();
+		this.spielfeld = new Spielfeld(hoehe, breite, minenzahl);
+		this.aufzeichnung = new Aufzeichnung(this.spielfeld);
+		this.minesweeperGUI.reset();
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		this.toolsActive = true;
+		neueRundeEvent.end();
+		if (neueRundeEvent.shouldCommit()) {
+			neueRundeEvent.hoehe = this.hoehe;
+			neueRundeEvent.breite = this.breite;
+			neueRundeEvent.minenzahl = this.minenzahl;
+			neueRundeEvent.commit();
+		}
+		if (this.spielfeld.getVerbleibendeFelder() == 0) {
+			try {
+				this.gameWon();
+			} catch (GameOverException e) {
+			}
+		}
+	}
+	
+	/**
+	 * Beendet das Spiel und schliet das GUI-Fenster.
+	 * Wird verwendet, wenn die Spielparameter gendert wurden.
+	 */
+	public void endGame() {
+		this.interruptCalculation();
+		this.minesweeperGUI.dispose();
+	}
+	
+	/**
+	 * Sichert das laufende Spiel ein letztes Mal und beendet das Programm.
+	 * Wird beim Schlieen des Fensters ausgelst.
+	 */
+	public void beendeProgramm() {
+		this.interruptCalculation();
+		this.autospeicher.beende(this.spielfeld);
+		this.minesweeperGUI.dispose();
+		System.exit(0);
+	}
+	
+	/**
+	 * Zeichnet alle aufgedeckten und markierten Felder des aktuellen Spielfeldes
+	 * in das GUI-Fenster ein. Ist das Spiel bereits zu Ende, wird es wie nach
+	 * einem Sieg bzw. einer Niederlage angezeigt.
+	 */
+	private void zeigeSpielfeld() {
+		boolean verloren = false;
+		for (int zeile = 0; zeile < this.hoehe; zeile++)
+			for (int spalte = 0; spalte < this.breite; spalte++) {
+				if (this.spielfeld.isMarkedAsMine(zeile, spalte)) {
+					this.minesweeperGUI.showMark(zeile, spalte);
+				} else if (this.spielfeld.isUncovered(zeile, spalte)) {
+					if (this.spielfeld.isMine(zeile, spalte)) {
+						this.minesweeperGUI.showMineRed(zeile, spalte);
+						verloren = true;
+					} else {
+						this.minesweeperGUI.showValue(zeile, spalte,
+								this.spielfeld.getBenachbarteMinen(zeile, spalte));
+					}
+				}
+			}
+		this.minesweeperGUI.setVerbleibendeMinen(this.spielfeld.getVerbleibendeMinen());
+		this.minesweeperGUI.setVerbleibendeFelder(this.spielfeld.getVerbleibendeFelder());
+		this.toolsActive = true;
+		if (verloren) {
+			this.minesweeperGUI.stopMouseListener();
+			this.toolsActive = false;
+			this.minesweeperGUI.showSmileyDead();
+			this.showAllMines();
+		} else if (this.spielfeld.getVerbleibendeFelder() == 0) {
+			this.minesweeperGUI.stopMouseListener();
+			this.toolsActive = false;
+			this.minesweeperGUI.showSmileyCool();
+		}
+	}
+	
+	/**
+	 * Speichert das laufende Spiel in einer vom Benutzer gewhlten Datei.
+	 */
+	public void speichereSpiel() {
+		final File datei = this.minesweeperGUI.waehleDatei("Spiel speichern", true);
+		if (datei == null)
+			return;
+		try {
+			Spielstand.speichere(this.spielfeld, datei);
+		} catch (IOException e) {
+			this.minesweeperGUI.zeigeFehler(
+					"Das Spiel konnte nicht gespeichert werden:\n" + e.getMessage());
+		}
+	}
+	
+	/**
+	 * Speichert die Aufzeichnung der laufenden Runde in einer vom Benutzer
+	 * gewhlten Datei.
+	 */
+	public void speichereAufzeichnung() {
+		final File datei = this.minesweeperGUI.waehleDatei("Aufzeichnung speichern", true);
+		if (datei == null)
+			return;
+		try {
+			this.aufzeichnung.speichere(datei);
+		} catch (IOException e) {
+			this.minesweeperGUI.zeigeFehler(
+					"Die Aufzeichnung konnte nicht gespeichert werden:\n" + e.getMessage());
+		}
+	}
+	
+	/**
+	 * Ldt eine Aufzeichnung aus einer vom Benutzer gewhlten Datei und spielt
+	 * sie in einem neuen Fenster ab.
+	 * 
+	 * @param tempo
+	 * 		der Faktor, um den schneller als aufgezeichnet gespielt wird; 0 spielt
+	 * 		ohne Pausen
+	 */
+	public void spieleAufzeichnungAb(final int tempo) {
+		final File datei = this.minesweeperGUI.waehleDatei("Aufzeichnung abspielen", false);
+		if (datei == null)
+			return;
+		final Aufzeichnung geladeneAufzeichnung;
+		try {
+			geladeneAufzeichnung = Aufzeichnung.lade(datei);
+		} catch (IOException e) {
+			this.minesweeperGUI.zeigeFehler(
+					"Die Aufzeichnung konnte nicht geladen werden:\n" + e.getMessage());
+			return;
+		}
+		this.maincontroller.spieleAb(geladeneAufzeichnung, tempo);
+	}
+	
+	/**
+	 * Startet die Wiedergabe einer Aufzeichnung, deren Startstellung dieses
+	 * Spiel zeigt.
+	 * 
+	 * @param wiedergabe
+	 * 		die abzuspielende Aufzeichnung
+	 * @param tempo
+	 * 		der Faktor, um den schneller als aufgezeichnet gespielt wird; 0 spielt
+	 * 		ohne Pausen
+	 */
+	void starteWiedergabe(final Aufzeichnung wiedergabe, final int tempo) {
+		if (!this.toolsActive)
+			return;
+		this.verwerfeHintergrundberechnung();
+		this.calculatorThread = new Wiedergabethread(wiedergabe, tempo, this,
+				this.minesweeperGUI);
+		this.calculatorThread.start();
+	}
+	
+	/**
+	 * Fhrt einen aufgezeichneten Zug aus.
+	 * 
+	 * @param zug
+	 * 		die Nummer des Feldes, um zwei Bit nach links geschoben, und
+	 * 		darunter die Zugart (siehe Aufzeichnung)
+	 * @throws GameOverException
+	 * 		Wird geworfen, wenn der Zug zum Spielende fhrte.
+	 */
+	void spieleZug(final int zug) throws GameOverException {
+		final int zeile = (zug >>> 2) / this.breite;
+		final int spalte = (zug >>> 2) % this.breite;
+		switch (zug & 3) {
+		case Aufzeichnung.AUFDECKEN:
+			this.uncover(zeile, spalte);
+			break;
+		case Aufzeichnung.MARKIEREN:
+			if (!this.spielfeld.isUncovered(zeile, spalte)
+					&& !this.spielfeld.isMarkedAsMine(zeile, spalte)) {
+				this.spielfeld.beginneZug();
+				this.markAsMine(zeile, spalte);
+			}
+			break;
+		case Aufzeichnung.ENTMARKIEREN:
+			if (this.spielfeld.isMarkedAsMine(zeile, spalte)) {
+				this.spielfeld.beginneZug();
+				this.unmarkAsMine(zeile, spalte);
+			}
+			break;
+		default:
+			this.spieleAkkord(zeile, spalte);
+		}
+	}
+	
+	/**
+	 * Gibt zurck, ob die laufende Berechnung oder Wiedergabe abgebrochen werden
+	 * soll.
+	 * 
+	 * @return true, wenn abgebrochen werden soll
+	 */
+	boolean istUnterbrochen() {
+		return this.spielfeld.calculationIsInterrupted();
+	}
+	
+	/**
+	 * Ldt ein gespeichertes Spiel aus einer vom Benutzer gewhlten Datei und
+	 * setzt es in einem neuen Fenster fort.
+	 */
+	public void ladeSpiel() {
+		final File datei = this.minesweeperGUI.waehleDatei("Spiel laden", false);
+		if (datei == null)
+			return;
+		final Spielfeld geladenesSpielfeld;
+		try {
+			geladenesSpielfeld = Spielstand.lade(datei);
+		} catch (IOException e) {
+			this.minesweeperGUI.zeigeFehler(
+					"Das Spiel konnte nicht geladen werden:\n" + e.getMessage());
+			return;
+		}
+		this.maincontroller.startGame(geladenesSpielfeld);
+	}
+	
+	/**
+	 * Exportiert die aktuelle Stellung in eine vom Benutzer gewhlte Datei,
+	 * z.B. um eine Stellung, bei der die Berechnung lange dauert, spter
+	 * nachstellen zu knnen. Endet der Dateiname auf
+	 * Stellungsformat.ENDUNG_BINAER, wird das Binrformat verwendet, sonst das
+	 * Textformat.
+	 */
+	public void exportiereStellung() {
+		final File datei = this.minesweeperGUI.waehleDatei(
+				"Stellung exportieren", true);
+		if (datei == null)
+			return;
+		try {
+			Stellungsformat.speichere(this.spielfeld, datei);
+		} catch (IOException e) {
+			this.minesweeperGUI.zeigeFehler(
+					"Die Stellung konnte nicht gespeichert werden:\n" + e.getMessage());
+		}
+	}
+	
+	/**
+	 * Verarbeitet einen Rechtsklick auf ein Minenfeld, indem es das entsprechende
+	 * Feld als Mine markiert oder die Markierung entfernt.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des angeklickten Minenfeldes
+	 * @param spalte
+	 * 		die Spalte des angeklickten Minenfeldes
+	 */
+	public void toggleMineMark(final int zeile, final int spalte) {
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		if (this.spielfeld.isUncovered(zeile, spalte))
+			return;
+		this.spielfeld.beginneZug();
+		if (this.spielfeld.isMarkedAsMine(zeile, spalte)) {
+			this.unmarkAsMine(zeile, spalte);
+		} else {
+			this.markAsMine(zeile, spalte);
+		}
+	}
+	
+	/**
+	 * Markiert ein bestimmtes Feld als Mine.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu markierenden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu markierenden Feldes
+	 */
+	private void markAsMine(final int zeile, final int spalte) {
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		this.spielfeld.setMarkedAsMine(zeile, spalte, true);
+		this.minesweeperGUI.setVerbleibendeMinen(this.spielfeld.getVerbleibendeMinen());
+		this.minesweeperGUI.showMark(zeile, spalte);
+		this.aufzeichnung.notiere(Aufzeichnung.MARKIEREN, zeile, spalte);
+		this.autospeicher.zugBeendet(this.spielfeld);
+	}
+	
+	/**
+	 * Entfernt die Minenmarkierung eines bestimmten Feldes.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu bearbeitenden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu bearbeitenden Feldes
+	 */
+	private void unmarkAsMine(final int zeile, final int spalte) {
+		this.spielfeld.setMarkedAsMine(zeile, spalte, false);
+		this.minesweeperGUI.setVerbleibendeMinen(this.spielfeld.getVerbleibendeMinen());
+		this.minesweeperGUI.showBlank(zeile, spalte);
+		this.aufzeichnung.notiere(Aufzeichnung.ENTMARKIEREN, zeile, spalte);
+		this.autospeicher.zugBeendet(this.spielfeld);
+	}
+	
+	/**
+	 * Deckt ein Feld des Minesweepers auf.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu aufzudeckenden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu aufzudeckenden Feldes
+	 * @throws GameOverException Wird geworfen, wenn das Aufdecken eines Feldes
+	 * zum Spielende fhrte.
+	 */
+	public void uncover(final int zeile, final int spalte) throws GameOverException {
+		this.spielfeld.beginneZug();
+		this.aufzeichnung.notiere(Aufzeichnung.AUFDECKEN, zeile, spalte);
+		this.deckeAuf(zeile, spalte);
+	}
+	
+	/**
+	 * Deckt ein Feld des Minesweepers als Teil des laufenden Zuges auf.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu aufzudeckenden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu aufzudeckenden Feldes
+	 * @throws GameOverException Wird geworfen, wenn das Aufdecken eines Feldes
+	 * zum Spielende fhrte.
+	 */
+	private void deckeAuf(final int zeile, final int spalte) throws GameOverException {
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		if (this.spielfeld.isUncovered(zeile, spalte) 
+				|| this.spielfeld.isMarkedAsMine(zeile, spalte))
+			return;
+		this.spielfeld.setUncovered(zeile, spalte);
+		if (this.spielfeld.isMine(zeile, spalte)) {
+			this.gameLost(zeile, spalte);
+			return;
+		}
+		this.minesweeperGUI.setVerbleibendeFelder(this.spielfeld.getVerbleibendeFelder());
+		this.minesweeperGUI.showValue(zeile, spalte,
+				this.spielfeld.getBenachbarteMinen(zeile, spalte));
+		// Wenn ein leeres Feld aufgedeckt wird
+		if (this.spielfeld.getBenachbarteMinen(zeile, spalte) == 0) {
+			this.uncoverMinelessArea(zeile, spalte);
+		}
+		if (this.spielfeld.getVerbleibendeFelder() == 0) {
+			this.gameWon();
+		}
+		this.autospeicher.zugBeendet(this.spielfeld);
+	}
+	
+	/**
+	 * Macht den letzten Zug rckgngig, auch wenn er das Spiel beendet hat.
+	 * Wird ignoriert, solange eine Berechnung luft.
+	 */
+	public void macheZugRueckgaengig() {
+		if (this.calculatorThread != null && this.calculatorThread.isAlive())
+			return;
+		if (!this.spielfeld.kannZugRueckgaengigMachen())
+			return;
+		final boolean warBeendet = !this.toolsActive;
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		this.zeigeZugwechsel(this.spielfeld.macheZugRueckgaengig(), warBeendet);
+	}
+	
+	/**
+	 * Wiederholt den zuletzt rckgngig gemachten Zug.
+	 * Wird ignoriert, solange eine Berechnung luft.
+	 */
+	public void wiederholeZug() {
+		if (this.calculatorThread != null && this.calculatorThread.isAlive())
+			return;
+		if (!this.spielfeld.kannZugWiederholen())
+			return;
+		final boolean warBeendet = !this.toolsActive;
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		this.zeigeZugwechsel(this.spielfeld.wiederholeZug(), warBeendet);
+	}
+	
+	/**
+	 * Zeigt die durch Rckgngigmachen oder Wiederholen genderten Felder an.
+	 * Beginnt oder endet dabei ein beendetes Spiel, wird das ganze Spielfeld neu
+	 * gezeichnet, sonst nur die genderten Felder.
+	 * 
+	 * @param geaenderteFelder
+	 * 		die Koordinaten der genderten Felder
+	 * @param warBeendet
+	 * 		true, wenn das Spiel vor dem Zugwechsel beendet war
+	 */
+	private void zeigeZugwechsel(final ArrayList<Koordinate> geaenderteFelder,
+			final boolean warBeendet) {
+		boolean istBeendet = this.spielfeld.getVerbleibendeFelder() == 0;
+		for (Koordinate koordinate : geaenderteFelder)
+			if (this.spielfeld.isUncovered(koordinate.getZeile(), koordinate.getSpalte())
+					&& this.spielfeld.isMine(koordinate.getZeile(), koordinate.getSpalte()))
+				istBeendet = true;
+		if (warBeendet || istBeendet) {
+			this.minesweeperGUI.reset();
+			this.zeigeSpielfeld();
+		} else {
+			for (Koordinate koordinate : geaenderteFelder) {
+				final int zeile = koordinate.getZeile();
+				final int spalte = koordinate.getSpalte();
+				if (this.spielfeld.isMarkedAsMine(zeile, spalte)) {
+					this.minesweeperGUI.showMark(zeile, spalte);
+				} else if (this.spielfeld.isUncovered(zeile, spalte)) {
+					this.minesweeperGUI.showValue(zeile, spalte,
+							this.spielfeld.getBenachbarteMinen(zeile, spalte));
+				} else {
+					this.minesweeperGUI.showBlank(zeile, spalte);
+				}
+			}
+			this.minesweeperGUI.setVerbleibendeMinen(this.spielfeld.getVerbleibendeMinen());
+			this.minesweeperGUI.setVerbleibendeFelder(this.spielfeld.getVerbleibendeFelder());
+		}
+		// Die Aufzeichnung ist eine lineare Zugfolge und beginnt daher neu
+		this.aufzeichnung = new Aufzeichnung(this.spielfeld);
+		if (istBeendet) {
+			this.autospeicher.loesche(this.spielfeld);
+		} else if (warBeendet) {
+			this.autospeicher.setzeFort(this.spielfeld);
+		} else {
+			this.autospeicher.zugBeendet(this.spielfeld);
+		}
+	}
+	
+	/**
+	 * Drckt ein verdecktes Feld ein, wenn die linke Maustaste gedrckt gehalten wird.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zu hovernden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu hovernden Feldes
+	 */
+	public void hover(final int zeile, final int spalte) {
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		if (this.spielfeld.isUncovered(zeile, spalte)
+				|| this.spielfeld.isMarkedAsMine(zeile, spalte))
+			return;
+		this.minesweeperGUI.showValue(zeile, spalte, 0);
+	}
+
+	/**
+	 * Entfernt smtliche Minenwahrscheinlichkeiten von den Feldern im GUI-Fenster.
+	 */
+	private void removeMineprobabilities() {
+		for (int zeile = 0; zeile < this.hoehe; zeile++)
+			for (int spalte = 0; spalte < this.breite; spalte++) {
+				if (this.spielfeld.isMarkedAsMine(zeile, spalte)
+						|| this.spielfeld.isUncovered(zeile, spalte))
+					continue;
+				this.minesweeperGUI.removeNumber(zeile, spalte);
+				this.minesweeperGUI.showBlank(zeile, spalte);
+			}
+		this.mineprobabilitiesAreShown = false;
+		if (this.nurHinweiseAngezeigt)
+			this.nurHinweiseAngezeigt = false;
+		else
+			this.ausgeblendeterSchnappschuss = this.schnappschuss;
+	}
+
+	/**
+	 * Stellt den Ursprungszustand eines gehoverten Feldes wieder her.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des zurckzusetzenden Feldes
+	 * @param spalte
+	 * 		die Spalte des zu zurckzusetzenden Feldes
+	 */
+	public void removeHover(final int zeile, final int spalte) {
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		if (this.spielfeld.isUncovered(zeile, spalte)
+				|| this.spielfeld.isMarkedAsMine(zeile, spalte))
+			return;
+		this.minesweeperGUI.showBlank(zeile, spalte);
+	}
+	
+	/**
+	 * Drckt ein Gebiet um ein Feld ein, wenn die mittlere oder beide Maustasten
+	 * gleichzeitig gedrckt werden.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Zentrums des zu hovernden Gebiets
+	 * @param spalte
+	 * 		die Spalte des Zentrums des zu hovernden Gebiets
+	 */
+	public void hoverAround(final int zeile, final int spalte) {
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		for (int nachbarZeile = Math.max(0,zeile-1);
+				nachbarZeile < Math.min(zeile+2,this.hoehe); nachbarZeile++)
+			for (int nachbarSpalte = Math.max(0,spalte-1);
+					nachbarSpalte < Math.min(spalte+2, this.breite); nachbarSpalte++)
+				if (!this.spielfeld.isUncovered(nachbarZeile, nachbarSpalte)
+						&& !this.spielfeld.isMarkedAsMine(nachbarZeile, nachbarSpalte)) {
+					this.minesweeperGUI.showValue(nachbarZeile, nachbarSpalte, 0);
+				}
+	}
+	
+	/**
+	 * Stellt den Ursprungszustand eines gehoverten Gebietes wieder her.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Zentrums des zurckzusetzenden Gebietes
+	 * @param spalte
+	 * 		die Spalte des Zentrums des zurckzusetzenden Gebietes
+	 */
+	public void removeHoverAround(final int zeile, final int spalte) {
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		for (int nachbarZeile = Math.max(0,zeile-1);
+				nachbarZeile < Math.min(zeile+2,this.hoehe); nachbarZeile++)
+			for (int nachbarSpalte = Math.max(0,spalte-1);
+					nachbarSpalte < Math.min(spalte+2, this.breite); nachbarSpalte++)
+				if (!this.spielfeld.isUncovered(nachbarZeile, nachbarSpalte)
+						&& !this.spielfeld.isMarkedAsMine(nachbarZeile, nachbarSpalte)) {
+					this.minesweeperGUI.showBlank(nachbarZeile, nachbarSpalte);
+				}
+	}
+	
+	/**
+	 * Deckt alle Felder eines minenlosen Gebietes auf.
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der ein Nullfeld aufgedeckt wurde
+	 * @param spalte
+	 * 		die Spalte, in der ein Nullfeld aufgedeckt wurde
+	 */
+	private void uncoverMinelessArea(final int zeile, final int spalte) {
+		for (Koordinate koordinate : this.spielfeld.uncoverMinelessArea(zeile, spalte))
+			this.minesweeperGUI.showValue(koordinate.getZeile(), koordinate.getSpalte(),
+					this.spielfeld.getBenachbarteMinen(
+					koordinate.getZeile(), koordinate.getSpalte()));
+		this.minesweeperGUI.setVerbleibendeFelder(this.spielfeld.getVerbleibendeFelder());
+	}
+
+	/**
+	 * Wird ausgefhrt, wenn das Spiel gewonnen wurde
+	 * @throws GameOverException
+	 * 		Wird geworfen, um beispielsweise mit der KI auf den Sieg
+	 * 		reagieren zu knnen
+	 */
+	private void gameWon() throws GameOverException {
+		this.minesweeperGUI.stopMouseListener();
+		this.toolsActive = false;
+		this.minesweeperGUI.showSmileyCool();
+		SolverStatistik.getInstanz().zaehleSpielende(true);
+		this.autospeicher.loesche(this.spielfeld);
+		this.markAllMines();
+		throw new GameOverException("GameWon");
+	}
+	
+	/**
+	 * Wird ausgefhrt, wenn das Spiel verloren wurde
+	 * @param zeile
+	 * 		die Zeile, in der die Mine aufgedeckt wurde
+	 * @param spalte
+	 * 		die Spalte, in der die Mine aufgedeckt wurde
+	 * @throws GameOverException
+ 	 * 		Wird geworfen, um beispielsweise mit der KI auf die Niederlage
+	 * 		reagieren zu knnen
+	 */
+	private void gameLost(final int zeile, final int spalte) throws GameOverException {
+		this.minesweeperGUI.stopMouseListener();
+		this.toolsActive = false;
+		this.minesweeperGUI.showMineRed(zeile, spalte);
+		this.minesweeperGUI.showSmileyDead();
+		SolverStatistik.getInstanz().zaehleSpielende(false);
+		this.autospeicher.loesche(this.spielfeld);
+		this.showAllMines();
+		throw new GameOverException("GameLost");
+	}
+	
+	/**
+	 * Methode, die im Falle einer Niederlage die Positionen aller Minen anzeigt
+	 */
+	private void showAllMines() {
+		for (int zeile = 0; zeile < this.hoehe; zeile++)
+			for (int spalte = 0; spalte < this.breite; spalte++) {
+				if (this.spielfeld.isUncovered(zeile, spalte))
+					continue;
+				if (this.spielfeld.isMine(zeile, spalte)
+						&& !this.spielfeld.isMarkedAsMine(zeile, spalte))
+					this.minesweeperGUI.showMine(zeile, spalte);
+				if (!this.spielfeld.isMine(zeile, spalte)
+						&& this.spielfeld.isMarkedAsMine(zeile, spalte))
+					this.minesweeperGUI.showMineCrossed(zeile, spalte);
+			}
+	}
+	
+	/**
+	 * Methode, die im Falle eines Sieges alle Minen mit einem Fhnchen versieht
+	 */
+	private void markAllMines() {
+		for (int zeile = 0; zeile < this.hoehe; zeile++)
+			for (int spalte = 0; spalte < this.breite; spalte++)
+				if (this.spielfeld.isMine(zeile, spalte)
+						&& !this.spielfeld.isMarkedAsMine(zeile, spalte))
+					this.markAsMine(zeile, spalte);
+	}
+
+	/**
+	 * Fhrt die spezielle Klick-Aktion durch. Hierbei werden alle nicht-markierten
+	 * Nachbarfelder aufgedeckt, wenn bereits alle umgebenden Minen gefunden wurden.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Feldes, fr das die Aktion ausgefhrt werden soll
+	 * @param spalte
+	 * 		die Spalte des Feldes, fr das die Aktion ausgefhrt werden soll
+	 */
+	public void specialClick(final int zeile, final int spalte) {
+		try {
+			this.spieleAkkord(zeile, spalte);
+		} catch (GameOverException e) {
+		}
+	}
+	
+	/**
+	 * Fhrt die spezielle Klick-Aktion aus specialClick() durch.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Feldes, fr das die Aktion ausgefhrt werden soll
+	 * @param spalte
+	 * 		die Spalte des Feldes, fr das die Aktion ausgefhrt werden soll
+	 * @throws GameOverException Wird geworfen, wenn das Aufdecken eines Feldes
+	 * zum Spielende fhrte.
+	 */
+	private void spieleAkkord(final int zeile, final int spalte) throws GameOverException {
+		if (this.mineprobabilitiesAreShown)
+			this.removeMineprobabilities();
+		if (!this.spielfeld.isUncovered(zeile, spalte))
+			return;
+		// Markierte Minen im Umkreis zhlen
+		int anzahlMarkierterMinen = 0;
+		for (int nachbarZeile = Math.max(0,zeile-1);
+				nachbarZeile < Math.min(zeile+2,this.hoehe); nachbarZeile++)
+			for (int nachbarSpalte = Math.max(0,spalte-1);
+					nachbarSpalte < Math.min(spalte+2, this.breite); nachbarSpalte++) {
+				if (this.spielfeld.isMarkedAsMine(nachbarZeile, nachbarSpalte))
+					anzahlMarkierterMinen++;
+				}
+		// Mit der tatschlichen Anzahl benachbarter Minen vergleichen
+		if (anzahlMarkierterMinen == this.spielfeld.getBenachbarteMinen(zeile, spalte)) {
+			this.spielfeld.beginneZug();
+			this.aufzeichnung.notiere(Aufzeichnung.AKKORD, zeile, spalte);
+			this.uncoverNeighbourhood(zeile, spalte);
+		}
+	}
+	
+	/**
+	 * Deckt alle Felder in einem Umkreis von einem Feld auf.
+	 * Als Minen markierte Felder werden verdeckt gelassen.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Feldes, um das herum alles aufgedeckt werden soll
+	 * @param spalte
+	 * 		die Spalte des Feldes, um das herum alles aufgedeckt werden soll
+	 * @throws GameOverException Wird geworfen, wenn das Aufdecken eines Feldes
+	 * zum Spielende fhrte.
+	 */
+	private void uncoverNeighbourhood(final int zeile, final int spalte)
+			throws GameOverException {
+		for (int nachbarZeile = Math.max(0,zeile-1);
+				nachbarZeile < Math.min(zeile+2,this.hoehe); nachbarZeile++)
+			for (int nachbarSpalte = Math.max(0,spalte-1);
+					nachbarSpalte < Math.min(spalte+2, this.breite); nachbarSpalte++)
+				this.deckeAuf(nachbarZeile,nachbarSpalte);
+	}
+	
+	/**
+	 * Zeichnet smtliche Minenwahrscheinlichkeiten in das GUI-Fenster ein.
+	 * Werden diese bereits angezeigt, so werden sie wieder ausgeblendet.
+	 * Diese Methode erstellt einen eigenen Thread, der die Berechnungen auf einem
+	 * Schnappschuss des Spielfeldes vornimmt, so dass whrenddessen weitergespielt
+	 * werden kann.
+	 */
+	public void showMineprobabilities() {
+		if (!this.toolsActive || this.berechnetImVordergrund())
+			return;
+		if (this.mineprobabilitiesAreShown && !this.nurHinweiseAngezeigt) {
+			this.removeMineprobabilities();
+			return;
+		}
+		if (this.hintergrundThread != null && this.hintergrundThread.isAlive()
+				&& this.schnappschuss != null
+				&& this.schnappschuss != this.ausgeblendeterSchnappschuss
+				&& this.spielfeld.isAktuellerSchnappschuss(this.schnappschuss))
+			return;
+		this.verwerfeHintergrundberechnung();
+		this.schnappschuss = this.spielfeld.erzeugeSchnappschuss();
+		this.hintergrundThread = new CalculatorThread("show", this, 
+			this.minesweeperGUI, this.schnappschuss);
+		this.hintergrundThread.start();
+	}
+	
+	/**
+	 * Unterbricht die Berechnungen auf Schnappschssen, sofern welche laufen, und
+	 * verwirft ihre Ergebnisse. Luft im Event Dispatch Thread.
+	 */
+	private void verwerfeHintergrundberechnung() {
+		if (this.schnappschuss != null)
+			this.schnappschuss.setInterruptionDetected(true);
+		this.schnappschuss = null;
+		if (this.hinweisSchnappschuss != null)
+			this.hinweisSchnappschuss.setInterruptionDetected(true);
+		this.hinweisSchnappschuss = null;
+	}
+	
+	/**
+	 * Zeichnet die Minenwahrscheinlichkeit eines einzelnen verdeckten Feldes ein.
+	 * Berechnet wird nur, was fr dieses Feld ntig ist, und zwar in einem
+	 * eigenen Thread auf einem Schnappschuss, so dass auch dabei weitergespielt
+	 * werden kann. Werden bereits alle Minenwahrscheinlichkeiten angezeigt,
+	 * passiert nichts.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 */
+	public void zeigeHinweis(final int zeile, final int spalte) {
+		if (!this.toolsActive || this.berechnetImVordergrund()
+				|| (this.mineprobabilitiesAreShown && !this.nurHinweiseAngezeigt)
+				|| this.spielfeld.isUncovered(zeile, spalte)
+				|| this.spielfeld.isMarkedAsMine(zeile, spalte))
+			return;
+		if (this.hinweisSchnappschuss != null)
+			this.hinweisSchnappschuss.setInterruptionDetected(true);
+		this.hinweisSchnappschuss = this.spielfeld.erzeugeSchnappschuss();
+		new CalculatorThread(this, this.minesweeperGUI, this.hinweisSchnappschuss,
+				new Koordinate(zeile, spalte)).start();
+	}
+	
+	/**
+	 * Interne Methode, die die Minenwahrscheinlichkeit eines einzelnen Feldes
+	 * auf einem Schnappschuss berechnet und sie anschlieend im Event Dispatch
+	 * Thread einzeichnet. Darf nur aus einem eigenen Thread heraus aufgerufen
+	 * werden!
+	 * 
+	 * @param berechneterSchnappschuss
+	 * 		der Schnappschuss, auf dem gerechnet wird
+	 * @param feld
+	 * 		das Feld, dessen Minenwahrscheinlichkeit berechnet wird
+	 * @throws InterruptedException
+	 * 		wird geworfen, wenn die Berechnung unterbrochen wurde
+	 */
+	void executeZeigeHinweis(final Spielfeld berechneterSchnappschuss,
+			final Koordinate feld) throws InterruptedException {
+		final String nummer = Gamecontroller.formatiereWahrscheinlichkeit(
+				berechneterSchnappschuss.getEinzelwahrscheinlichkeit(
+						feld.getZeile(), feld.getSpalte()));
+		EventQueue.invokeLater(new Runnable() {
+			public void run() {
+				Gamecontroller.this.zeigeHinweisAn(berechneterSchnappschuss, feld, nummer);
+			}
+		});
+	}
+	
+	/**
+	 * Zeichnet einen auf einem Schnappschuss berechneten Hinweis ein, sofern
+	 * seitdem kein Zug gemacht, kein neuerer Hinweis angefordert und nicht die
+	 * gesamte Anzeige eingeblendet wurde. Luft im Event Dispatch Thread.
+	 * 
+	 * @param berechneterSchnappschuss
+	 * 		der Schnappschuss, auf dem gerechnet wurde
+	 * @param feld
+	 * 		das Feld des Hinweises
+	 * @param nummer
+	 * 		die anzuzeigende Wahrscheinlichkeit
+	 */
+	private void zeigeHinweisAn(final Spielfeld berechneterSchnappschuss,
+			final Koordinate feld, final String nummer) {
+		if (berechneterSchnappschuss != this.hinweisSchnappschuss
+				|| !this.toolsActive || this.berechnetImVordergrund()
+				|| (this.mineprobabilitiesAreShown && !this.nurHinweiseAngezeigt)
+				|| !this.spielfeld.isAktuellerSchnappschuss(berechneterSchnappschuss))
+			return;
+		this.minesweeperGUI.showNumber(feld.getZeile(), feld.getSpalte(), nummer);
+		this.mineprobabilitiesAreShown = true;
+		this.nurHinweiseAngezeigt = true;
+	}
+	
+	/**
+	 * Interne Methode, die smtliche Minenwahrscheinlichkeiten auf einem
+	 * Schnappschuss berechnet und sie anschlieend im Event Dispatch Thread
+	 * einzeichnet. Zwischenergebnisse werden schon whrend der Berechnung
+	 * eingezeichnet, so dass sich die Anzeige nach und nach fllt. Darf nur aus
+	 * einem eigenen Thread heraus aufgerufen werden!
+	 * 
+	 * @param schnappschuss
+	 * 		der Schnappschuss, auf dem gerechnet wird
+	 * @throws InterruptedException
+	 * 		wird geworfen, wenn die Wahrscheinlichkeitsberechnungen
+	 * 		unterbrochen wurden
+	 */
+	void executeShowMineprobabilities(final Spielfeld schnappschuss)
+			throws InterruptedException {
+		schnappschuss.berechneSchrittweise(new Zwischenergebnisempfaenger() {
+			@Override
+			public void empfangeZwischenergebnis(final double[][] wahrscheinlichkeiten) {
+				final String[][] nummern = new String[Gamecontroller.this.hoehe]
+						[Gamecontroller.this.breite];
+				for (int zeile = 0; zeile < Gamecontroller.this.hoehe; zeile++)
+					for (int spalte = 0; spalte < Gamecontroller.this.breite; spalte++)
+						if (!schnappschuss.isMarkedAsMine(zeile, spalte)
+								&& !schnappschuss.isUncovered(zeile, spalte))
+							nummern[zeile][spalte] = Gamecontroller.formatiereWahrscheinlichkeit(
+									wahrscheinlichkeiten[zeile][spalte]);
+				EventQueue.invokeLater(new Runnable() {
+					public void run() {
+						Gamecontroller.this.zeigeZwischenergebnis(schnappschuss, nummern);
+					}
+				});
+			}
+		});
+		final String[][] nummern = new String[this.hoehe][this.breite];
+		for (int zeile = 0; zeile < this.hoehe; zeile++)
+			for (int spalte = 0; spalte < this.breite; spalte++) {
+				if (schnappschuss.isMarkedAsMine(zeile, spalte)
+						|| schnappschuss.isUncovered(zeile, spalte))
+					continue;
+				nummern[zeile][spalte] = Gamecontroller.formatiereWahrscheinlichkeit(
+						schnappschuss.getMinenwahrscheinlichkeit(zeile, spalte));
+			}
+		EventQueue.invokeLater(new Runnable() {
+			public void run() {
+				Gamecontroller.this.zeigeMinenwahrscheinlichkeiten(schnappschuss, nummern);
+			}
+		});
+	}
+	
+	/**
+	 * Wandelt eine Minenwahrscheinlichkeit in den Text um, der auf dem Feld
+	 * angezeigt wird.
+	 * 
+	 * @param wahrscheinlichkeit
+	 * 		die Minenwahrscheinlichkeit
+	 * @return "x" fr sichere Minen, sonst die Wahrscheinlichkeit in Prozent
+	 */
+	private static String formatiereWahrscheinlichkeit(final double wahrscheinlichkeit) {
+		if (wahrscheinlichkeit >= 0.995)
+			return "x";
+		return "" + (int) Math.round(100*wahrscheinlichkeit);
+	}
+	
+	/**
+	 * Zeichnet ein Zwischenergebnis der Berechnung auf einem Schnappschuss ein,
+	 * sofern seitdem kein Zug gemacht, die Anzeige nicht ausgeblendet und die
+	 * Berechnung nicht verworfen wurde. Luft im Event Dispatch Thread.
+	 * 
+	 * @param berechneterSchnappschuss
+	 * 		der Schnappschuss, auf dem gerechnet wird
+	 * @param nummern
+	 * 		die anzuzeigenden Wahrscheinlichkeiten, null fr aufgedeckte und
+	 * 		markierte Felder
+	 */
+	private void zeigeZwischenergebnis(final Spielfeld berechneterSchnappschuss,
+			final String[][] nummern) {
+		if (berechneterSchnappschuss != this.schnappschuss
+				|| !this.toolsActive || this.berechnetImVordergrund()
+				|| berechneterSchnappschuss == this.ausgeblendeterSchnappschuss
+				|| !this.spielfeld.isAktuellerSchnappschuss(berechneterSchnappschuss))
+			return;
+		for (int zeile = 0; zeile < this.hoehe; zeile++)
+			for (int spalte = 0; spalte < this.breite; spalte++)
+				if (nummern[zeile][spalte] != null)
+					this.minesweeperGUI.showNumber(zeile, spalte, nummern[zeile][spalte]);
+		this.mineprobabilitiesAreShown = true;
+		this.nurHinweiseAngezeigt = false;
+	}
+	
+	/**
+	 * Zeichnet die auf einem Schnappschuss berechneten Minenwahrscheinlichkeiten
+	 * ein, sofern seitdem kein Zug gemacht wurde. Andernfalls sind sie veraltet
+	 * und werden verworfen, ebenso wenn die Berechnung verworfen wurde oder im
+	 * Vordergrund gerechnet wird, denn dann zieht z.B. die KI auerhalb des Event
+	 * Dispatch Threads. Wurde die Anzeige whrend der Berechnung ausgeblendet,
+	 * werden sie nur bernommen. Luft im Event Dispatch Thread, in dem auch die
+	 * Zge des Spielers ausgefhrt werden.
+	 * 
+	 * @param berechneterSchnappschuss
+	 * 		der Schnappschuss, auf dem gerechnet wurde
+	 * @param nummern
+	 * 		die anzuzeigenden Wahrscheinlichkeiten, null fr aufgedeckte und
+	 * 		markierte Felder
+	 */
+	private void zeigeMinenwahrscheinlichkeiten(final Spielfeld berechneterSchnappschuss,
+			final String[][] nummern) {
+		if (berechneterSchnappschuss != this.schnappschuss
+				|| !this.toolsActive || this.berechnetImVordergrund()
+				|| !this.spielfeld.uebernehmeWahrscheinlichkeiten(berechneterSchnappschuss)
+				|| berechneterSchnappschuss == this.ausgeblendeterSchnappschuss)
+			return;
+		for (int zeile = 0; zeile < this.hoehe; zeile++)
+			for (int spalte = 0; spalte < this.breite; spalte++)
+				if (nummern[zeile][spalte] != null)
+					this.minesweeperGUI.showNumber(zeile, spalte, nummern[zeile][spalte]);
+		this.mineprobabilitiesAreShown = true;
+		this.nurHinweiseAngezeigt = false;
+	}
+	
+	/**
+	 * Gibt zurck, ob gerade eine Berechnung luft, whrend der nicht gespielt
+	 * werden kann, z.B. die KI.
+	 * 
+	 * @return true, wenn eine solche Berechnung luft
+	 */
+	boolean berechnetImVordergrund() {
+		return this.calculatorThread != null && this.calculatorThread.isAlive();
+	}
+	
+	/**
+	 * Lst ein Minesweeper so weit wie mglich, ohne zu raten.
+	 * Hierbei kann man nur auf Minen stoen, wenn Minen zu Unrecht
+	 * falsch markiert wurden.
+	 * Diese Methode erstellt einen eigenen Thread, der die Berechnungen vornimmt.
+	 */
+	public void loeseDeterministisch() {
+		if (!this.toolsActive)
+			return;
+		this.verwerfeHintergrundberechnung();
+		this.calculatorThread = new CalculatorThread("loese", this, 
+				this.minesweeperGUI);
+		this.calculatorThread.start();
+	}
+	
+	/**
+	 * Interne Methode, die das Minesweeper so weit wie mglich lst,
+	 * ohne zu raten. Darf nur aus einem eigenen Thread heraus aufgerufen werden!
+	 * Zuerst wird jeweils der Eliminationsloeser befragt; erst wenn dieser kein
+	 * sicheres Feld mehr findet, werden die Minenwahrscheinlichkeiten berechnet.
+	 * 
+	 * @throws Exception
+	 * 		wird geworfen, wenn die Wahrscheinlichkeitsberechnungen
+	 * 		unterbrochen wurden (InterruptedException) oder das Spiel
+	 * 		gewonnen/verloren wurde (GameOverException). Der genaue Fehlertyp kann
+	 * 		ber exception.getMessage() erfragt werden.
+	 */
+	void executeLoeseDeterministisch() throws Exception {
+		boolean arbeitVorhanden = true;
+		while (arbeitVorhanden) {
+			arbeitVorhanden = false;
+			if (this.loeseDurchElimination()) {
+				arbeitVorhanden = true;
+				continue;
+			}
+			double[][] mineprobabilities = new double[this.hoehe][this.breite];
+			for (int zeile = 0; zeile < this.hoehe; zeile++)
+				for (int spalte = 0; spalte < this.breite; spalte++) {
+					mineprobabilities[zeile][spalte] =
+						this.spielfeld.getMinenwahrscheinlichkeit(zeile, spalte);
+				}
+			for (int zeile = 0; zeile < this.hoehe; zeile++)
+				for (int spalte = 0; spalte < this.breite; spalte++) {
+					if (!this.spielfeld.isUncovered(zeile, spalte) && 
+							mineprobabilities[zeile][spalte] < 0.0001) {
+						this.uncover(zeile, spalte);
+						arbeitVorhanden = true;
+					}
+					if (!this.spielfeld.isMarkedAsMine(zeile, spalte) && 
+							mineprobabilities[zeile][spalte] > 0.9999) {
+						this.spielfeld.beginneZug();
+						this.markAsMine(zeile, spalte);
+					}
+				}
+		}
+	}
+	
+	/**
+	 * Deckt alle Felder auf und markiert alle Minen, die der Eliminationsloeser
+	 * in der aktuellen Stellung findet, ohne Wahrscheinlichkeiten zu berechnen.
+	 * 
+	 * @return true, wenn ein Feld aufgedeckt wurde
+	 * @throws GameOverException
+	 * 		wird geworfen, wenn das Spiel gewonnen oder verloren wurde
+	 */
+	private boolean loeseDurchElimination() throws GameOverException {
+		final Eliminationsloeser eliminationsloeser = new Eliminationsloeser(this.spielfeld);
+		boolean aufgedeckt = false;
+		for (final Koordinate koordinate : eliminationsloeser.getSichereFelder())
+			if (!this.spielfeld.isUncovered(koordinate.getZeile(), koordinate.getSpalte())) {
+				this.uncover(koordinate.getZeile(), koordinate.getSpalte());
+				aufgedeckt = true;
+			}
+		for (final Koordinate koordinate : eliminationsloeser.getMinen())
+			if (!this.spielfeld.isMarkedAsMine(koordinate.getZeile(), koordinate.getSpalte())) {
+				this.spielfeld.beginneZug();
+				this.markAsMine(koordinate.getZeile(), koordinate.getSpalte());
+			}
+		return aufgedeckt;
+	}
+	
+	/**
+	 * Lsst die KI das Spiel zu Ende spielen.
+	 * Diese lst zunchst alles Deterministische und versucht dann,
+	 * mglichst geschickt zu raten, bis das Spiel beendet ist.
+	 * Diese Methode erstellt einen eigenen Thread, der die Berechnungen vornimmt.
+	 */
+	public void startKI() {
+		if (!this.toolsActive)
+			return;
+		this.verwerfeHintergrundberechnung();
+		this.calculatorThread = new CalculatorThread("startKI", this, 
+				this.minesweeperGUI);
+		this.calculatorThread.start();
+	}
+	
+	/**
+	 * Interne Methode, die die KI das Spiel zu Ende spielen lsst. 
+	 * Darf nur aus einem eigenen Thread heraus aufgerufen werden!
+	 * 
+	 * @throws Exception
+	 * 		wird geworfen, wenn die Wahrscheinlichkeitsberechnungen
+	 * 		unterbrochen wurden (InterruptedException) oder das Spiel
+	 * 		gewonnen/verloren wurde (GameOverException). Der genaue Fehlertyp kann
+	 * 		ber exception.getMessage() erfragt werden.
+	 */
+	void executeStartKI() throws Exception {
+		// Wenn ein neues Spiel gestartet wurde, 2 mittlere Felder aufdecken
+		if (this.spielfeld.getVerbleibendeFelder() ==
+				this.hoehe * this.breite - minenzahl) {
+			this.uncover(this.hoehe/2, this.breite/2);
+			if (this.hoehe > 1)
+				this.uncover(this.hoehe/2 - 1, this.breite/2);
+		}
+		while (true) {
+			this.executeLoeseDeterministisch();
+			this.deckeOptimalesFeldAuf();
+		}
+	}
+	
+	/**
+	 * Lsst die KI solange spielen, bis das Spiel gewonnen wurde.
+	 * Diese Methode erstellt einen eigenen Thread, der die Berechnungen vornimmt.
+	 */
+	public void activateKIUntilWin() {
+		if (!this.toolsActive)
+			return;
+		this.verwerfeHintergrundberechnung();
+		this.calculatorThread = new CalculatorThread("startKIUntilWin", this, 
+				this.minesweeperGUI);
+		this.calculatorThread.start();
+	}
+	
+	/**
+	 * Interne Methode, die die KI solange spielen lsst, bis das Spiel gewonnen
+	 * wurde. 
+	 * Darf nur aus einem eigenen Thread heraus aufgerufen werden!
+	 * 
+	 * @throws Exception
+	 * 		wird geworfen, wenn die Wahrscheinlichkeitsberechnungen
+	 * 		unterbrochen wurden (InterruptedException) oder das Spiel
+	 * 		gewonnen/verloren wurde (GameOverException). Der genaue Fehlertyp kann
+	 * 		ber exception.getMessage() erfragt werden.
+	 */
+	void executeActivateKIUntilWin() throws Exception {
+		try {
+			// Wenn ein neues Spiel gestartet wurde, 2 mittlere Felder aufdecken
+			if (this.spielfeld.getVerbleibendeFelder() ==
+					this.hoehe * this.breite - minenzahl) {
+				this.uncover(this.hoehe/2, this.breite/2);
+				if (this.hoehe > 1)
+					this.uncover(this.hoehe/2 - 1, this.breite/2);
+			}
+			while (true) {
+				this.executeLoeseDeterministisch();
+				this.deckeOptimalesFeldAuf();
+			}
+		} catch (Exception e) {
+			if (e.getMessage().equals("GameLost")) {
+				if (this.spielfeld.calculationIsInterrupted()) {
+					this.startNewRound();
+					throw new InterruptedException("Interrupted");
+				}
+				this.spielfeld = new Spielfeld(hoehe, breite, minenzahl);
+				this.aufzeichnung = new Aufzeichnung(this.spielfeld);
+				this.minesweeperGUI.resetForKI();
+				this.executeActivateKIUntilWin();
+			} else {
+				throw e;
+			}
+		}
+	}
+	
+	/**
+	 * Deckt das Feld auf, das die Vorausschau als bestes zum Raten whlt. Bei
+	 * Tiefe 1 ist das wie bisher das Feld mit der geringsten
+	 * Minenwahrscheinlichkeit, das neben einem aufgedeckten Feld liegt.
+	 * 
+	 * @throws Exception
+	 * 		wird geworfen, wenn die Wahrscheinlichkeitsberechnungen
+	 * 		unterbrochen wurden (InterruptedException) oder das Spiel
+	 * 		gewonnen/verloren wurde (GameOverException). Der genaue Fehlertyp kann
+	 * 		ber exception.getMessage() erfragt werden.
+	 */
+	private void deckeOptimalesFeldAuf() throws Exception {
+		final long start = System.nanoTime();
+		final KIZugEvent kiZugEvent = new KIZugEvent();
+		kiZugEvent.begin();
+		final Vorausschau vorausschau = this.maincontroller.getVorausschau();
+		final Koordinate optimalesFeld = vorausschau.waehleFeld(this.spielfeld);
+		if (optimalesFeld != null) {
+			final int optimaleZeile = optimalesFeld.getZeile();
+			final int optimaleSpalte = optimalesFeld.getSpalte();
+			final double minenwahrscheinlichkeit = this.spielfeld
+					.getMinenwahrscheinlichkeit(optimaleZeile, optimaleSpalte);
+			SolverStatistik.getInstanz().zaehleKIZug(System.nanoTime() - start,
+					minenwahrscheinlichkeit >= 0.0001);
+			final int verbleibendeFelder = this.spielfeld.getVerbleibendeFelder();
+			try {
+				this.uncover(optimaleZeile, optimaleSpalte);
+			} finally {
+				kiZugEvent.end();
+				if (kiZugEvent.shouldCommit()) {
+					kiZugEvent.hoehe = this.hoehe;
+					kiZugEvent.breite = this.breite;
+					kiZugEvent.verbleibendeFelder = verbleibendeFelder;
+					kiZugEvent.zeile = optimaleZeile;
+					kiZugEvent.spalte = optimaleSpalte;
+					kiZugEvent.minenwahrscheinlichkeit = minenwahrscheinlichkeit;
+					kiZugEvent.tiefe = vorausschau.getErreichteTiefe();
+					kiZugEvent.erwarteterGewinn = vorausschau.getErwarteterGewinn();
+					kiZugEvent.commit();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Unterbricht alle Wahrscheinlichkeitsberechnungen, sofern derzeit welche in
+	 * einem eigenen Thread durchgefhrt werden. Sorgt indirekt dafr, dass in dem
+	 * entsprechenden Thread eine InterruptedException geworfen wird.
+	 */
+	public void interruptCalculation() {
+		this.verwerfeHintergrundberechnung();
+		if (this.toolsActive)
+			return;
+		this.spielfeld.setInterruptionDetected(true);
+	}
+	
+	/**
+	 * Entfernt den Berechnungs-Unterbrecher, damit wieder neue Berechnungen 
+	 * mglich sind.
+	 */
+	void resetInterruptionDetected() {
+		this.spielfeld.setInterruptionDetected(false);
+	}
+	
+	/**
+	 * Legt fest, ob die Wahrscheinlichkeitstools noch aktiviert werden drfen oder
+	 * nicht.
+	 * @param wert
+	 * 		bei "true" werden die Tools wieder aktiv geschaltet, bei "false"
+	 * 		werden sie abgeschaltet.
+	 */
+	void setToolsActive(final boolean wert) {
+		this.toolsActive = wert;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package de.drake.minesweeper.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR-Ereignis fr einen Zug der KI in deckeOptimalesFeldAuf().
+ */
+@Name("de.drake.minesweeper.KIZug")
+@Label("KI-Zug")
+@Category({"Minesweeper", "KI"})
+@Description("Die Auswahl und das Aufdecken eines Feldes durch die KI")
+class KIZugEvent extends Event {
+	
+	/**
+	 * Die Hhe des Minesweepers
+	 */
+	@Label("Hhe")
+	int hoehe;
+	
+	/**
+	 * Die Breite des Minesweepers
+	 */
+	@Label("Breite")
+	int breite;
+	
+	/**
+	 * Die Anzahl der noch verdeckten minenfreien Felder vor dem Zug
+	 */
+	@Label("Verbleibende Felder")
+	int verbleibendeFelder;
+	
+	/**
+	 * Die Zeile des gewhlten Feldes
+	 */
+	@Label("Zeile")
+	int zeile;
+	
+	/**
+	 * Die Spalte des gewhlten Feldes
+	 */
+	@Label("Spalte")
+	int spalte;
+	
+	/**
+	 * Die Minenwahrscheinlichkeit des gewhlten Feldes
+	 */
+	@Label("Minenwahrscheinlichkeit")
+	double minenwahrscheinlichkeit;
+	
+	/**
+	 * Die Tiefe, bis zu der die Vorausschau vollstndig gesucht hat
+	 */
+	@Label("Tiefe")
+	int tiefe;
+	
+	/**
+	 * Um wie viel die Gewinnwahrscheinlichkeit laut Vorausschau hher ist als
+	 * beim Feld mit der geringsten Minenwahrscheinlichkeit
+	 */
+	@Label("Erwarteter Gewinn")
+	double erwarteterGewinn;
+}
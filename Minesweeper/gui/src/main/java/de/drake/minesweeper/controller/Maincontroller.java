@@ -0,0 +1,138 @@
+package de.drake.minesweeper.controller;
+
+import de.drake.minesweeper.model.Aufzeichnung;
+import de.drake.minesweeper.model.Autospeicher;
+import de.drake.minesweeper.model.SolverStatistik;
+import de.drake.minesweeper.model.Spielfeld;
+import de.drake.minesweeper.model.Vorausschau;
+import de.drake.minesweeper.view.CustomParametersMenu;
+import de.drake.minesweeper.view.MinesweeperGUI;
+
+	/**
+	 * Controller zum Starten von Minesweeper-Spielen. 
+	 * Verwaltet das Fenster zum Erstellen eines Minesweeperspiels
+	 * nach benutzerdefinierten Parametern.
+	 * @author Drake
+	 */
+public class Maincontroller {
+
+	/**
+	 * Das aktuell aktive Minesweeper-Spiel
+	 */
+	private Gamecontroller gamecontroller = null;
+	
+	/**
+	 * Sichert das laufende Spiel automatisch
+	 */
+	private final Autospeicher autospeicher = Autospeicher.ausSystemeigenschaften();
+	
+	/**
+	 * Whlt die Felder, auf die die KI rt
+	 */
+	private final Vorausschau vorausschau = Vorausschau.ausSystemeigenschaften();
+	
+	/**
+	 * Konstruktor, der die Parameterkonfiguration aufruft. Gibt es ein automatisch
+	 * gesichertes Spiel, wird angeboten, es fortzusetzen.
+	 */
+	private Maincontroller() {
+		final Spielfeld gesichertesSpielfeld = this.autospeicher.ladeNeuestes();
+		if (gesichertesSpielfeld != null && MinesweeperGUI.frageFortsetzen(
+				gesichertesSpielfeld.getHoehe(), gesichertesSpielfeld.getBreite()))
+			this.startGame(gesichertesSpielfeld);
+		else
+			this.startNewGame(20,20,134);
+	}
+	
+	/**
+	 * Startet ein neues Spiel.
+	 * 
+	 * @param hoehe
+	 * 		Die Hhe des Minesweepers
+	 * @param breite
+	 * 		Die Breite des Minesweepers
+	 * @param minenzahl
+	 * 		Die Anzahl der Minen im Minesweeper
+	 */
+	public void startNewGame(final int hoehe, final int breite, final int minenzahl) {
+		if (this.gamecontroller != null)
+			this.gamecontroller.endGame();
+		this.gamecontroller = new Gamecontroller(hoehe, breite, minenzahl, this);
+	}
+	
+	/**
+	 * Setzt ein Spiel auf einem vorhandenen Spielfeld fort, z.B. einem geladenen
+	 * Spielstand.
+	 * 
+	 * @param spielfeld
+	 * 		das Spielfeld, auf dem weitergespielt wird
+	 */
+	public void startGame(final Spielfeld spielfeld) {
+		if (this.gamecontroller != null)
+			this.gamecontroller.endGame();
+		this.gamecontroller = new Gamecontroller(spielfeld, this);
+	}
+	
+	/**
+	 * Spielt eine Aufzeichnung in einem neuen Fenster ab.
+	 * 
+	 * @param aufzeichnung
+	 * 		die abzuspielende Aufzeichnung
+	 * @param tempo
+	 * 		der Faktor, um den schneller als aufgezeichnet gespielt wird; 0 spielt
+	 * 		ohne Pausen
+	 */
+	void spieleAb(final Aufzeichnung aufzeichnung, final int tempo) {
+		this.startGame(aufzeichnung.erzeugeStartstellung());
+		this.gamecontroller.starteWiedergabe(aufzeichnung, tempo);
+	}
+	
+	/**
+	 * Gibt den Autospeicher zurck, der das laufende Spiel sichert.
+	 * 
+	 * @return der Autospeicher
+	 */
+	Autospeicher getAutospeicher() {
+		return this.autospeicher;
+	}
+	
+	/**
+	 * Gibt die Vorausschau zurck, mit der die KI rt.
+	 * 
+	 * @return die Vorausschau
+	 */
+	Vorausschau getVorausschau() {
+		return this.vorausschau;
+	}
+	
+	/**
+	 * ffnet ein Fenster zur Eingabe von benutzerdefinierten
+	 * Minesweeper-Einstellungen.
+	 * 
+	 * @param hoehe
+	 * 		die voreingestellte Hhe des Minesweepers
+	 * @param breite
+	 * 		die voreingestellte Breite des Minesweepers
+	 * @param minenzahl
+	 * 		die voreingestellte Gesamtzahl der Minen im Minesweeper
+	 */
+	public void selectCustomParameters(final int hoehe, final int breite,
+			final int minenzahl) {
+		if (this.gamecontroller != null)
+			this.gamecontroller.endGame();
+		CustomParametersMenu customParametersMenu = new CustomParametersMenu(
+				"Benutzerdefiniert", this, hoehe, breite, minenzahl);
+		customParametersMenu.setVisible(true);
+	}
+
+	/**
+	 * Startet das Minesweeper-Programm.
+	 * 
+	 * @param args
+	 * 		wird ignoriert
+	 */
+	public static void main(String[] args) {
+		SolverStatistik.registriere();
+		new Maincontroller();
+	}
+}
\ No newline at end of file
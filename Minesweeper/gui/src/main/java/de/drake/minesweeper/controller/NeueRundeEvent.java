@@ -0,0 +1,35 @@
+package de.drake.minesweeper.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR-Ereignis fr den Start einer neuen Runde samt Erzeugung des Spielfeldes.
+ */
+@Name("de.drake.minesweeper.NeueRunde")
+@Label("Neue Runde")
+@Category({"Minesweeper", "Spiel"})
+@Description("Der Start einer neuen Runde in startNewRound()")
+class NeueRundeEvent extends Event {
+	
+	/**
+	 * Die Hhe des Minesweepers
+	 */
+	@Label("Hhe")
+	int hoehe;
+	
+	/**
+	 * Die Breite des Minesweepers
+	 */
+	@Label("Breite")
+	int breite;
+	
+	/**
+	 * Die Anzahl der Minen
+	 */
+	@Label("Minenzahl")
+	int minenzahl;
+}
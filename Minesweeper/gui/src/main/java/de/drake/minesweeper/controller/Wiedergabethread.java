@@ -0,0 +1,96 @@
+package de.drake.minesweeper.controller;
+
+import de.drake.minesweeper.model.Aufzeichnung;
+import de.drake.minesweeper.view.MinesweeperGUI;
+
+/**
+ * Thread, der eine Aufzeichnung ber den Gamecontroller nachspielt, so dass
+ * jeder Zug in der GUI zu sehen ist. Die Pausen zwischen den Zgen entsprechen
+ * den aufgezeichneten, geteilt durch das Tempo.
+ */
+class Wiedergabethread extends Thread {
+	
+	/**
+	 * Die lngste Pause zwischen zwei Zgen in Millisekunden, damit lange
+	 * Denkpausen die Wiedergabe nicht aufhalten
+	 */
+	static final long MAXIMALE_PAUSE = 2000;
+	
+	/**
+	 * Die abzuspielende Aufzeichnung
+	 */
+	private Aufzeichnung aufzeichnung;
+	
+	/**
+	 * Der Faktor, um den schneller als aufgezeichnet gespielt wird; 0 spielt
+	 * ohne Pausen
+	 */
+	private int tempo;
+	
+	/**
+	 * Der Gamecontroller, in dem die Zge ausgefhrt werden
+	 */
+	private Gamecontroller gamecontroller;
+	
+	/**
+	 * Die GUI, in der das "Stopschild" aufgebaut werden soll
+	 */
+	private MinesweeperGUI minesweeperGUI;
+	
+	/**
+	 * Erzeugt einen neuen Thread.
+	 * 
+	 * @param aufzeichnung
+	 * 		die abzuspielende Aufzeichnung
+	 * @param tempo
+	 * 		der Faktor, um den schneller als aufgezeichnet gespielt wird; 0 spielt
+	 * 		ohne Pausen
+	 * @param gamecontroller
+	 * 		der Gamecontroller, in dem die Zge ausgefhrt werden
+	 * @param minesweeperGUI
+	 * 		die GUI, in der das "Stopschild" aufgebaut werden soll
+	 */
+	Wiedergabethread(final Aufzeichnung aufzeichnung, final int tempo,
+			final Gamecontroller gamecontroller, final MinesweeperGUI minesweeperGUI) {
+		this.aufzeichnung = aufzeichnung;
+		this.tempo = tempo;
+		this.gamecontroller = gamecontroller;
+		this.minesweeperGUI = minesweeperGUI;
+	}
+	
+	/**
+	 * Spielt die Aufzeichnung ab, bis sie zu Ende ist, das Spiel endet oder
+	 * die Wiedergabe abgebrochen wird.
+	 */
+	public void run() {
+		this.minesweeperGUI.showSmileyStop();
+		this.minesweeperGUI.showStopMenu(true);
+		this.minesweeperGUI.stopMouseListener();
+		this.gamecontroller.setToolsActive(false);
+		try {
+			for (int index = 0; index < this.aufzeichnung.getZugzahl(); index++) {
+				if (this.tempo > 0) {
+					final long pause = (this.aufzeichnung.getZeitpunkt(index)
+							- (index == 0 ? 0 : this.aufzeichnung.getZeitpunkt(index - 1)))
+							/ this.tempo;
+					if (pause > 0)
+						Thread.sleep(Math.min(pause, MAXIMALE_PAUSE));
+				}
+				if (this.gamecontroller.istUnterbrochen())
+					break;
+				this.gamecontroller.spieleZug(this.aufzeichnung.getZug(index));
+			}
+			this.minesweeperGUI.showSmileyNormal();
+			this.minesweeperGUI.resumeMouseListener();
+			this.gamecontroller.setToolsActive(true);
+		} catch (GameOverException e) {
+		} catch (InterruptedException e) {
+			this.minesweeperGUI.showSmileyNormal();
+			this.minesweeperGUI.resumeMouseListener();
+			this.gamecontroller.setToolsActive(true);
+		} finally {
+			this.minesweeperGUI.showStopMenu(false);
+			this.gamecontroller.resetInterruptionDetected();
+		}
+	}
+}
@@ -18,6 +18,12 @@ public class CustomParametersMenu extends Frame {
 	 * Die serialVersionUID fr NonoGUI
 	 */
 	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Die maximal zulssige Hhe bzw. Breite eines Minesweepers. Grere
+	 * Spielfelder als der Bildschirm werden in der GUI gescrollt.
+	 */
+	static final int MAXIMALE_KANTENLAENGE = 1000;
 
 	/**
 	 * Die TextArea, in dem die Hhe des Minesweeper eingegeben werden soll
@@ -66,12 +72,14 @@ public class CustomParametersMenu extends Frame {
 		eingabePanel.setLayout(new GridLayout(3,2));
 		this.add(eingabePanel, BorderLayout.CENTER);
 		
-			Label hoeheneingabeLabel = new Label("Hhe (1 - 50):");
+			Label hoeheneingabeLabel = new Label("Hhe (1 - "
+					+ CustomParametersMenu.MAXIMALE_KANTENLAENGE + "):");
 			this.hoeheneingabeTextField = new TextField();
 			eingabePanel.add(hoeheneingabeLabel);
 			eingabePanel.add(hoeheneingabeTextField);
 			
-			Label breiteneingabeLabel = new Label("Breite (1 - 50):");
+			Label breiteneingabeLabel = new Label("Breite (1 - "
+					+ CustomParametersMenu.MAXIMALE_KANTENLAENGE + "):");
 			this.breiteneingabeTextField = new TextField();
 			eingabePanel.add(breiteneingabeLabel);
 			eingabePanel.add(breiteneingabeTextField);
@@ -187,7 +195,8 @@ class StartGameActionListener implements ActionListener {
 		} catch (Exception f) {
 			return;
 		}
-		if (hoehe < 1 || hoehe > 50 || breite < 1 || breite > 50
+		if (hoehe < 1 || hoehe > CustomParametersMenu.MAXIMALE_KANTENLAENGE
+				|| breite < 1 || breite > CustomParametersMenu.MAXIMALE_KANTENLAENGE
 				|| minenzahl < 0 || minenzahl > hoehe * breite)
 			return;
 		this.customParametersMenu.dispose();
@@ -0,0 +1,130 @@
+package de.drake.minesweeper.view;
+
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+
+/**
+ * MouseListener fr die Minenfelder. Rechnet die Mausposition in die
+ * Koordinaten des darunterliegenden Feldes um und meldet das Betreten und
+ * Verlassen einzelner Felder an den MouseEventHandler.
+ */
+class MinefieldListener extends WindowListener implements MouseListener,
+		MouseMotionListener {
+	
+	/**
+	 * das Panel, dessen Felder der Listener berwacht
+	 */
+	private MinefieldPanel minefieldPanel;
+	
+	/**
+	 * die Zeile des Feldes, ber dem sich die Maus befindet (-1, wenn keines)
+	 */
+	private int zeile = -1;
+	
+	/**
+	 * die Spalte des Feldes, ber dem sich die Maus befindet (-1, wenn keines)
+	 */
+	private int spalte = -1;
+	
+	/**
+	 * Initialisiert den Minefield-Listener.
+	 * 
+	 * @param mouseEventHandler
+	 * 		der Handler, der die MouseEvents weiterverarbeitet
+	 * @param minefieldPanel
+	 * 		das Panel, dessen Felder der Listener berwacht
+	 */
+	MinefieldListener(final MouseEventHandler mouseEventHandler,
+			final MinefieldPanel minefieldPanel) {
+		super(mouseEventHandler);
+		this.minefieldPanel = minefieldPanel;
+	}
+	
+	/**
+	 * Ermittelt das Feld unter der Maus und meldet gegebenenfalls das Verlassen
+	 * des alten sowie das Betreten des neuen Feldes.
+	 * 
+	 * @param neueZeile
+	 * 		die Zeile des Feldes unter der Maus (-1, wenn keines)
+	 * @param neueSpalte
+	 * 		die Spalte des Feldes unter der Maus (-1, wenn keines)
+	 */
+	private void bewegeZu(final int neueZeile, final int neueSpalte) {
+		if (neueZeile == this.zeile && neueSpalte == this.spalte)
+			return;
+		if (this.zeile >= 0 && this.spalte >= 0)
+			super.mouseEventHandler.mouseExited(this.zeile, this.spalte);
+		if (neueZeile < 0 || neueSpalte < 0) {
+			this.zeile = -1;
+			this.spalte = -1;
+			return;
+		}
+		this.zeile = neueZeile;
+		this.spalte = neueSpalte;
+		super.mouseEventHandler.mouseEntered(this.zeile, this.spalte);
+	}
+	
+	/**
+	 * Ermittelt das Feld unter der Position eines MouseEvents.
+	 * 
+	 * @param arg0
+	 * 		das MouseEvent
+	 */
+	private void bewegeZu(final MouseEvent arg0) {
+		this.bewegeZu(this.minefieldPanel.getZeile(arg0.getY()),
+				this.minefieldPanel.getSpalte(arg0.getX()));
+	}
+	
+	/**
+	 * Wird ausgelst, wenn die Maus ber das Minenfeld bewegt wird
+	 */
+	@Override
+	public void mouseEntered(MouseEvent arg0) {
+		this.bewegeZu(arg0);
+	}
+	
+	/**
+	 * Wird ausgelst, wenn die Maus das Minenfeld verlsst
+	 */
+	@Override
+	public void mouseExited(MouseEvent arg0) {
+		this.bewegeZu(-1, -1);
+	}
+	
+	/**
+	 * Wird ausgelst, wenn die Maus innerhalb des Minenfeldes bewegt wird
+	 */
+	@Override
+	public void mouseMoved(MouseEvent arg0) {
+		this.bewegeZu(arg0);
+	}
+	
+	/**
+	 * Wird ausgelst, wenn die Maus mit gedrckter Taste bewegt wird
+	 */
+	@Override
+	public void mouseDragged(MouseEvent arg0) {
+		this.bewegeZu(arg0);
+	}
+	
+	/**
+	 * Wird ausgelst, wenn eine Maustaste gedrckt wird. Das Feld unter der Maus
+	 * wird vorher aktualisiert, falls noch kein Bewegungsevent eingetroffen ist.
+	 */
+	@Override
+	public void mousePressed(MouseEvent arg0) {
+		this.bewegeZu(arg0);
+		super.mousePressed(arg0);
+	}
+	
+	/**
+	 * Wird ausgelst, wenn eine Maustaste losgelassen wird. Das Feld unter der
+	 * Maus wird vorher aktualisiert, falls noch kein Bewegungsevent eingetroffen ist.
+	 */
+	@Override
+	public void mouseReleased(MouseEvent arg0) {
+		this.bewegeZu(arg0);
+		super.mouseReleased(arg0);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,317 @@
+package de.drake.minesweeper.view;
+
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.util.Arrays;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+
+/**
+ * Zeichnet smtliche Felder des Minesweepers in einer einzigen Komponente.
+ * Ersetzt die frheren JLabels pro Feld, so dass auch groe Spielfelder ohne
+ * hunderttausende Komponenten und Listener dargestellt werden knnen.
+ * Mauspositionen werden rechnerisch in Feldkoordinaten umgerechnet.
+ * Das Panel wird in einem JScrollPane angezeigt und lsst sich zoomen; gezeichnet
+ * werden stets nur die Felder im sichtbaren bzw. neu zu zeichnenden Bereich.
+ */
+class MinefieldPanel extends JComponent implements Scrollable, MouseWheelListener {
+	
+	/**
+	 * Die serialVersionUID fr das MinefieldPanel
+	 */
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Die mglichen Kantenlngen eines Feldes in Pixeln (Zoomstufen)
+	 */
+	private static final int[] ZOOMSTUFEN = {4, 6, 8, 12, 16, 24, 32, 48};
+	
+	/**
+	 * Die Zoomstufe, in der die Bilder in Originalgre angezeigt werden
+	 */
+	private static final int STANDARDZOOMSTUFE = 4;
+	
+	/**
+	 * Die aktuelle Zoomstufe
+	 */
+	private int zoomstufe = MinefieldPanel.STANDARDZOOMSTUFE;
+	
+	/**
+	 * Die aktuelle Kantenlnge eines Feldes in Pixeln
+	 */
+	private int feldgroesse = MinefieldPanel.ZOOMSTUFEN[MinefieldPanel.STANDARDZOOMSTUFE];
+	
+	/**
+	 * Hilfsrechteck fr den sichtbaren Bereich, um es nicht bei jeder nderung
+	 * neu anlegen zu mssen
+	 */
+	private Rectangle sichtbarerBereich = new Rectangle();
+	
+	/**
+	 * Die Hhe des Minesweepers
+	 */
+	private int hoehe;
+	
+	/**
+	 * Die Breite des Minesweepers
+	 */
+	private int breite;
+	
+	/**
+	 * Die Nummer des aktuell angezeigten Bildes je Feld (SpriteCache.KEIN_BILD,
+	 * wenn kein Bild angezeigt wird)
+	 */
+	private byte[][] bilder;
+	
+	/**
+	 * Der aktuell angezeigte Text je Feld (null, wenn kein Text angezeigt wird)
+	 */
+	private String[][] texte;
+	
+	/**
+	 * Erzeugt ein neues MinefieldPanel, in dem alle Felder verdeckt sind.
+	 * 
+	 * @param mouseEventHandler
+	 * 		der Handler, der die MouseEvents weiterverarbeitet
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 */
+	MinefieldPanel(final MouseEventHandler mouseEventHandler, final int hoehe,
+			final int breite) {
+		super();
+		this.hoehe = hoehe;
+		this.breite = breite;
+		this.bilder = new byte[hoehe][breite];
+		this.texte = new String[hoehe][breite];
+		for (int zeile = 0; zeile < hoehe; zeile++)
+			Arrays.fill(this.bilder[zeile], SpriteCache.getNummer("covered"));
+		this.setFont(UIManager.getFont("Label.font"));
+		this.setFocusable(false);
+		MinefieldListener minefieldListener = new MinefieldListener(
+				mouseEventHandler, this);
+		this.addMouseListener(minefieldListener);
+		this.addMouseMotionListener(minefieldListener);
+		this.addMouseWheelListener(this);
+	}
+	
+	/**
+	 * Liefert die Gre des gesamten Spielfeldes in der aktuellen Zoomstufe.
+	 */
+	@Override
+	public Dimension getPreferredSize() {
+		return new Dimension(this.feldgroesse * this.breite,
+				this.feldgroesse * this.hoehe);
+	}
+	
+	/**
+	 * Setzt das Aussehen eines Feldes und zeichnet dieses Feld neu, sofern es
+	 * sichtbar ist. Darf nur im Event Dispatch Thread aufgerufen werden.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 * @param bild
+	 * 		die Nummer des anzuzeigenden Bildes im SpriteCache
+	 * @param text
+	 * 		der anzuzeigende Text oder null
+	 */
+	void setFeld(final int zeile, final int spalte, final byte bild,
+			final String text) {
+		this.bilder[zeile][spalte] = bild;
+		this.texte[zeile][spalte] = text;
+		this.computeVisibleRect(this.sichtbarerBereich);
+		if (this.sichtbarerBereich.intersects(spalte * this.feldgroesse,
+				zeile * this.feldgroesse, this.feldgroesse, this.feldgroesse))
+			this.repaint(spalte * this.feldgroesse, zeile * this.feldgroesse,
+					this.feldgroesse, this.feldgroesse);
+	}
+	
+	/**
+	 * Zeichnet das gesamte sichtbare Spielfeld neu.
+	 */
+	void zeichneAlles() {
+		this.repaint();
+	}
+	
+	/**
+	 * Vergrert bzw. verkleinert die Felder um eine Zoomstufe. Das Feld unter dem
+	 * Ankerpunkt bleibt dabei an derselben Stelle im sichtbaren Bereich.
+	 * 
+	 * @param richtung
+	 * 		1 zum Vergrern, -1 zum Verkleinern, 0 fr die Originalgre
+	 * @param anker
+	 * 		der Punkt relativ zum Panel, der festgehalten werden soll, oder null fr
+	 * 		die Mitte des sichtbaren Bereichs
+	 */
+	void zoom(final int richtung, final Point anker) {
+		final int neueZoomstufe;
+		if (richtung == 0) {
+			neueZoomstufe = MinefieldPanel.STANDARDZOOMSTUFE;
+		} else {
+			neueZoomstufe = Math.max(0, Math.min(MinefieldPanel.ZOOMSTUFEN.length - 1,
+					this.zoomstufe + richtung));
+		}
+		if (neueZoomstufe == this.zoomstufe)
+			return;
+		final Rectangle sichtbar = this.getVisibleRect();
+		final Point ankerpunkt = anker != null ? anker : new Point(
+				sichtbar.x + sichtbar.width / 2, sichtbar.y + sichtbar.height / 2);
+		final int alteGroesse = this.feldgroesse;
+		this.zoomstufe = neueZoomstufe;
+		this.feldgroesse = MinefieldPanel.ZOOMSTUFEN[neueZoomstufe];
+		this.setFont(this.getFont().deriveFont(Font.PLAIN,
+				Math.max(6f, this.feldgroesse * 0.75f)));
+		this.revalidate();
+		if (this.getParent() instanceof JViewport) {
+			final JViewport viewport = (JViewport) this.getParent();
+			final int x = ankerpunkt.x * this.feldgroesse / alteGroesse
+					- (ankerpunkt.x - sichtbar.x);
+			final int y = ankerpunkt.y * this.feldgroesse / alteGroesse
+					- (ankerpunkt.y - sichtbar.y);
+			viewport.setViewSize(this.getPreferredSize());
+			final Dimension ansicht = viewport.getExtentSize();
+			viewport.setViewPosition(new Point(
+					Math.max(0, Math.min(x, this.getPreferredSize().width - ansicht.width)),
+					Math.max(0, Math.min(y, this.getPreferredSize().height - ansicht.height))));
+		}
+		this.repaint();
+	}
+	
+	/**
+	 * Zoomt bei gedrckter Strg-Taste mit dem Mausrad. Ohne Strg-Taste wird das
+	 * Event an das umgebende JScrollPane weitergereicht.
+	 */
+	@Override
+	public void mouseWheelMoved(MouseWheelEvent arg0) {
+		if (arg0.isControlDown()) {
+			this.zoom(arg0.getWheelRotation() < 0 ? 1 : -1, arg0.getPoint());
+			return;
+		}
+		if (this.getParent() != null)
+			this.getParent().dispatchEvent(
+					SwingUtilities.convertMouseEvent(this, arg0, this.getParent()));
+	}
+	
+	/**
+	 * Berechnet die Zeile, die zu einer y-Koordinate gehrt.
+	 * 
+	 * @param y
+	 * 		die y-Koordinate relativ zum Panel
+	 * @return die Zeile oder -1, wenn die Koordinate auerhalb liegt
+	 */
+	int getZeile(final int y) {
+		if (y < 0 || y >= this.hoehe * this.feldgroesse)
+			return -1;
+		return y / this.feldgroesse;
+	}
+	
+	/**
+	 * Berechnet die Spalte, die zu einer x-Koordinate gehrt.
+	 * 
+	 * @param x
+	 * 		die x-Koordinate relativ zum Panel
+	 * @return die Spalte oder -1, wenn die Koordinate auerhalb liegt
+	 */
+	int getSpalte(final int x) {
+		if (x < 0 || x >= this.breite * this.feldgroesse)
+			return -1;
+		return x / this.feldgroesse;
+	}
+	
+	/**
+	 * Zeichnet alle Felder, die im neu zu zeichnenden Bereich liegen.
+	 */
+	@Override
+	protected void paintComponent(Graphics g) {
+		final int feldgroesse = this.feldgroesse;
+		final Rectangle bereich = g.getClipBounds();
+		final int ersteZeile = Math.max(0, bereich.y / feldgroesse);
+		final int letzteZeile = Math.min(this.hoehe - 1,
+				(bereich.y + bereich.height - 1) / feldgroesse);
+		final int ersteSpalte = Math.max(0, bereich.x / feldgroesse);
+		final int letzteSpalte = Math.min(this.breite - 1,
+				(bereich.x + bereich.width - 1) / feldgroesse);
+		final FontMetrics fontMetrics = g.getFontMetrics();
+		for (int zeile = ersteZeile; zeile <= letzteZeile; zeile++)
+			for (int spalte = ersteSpalte; spalte <= letzteSpalte; spalte++) {
+				final int x = spalte * feldgroesse;
+				final int y = zeile * feldgroesse;
+				if (this.bilder[zeile][spalte] != SpriteCache.KEIN_BILD) {
+					g.drawImage(SpriteCache.getBild(this.bilder[zeile][spalte],
+							feldgroesse), x, y, null);
+				} else {
+					g.setColor(this.getBackground());
+					g.fillRect(x, y, feldgroesse,
+							feldgroesse);
+				}
+				if (this.texte[zeile][spalte] != null) {
+					g.setColor(this.getForeground());
+					g.drawString(this.texte[zeile][spalte],
+							x + (feldgroesse
+							- fontMetrics.stringWidth(this.texte[zeile][spalte])) / 2,
+							y + (feldgroesse
+							+ fontMetrics.getAscent() - fontMetrics.getDescent()) / 2);
+				}
+			}
+	}
+	
+	/**
+	 * Liefert die Gre des sichtbaren Bereichs, die das Panel ohne Scrollen
+	 * gerne htte.
+	 */
+	@Override
+	public Dimension getPreferredScrollableViewportSize() {
+		return this.getPreferredSize();
+	}
+	
+	/**
+	 * Beim Scrollen mit den Pfeilen der Scrollbar wird um ein Feld verschoben.
+	 */
+	@Override
+	public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation,
+			int direction) {
+		return this.feldgroesse;
+	}
+	
+	/**
+	 * Beim seitenweisen Scrollen wird um den sichtbaren Bereich abzglich
+	 * eines Feldes verschoben.
+	 */
+	@Override
+	public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation,
+			int direction) {
+		if (orientation == SwingConstants.VERTICAL)
+			return Math.max(this.feldgroesse, visibleRect.height - this.feldgroesse);
+		return Math.max(this.feldgroesse, visibleRect.width - this.feldgroesse);
+	}
+	
+	/**
+	 * Das Panel wird nie auf die Breite des sichtbaren Bereichs gestaucht.
+	 */
+	@Override
+	public boolean getScrollableTracksViewportWidth() {
+		return false;
+	}
+	
+	/**
+	 * Das Panel wird nie auf die Hhe des sichtbaren Bereichs gestaucht.
+	 */
+	@Override
+	public boolean getScrollableTracksViewportHeight() {
+		return false;
+	}
+}
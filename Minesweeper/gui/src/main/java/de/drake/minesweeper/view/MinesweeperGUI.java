@@ -0,0 +1,582 @@
+package de.drake.minesweeper.view;
+
+import java.awt.*;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import javax.swing.BorderFactory;
+import javax.swing.JOptionPane;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import de.drake.minesweeper.controller.*;
+
+/**
+ * Hauptfenster der Minesweeper-GUI, das die Spieloberflche beinhaltet
+ */
+public class MinesweeperGUI extends Frame {
+
+	/**
+	 * Die serialVersionUID fr NonoGUI
+	 */
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Das Label, in dem die verbleibende Anzahl von Minen angezeigt wird
+	 */
+	private Label verbleibendeMinenLabel = new Label("");
+	
+	/**
+	 * Das Label, in dem die verbleibende Anzahl von Feldern angezeigt wird
+	 */
+	private Label verbleibendeFelderLabel = new Label("");
+	
+	/**
+	 * Komponente, die smtliche Felder des Minesweepers zeichnet
+	 */
+	private MinefieldPanel minefieldPanel;
+	
+	/**
+	 * Der Controller, der beim Schlieen des Fensters das Spiel sichert
+	 */
+	private Gamecontroller gamecontroller;
+	
+	/**
+	 * Die Hhe des Minesweepers
+	 */
+	private int hoehe;
+	
+	/**
+	 * Die Breite des Minesweepers
+	 */
+	private int breite;
+	
+	/**
+	 * Der Smiley-Button, mit dem ein neues Spiel gestartet werden kann
+	 */
+	private Smiley smiley;
+	
+	/**
+	 * Die Menleiste, die ber dem Smiley klebt
+	 */
+	private MinesweeperMenuBar minesweeperMenuBar;
+	
+	/**
+	 * Komponente, die die Events der MinefieldListener verarbeitet
+	 */
+	private MouseEventHandler mouseEventHandler;
+	
+	/**
+	 * Sammelt die nderungen an den Minenfeldern und bertrgt sie gebndelt
+	 * im Event Dispatch Thread
+	 */
+	private UpdateBatcher updateBatcher;
+	
+	/**
+	 * Speichert, ob der Turbo-Modus fr die KI eingeschaltet ist
+	 */
+	private volatile boolean turbo = false;
+	
+	/**
+	 * Speichert, ob die KI derzeit spielt
+	 */
+	private volatile boolean kiAktiv = false;
+	
+	/**
+	 * die Gesamtzahl der Minen
+	 */
+	private int minenzahl;
+	
+	/**
+	 * die Gesamtzahl der Felder
+	 */
+	private int felderzahl;
+	
+	// Konstruktoren
+	
+	/**
+	 * Konstruktor zum Erzeugen eines GUI-Fensters
+	 * 
+	 * @param titel
+	 * 		der Titel des GUI-Fensters
+	 * @param maincontroller
+	 * 		der Controller zum ndern der Spielparameter
+	 * @param gamecontroller
+	 * 		der Controller zur Verarbeitung von Spiel-Events
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 * @param minenzahl
+	 * 		die Gesamtzahl der Minen im Minesweeper
+	 */
+	public MinesweeperGUI(final String titel,
+			final Maincontroller maincontroller,
+			final Gamecontroller gamecontroller,
+			final int hoehe, final int breite, final int minenzahl) {
+		super(titel);
+		this.gamecontroller = gamecontroller;
+		this.minenzahl = minenzahl;
+		this.hoehe = hoehe;
+		this.breite = breite;
+		this.felderzahl = hoehe * breite;
+		this.mouseEventHandler = new MouseEventHandler(
+				this, gamecontroller);
+		this.updateBatcher = new UpdateBatcher(this, hoehe, breite);
+		
+		// Das Fenster ist hchstens so gro wie der Bildschirm; grere Spielfelder
+		// werden gescrollt
+		final Rectangle bildschirm = GraphicsEnvironment.getLocalGraphicsEnvironment()
+				.getMaximumWindowBounds();
+		int fensterbreite = Math.max(132,16*breite+6);
+		int fensterhoehe = 16*hoehe + 88;
+		if (fensterbreite > bildschirm.width || fensterhoehe > bildschirm.height) {
+			fensterbreite = Math.min(fensterbreite + 20, bildschirm.width);
+			fensterhoehe = Math.min(fensterhoehe + 20, bildschirm.height);
+			this.setLocation(bildschirm.x, bildschirm.y);
+		} else {
+			this.setLocation(Math.min(400, bildschirm.width - fensterbreite),
+					Math.min(300, bildschirm.height - fensterhoehe));
+		}
+		this.setSize(fensterbreite, fensterhoehe);
+		this.setResizable(true);
+		this.setLayout(new BorderLayout());
+		
+		Panel kontrollebene = new Panel();
+		kontrollebene.setLayout(new FlowLayout(FlowLayout.CENTER));
+		kontrollebene.addMouseListener(new WindowListener(this.mouseEventHandler));
+		this.add(kontrollebene, BorderLayout.NORTH);
+			
+			this.zeichneVerbleibendeMinen(this.minenText(this.minenzahl));
+			kontrollebene.add(this.verbleibendeMinenLabel);
+			this.verbleibendeMinenLabel.addMouseListener(
+					new WindowListener(this.mouseEventHandler));
+			this.smiley = new Smiley();
+			this.smiley.addMouseListener(new SmileyListener(this.mouseEventHandler));
+			kontrollebene.add(this.smiley);
+			this.zeichneVerbleibendeFelder(
+					this.felderText(this.felderzahl-this.minenzahl));
+			kontrollebene.add(this.verbleibendeFelderLabel);
+			this.verbleibendeFelderLabel.addMouseListener(
+					new WindowListener(this.mouseEventHandler));
+			
+		this.minefieldPanel = new MinefieldPanel(this.mouseEventHandler, hoehe, breite);
+		JScrollPane scrollPane = new JScrollPane(this.minefieldPanel);
+		scrollPane.setBorder(BorderFactory.createEmptyBorder());
+		scrollPane.getViewport().setScrollMode(JViewport.BLIT_SCROLL_MODE);
+		scrollPane.setFocusable(false);
+		scrollPane.getHorizontalScrollBar().setFocusable(false);
+		scrollPane.getVerticalScrollBar().setFocusable(false);
+		this.add(scrollPane, BorderLayout.CENTER);
+			
+		this.enableEvents(AWTEvent.WINDOW_EVENT_MASK);
+		
+		this.minesweeperMenuBar = new MinesweeperMenuBar(
+				maincontroller, gamecontroller, this, hoehe, breite, this.minenzahl);
+		this.setMenuBar(this.minesweeperMenuBar);
+		this.addKeyListener(new MinesweeperKeyListener(gamecontroller, this));
+	}
+	
+	/**
+	 * Methode, die ausgefhrt wird wenn das Fenster geschlossen werden soll
+	 */
+	protected void processWindowEvent(WindowEvent e) {
+		if (e.getID()==WindowEvent.WINDOW_CLOSING) {
+			 this.gamecontroller.beendeProgramm();
+		 }
+	}
+	
+	/**
+	 * Methode, die die GUI fr eine neue Runde zurcksetzt.
+	 * Hierbei werden alle Felder verdeckt, der Smiley zurckgesetzt,
+	 * die verbliebenen Minen/Felder aktualisiert und die MouseListener aktivert.
+	 */
+	public void reset() {
+		this.showSmileyNormal();
+		this.setVerbleibendeMinen(this.minenzahl);
+		this.setVerbleibendeFelder(this.felderzahl-this.minenzahl);
+		for (int zeile = 0; zeile < this.hoehe; zeile ++)
+			for (int spalte = 0; spalte < this.breite; spalte++)
+				this.showBlank(zeile, spalte);
+		this.mouseEventHandler.setActive(true);
+	}
+	
+	/**
+	 * Methode, die es der KI ermglicht, ihr Glck noch einmal zu versuchen.
+	 * Hierbei werden alle Felder verdeckt, der Smiley auf das Stopschild
+	 * zurckgesetzt und die verbliebenen Minen/Felder aktualisiert.
+	 */
+	public void resetForKI() {
+		this.showSmileyStop();
+		this.setVerbleibendeMinen(this.minenzahl);
+		this.setVerbleibendeFelder(this.felderzahl-this.minenzahl);
+		for (int zeile = 0; zeile < this.hoehe; zeile ++)
+			for (int spalte = 0; spalte < this.breite; spalte++)
+				this.showBlank(zeile, spalte);
+	}
+	
+	/**
+	 * Deaktivert die MouseListener auer dem Smiley. Wird ausgefhrt, wenn das Spiel
+	 * gewonnen oder verloren wurde oder Berechnungen stattfinden.
+	 */
+	public void stopMouseListener() {
+		this.mouseEventHandler.setActive(false);
+	}
+	
+	/**
+	 * Aktiviert die MouseListener wieder. Wird ausgefhrt, wenn Berechnungen
+	 * abgeschlossen wurden, ohne dass das Spiel beendet wurde.
+	 */
+	public void resumeMouseListener() {
+		this.mouseEventHandler.setActive(true);
+	}
+	
+	/**
+	 * Methode, die dem Smiley sein normales Aussehen gibt
+	 */
+	public void showSmileyNormal() {
+		this.smiley.showSmileyNormal();
+		this.mouseEventHandler.setSmileyIsStop(false);
+	}
+	
+	/**
+	 * Methode, die den Smiley ttet
+	 */
+	public void showSmileyDead() {
+		this.smiley.showSmileyDead();
+		this.mouseEventHandler.setSmileyIsStop(false);
+	}
+	
+	/**
+	 * Methode, die den Smiley "O" sagen lsst
+	 */
+	void showSmileyO() {
+		this.smiley.showSmileyO();
+	}
+	
+	/**
+	 * Methode, die dem Smiley eine Sonnenbrille verpasst
+	 */
+	public void showSmileyCool() {
+		this.smiley.showSmileyCool();
+		this.mouseEventHandler.setSmileyIsStop(false);
+	}
+	
+	/**
+	 * Methode, die dem Smiley einen Hover-Effekt verpasst
+	 */
+	void showSmileyHovered() {
+		this.smiley.showSmileyHovered();
+	}
+	
+	/**
+	 * Methode, die einen Hover-Effekt des Smileys entfernt
+	 */
+	void showSmileyUnhovered() {
+		this.smiley.showSmileyUnhovered();
+	}
+	
+	/**
+	 * Methode, die den Smiley in ein Stopschild verwandelt und 
+	 */
+	public void showSmileyStop() {
+		this.smiley.showSmileyStop();
+		this.mouseEventHandler.setSmileyIsStop(true);
+	}
+	
+	/**
+	 * Legt fest, ob der Menpunkt "Operation abbrechen" abgezeigt werden soll.
+	 * @param wert
+	 * 		bei "true" wird der Menpunkt angezeigt, bei "false" nicht.
+	 */
+	public void showStopMenu(final boolean wert) {
+		this.minesweeperMenuBar.showStopOption(wert);
+	}
+	
+	/**
+	 * Teilt der GUI mit, ob die KI derzeit spielt. Ist der Turbo-Modus
+	 * eingeschaltet, wird das Zeichnen whrend des KI-Laufs gedrosselt;
+	 * an dessen Ende werden Spielfeld und Zhler vollstndig angezeigt.
+	 * 
+	 * @param wert
+	 * 		true, wenn die KI zu spielen beginnt, false, wenn sie aufhrt
+	 */
+	public void setKIAktiv(final boolean wert) {
+		this.kiAktiv = wert;
+		this.updateBatcher.setGedrosselt(this.turbo && this.kiAktiv);
+	}
+	
+	/**
+	 * Schaltet den Turbo-Modus fr die KI ein oder aus.
+	 * 
+	 * @param wert
+	 * 		true, um den Turbo-Modus einzuschalten, false, um ihn auszuschalten
+	 */
+	void setTurbo(final boolean wert) {
+		this.turbo = wert;
+		this.minesweeperMenuBar.showTurbo(wert);
+		this.updateBatcher.setGedrosselt(this.turbo && this.kiAktiv);
+	}
+	
+	/**
+	 * Schaltet den Turbo-Modus fr die KI um.
+	 */
+	void toggleTurbo() {
+		this.setTurbo(!this.turbo);
+	}
+	
+	/**
+	 * Legt fest, wie oft das Spielfeld im Turbo-Modus pro Sekunde neu gezeichnet
+	 * wird.
+	 * 
+	 * @param framerate
+	 * 		die Anzahl Bilder pro Sekunde; bei 0 wird erst am Ende des KI-Laufs
+	 * 		gezeichnet
+	 */
+	void setTurboFramerate(final int framerate) {
+		this.updateBatcher.setTurboFramerate(framerate);
+	}
+	
+	/**
+	 * Zeigt die Minenwahrscheinlichkeit des Feldes unter dem Mauszeiger an.
+	 */
+	void zeigeHinweis() {
+		this.mouseEventHandler.zeigeHinweis();
+	}
+	
+	/**
+	 * Vergrert bzw. verkleinert die Darstellung der Minenfelder um eine Zoomstufe.
+	 * 
+	 * @param richtung
+	 * 		1 zum Vergrern, -1 zum Verkleinern, 0 fr die Originalgre
+	 */
+	void zoom(final int richtung) {
+		this.minefieldPanel.zoom(richtung, null);
+	}
+	
+	/**
+	 * Lsst den Benutzer eine Datei zum Speichern oder Laden auswhlen.
+	 * 
+	 * @param titel
+	 * 		der Titel des Dialogs
+	 * @param speichern
+	 * 		true fr einen Speichern-Dialog, false fr einen ffnen-Dialog
+	 * @return die gewhlte Datei oder null, wenn der Dialog abgebrochen wurde
+	 */
+	public File waehleDatei(final String titel, final boolean speichern) {
+		final FileDialog fileDialog = new FileDialog(this, titel,
+				speichern ? FileDialog.SAVE : FileDialog.LOAD);
+		fileDialog.setVisible(true);
+		if (fileDialog.getFile() == null)
+			return null;
+		return new File(fileDialog.getDirectory(), fileDialog.getFile());
+	}
+	
+	/**
+	 * Fragt beim Programmstart, ob ein automatisch gesichertes Spiel fortgesetzt
+	 * werden soll.
+	 * 
+	 * @param hoehe
+	 * 		die Hhe des gesicherten Spielfeldes
+	 * @param breite
+	 * 		die Breite des gesicherten Spielfeldes
+	 * @return true, wenn das Spiel fortgesetzt werden soll
+	 */
+	public static boolean frageFortsetzen(final int hoehe, final int breite) {
+		return JOptionPane.showConfirmDialog(null, "Es gibt ein automatisch "
+				+ "gesichertes Spiel (" + hoehe + "x" + breite + ").\n"
+				+ "Soll es fortgesetzt werden?", "Minesweeper",
+				JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION;
+	}
+	
+	/**
+	 * Zeigt eine Fehlermeldung in einem Dialog an.
+	 * 
+	 * @param meldung
+	 * 		die anzuzeigende Meldung
+	 */
+	public void zeigeFehler(final String meldung) {
+		JOptionPane.showMessageDialog(this, meldung, "Minesweeper",
+				JOptionPane.ERROR_MESSAGE);
+	}
+	
+	/**
+	 * Methode, die ein Minesweeperfeld visuell als Mine markiert
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der sich das Minesweeperfeld befindet
+	 * @param spalte
+	 * 		die Spalte, in der sich das Minesweeperfeld befindet
+	 */
+	public void showMark(final int zeile, final int spalte) {
+		this.updateBatcher.setBild(zeile, spalte, "mineMark");
+	}
+	
+	/**
+	 * Methode, die eine zweistellige Zahl in ein Minesweeperfeld eintrgt. Wird zur
+	 * Anzeige von Minenwahrscheinlichkeiten verwendet.
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der sich das Minesweeperfeld befindet
+	 * @param spalte
+	 * 		die Spalte, in der sich das Minesweeperfeld befindet
+	 * @param nummer
+	 * 		die Nummer, die eingetragen werden soll
+	 */
+	public void showNumber(final int zeile, final int spalte, final String nummer) {
+		this.updateBatcher.setBild(zeile, spalte, null);
+		this.updateBatcher.setText(zeile, spalte, nummer);
+	}
+	
+	/**
+	 * Methode, die eine zweistellige Zahl aus einem Minesweeperfeld entfernt
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der sich die Zahl befindet
+	 * @param spalte
+	 * 		die Spalte, in der sich die Zahl befindet
+	 */
+	public void removeNumber(final int zeile, final int spalte) {
+		this.updateBatcher.setText(zeile, spalte, null);
+	}
+	
+	/**
+	 * Methode, die ein Minenfeld als verdecktes Feld anzeigt
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der sich das Minesweeperfeld befindet
+	 * @param spalte
+	 * 		die Spalte, in der sich das Minesweeperfeld befindet
+	 */
+	public void showBlank(final int zeile, final int spalte) {
+		this.updateBatcher.setBild(zeile, spalte, "covered");
+	}
+	
+	/**
+	 * Methode, die in ein Minesweeperfeld die Zahl der benachbarten Minen eintrgt
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der sich das Minesweeperfeld befindet
+	 * @param spalte
+	 * 		die Spalte, in der sich das Minesweeperfeld befindet
+	 * @param benachbarteMinen
+	 * 		die Zahl, die in das Feld eingetragen werden soll
+	 */
+	public void showValue(final int zeile, final int spalte, final int benachbarteMinen) {
+		this.updateBatcher.setBild(zeile, spalte, "" + benachbarteMinen);
+	}
+	
+	/**
+	 * Methode, die in ein Minesweeperfeld eine Mine eintrgt
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der sich das Minesweeperfeld befindet
+	 * @param spalte
+	 * 		die Spalte, in der sich das Minesweeperfeld befindet
+	 */
+	public void showMine(final int zeile, final int spalte) {
+		this.updateBatcher.setBild(zeile, spalte, "mine");
+	}
+	
+	/**
+	 * Methode, die in ein Minesweeperfeld eine durchgekreuzte Mine eintrgt
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der sich das Minesweeperfeld befindet
+	 * @param spalte
+	 * 		die Spalte, in der sich das Minesweeperfeld befindet
+	 */
+	public void showMineCrossed(final int zeile, final int spalte) {
+		this.updateBatcher.setBild(zeile, spalte, "mineCrossed");
+	}
+	
+	/**
+	 * Methode, die eine rote Mine in ein Minesweeperfeld eintrgt
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der die Mine aufgedeckt wurde
+	 * @param spalte
+	 * 		die Spalte, in der die Mine aufgedeckt wurde
+	 */
+	public void showMineRed(final int zeile, final int spalte) {
+		this.updateBatcher.setBild(zeile, spalte, "mineRed");
+	}
+	
+	/**
+	 * Methode, die die Anzahl der verbleibenden Minen aktualisiert
+	 * 
+	 * @param verbleibendeMinen
+	 * 		die aktuelle Anzahl der verbleibenden Minen
+	 */
+	public void setVerbleibendeMinen(final int verbleibendeMinen) {
+		this.updateBatcher.setVerbleibendeMinenText(this.minenText(verbleibendeMinen));
+	}
+	
+	/**
+	 * Methode, die die Anzahl der verbleibenden Felder aktualisiert
+	 * 
+	 * @param verbleibendeMinen
+	 * 		die aktuelle Anzahl der verbleibenden Felder
+	 */
+	public void setVerbleibendeFelder(final int verbleibendeFelder) {
+		this.updateBatcher.setVerbleibendeFelderText(this.felderText(verbleibendeFelder));
+	}
+	
+	/**
+	 * Erzeugt den Anzeigetext fr die verbleibenden Minen
+	 * 
+	 * @param verbleibendeMinen
+	 * 		die aktuelle Anzahl der verbleibenden Minen
+	 * @return der anzuzeigende Text
+	 */
+	private String minenText(final int verbleibendeMinen) {
+		return "" + verbleibendeMinen + "/" + this.minenzahl;
+	}
+	
+	/**
+	 * Erzeugt den Anzeigetext fr die verbleibenden Felder
+	 * 
+	 * @param verbleibendeFelder
+	 * 		die aktuelle Anzahl der verbleibenden Felder
+	 * @return der anzuzeigende Text
+	 */
+	private String felderText(final int verbleibendeFelder) {
+		return "" + verbleibendeFelder + "/" + (this.felderzahl - this.minenzahl);
+	}
+	
+	/**
+	 * bertrgt das Aussehen eines Minesweeperfeldes auf das MinefieldPanel.
+	 * Wird vom UpdateBatcher im Event Dispatch Thread aufgerufen.
+	 * 
+	 * @param zeile
+	 * 		die Zeile, in der sich das Minesweeperfeld befindet
+	 * @param spalte
+	 * 		die Spalte, in der sich das Minesweeperfeld befindet
+	 * @param bild
+	 * 		die Nummer des anzuzeigenden Bildes im SpriteCache
+	 * @param text
+	 * 		der anzuzeigende Text oder null
+	 */
+	void zeichneFeld(final int zeile, final int spalte, final byte bild,
+			final String text) {
+		this.minefieldPanel.setFeld(zeile, spalte, bild, text);
+	}
+	
+	/**
+	 * bertrgt den Text der verbleibenden Minen auf das zugehrige Label.
+	 * 
+	 * @param text
+	 * 		der anzuzeigende Text
+	 */
+	void zeichneVerbleibendeMinen(final String text) {
+		this.verbleibendeMinenLabel.setText(text);
+	}
+	
+	/**
+	 * bertrgt den Text der verbleibenden Felder auf das zugehrige Label.
+	 * 
+	 * @param text
+	 * 		der anzuzeigende Text
+	 */
+	void zeichneVerbleibendeFelder(final String text) {
+		this.verbleibendeFelderLabel.setText(text);
+	}
+}
\ No newline at end of file
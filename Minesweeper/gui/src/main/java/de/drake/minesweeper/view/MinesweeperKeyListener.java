@@ -14,14 +14,23 @@ class MinesweeperKeyListener implements KeyListener {
 	 */
 	private Gamecontroller gamecontroller;
 	
+	/**
+	 * Speichert die GUI, um die Ansicht per Tastatur verndern zu knnen.
+	 */
+	private MinesweeperGUI minesweeperGUI;
+	
 	/**
 	 * Legt einen neuen MinesweeperKeyListener an.
 	 * 
 	 * @param gamecontroller
 	 * 		der Gamecontroller zur Verarbeitung der KeyEvents
+	 * @param minesweeperGUI
+	 * 		die GUI, deren Ansicht per Tastatur verndert werden kann
 	 */
-	MinesweeperKeyListener(final Gamecontroller gamecontroller) {
+	MinesweeperKeyListener(final Gamecontroller gamecontroller,
+			final MinesweeperGUI minesweeperGUI) {
 		this.gamecontroller = gamecontroller;
+		this.minesweeperGUI = minesweeperGUI;
 	}
 
 	/**
@@ -32,10 +41,22 @@ class MinesweeperKeyListener implements KeyListener {
 	 */
 	@Override
 	public void keyPressed(KeyEvent arg0) {
+		if (arg0.isControlDown() && arg0.getKeyCode() == KeyEvent.VK_Z) {
+			this.gamecontroller.macheZugRueckgaengig();
+			return;
+		}
+		if (arg0.isControlDown() && arg0.getKeyCode() == KeyEvent.VK_Y) {
+			this.gamecontroller.wiederholeZug();
+			return;
+		}
 		if (arg0.getKeyCode() == KeyEvent.VK_F2) {
 			this.gamecontroller.startNewRound();
 			return;
 		}
+		if (arg0.getKeyCode() == KeyEvent.VK_F4) {
+			this.minesweeperGUI.zeigeHinweis();
+			return;
+		}
 		if (arg0.getKeyCode() == KeyEvent.VK_F5) {
 			this.gamecontroller.showMineprobabilities();
 			return;
@@ -52,6 +73,23 @@ class MinesweeperKeyListener implements KeyListener {
 			this.gamecontroller.activateKIUntilWin();
 			return;
 		}
+		if (arg0.getKeyCode() == KeyEvent.VK_F9) {
+			this.minesweeperGUI.toggleTurbo();
+			return;
+		}
+		if (arg0.getKeyCode() == KeyEvent.VK_PLUS || arg0.getKeyCode() == KeyEvent.VK_ADD) {
+			this.minesweeperGUI.zoom(1);
+			return;
+		}
+		if (arg0.getKeyCode() == KeyEvent.VK_MINUS
+				|| arg0.getKeyCode() == KeyEvent.VK_SUBTRACT) {
+			this.minesweeperGUI.zoom(-1);
+			return;
+		}
+		if (arg0.getKeyCode() == KeyEvent.VK_0 || arg0.getKeyCode() == KeyEvent.VK_NUMPAD0) {
+			this.minesweeperGUI.zoom(0);
+			return;
+		}
 		if (arg0.getKeyCode() == KeyEvent.VK_ESCAPE) {
 			this.gamecontroller.interruptCalculation();
 			return;
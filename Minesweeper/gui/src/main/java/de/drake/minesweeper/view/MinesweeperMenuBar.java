@@ -0,0 +1,399 @@
+package de.drake.minesweeper.view;
+
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ItemEvent;
+import java.awt.event.ItemListener;
+import de.drake.minesweeper.controller.Gamecontroller;
+import de.drake.minesweeper.controller.Maincontroller;
+
+/**
+ * Die Menleiste des Minesweepers samt Inhalt und ActionListener.
+ */
+class MinesweeperMenuBar extends MenuBar implements ActionListener, ItemListener {
+	
+	/**
+	 * Die SerialVersionUID fr die MinesweeperMenuBar
+	 */
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Der Menpunkt "Abbrechen"
+	 */
+	private Menu stopMenu;
+	
+	/**
+	 * Der Menpunkt "Turbo-Modus"
+	 */
+	private CheckboxMenuItem itemTurbo;
+	
+	/**
+	 * Die Menpunkte zur Auswahl der Turbo-Bildrate
+	 */
+	private CheckboxMenuItem[] itemsTurboFramerate;
+	
+	/**
+	 * Die zu den Menpunkten in itemsTurboFramerate gehrenden Bildraten
+	 */
+	private static final int[] TURBO_FRAMERATEN = {0, 1, 5, 20};
+	
+	/**
+	 * Die Tempi, in denen Aufzeichnungen abgespielt werden knnen; 0 spielt
+	 * ohne Pausen
+	 */
+	private static final int[] WIEDERGABETEMPI = {1, 2, 10, 0};
+	
+	/**
+	 * Controller zum Verarbeiten der Eingaben
+	 */
+	private Gamecontroller gamecontroller;
+	
+	/**
+	 * Controller zum Verarbeiten der Eingaben
+	 */
+	private Maincontroller maincontroller;
+	
+	/**
+	 * Die GUI, deren Ansicht ber das Men verndert werden kann
+	 */
+	private MinesweeperGUI minesweeperGUI;
+	
+	/**
+	 * Die Hhe des Minesweepers
+	 */
+	private int hoehe;
+	
+	/**
+	 * Die Breite des Minesweepers
+	 */
+	private int breite;
+	
+	/**
+	 * Die Anzahl der Minen im Minesweeper
+	 */
+	private int minenzahl;
+
+	/**
+	 * Erzeugt eine Menleiste fr die MinesweeperGUI.
+	 * 
+	 * @param gamecontroller
+	 * 		der Gamecontroller, um die Tools starten zu knnen
+	 * @param maincontroller
+	 * 		der Maincontroller, um ein neues Spiel starten zu knnen
+	 * @param minesweeperGUI
+	 * 		die GUI, deren Ansicht ber das Men verndert werden kann
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 * @param minenzahl
+	 * 		die Gesamtzahl der Minen im Minesweeper
+	 */
+	MinesweeperMenuBar(final Maincontroller maincontroller,
+			final Gamecontroller gamecontroller, final MinesweeperGUI minesweeperGUI,
+			final int hoehe, final int breite, final int minenzahl) {
+		super();
+		this.maincontroller = maincontroller;
+		this.gamecontroller = gamecontroller;
+		this.minesweeperGUI = minesweeperGUI;
+		this.hoehe = hoehe;
+		this.breite = breite;
+		this.minenzahl = minenzahl;
+		
+		Menu spielMenu = new Menu("Spiel");
+		this.add(spielMenu);
+		
+		MenuItem itemNeu = new MenuItem("Neu (F2)");
+		itemNeu.setActionCommand("Neu");
+		itemNeu.addActionListener(this);
+		spielMenu.add(itemNeu);
+		
+		spielMenu.addSeparator();
+		
+		MenuItem itemRueckgaengig = new MenuItem("Rckgngig (Strg+Z)");
+		itemRueckgaengig.setActionCommand("Rckgngig");
+		itemRueckgaengig.addActionListener(this);
+		spielMenu.add(itemRueckgaengig);
+		
+		MenuItem itemWiederholen = new MenuItem("Wiederholen (Strg+Y)");
+		itemWiederholen.setActionCommand("Wiederholen");
+		itemWiederholen.addActionListener(this);
+		spielMenu.add(itemWiederholen);
+		
+		spielMenu.addSeparator();
+		
+		MenuItem itemAnfaenger = new MenuItem("Anfnger");
+		itemAnfaenger.setActionCommand("Anfnger");
+		itemAnfaenger.addActionListener(this);
+		spielMenu.add(itemAnfaenger);
+		
+		MenuItem itemFortgeschrittene = new MenuItem("Fortgeschrittene");
+		itemFortgeschrittene.setActionCommand("Fortgeschrittene");
+		itemFortgeschrittene.addActionListener(this);
+		spielMenu.add(itemFortgeschrittene);
+		
+		MenuItem itemProfis = new MenuItem("Profis");
+		itemProfis.setActionCommand("Profis");
+		itemProfis.addActionListener(this);
+		spielMenu.add(itemProfis);
+		
+		MenuItem itemBenutzerdefiniert = new MenuItem("Benutzerdefiniert");
+		itemBenutzerdefiniert.setActionCommand("Benutzerdefiniert");
+		itemBenutzerdefiniert.addActionListener(this);
+		spielMenu.add(itemBenutzerdefiniert);
+		
+		spielMenu.addSeparator();
+		
+		MenuItem itemSpeichern = new MenuItem("Spiel speichern...");
+		itemSpeichern.setActionCommand("Speichern");
+		itemSpeichern.addActionListener(this);
+		spielMenu.add(itemSpeichern);
+		
+		MenuItem itemLaden = new MenuItem("Spiel laden...");
+		itemLaden.setActionCommand("Laden");
+		itemLaden.addActionListener(this);
+		spielMenu.add(itemLaden);
+		
+		MenuItem itemExportieren = new MenuItem("Stellung exportieren...");
+		itemExportieren.setActionCommand("Exportieren");
+		itemExportieren.addActionListener(this);
+		spielMenu.add(itemExportieren);
+		
+		spielMenu.addSeparator();
+		
+		MenuItem itemAufzeichnungSpeichern = new MenuItem("Aufzeichnung speichern...");
+		itemAufzeichnungSpeichern.setActionCommand("Aufzeichnung");
+		itemAufzeichnungSpeichern.addActionListener(this);
+		spielMenu.add(itemAufzeichnungSpeichern);
+		
+		Menu abspielenMenu = new Menu("Aufzeichnung abspielen");
+		spielMenu.add(abspielenMenu);
+		for (int i = 0; i < MinesweeperMenuBar.WIEDERGABETEMPI.length; i++) {
+			final int tempo = MinesweeperMenuBar.WIEDERGABETEMPI[i];
+			MenuItem itemAbspielen = new MenuItem(tempo == 0 ? "Ohne Pausen..."
+					: tempo == 1 ? "In Echtzeit..." : tempo + "-fach beschleunigt...");
+			itemAbspielen.setActionCommand("Abspielen" + i);
+			itemAbspielen.addActionListener(this);
+			abspielenMenu.add(itemAbspielen);
+		}
+		
+		spielMenu.addSeparator();
+		
+		MenuItem itemBeenden = new MenuItem("Beenden");
+		itemBeenden.setActionCommand("Beenden");
+		itemBeenden.addActionListener(this);
+		spielMenu.add(itemBeenden);
+		
+		
+		Menu toolMenu = new Menu("Tools");
+		this.add(toolMenu);
+		
+		MenuItem itemWS = new MenuItem("Minenwahrscheinlichkeiten anzeigen (F5)");
+		itemWS.setActionCommand("WS");
+		itemWS.addActionListener(this);
+		toolMenu.add(itemWS);
+		
+		MenuItem itemLoese = new MenuItem("Lse, ohne zu raten (F6)");
+		itemLoese.setActionCommand("Lse");
+		itemLoese.addActionListener(this);
+		toolMenu.add(itemLoese);
+		
+		MenuItem itemKI = new MenuItem("KI aktivieren (F7)");
+		itemKI.setActionCommand("KI");
+		itemKI.addActionListener(this);
+		toolMenu.add(itemKI);
+		
+		MenuItem itemKIBisSieg = new MenuItem("KI bis zum Sieg spielen lassen (F8)");
+		itemKIBisSieg.setActionCommand("KIBisSieg");
+		itemKIBisSieg.addActionListener(this);
+		toolMenu.add(itemKIBisSieg);
+		
+		toolMenu.addSeparator();
+		
+		this.itemTurbo = new CheckboxMenuItem("Turbo-Modus fr die KI (F9)");
+		this.itemTurbo.addItemListener(this);
+		toolMenu.add(this.itemTurbo);
+		
+		Menu turboFramerateMenu = new Menu("Bildrate im Turbo-Modus");
+		toolMenu.add(turboFramerateMenu);
+		this.itemsTurboFramerate =
+				new CheckboxMenuItem[MinesweeperMenuBar.TURBO_FRAMERATEN.length];
+		for (int i = 0; i < MinesweeperMenuBar.TURBO_FRAMERATEN.length; i++) {
+			final int framerate = MinesweeperMenuBar.TURBO_FRAMERATEN[i];
+			this.itemsTurboFramerate[i] = new CheckboxMenuItem(framerate == 0
+					? "Keine Zwischenbilder" : framerate + " Bilder pro Sekunde");
+			this.itemsTurboFramerate[i].addItemListener(this);
+			turboFramerateMenu.add(this.itemsTurboFramerate[i]);
+		}
+		this.showTurboFramerate(UpdateBatcher.TURBO_FRAMERATE);
+		
+		Menu ansichtMenu = new Menu("Ansicht");
+		this.add(ansichtMenu);
+		
+		MenuItem itemVergroessern = new MenuItem("Vergrern (+)");
+		itemVergroessern.setActionCommand("Vergrern");
+		itemVergroessern.addActionListener(this);
+		ansichtMenu.add(itemVergroessern);
+		
+		MenuItem itemVerkleinern = new MenuItem("Verkleinern (-)");
+		itemVerkleinern.setActionCommand("Verkleinern");
+		itemVerkleinern.addActionListener(this);
+		ansichtMenu.add(itemVerkleinern);
+		
+		MenuItem itemOriginalgroesse = new MenuItem("Originalgre (0)");
+		itemOriginalgroesse.setActionCommand("Originalgre");
+		itemOriginalgroesse.addActionListener(this);
+		ansichtMenu.add(itemOriginalgroesse);
+		
+		this.stopMenu = new Menu("Stop");
+		MenuItem itemStop = new MenuItem("Operation abbrechen (ESC)");
+		itemStop.setActionCommand("Stop");
+		itemStop.addActionListener(this);
+		this.stopMenu.add(itemStop);
+	}
+	
+	/**
+	 * Legt fest, ob der Menpunkt "Stop" abgezeigt werden soll.
+	 * @param wert
+	 * 		bei "true" wird der Menpunkt angezeigt, bei "false" nicht.
+	 */
+	void showStopOption(final boolean wert) {
+		if (wert == true) {
+			this.add(this.stopMenu);
+		} else {
+			this.remove(this.stopMenu);
+		}
+	}
+
+	/**
+	 * Zeigt an, ob der Turbo-Modus eingeschaltet ist.
+	 * @param wert
+	 * 		bei "true" wird der Menpunkt mit einem Haken versehen, bei "false" nicht.
+	 */
+	void showTurbo(final boolean wert) {
+		this.itemTurbo.setState(wert);
+	}
+	
+	/**
+	 * Versieht den Menpunkt der gewhlten Turbo-Bildrate mit einem Haken.
+	 * @param framerate
+	 * 		die gewhlte Bildrate im Turbo-Modus
+	 */
+	private void showTurboFramerate(final int framerate) {
+		for (int i = 0; i < MinesweeperMenuBar.TURBO_FRAMERATEN.length; i++)
+			this.itemsTurboFramerate[i].setState(
+					MinesweeperMenuBar.TURBO_FRAMERATEN[i] == framerate);
+	}
+	
+	/**
+	 * Verarbeitet die Ankreuz-Menpunkte des Turbo-Modus.
+	 */
+	@Override
+	public void itemStateChanged(ItemEvent arg0) {
+		if (arg0.getSource() == this.itemTurbo) {
+			this.minesweeperGUI.setTurbo(this.itemTurbo.getState());
+			return;
+		}
+		for (int i = 0; i < MinesweeperMenuBar.TURBO_FRAMERATEN.length; i++)
+			if (arg0.getSource() == this.itemsTurboFramerate[i]) {
+				this.minesweeperGUI.setTurboFramerate(
+						MinesweeperMenuBar.TURBO_FRAMERATEN[i]);
+				this.showTurboFramerate(MinesweeperMenuBar.TURBO_FRAMERATEN[i]);
+				return;
+			}
+	}
+	
+	/**
+	 * Verarbeitet die Aktionen des Minesweeper-Mens.
+	 */
+	@Override
+	public void actionPerformed(ActionEvent arg0) {
+		if (arg0.getActionCommand() == "Neu") {
+			this.gamecontroller.startNewRound();
+			return;
+		}
+		if (arg0.getActionCommand() == "Anfnger") {
+			this.maincontroller.startNewGame(9, 9, 10);
+			return;
+		}
+		if (arg0.getActionCommand() == "Fortgeschrittene") {
+			this.maincontroller.startNewGame(16, 16, 40);
+			return;
+		}
+		if (arg0.getActionCommand() == "Profis") {
+			this.maincontroller.startNewGame(16, 30, 99);
+			return;
+		}
+		if (arg0.getActionCommand() == "Benutzerdefiniert") {
+			this.maincontroller.selectCustomParameters(this.hoehe,
+					this.breite, this.minenzahl);
+			return;
+		}
+		if (arg0.getActionCommand() == "Speichern") {
+			this.gamecontroller.speichereSpiel();
+			return;
+		}
+		if (arg0.getActionCommand() == "Rckgngig") {
+			this.gamecontroller.macheZugRueckgaengig();
+			return;
+		}
+		if (arg0.getActionCommand() == "Wiederholen") {
+			this.gamecontroller.wiederholeZug();
+			return;
+		}
+		if (arg0.getActionCommand() == "Laden") {
+			this.gamecontroller.ladeSpiel();
+			return;
+		}
+		if (arg0.getActionCommand() == "Aufzeichnung") {
+			this.gamecontroller.speichereAufzeichnung();
+			return;
+		}
+		if (arg0.getActionCommand().startsWith("Abspielen")) {
+			this.gamecontroller.spieleAufzeichnungAb(MinesweeperMenuBar.WIEDERGABETEMPI[
+					Integer.parseInt(arg0.getActionCommand().substring(9))]);
+			return;
+		}
+		if (arg0.getActionCommand() == "Exportieren") {
+			this.gamecontroller.exportiereStellung();
+			return;
+		}
+		if (arg0.getActionCommand() == "Beenden") {
+			this.gamecontroller.beendeProgramm();
+			return;
+		}
+		if (arg0.getActionCommand() == "WS") {
+			this.gamecontroller.showMineprobabilities();
+			return;
+		}
+		if (arg0.getActionCommand() == "Lse") {
+			this.gamecontroller.loeseDeterministisch();
+			return;
+		}
+		if (arg0.getActionCommand() == "KI") {
+			this.gamecontroller.startKI();
+			return;
+		}
+		if (arg0.getActionCommand() == "KIBisSieg") {
+			this.gamecontroller.activateKIUntilWin();
+			return;
+		}
+		if (arg0.getActionCommand() == "Vergrern") {
+			this.minesweeperGUI.zoom(1);
+			return;
+		}
+		if (arg0.getActionCommand() == "Verkleinern") {
+			this.minesweeperGUI.zoom(-1);
+			return;
+		}
+		if (arg0.getActionCommand() == "Originalgre") {
+			this.minesweeperGUI.zoom(0);
+			return;
+		}
+		if (arg0.getActionCommand() == "Stop") {
+			this.gamecontroller.interruptCalculation();
+			return;
+		}
+	}
+}
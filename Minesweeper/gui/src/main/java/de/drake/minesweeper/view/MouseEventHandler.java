@@ -265,6 +265,16 @@ class MouseEventHandler {
 			this.minesweeperGUI.showSmileyUnhovered();
 	}
 	
+	/**
+	 * Zeigt die Minenwahrscheinlichkeit des Feldes an, ber dem sich der Cursor
+	 * befindet.
+	 */
+	void zeigeHinweis() {
+		if (!this.isActive || !this.mouseIsOverMinefield)
+			return;
+		this.gamecontroller.zeigeHinweis(this.mousepositionZeile, this.mousepositionSpalte);
+	}
+	
 	/**
 	 * Gibt aus, ob derzeit die Voraussetzungen fr einen "Special Click" getroffen sind
 	 * 
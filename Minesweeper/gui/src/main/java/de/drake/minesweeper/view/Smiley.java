@@ -44,9 +44,9 @@ class Smiley extends JLabel {
 	void showSmileyNormal() {
 		this.smileystate = Smileystate.Normal;
 		if (!this.smileyIsHovered) {
-			this.setIcon(MinesweeperGUI.imageLoader("smileyNormal"));
+			this.setIcon(SpriteCache.getIcon("smileyNormal"));
 		} else {
-			this.setIcon(MinesweeperGUI.imageLoader("smileyO"));
+			this.setIcon(SpriteCache.getIcon("smileyO"));
 		}
 	}
 	
@@ -56,7 +56,7 @@ class Smiley extends JLabel {
 	void showSmileyDead() {
 		this.smileystate = Smileystate.Dead;
 		if (!this.smileyIsHovered)
-			this.setIcon(MinesweeperGUI.imageLoader("smileyDead"));
+			this.setIcon(SpriteCache.getIcon("smileyDead"));
 	}
 	
 	/**
@@ -65,7 +65,7 @@ class Smiley extends JLabel {
 	void showSmileyO() {
 		this.smileystate = Smileystate.O;
 		if (!this.smileyIsHovered)
-			this.setIcon(MinesweeperGUI.imageLoader("smileyO"));
+			this.setIcon(SpriteCache.getIcon("smileyO"));
 	}
 	
 	/**
@@ -74,7 +74,7 @@ class Smiley extends JLabel {
 	void showSmileyCool() {
 		this.smileystate = Smileystate.Cool;
 		if (!this.smileyIsHovered)
-			this.setIcon(MinesweeperGUI.imageLoader("smileyCool"));
+			this.setIcon(SpriteCache.getIcon("smileyCool"));
 	}
 	
 	/**
@@ -83,9 +83,9 @@ class Smiley extends JLabel {
 	void showSmileyHovered() {
 		this.smileyIsHovered = true;
 		if (!this.smileystate.equals(Smileystate.Stop)) {
-			this.setIcon(MinesweeperGUI.imageLoader("smileyHovered"));
+			this.setIcon(SpriteCache.getIcon("smileyHovered"));
 		} else {
-			this.setIcon(MinesweeperGUI.imageLoader("smileyStopHovered"));
+			this.setIcon(SpriteCache.getIcon("smileyStopHovered"));
 		}
 	}
 	
@@ -94,11 +94,11 @@ class Smiley extends JLabel {
 	 */
 	void showSmileyUnhovered() {
 		this.smileyIsHovered = false;
-		this.setIcon(MinesweeperGUI.imageLoader("smiley" + this.smileystate));
+		this.setIcon(SpriteCache.getIcon("smiley" + this.smileystate));
 	}
 
 	public void showSmileyStop() {
 		this.smileystate = Smileystate.Stop;
-		this.setIcon(MinesweeperGUI.imageLoader("smileyStop"));
+		this.setIcon(SpriteCache.getIcon("smileyStop"));
 	}
 }
\ No newline at end of file
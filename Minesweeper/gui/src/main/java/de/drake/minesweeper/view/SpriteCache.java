@@ -0,0 +1,156 @@
+package de.drake.minesweeper.view;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * Hlt smtliche Bilder aus dem Unterordner "images" im Speicher. Jedes Bild wird
+ * genau einmal geladen; skalierte Varianten werden je Feldgre einmal erzeugt
+ * und ebenfalls zwischengespeichert. Das Zeichnen eines Feldes ist damit nur
+ * noch ein Kopieren von Pixeln.
+ */
+final class SpriteCache {
+	
+	/**
+	 * Die Namen aller Bilder. Die Position im Array ist die Bildnummer, mit der
+	 * die Bilder in den Zeichenmethoden angesprochen werden.
+	 */
+	private static final String[] NAMEN = {"0", "1", "2", "3", "4", "5", "6", "7",
+			"8", "covered", "mine", "mineCrossed", "mineMark", "mineRed",
+			"smileyCool", "smileyDead", "smileyHovered", "smileyNormal", "smileyO",
+			"smileyStop", "smileyStopHovered"};
+	
+	/**
+	 * Bildnummer, die fr "kein Bild" steht
+	 */
+	static final byte KEIN_BILD = -1;
+	
+	/**
+	 * Die Originalgre eines Minenfeld-Bildes in Pixeln
+	 */
+	static final int ORIGINALGROESSE = 16;
+	
+	/**
+	 * Ordnet jedem Bildnamen seine Bildnummer zu
+	 */
+	private static final HashMap<String, Byte> NUMMERN = new HashMap<String, Byte>();
+	
+	/**
+	 * Die geladenen Bilder in Originalgre
+	 */
+	private static final BufferedImage[] BILDER = new BufferedImage[NAMEN.length];
+	
+	/**
+	 * Die ImageIcons zu den Bildern in Originalgre
+	 */
+	private static final ImageIcon[] ICONS = new ImageIcon[NAMEN.length];
+	
+	/**
+	 * Die skalierten Bilder je Kantenlnge
+	 */
+	private static final ConcurrentHashMap<Integer, BufferedImage[]> SKALIERT =
+			new ConcurrentHashMap<Integer, BufferedImage[]>();
+	
+	static {
+		for (byte nummer = 0; nummer < NAMEN.length; nummer++) {
+			NUMMERN.put(NAMEN[nummer], nummer);
+			try {
+				BILDER[nummer] = ImageIO.read(ClassLoader.getSystemClassLoader()
+						.getResource("de/drake/minesweeper/view/images/"
+						+ NAMEN[nummer] + ".PNG"));
+			} catch (IOException e) {
+				throw new RuntimeException("Bild " + NAMEN[nummer]
+						+ " konnte nicht geladen werden.", e);
+			}
+			ICONS[nummer] = new ImageIcon(BILDER[nummer]);
+		}
+		SKALIERT.put(ORIGINALGROESSE, BILDER);
+	}
+	
+	/**
+	 * Nicht instanziierbar.
+	 */
+	private SpriteCache() {
+	}
+	
+	/**
+	 * Liefert die Bildnummer zu einem Bildnamen.
+	 * 
+	 * @param name
+	 * 		der Name des Bildes oder null
+	 * @return die Bildnummer bzw. KEIN_BILD, wenn name null ist
+	 */
+	static byte getNummer(final String name) {
+		if (name == null)
+			return KEIN_BILD;
+		final Byte nummer = NUMMERN.get(name);
+		if (nummer == null)
+			throw new RuntimeException("Unbekanntes Bild: " + name);
+		return nummer;
+	}
+	
+	/**
+	 * Liefert das gemeinsam genutzte ImageIcon zu einem Bildnamen.
+	 * 
+	 * @param name
+	 * 		der Name des Bildes
+	 * @return das ImageIcon
+	 */
+	static ImageIcon getIcon(final String name) {
+		return ICONS[SpriteCache.getNummer(name)];
+	}
+	
+	/**
+	 * Liefert ein Minenfeld-Bild in der gewnschten Kantenlnge. Skalierte
+	 * Varianten werden beim ersten Zugriff fr alle Bilder auf einmal erzeugt.
+	 * 
+	 * @param nummer
+	 * 		die Bildnummer
+	 * @param groesse
+	 * 		die gewnschte Kantenlnge in Pixeln
+	 * @return das Bild
+	 */
+	static BufferedImage getBild(final byte nummer, final int groesse) {
+		BufferedImage[] bilder = SKALIERT.get(groesse);
+		if (bilder == null) {
+			bilder = SpriteCache.skaliere(groesse);
+			final BufferedImage[] vorhanden = SKALIERT.putIfAbsent(groesse, bilder);
+			if (vorhanden != null)
+				bilder = vorhanden;
+		}
+		return bilder[nummer];
+	}
+	
+	/**
+	 * Erzeugt skalierte Varianten aller Bilder. Die Seitenverhltnisse bleiben
+	 * erhalten; da die Bilder Pixelgrafiken sind, wird ohne Interpolation skaliert.
+	 * 
+	 * @param groesse
+	 * 		die Kantenlnge, die ein Minenfeld-Bild haben soll
+	 * @return die skalierten Bilder
+	 */
+	private static BufferedImage[] skaliere(final int groesse) {
+		final BufferedImage[] bilder = new BufferedImage[NAMEN.length];
+		for (int nummer = 0; nummer < NAMEN.length; nummer++) {
+			final int breite = Math.max(1,
+					BILDER[nummer].getWidth() * groesse / ORIGINALGROESSE);
+			final int hoehe = Math.max(1,
+					BILDER[nummer].getHeight() * groesse / ORIGINALGROESSE);
+			bilder[nummer] = new BufferedImage(breite, hoehe,
+					BufferedImage.TYPE_INT_ARGB);
+			final Graphics2D g = bilder[nummer].createGraphics();
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+					RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+			g.drawImage(BILDER[nummer], 0, 0, breite, hoehe, null);
+			g.dispose();
+		}
+		return bilder;
+	}
+}
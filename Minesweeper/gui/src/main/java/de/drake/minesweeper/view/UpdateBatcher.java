@@ -0,0 +1,348 @@
+package de.drake.minesweeper.view;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Arrays;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Sammelt nderungen an der Darstellung der Minenfelder und bertrgt sie
+ * gebndelt im Event Dispatch Thread auf die GUI. Die show-Methoden der GUI
+ * drfen daher aus beliebigen Threads (z.B. dem CalculatorThread) aufgerufen
+ * werden. Pro Zug bzw. pro Frame wird hchstens ein Durchlauf ausgefhrt,
+ * wobei die Bildrate nach oben begrenzt ist. Im gedrosselten Zustand (Turbo-Modus
+ * der KI) gilt stattdessen die Turbo-Bildrate; bei einer Turbo-Bildrate von 0
+ * werden Zwischenbilder vollstndig unterdrckt.
+ */
+class UpdateBatcher implements Runnable, ActionListener {
+	
+	/**
+	 * Die standardmig maximal erlaubte Anzahl an Durchlufen pro Sekunde
+	 */
+	static final int MAX_FRAMERATE = 60;
+	
+	/**
+	 * Die standardmige Bildrate im Turbo-Modus (0 = keine Zwischenbilder)
+	 */
+	static final int TURBO_FRAMERATE = 0;
+	
+	/**
+	 * Die GUI, auf die die gesammelten nderungen bertragen werden
+	 */
+	private MinesweeperGUI minesweeperGUI;
+	
+	/**
+	 * Die Breite des Minesweepers
+	 */
+	private int breite;
+	
+	/**
+	 * Die gewnschte Bildnummer je Feld (SpriteCache.KEIN_BILD, wenn kein Bild
+	 * angezeigt werden soll)
+	 */
+	private byte[] bilder;
+	
+	/**
+	 * Der gewnschte Text je Feld (null, wenn kein Text angezeigt werden soll)
+	 */
+	private String[] texte;
+	
+	/**
+	 * Indiziert, ob ein Feld seit dem letzten Durchlauf gendert wurde
+	 */
+	private boolean[] geaendert;
+	
+	/**
+	 * Die Indizes der seit dem letzten Durchlauf genderten Felder
+	 */
+	private int[] geaenderteFelder;
+	
+	/**
+	 * Die Anzahl der Eintrge in geaenderteFelder
+	 */
+	private int anzahlGeaenderterFelder = 0;
+	
+	/**
+	 * Der anzuzeigende Text fr die verbleibenden Minen (null, wenn unverndert)
+	 */
+	private String verbleibendeMinenText;
+	
+	/**
+	 * Der anzuzeigende Text fr die verbleibenden Felder (null, wenn unverndert)
+	 */
+	private String verbleibendeFelderText;
+	
+	/**
+	 * Speichert, ob bereits ein Durchlauf im Event Dispatch Thread ansteht
+	 */
+	private boolean durchlaufGeplant = false;
+	
+	/**
+	 * Der Zeitpunkt des letzten Durchlaufs in Nanosekunden
+	 */
+	private long letzterDurchlauf;
+	
+	/**
+	 * Der minimale Abstand zwischen zwei Durchlufen in Nanosekunden.
+	 * Long.MAX_VALUE bedeutet, dass derzeit keine Durchlufe stattfinden.
+	 */
+	private long minimalerAbstand;
+	
+	/**
+	 * Die maximale Anzahl Durchlufe pro Sekunde im Normalbetrieb
+	 */
+	private int maxFramerate = UpdateBatcher.MAX_FRAMERATE;
+	
+	/**
+	 * Die maximale Anzahl Durchlufe pro Sekunde im gedrosselten Zustand
+	 */
+	private int turboFramerate = UpdateBatcher.TURBO_FRAMERATE;
+	
+	/**
+	 * Speichert, ob die Durchlufe derzeit gedrosselt sind
+	 */
+	private boolean gedrosselt = false;
+	
+	/**
+	 * Timer, der einen verzgerten Durchlauf auslst, wenn die Bildrate
+	 * berschritten wrde
+	 */
+	private Timer timer;
+	
+	/**
+	 * Erzeugt einen neuen UpdateBatcher.
+	 * 
+	 * @param minesweeperGUI
+	 * 		die GUI, auf die die nderungen bertragen werden sollen
+	 * @param hoehe
+	 * 		die Hhe des Minesweepers
+	 * @param breite
+	 * 		die Breite des Minesweepers
+	 */
+	UpdateBatcher(final MinesweeperGUI minesweeperGUI, final int hoehe,
+			final int breite) {
+		this.minesweeperGUI = minesweeperGUI;
+		this.breite = breite;
+		this.bilder = new byte[hoehe * breite];
+		Arrays.fill(this.bilder, SpriteCache.getNummer("covered"));
+		this.texte = new String[hoehe * breite];
+		this.geaendert = new boolean[hoehe * breite];
+		this.geaenderteFelder = new int[hoehe * breite];
+		this.timer = new Timer(0, this);
+		this.timer.setRepeats(false);
+		this.aktualisiereAbstand();
+		this.letzterDurchlauf = System.nanoTime() - this.minimalerAbstand;
+	}
+	
+	/**
+	 * Legt fest, wie viele Durchlufe pro Sekunde hchstens stattfinden drfen.
+	 * 
+	 * @param framerate
+	 * 		die maximale Anzahl Durchlufe pro Sekunde
+	 */
+	synchronized void setMaxFramerate(final int framerate) {
+		this.maxFramerate = Math.max(1, framerate);
+		this.aktualisiereAbstand();
+	}
+	
+	/**
+	 * Legt fest, wie viele Durchlufe pro Sekunde im gedrosselten Zustand hchstens
+	 * stattfinden drfen.
+	 * 
+	 * @param framerate
+	 * 		die maximale Anzahl Durchlufe pro Sekunde; bei 0 werden bis zum Ende
+	 * 		der Drosselung keine Durchlufe ausgefhrt
+	 */
+	synchronized void setTurboFramerate(final int framerate) {
+		this.turboFramerate = Math.max(0, framerate);
+		this.aktualisiereAbstand();
+		if (this.gedrosselt && this.anzahlGeaenderterFelder > 0)
+			this.planeDurchlauf();
+	}
+	
+	/**
+	 * Gibt die Bildrate im gedrosselten Zustand zurck.
+	 * 
+	 * @return die maximale Anzahl Durchlufe pro Sekunde im gedrosselten Zustand
+	 */
+	synchronized int getTurboFramerate() {
+		return this.turboFramerate;
+	}
+	
+	/**
+	 * Schaltet die Drosselung ein oder aus. Beim Ausschalten werden alle bis dahin
+	 * gesammelten nderungen sofort bertragen, so dass das endgltige Spielfeld
+	 * samt Zhlern angezeigt wird.
+	 * 
+	 * @param wert
+	 * 		true, um die Turbo-Bildrate zu verwenden, false fr den Normalbetrieb
+	 */
+	synchronized void setGedrosselt(final boolean wert) {
+		if (this.gedrosselt == wert)
+			return;
+		this.gedrosselt = wert;
+		this.aktualisiereAbstand();
+		if (!wert) {
+			this.timer.stop();
+			this.letzterDurchlauf = System.nanoTime() - this.minimalerAbstand;
+			this.durchlaufGeplant = true;
+			SwingUtilities.invokeLater(this);
+		}
+	}
+	
+	/**
+	 * Berechnet den minimalen Abstand zwischen zwei Durchlufen aus der
+	 * aktuell gltigen Bildrate.
+	 */
+	private void aktualisiereAbstand() {
+		final int framerate = this.gedrosselt ? this.turboFramerate : this.maxFramerate;
+		if (framerate == 0) {
+			this.minimalerAbstand = Long.MAX_VALUE;
+		} else {
+			this.minimalerAbstand = 1000000000L / framerate;
+		}
+	}
+	
+	/**
+	 * Merkt ein neues Bild fr ein Feld vor. Ein eventuell vorhandener Text
+	 * wird dabei nicht verndert.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 * @param bild
+	 * 		der Name des Bildes oder null
+	 */
+	synchronized void setBild(final int zeile, final int spalte, final String bild) {
+		final int index = zeile * this.breite + spalte;
+		this.bilder[index] = SpriteCache.getNummer(bild);
+		this.markiere(index);
+	}
+	
+	/**
+	 * Merkt einen neuen Text fr ein Feld vor. Ein eventuell vorhandenes Bild
+	 * wird dabei nicht verndert.
+	 * 
+	 * @param zeile
+	 * 		die Zeile des Feldes
+	 * @param spalte
+	 * 		die Spalte des Feldes
+	 * @param text
+	 * 		der anzuzeigende Text oder null
+	 */
+	synchronized void setText(final int zeile, final int spalte, final String text) {
+		final int index = zeile * this.breite + spalte;
+		this.texte[index] = text;
+		this.markiere(index);
+	}
+	
+	/**
+	 * Merkt den Text fr die verbleibenden Minen vor.
+	 * 
+	 * @param text
+	 * 		der anzuzeigende Text
+	 */
+	synchronized void setVerbleibendeMinenText(final String text) {
+		this.verbleibendeMinenText = text;
+		this.planeDurchlauf();
+	}
+	
+	/**
+	 * Merkt den Text fr die verbleibenden Felder vor.
+	 * 
+	 * @param text
+	 * 		der anzuzeigende Text
+	 */
+	synchronized void setVerbleibendeFelderText(final String text) {
+		this.verbleibendeFelderText = text;
+		this.planeDurchlauf();
+	}
+	
+	/**
+	 * Registriert ein gendertes Feld fr den nchsten Durchlauf.
+	 * 
+	 * @param index
+	 * 		der Index des genderten Feldes
+	 */
+	private void markiere(final int index) {
+		if (!this.geaendert[index]) {
+			this.geaendert[index] = true;
+			this.geaenderteFelder[this.anzahlGeaenderterFelder++] = index;
+		}
+		this.planeDurchlauf();
+	}
+	
+	/**
+	 * Sorgt dafr, dass die gesammelten nderungen demnchst im Event Dispatch
+	 * Thread bertragen werden. Mehrere Aufrufe vor dem Durchlauf werden
+	 * zusammengefasst.
+	 */
+	private void planeDurchlauf() {
+		if (this.durchlaufGeplant || this.minimalerAbstand == Long.MAX_VALUE)
+			return;
+		this.durchlaufGeplant = true;
+		SwingUtilities.invokeLater(this);
+	}
+	
+	/**
+	 * Wird vom Timer ausgelst, wenn ein verzgerter Durchlauf fllig ist.
+	 */
+	@Override
+	public void actionPerformed(ActionEvent arg0) {
+		this.run();
+	}
+	
+	/**
+	 * bertrgt alle gesammelten nderungen auf die GUI. Darf nur im Event
+	 * Dispatch Thread ausgefhrt werden. Wrde die maximale Bildrate
+	 * berschritten, wird der Durchlauf per Timer verschoben.
+	 */
+	@Override
+	public void run() {
+		final int[] felder;
+		final byte[] neueBilder;
+		final String[] neueTexte;
+		final String minenText;
+		final String felderText;
+		synchronized (this) {
+			if (this.minimalerAbstand == Long.MAX_VALUE) {
+				this.durchlaufGeplant = false;
+				return;
+			}
+			final long wartezeit = this.letzterDurchlauf + this.minimalerAbstand
+					- System.nanoTime();
+			if (wartezeit > 0) {
+				this.timer.setInitialDelay((int) Math.max(1, wartezeit / 1000000));
+				this.timer.restart();
+				return;
+			}
+			felder = new int[this.anzahlGeaenderterFelder];
+			neueBilder = new byte[this.anzahlGeaenderterFelder];
+			neueTexte = new String[this.anzahlGeaenderterFelder];
+			for (int i = 0; i < this.anzahlGeaenderterFelder; i++) {
+				final int index = this.geaenderteFelder[i];
+				felder[i] = index;
+				neueBilder[i] = this.bilder[index];
+				neueTexte[i] = this.texte[index];
+				this.geaendert[index] = false;
+			}
+			this.anzahlGeaenderterFelder = 0;
+			minenText = this.verbleibendeMinenText;
+			felderText = this.verbleibendeFelderText;
+			this.verbleibendeMinenText = null;
+			this.verbleibendeFelderText = null;
+			this.durchlaufGeplant = false;
+			this.letzterDurchlauf = System.nanoTime();
+		}
+		for (int i = 0; i < felder.length; i++)
+			this.minesweeperGUI.zeichneFeld(felder[i] / this.breite,
+					felder[i] % this.breite, neueBilder[i], neueTexte[i]);
+		if (minenText != null)
+			this.minesweeperGUI.zeichneVerbleibendeMinen(minenText);
+		if (felderText != null)
+			this.minesweeperGUI.zeichneVerbleibendeFelder(felderText);
+	}
+}
@@ -1,27 +0,0 @@
-package de.drake.minesweeper.model;
-
-/**
- * Reprsentiert ein Feld eines Minesweepers.
- */
-class Minefield {
-	
-	/**
-	 * Indiziert, ob das Feld bereits aufgedeckt wurde
-	 */
-	boolean isUncovered = false;
-	
-	/**
-	 * Indiziert, ob auf dem Feld eine Mine liegt
-	 */
-	boolean isMine = false;
-	
-	/**
-	 * Indiziert, ob ein Feld als Mine markiert wurde
-	 */
-	boolean isMarkedAsMine = false;
-	
-	/**
-	 * Beinhaltet die Anzahl der Minen in den umgebenden Feldern
-	 */
-	int benachbarteMinen = 0;
-}
\ No newline at end of file